@@ -0,0 +1,55 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.benchmark;
+
+import me.ahoo.cosid.snowflake.CachedSnowflakeId;
+import me.ahoo.cosid.snowflake.ClockSyncSnowflakeId;
+import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
+import me.ahoo.cosid.snowflake.SnowflakeId;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compare {@link MillisecondSnowflakeId} with the ring buffer backed {@link CachedSnowflakeId},
+ * the CosId counterpart of Baidu's {@code CachedUidGenerator}.
+ *
+ * @author ahoo wang
+ */
+@State(Scope.Benchmark)
+public class SnowflakeIdBenchmark {
+
+    SnowflakeId snowflakeId;
+    CachedSnowflakeId cachedSnowflakeId;
+
+    @Setup
+    public void setup() {
+        snowflakeId = new ClockSyncSnowflakeId(new MillisecondSnowflakeId(1));
+        cachedSnowflakeId = new CachedSnowflakeId(new ClockSyncSnowflakeId(new MillisecondSnowflakeId(1)));
+    }
+
+    @Benchmark
+    public long generate() {
+        return snowflakeId.generate();
+    }
+
+    @Benchmark
+    public long cachedGenerate() {
+        return cachedSnowflakeId.generate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        cachedSnowflakeId.shutdown();
+    }
+}
@@ -15,3 +15,13 @@ dependencies {
     api(libs.jspecify)
     testImplementation(project(":cosid-test"))
 }
+
+tasks.register<JavaExec>("prefetchSimulation") {
+    group = "benchmark"
+    description = "Replays demand curves against each PrefetchPolicy."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("me.ahoo.cosid.PrefetchPolicySimulation")
+    if (project.hasProperty("demandCurves")) {
+        args(project.properties["demandCurves"].toString().split(","))
+    }
+}
@@ -20,6 +20,8 @@ import org.openjdk.jmh.annotations.Benchmark;
 /**
  * Clock Benchmark.
  *
+ * <p>Compares the cost of a time read for each {@link Clock} option: {@code gradle cosid-core:jmh -PjmhIncludes=ClockBenchmark}.
+ *
  * @author ahoo wang
  */
 public class ClockBenchmark {
@@ -38,4 +40,14 @@ public class ClockBenchmark {
     public long cacheSecondTime() {
         return Clock.CACHE.secondTime();
     }
+
+    @Benchmark
+    public long systemMillisecondTime() {
+        return Clock.SYSTEM.millisecondTime();
+    }
+
+    @Benchmark
+    public long cacheMillisecondTime() {
+        return Clock.MillisecondCacheClock.getInstance().millisecondTime();
+    }
 }
@@ -22,6 +22,7 @@ import me.ahoo.cosid.cosid.Radix36CosIdGenerator;
 import me.ahoo.cosid.jvm.AtomicLongGenerator;
 import me.ahoo.cosid.cosid.Radix62CosIdGenerator;
 import me.ahoo.cosid.cosid.CosIdState;
+import me.ahoo.cosid.cosid.RadixCosIdStateParser;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
@@ -76,6 +77,11 @@ public class CosIdGeneratorBenchmark {
         return radix62CosIdGenerator.generateAsString();
     }
     
+    @Benchmark
+    public int cosIdGenerator62_generateInto(CharBuffer buffer) {
+        return radix62CosIdGenerator.generateInto(buffer.chars, 0);
+    }
+    
     @Benchmark
     public CosIdState cosIdGenerator62_generateAsState() {
         return radix62CosIdGenerator.generateAsState();
@@ -95,4 +101,12 @@ public class CosIdGeneratorBenchmark {
     public CosIdState cosIdGeneratorCustomize62_generateAsState() {
         return customizeRadix62CosIdGenerator.generateAsState();
     }
+    
+    /**
+     * Per-thread reusable buffer for {@link CosIdGenerator#generateInto(char[], int)}.
+     */
+    @State(Scope.Thread)
+    public static class CharBuffer {
+        final char[] chars = new char[RadixCosIdStateParser.DEFAULT.getCharSize()];
+    }
 }
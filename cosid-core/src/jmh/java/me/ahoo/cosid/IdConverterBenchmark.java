@@ -0,0 +1,65 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid;
+
+import me.ahoo.cosid.converter.Radix36IdConverter;
+import me.ahoo.cosid.converter.Radix62IdConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * IdConverter Benchmark.
+ *
+ * @author ahoo wang
+ */
+@State(Scope.Thread)
+public class IdConverterBenchmark {
+    long id = 1_234_567_890_123_456_789L;
+    String radix62String = Radix62IdConverter.INSTANCE.asString(id);
+    String radix36String = Radix36IdConverter.INSTANCE.asString(id);
+    byte[] radix62Bytes = Radix62IdConverter.INSTANCE.asBytes(id);
+    byte[] buffer = new byte[Radix36IdConverter.MAX_CHAR_SIZE];
+
+    @Benchmark
+    public String radix62_asString() {
+        return Radix62IdConverter.INSTANCE.asString(id++);
+    }
+
+    @Benchmark
+    public int radix62_asBytes() {
+        return Radix62IdConverter.INSTANCE.asBytes(id++, buffer, 0);
+    }
+
+    @Benchmark
+    public long radix62_asLong() {
+        return Radix62IdConverter.INSTANCE.asLong(radix62String);
+    }
+
+    @Benchmark
+    public long radix62_fromBytes() {
+        return Radix62IdConverter.INSTANCE.fromBytes(radix62Bytes, 0, radix62Bytes.length);
+    }
+
+    @Benchmark
+    public String radix36_asString() {
+        return Radix36IdConverter.INSTANCE.asString(id++);
+    }
+
+    @Benchmark
+    public long radix36_asLong() {
+        return Radix36IdConverter.INSTANCE.asLong(radix36String);
+    }
+}
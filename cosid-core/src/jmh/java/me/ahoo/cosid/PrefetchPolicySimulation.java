@@ -0,0 +1,167 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid;
+
+import me.ahoo.cosid.segment.DoublingPrefetchPolicy;
+import me.ahoo.cosid.segment.EwmaPrefetchPolicy;
+import me.ahoo.cosid.segment.PrefetchPolicy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+/**
+ * PrefetchPolicy Simulation.
+ *
+ * <p>Replays demand curves against each {@link PrefetchPolicy} on a simulated clock and reports the distributor calls,
+ * stalls (ticks where callers ran out of prefetched IDs and allocated synchronously) and IDs left reserved but unused:
+ * {@code gradle cosid-core:prefetchSimulation}.
+ *
+ * <p>Recorded demand curves are text files with the number of IDs consumed per second on each line:
+ * {@code gradle cosid-core:prefetchSimulation -PdemandCurves=peak.txt,night.txt}.
+ *
+ * @author ahoo wang
+ */
+public final class PrefetchPolicySimulation {
+    private static final int TICKS_PER_SECOND = 10;
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1) / TICKS_PER_SECOND;
+    private static final int PREFETCH_PERIOD_TICKS = TICKS_PER_SECOND;
+    private static final int HUNGER_THRESHOLD_TICKS = 5 * TICKS_PER_SECOND;
+    private static final int ALLOCATION_LATENCY_TICKS = 1;
+    private static final int SAFE_DISTANCE = 2;
+    private static final long STEP = 100;
+    private static final int DURATION_SECONDS = 600;
+
+    private PrefetchPolicySimulation() {
+    }
+
+    /**
+     * Run the simulation.
+     *
+     * @param args paths of recorded demand curves, the built-in curves are replayed when empty
+     * @throws IOException if a demand curve cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, long[]> curves = new LinkedHashMap<>();
+        if (args.length == 0) {
+            curves.put("steady", perSecond(second -> 1_000));
+            curves.put("periodic", perSecond(second -> (second / 30) % 2 == 0 ? 5_000 : 200));
+            curves.put("burst", perSecond(second -> second % 120 < 10 ? 20_000 : 500));
+            curves.put("ramp", perSecond(second -> (long) second * 10_000 / DURATION_SECONDS));
+        } else {
+            for (String arg : args) {
+                curves.put(arg, recorded(Path.of(arg)));
+            }
+        }
+        Map<String, IntFunction<PrefetchPolicy>> policies = new LinkedHashMap<>();
+        policies.put("ewma", EwmaPrefetchPolicy::new);
+        policies.put("doubling", DoublingPrefetchPolicy::new);
+
+        System.out.printf("%-12s %-10s %10s %10s %14s %16s%n", "curve", "policy", "dbCalls", "stalls", "wastedIds", "maxAllocation");
+        curves.forEach((curveName, demand) -> policies.forEach((policyName, policyFactory) -> {
+            Result result = replay(demand, policyFactory.apply(SAFE_DISTANCE));
+            System.out.printf("%-12s %-10s %10d %10d %14d %16d%n", curveName, policyName, result.dbCalls, result.stalls, result.wastedIds, result.maxAllocation);
+        }));
+    }
+
+    private static long[] perSecond(IntToLongFunction idsPerSecond) {
+        long[] demand = new long[DURATION_SECONDS];
+        for (int second = 0; second < demand.length; second++) {
+            demand[second] = idsPerSecond.applyAsLong(second);
+        }
+        return toTicks(demand);
+    }
+
+    private static long[] recorded(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        return toTicks(lines.stream().map(String::trim).filter(line -> !line.isEmpty()).mapToLong(Long::parseLong).toArray());
+    }
+
+    private static long[] toTicks(long[] idsPerSecond) {
+        long[] ticks = new long[idsPerSecond.length * TICKS_PER_SECOND];
+        for (int second = 0; second < idsPerSecond.length; second++) {
+            for (int tick = 0; tick < TICKS_PER_SECOND; tick++) {
+                ticks[second * TICKS_PER_SECOND + tick] = idsPerSecond[second] / TICKS_PER_SECOND + (tick < idsPerSecond[second] % TICKS_PER_SECOND ? 1 : 0);
+            }
+        }
+        return ticks;
+    }
+
+    /**
+     * Replay the demand against a single generator whose chain is modelled by the number of prefetched IDs.
+     */
+    private static Result replay(long[] demand, PrefetchPolicy policy) {
+        Result result = new Result();
+        ArrayDeque<long[]> inFlight = new ArrayDeque<>();
+        long available = 0;
+        long inFlightIds = 0;
+        long consumedSincePrefetch = 0;
+        int lastPrefetchTick = 0;
+        int lastHungerTick = -HUNGER_THRESHOLD_TICKS;
+        for (int tick = 0; tick < demand.length; tick++) {
+            while (!inFlight.isEmpty() && inFlight.peekFirst()[0] <= tick) {
+                long arrived = inFlight.pollFirst()[1];
+                available += arrived;
+                inFlightIds -= arrived;
+            }
+
+            boolean wakeup = false;
+            if (demand[tick] > available) {
+                result.stalls++;
+                lastHungerTick = tick;
+                wakeup = true;
+                while (demand[tick] > available) {
+                    result.dbCalls++;
+                    available += SAFE_DISTANCE * STEP;
+                }
+            }
+            available -= demand[tick];
+            consumedSincePrefetch += demand[tick];
+
+            if (wakeup || tick - lastPrefetchTick >= PREFETCH_PERIOD_TICKS) {
+                boolean hunger = tick - lastHungerTick < HUNGER_THRESHOLD_TICKS;
+                long elapsedNanos = (tick - lastPrefetchTick) * TICK_NANOS;
+                int distance = policy.prefetchDistance(hunger, consumedSincePrefetch, elapsedNanos, STEP);
+                long gap = (available + inFlightIds) / STEP;
+                consumedSincePrefetch = 0;
+                lastPrefetchTick = tick;
+                if (distance > gap) {
+                    long allocation = (distance - gap) * STEP;
+                    result.dbCalls++;
+                    result.maxAllocation = Math.max(result.maxAllocation, allocation);
+                    inFlight.addLast(new long[] {tick + ALLOCATION_LATENCY_TICKS, allocation});
+                    inFlightIds += allocation;
+                    policy.onAppended((int) (distance - gap), ALLOCATION_LATENCY_TICKS * TICK_NANOS);
+                }
+            }
+        }
+        result.wastedIds = available + inFlightIds;
+        return result;
+    }
+
+    private static final class Result {
+        private long dbCalls;
+        private long stalls;
+        private long wastedIds;
+        private long maxAllocation;
+    }
+}
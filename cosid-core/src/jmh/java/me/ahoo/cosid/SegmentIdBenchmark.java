@@ -33,6 +33,9 @@ import java.util.UUID;
 /**
  * SegmentId Benchmark.
  *
+ * <p>Compare shared and per-thread leased sequences under contention by varying the thread count:
+ * {@code gradle cosid-core:jmh -PjmhIncludes=SegmentIdBenchmark -PjmhThreads=64}.
+ *
  * @author ahoo wang
  */
 @State(Scope.Benchmark)
@@ -40,6 +43,7 @@ public class SegmentIdBenchmark {
     
     SegmentId segmentId;
     SegmentChainId segmentChainId;
+    SegmentChainId leasedSegmentChainId;
     AtomicLongGenerator atomicLongGenerator;
     
     /**
@@ -50,6 +54,11 @@ public class SegmentIdBenchmark {
         atomicLongGenerator = new AtomicLongGenerator();
         segmentId = new DefaultSegmentId(new IdSegmentDistributor.Mock());
         segmentChainId = new SegmentChainId(TIME_TO_LIVE_FOREVER, 10, new IdSegmentDistributor.Mock(), PrefetchWorkerExecutorService.DEFAULT);
+        leasedSegmentChainId = SegmentChainId.builder()
+            .safeDistance(10)
+            .maxIdDistributor(new IdSegmentDistributor.Mock())
+            .leaseSize(64)
+            .build();
     }
     
     @Benchmark
@@ -71,5 +80,10 @@ public class SegmentIdBenchmark {
     public long segmentChainId_generate() {
         return segmentChainId.generate();
     }
+    
+    @Benchmark
+    public long leasedSegmentChainId_generate() {
+        return leasedSegmentChainId.generate();
+    }
 
 }
@@ -14,28 +14,40 @@
 package me.ahoo.cosid;
 
 import me.ahoo.cosid.machine.ClockBackwardsSynchronizer;
+import me.ahoo.cosid.snowflake.CachedSnowflakeId;
 import me.ahoo.cosid.snowflake.ClockSyncSnowflakeId;
 import me.ahoo.cosid.snowflake.DefaultSnowflakeFriendlyId;
+import me.ahoo.cosid.snowflake.LockFreeSnowflakeId;
 import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
 import me.ahoo.cosid.snowflake.SafeJavaScriptSnowflakeId;
 import me.ahoo.cosid.snowflake.SecondSnowflakeId;
 import me.ahoo.cosid.snowflake.SnowflakeFriendlyId;
 import me.ahoo.cosid.snowflake.SnowflakeId;
 import me.ahoo.cosid.snowflake.SnowflakeIdState;
+import me.ahoo.cosid.snowflake.StripedSnowflakeId;
+import me.ahoo.cosid.util.Clock;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 
 /**
  * SnowflakeId Benchmark.
  *
+ * <p>Compare the synchronized, lock-free and striped implementations under contention by varying the thread count:
+ * {@code gradle cosid-core:jmh -PjmhIncludes=SnowflakeIdBenchmark -PjmhThreads=64}.
+ *
  * @author ahoo wang
  */
 @State(Scope.Benchmark)
 public class SnowflakeIdBenchmark {
     SnowflakeId millisecondSnowflakeId;
+    SnowflakeId lockFreeMillisecondSnowflakeId;
+    SnowflakeId cacheClockMillisecondSnowflakeId;
+    SnowflakeId stripedMillisecondSnowflakeId;
+    CachedSnowflakeId cachedMillisecondSnowflakeId;
     SnowflakeId secondSnowflakeId;
     SnowflakeId safeJsMillisecondSnowflakeId;
     SnowflakeId safeJsSecondSnowflakeId;
@@ -47,6 +59,12 @@ public class SnowflakeIdBenchmark {
     @Setup
     public void setup() {
         millisecondSnowflakeId = new ClockSyncSnowflakeId(new MillisecondSnowflakeId(1));
+        lockFreeMillisecondSnowflakeId = new ClockSyncSnowflakeId(new LockFreeSnowflakeId(1));
+        cacheClockMillisecondSnowflakeId = new ClockSyncSnowflakeId(new MillisecondSnowflakeId(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT,
+            MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT, 1, MillisecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD,
+            Clock.MillisecondCacheClock.getInstance()));
+        stripedMillisecondSnowflakeId = new ClockSyncSnowflakeId(new StripedSnowflakeId(1, 8));
+        cachedMillisecondSnowflakeId = new CachedSnowflakeId(new ClockSyncSnowflakeId(new MillisecondSnowflakeId(1)));
         secondSnowflakeId = new ClockSyncSnowflakeId(new SecondSnowflakeId(1));
         safeJsSecondSnowflakeId = new ClockSyncSnowflakeId(SafeJavaScriptSnowflakeId.ofSecond(1));
         safeJsMillisecondSnowflakeId = new ClockSyncSnowflakeId(SafeJavaScriptSnowflakeId.ofMillisecond(1));
@@ -58,6 +76,26 @@ public class SnowflakeIdBenchmark {
         return millisecondSnowflakeId.generate();
     }
 
+    @Benchmark
+    public long lockFreeMillisecondSnowflakeId_generate() {
+        return lockFreeMillisecondSnowflakeId.generate();
+    }
+
+    @Benchmark
+    public long cacheClockMillisecondSnowflakeId_generate() {
+        return cacheClockMillisecondSnowflakeId.generate();
+    }
+
+    @Benchmark
+    public long stripedMillisecondSnowflakeId_generate() {
+        return stripedMillisecondSnowflakeId.generate();
+    }
+
+    @Benchmark
+    public long cachedMillisecondSnowflakeId_generate() {
+        return cachedMillisecondSnowflakeId.generate();
+    }
+
     @Benchmark
     public SnowflakeIdState millisecondSnowflakeId_friendlyId() {
         return snowflakeFriendlyId.friendlyId();
@@ -77,4 +115,9 @@ public class SnowflakeIdBenchmark {
     public long safeJsSecondSnowflakeId_generate() {
         return safeJsSecondSnowflakeId.generate();
     }
+
+    @TearDown
+    public void tearDown() {
+        cachedMillisecondSnowflakeId.shutdown();
+    }
 }
@@ -20,6 +20,9 @@ import me.ahoo.cosid.stat.generator.IdGeneratorStat;
 import com.google.errorprone.annotations.ThreadSafe;
 import org.jspecify.annotations.NonNull;
 
+import java.util.Objects;
+import java.util.stream.LongStream;
+
 /**
  * Id Generator.
  *
@@ -30,6 +33,10 @@ import org.jspecify.annotations.NonNull;
  *   <li>{@link #generateAsString()} - Generates a string representation of the ID</li>
  * </ul>
  *
+ * <p>For bulk workloads {@link #generate(long[], int, int)} and {@link #generate(int)}
+ * allocate many IDs at once, letting implementations amortize their synchronization
+ * cost over the whole batch.
+ *
  * <p>The interface extends {@link StringIdGenerator} to provide string ID generation
  * capabilities and {@link Statistical} to provide statistical information about
  * the generator's state.
@@ -67,6 +74,61 @@ public interface IdGenerator extends StringIdGenerator, Statistical {
      */
     long generate();
 
+    /**
+     * Generate {@code count} distributed IDs into {@code dest} starting at {@code offset}.
+     *
+     * <p>The default implementation calls {@link #generate()} once per ID. Implementations
+     * that can reserve a contiguous range in a single atomic operation (or under a single
+     * lock acquisition) should override this method.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  number of IDs to generate
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of {@code dest}
+     */
+    default void generate(long[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        for (int i = offset; i < offset + count; i++) {
+            dest[i] = generate();
+        }
+    }
+
+    /**
+     * Generate {@code count} distributed IDs.
+     *
+     * @param count number of IDs to generate
+     * @return a stream of the generated IDs, in generation order
+     * @see #generate(long[], int, int)
+     */
+    @NonNull
+    default LongStream generate(int count) {
+        long[] ids = new long[count];
+        generate(ids, 0, count);
+        return LongStream.of(ids);
+    }
+
+    /**
+     * Generate {@code count} distributed IDs as string values into {@code dest} starting at {@code offset}.
+     *
+     * <p>The default implementation generates the IDs with {@link #generate(long[], int, int)} and converts
+     * them with {@link #idConverter()}. Implementations that override {@link #generateAsString()} must
+     * override this method as well.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  number of IDs to generate
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of {@code dest}
+     */
+    default void generateAsString(String[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        long[] ids = new long[count];
+        generate(ids, 0, count);
+        IdConverter converter = idConverter();
+        for (int i = 0; i < count; i++) {
+            dest[offset + i] = converter.asString(ids[i]);
+        }
+    }
+
     /**
      * Generate a distributed ID as a string value.
      *
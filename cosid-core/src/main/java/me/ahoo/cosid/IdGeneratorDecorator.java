@@ -71,6 +71,18 @@ public interface IdGeneratorDecorator extends IdGenerator, Decorator<IdGenerator
         return getActual().generate();
     }
 
+    /**
+     * Generate a batch of distributed IDs by delegating to the actual generator.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  number of IDs to generate
+     */
+    @Override
+    default void generate(long[] dest, int offset, int count) {
+        getActual().generate(dest, offset, count);
+    }
+
     /**
      * Get statistical information about this decorated ID generator.
      * 
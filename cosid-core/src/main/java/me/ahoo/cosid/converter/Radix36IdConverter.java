@@ -32,6 +32,11 @@ public final class Radix36IdConverter extends RadixIdConverter {
      */
     public static final int RADIX = 36;
 
+    /**
+     * Two-digit lookup table, see {@link RadixIdConverter#digitPairs(int)}.
+     */
+    private static final char[] DIGIT_PAIRS = digitPairs(RADIX);
+
     /**
      * Shared instance without padding.
      */
@@ -80,4 +85,14 @@ public final class Radix36IdConverter extends RadixIdConverter {
     int getMaxCharSize() {
         return MAX_CHAR_SIZE;
     }
+
+    @Override
+    void encode(long id, char[] dest, int offset, int charLen) {
+        encodeDigits(id, dest, offset, charLen, RADIX, DIGIT_PAIRS);
+    }
+
+    @Override
+    void encode(long id, byte[] dest, int offset, int charLen) {
+        encodeDigits(id, dest, offset, charLen, RADIX, DIGIT_PAIRS);
+    }
 }
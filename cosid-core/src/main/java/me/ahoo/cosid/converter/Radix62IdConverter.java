@@ -57,6 +57,11 @@ public final class Radix62IdConverter extends RadixIdConverter {
      */
     public static final int RADIX = 62;
 
+    /**
+     * Two-digit lookup table, see {@link RadixIdConverter#digitPairs(int)}.
+     */
+    private static final char[] DIGIT_PAIRS = digitPairs(RADIX);
+
     /**
      * A shared instance without padding.
      *
@@ -132,4 +137,13 @@ public final class Radix62IdConverter extends RadixIdConverter {
         return MAX_CHAR_SIZE;
     }
 
+    @Override
+    void encode(long id, char[] dest, int offset, int charLen) {
+        encodeDigits(id, dest, offset, charLen, RADIX, DIGIT_PAIRS);
+    }
+
+    @Override
+    void encode(long id, byte[] dest, int offset, int charLen) {
+        encodeDigits(id, dest, offset, charLen, RADIX, DIGIT_PAIRS);
+    }
 }
@@ -21,6 +21,12 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import org.jspecify.annotations.NonNull;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
 
 /**
  * Abstract base for radix-based ID converters.
@@ -84,6 +90,18 @@ public abstract class RadixIdConverter implements IdConverter {
         'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', LOWERCASE_Z,
     };
 
+    /**
+     * Decode table indexed by ASCII code, holding the digit offset or {@code -1} for non-digit characters.
+     */
+    private static final byte[] DIGIT_OFFSETS = new byte[128];
+
+    static {
+        Arrays.fill(DIGIT_OFFSETS, (byte) -1);
+        for (int offset = 0; offset < digits.length; offset++) {
+            DIGIT_OFFSETS[digits[offset]] = (byte) offset;
+        }
+    }
+
     /**
      * Padding character for fixed-width output.
      */
@@ -117,16 +135,29 @@ public abstract class RadixIdConverter implements IdConverter {
      * @return the offset value (0-61) or -1 if invalid
      */
     public static int offset(char digitChar) {
-        if (digitChar >= ZERO && digitChar <= NINE) {
-            return digitChar - ZERO;
+        if (digitChar >= DIGIT_OFFSETS.length) {
+            return -1;
         }
-        if (digitChar >= UPPERCASE_A && digitChar <= UPPERCASE_Z) {
-            return digitChar - UPPERCASE_A + UPPERCASE_OFFSET;
-        }
-        if (digitChar >= LOWERCASE_A && digitChar <= LOWERCASE_Z) {
-            return digitChar - LOWERCASE_A + LOWERCASE_OFFSET;
+        return DIGIT_OFFSETS[digitChar];
+    }
+
+    /**
+     * Builds the two-digit lookup table of a radix: entry {@code [2 * n, 2 * n + 1]} holds the two digits of
+     * {@code n} for {@code 0 <= n < radix * radix}, so encoding emits two characters per division.
+     *
+     * @param radix the number base
+     * @return the digit pair table
+     */
+    static char[] digitPairs(int radix) {
+        char[] digitPairs = new char[radix * radix * 2];
+        for (int high = 0; high < radix; high++) {
+            for (int low = 0; low < radix; low++) {
+                int pairIdx = (high * radix + low) << 1;
+                digitPairs[pairIdx] = digits[high];
+                digitPairs[pairIdx + 1] = digits[low];
+            }
         }
-        return -1;
+        return digitPairs;
     }
 
     /**
@@ -182,36 +213,178 @@ public abstract class RadixIdConverter implements IdConverter {
      */
     abstract int getMaxCharSize();
 
+    /**
+     * Writes exactly {@code charLen} digits of the ID ending at {@code offset + charLen}, padding with {@link #PAD_CHAR}.
+     *
+     * <p>Implemented by each radix with its constant {@code RADIX} so the JIT can replace the divisions
+     * by multiplications.
+     */
+    abstract void encode(long id, char[] dest, int offset, int charLen);
+
+    /**
+     * Byte variant of {@link #encode(long, char[], int, int)}.
+     */
+    abstract void encode(long id, byte[] dest, int offset, int charLen);
+
     @Override
     public @NonNull String asString(long id) {
+        return new String(asBytes(id), StandardCharsets.ISO_8859_1);
+    }
 
-        Preconditions.checkArgument(id > -1, "id[%s] must be greater than -1!", id);
+    /**
+     * Writes the radix digits of the ID into {@code dest} starting at {@code offset} without allocating.
+     *
+     * <p>Writes exactly {@link #getCharSize()} characters when {@code padStart} is enabled,
+     * otherwise only the significant digits.
+     *
+     * @param id     the ID to convert
+     * @param dest   the destination buffer
+     * @param offset the index of the first character to write
+     * @return the number of characters written
+     */
+    public int asChars(long id, char[] dest, int offset) {
+        final int charLen = charLength(id);
+        Objects.checkFromIndexSize(offset, charLen, dest.length);
+        encode(id, dest, offset, charLen);
+        return charLen;
+    }
+
+    /**
+     * Converts the ID to its ASCII encoded radix digits.
+     *
+     * @param id the ID to convert
+     * @return the ASCII bytes of {@link #asString(long)}
+     */
+    public byte[] asBytes(long id) {
+        final int charLen = charLength(id);
+        byte[] dest = new byte[charLen];
+        encode(id, dest, 0, charLen);
+        return dest;
+    }
+
+    /**
+     * Writes the ASCII encoded radix digits of the ID into {@code dest} starting at {@code offset} without allocating.
+     *
+     * @param id     the ID to convert
+     * @param dest   the destination buffer
+     * @param offset the index of the first byte to write
+     * @return the number of bytes written
+     */
+    public int asBytes(long id, byte[] dest, int offset) {
+        final int charLen = charLength(id);
+        Objects.checkFromIndexSize(offset, charLen, dest.length);
+        encode(id, dest, offset, charLen);
+        return charLen;
+    }
+
+    /**
+     * Writes the ASCII encoded radix digits of the ID at the position of {@code dest} and advances it.
+     *
+     * <p>Heap buffers are written in place, other buffers go through a temporary array.
+     *
+     * @param id   the ID to convert
+     * @param dest the destination buffer
+     * @return the number of bytes written
+     */
+    public int asBytes(long id, ByteBuffer dest) {
+        if (!dest.hasArray() || dest.isReadOnly()) {
+            byte[] idBytes = asBytes(id);
+            dest.put(idBytes);
+            return idBytes.length;
+        }
+        final int charLen = charLength(id);
+        if (dest.remaining() < charLen) {
+            throw new BufferOverflowException();
+        }
+        encode(id, dest.array(), dest.arrayOffset() + dest.position(), charLen);
+        dest.position(dest.position() + charLen);
+        return charLen;
+    }
+
+    private int charLength(long id) {
 
-        final int maxCharSize = getMaxCharSize();
+        Preconditions.checkArgument(id > -1, "id[%s] must be greater than -1!", id);
 
-        if (charSize < maxCharSize) {
+        if (charSize < getMaxCharSize()) {
             Preconditions.checkArgument(id < maxId, "id[%s] cannot be greater than maxId:[%s]!", id, maxId);
         }
 
-        char[] buf = new char[charSize];
-        int charIdx = charSize;
-        final int radix = getRadix();
-        if (id == 0) {
-            buf[--charIdx] = ZERO;
+        if (padStart) {
+            return charSize;
         }
-        while (id > 0) {
-            int mod = (int) (id % radix);
-            buf[--charIdx] = digits[mod];
+        final int radix = getRadix();
+        int digitSize = 1;
+        while (id >= radix) {
+            digitSize++;
             id = id / radix;
         }
+        return digitSize;
+    }
 
-        if (padStart && charIdx > 0) {
-            while (charIdx > 0) {
-                buf[--charIdx] = PAD_CHAR;
-            }
+    /**
+     * Shared digit pair encoding, {@code radix} is expected to be a constant at the call site.
+     */
+    static void encodeDigits(long id, char[] dest, int offset, int charLen, int radix, char[] digitPairs) {
+        final int radixSquare = radix * radix;
+        int charIdx = offset + charLen;
+        while (id > Integer.MAX_VALUE) {
+            long quotient = id / radixSquare;
+            int pairIdx = (int) (id - quotient * radixSquare) << 1;
+            dest[--charIdx] = digitPairs[pairIdx + 1];
+            dest[--charIdx] = digitPairs[pairIdx];
+            id = quotient;
         }
+        int value = (int) id;
+        while (value >= radixSquare) {
+            int quotient = value / radixSquare;
+            int pairIdx = (value - quotient * radixSquare) << 1;
+            dest[--charIdx] = digitPairs[pairIdx + 1];
+            dest[--charIdx] = digitPairs[pairIdx];
+            value = quotient;
+        }
+        if (value >= radix) {
+            int pairIdx = value << 1;
+            dest[--charIdx] = digitPairs[pairIdx + 1];
+            dest[--charIdx] = digitPairs[pairIdx];
+        } else {
+            dest[--charIdx] = digits[value];
+        }
+        while (charIdx > offset) {
+            dest[--charIdx] = PAD_CHAR;
+        }
+    }
 
-        return new String(buf, charIdx, (charSize - charIdx));
+    /**
+     * Byte variant of {@link #encodeDigits(long, char[], int, int, int, char[])}.
+     */
+    static void encodeDigits(long id, byte[] dest, int offset, int charLen, int radix, char[] digitPairs) {
+        final int radixSquare = radix * radix;
+        int charIdx = offset + charLen;
+        while (id > Integer.MAX_VALUE) {
+            long quotient = id / radixSquare;
+            int pairIdx = (int) (id - quotient * radixSquare) << 1;
+            dest[--charIdx] = (byte) digitPairs[pairIdx + 1];
+            dest[--charIdx] = (byte) digitPairs[pairIdx];
+            id = quotient;
+        }
+        int value = (int) id;
+        while (value >= radixSquare) {
+            int quotient = value / radixSquare;
+            int pairIdx = (value - quotient * radixSquare) << 1;
+            dest[--charIdx] = (byte) digitPairs[pairIdx + 1];
+            dest[--charIdx] = (byte) digitPairs[pairIdx];
+            value = quotient;
+        }
+        if (value >= radix) {
+            int pairIdx = value << 1;
+            dest[--charIdx] = (byte) digitPairs[pairIdx + 1];
+            dest[--charIdx] = (byte) digitPairs[pairIdx];
+        } else {
+            dest[--charIdx] = (byte) digits[value];
+        }
+        while (charIdx > offset) {
+            dest[--charIdx] = PAD_CHAR;
+        }
     }
 
     @Override
@@ -220,19 +393,25 @@ public abstract class RadixIdConverter implements IdConverter {
         if (firstChar < ZERO) {
             throw new NumberFormatException(Strings.lenientFormat("For input string: [%s]!", idString));
         }
-        long result = 0;
-        int charIdx = 0;
         int charLen = idString.length();
         if (charLen > charSize) {
             throw new NumberFormatException(Strings.lenientFormat("For input string:[%s]. charLen cannot be greater than charSize:[%s]!", idString, charSize));
         }
         final int radix = getRadix();
+        // Fewer than MAX_CHAR_SIZE digits cannot overflow, so only the longest inputs pay for exact arithmetic.
+        final boolean mayOverflow = charLen >= getMaxCharSize();
+        long result = 0;
+        int charIdx = 0;
         while (charIdx < charLen) {
             char digitChar = idString.charAt(charIdx++);
             int digit = offset(digitChar);
             if (digit < 0 || digit >= radix) {
                 throw new NumberFormatException(Strings.lenientFormat("For input string:[%s]. digitChar:[%s]@[%s] !", idString, digitChar, charIdx));
             }
+            if (!mayOverflow) {
+                result = result * radix + digit;
+                continue;
+            }
             try {
                 result = Math.addExact(Math.multiplyExact(result, radix), digit);
             } catch (ArithmeticException arithmeticException) {
@@ -242,6 +421,61 @@ public abstract class RadixIdConverter implements IdConverter {
         return result;
     }
 
+    /**
+     * Parses ASCII encoded radix digits, the byte variant of {@link #asLong(String)}.
+     *
+     * @param src    the source buffer
+     * @param offset the index of the first byte
+     * @param length the number of bytes to parse
+     * @return the ID
+     */
+    public long fromBytes(byte[] src, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (length == 0 || length > charSize) {
+            throw new NumberFormatException(Strings.lenientFormat("For input bytes length:[%s]. length must be in [1,charSize:[%s]]!", length, charSize));
+        }
+        final int radix = getRadix();
+        final boolean mayOverflow = length >= getMaxCharSize();
+        long result = 0;
+        for (int byteIdx = offset; byteIdx < offset + length; byteIdx++) {
+            int digitByte = src[byteIdx];
+            int digit = digitByte < 0 ? -1 : DIGIT_OFFSETS[digitByte];
+            if (digit < 0 || digit >= radix) {
+                throw new NumberFormatException(Strings.lenientFormat("For input bytes. digitByte:[%s]@[%s] !", digitByte, byteIdx - offset));
+            }
+            if (!mayOverflow) {
+                result = result * radix + digit;
+                continue;
+            }
+            try {
+                result = Math.addExact(Math.multiplyExact(result, radix), digit);
+            } catch (ArithmeticException arithmeticException) {
+                throw new NumberFormatException("For input bytes. long overflow!");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses all remaining ASCII encoded radix digits of {@code src} and advances its position to the limit.
+     *
+     * @param src the source buffer
+     * @return the ID
+     */
+    public long fromBytes(ByteBuffer src) {
+        final int length = src.remaining();
+        long result;
+        if (src.hasArray()) {
+            result = fromBytes(src.array(), src.arrayOffset() + src.position(), length);
+        } else {
+            byte[] idBytes = new byte[length];
+            src.get(src.position(), idBytes);
+            result = fromBytes(idBytes, 0, length);
+        }
+        src.position(src.limit());
+        return result;
+    }
+
     @Override
     public Stat stat() {
         return new RadixConverterStat(getClass().getSimpleName(), getRadix(), getCharSize(), isPadStart(), getMaxId());
@@ -85,6 +85,32 @@ public class ClockSyncCosIdGenerator implements CosIdGenerator, Decorator<CosIdG
         }
     }
     
+    @Override
+    public @NonNull String generateAsString() {
+        try {
+            return actual.generateAsString();
+        } catch (ClockBackwardsException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn(exception.getMessage(), exception);
+            }
+            clockBackwardsSynchronizer.syncUninterruptibly(actual.getLastTimestamp());
+            return actual.generateAsString();
+        }
+    }
+    
+    @Override
+    public int generateInto(char[] dest, int offset) {
+        try {
+            return actual.generateInto(dest, offset);
+        } catch (ClockBackwardsException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn(exception.getMessage(), exception);
+            }
+            clockBackwardsSynchronizer.syncUninterruptibly(actual.getLastTimestamp());
+            return actual.generateInto(dest, offset);
+        }
+    }
+    
     @Override
     public IdGeneratorStat stat() {
         return IdGeneratorStat.simple(getClass().getSimpleName(), actual.stat(), Stat.simple(getStateParser().getClass().getSimpleName()));
@@ -21,6 +21,8 @@ import me.ahoo.cosid.stat.generator.IdGeneratorStat;
 
 import org.jspecify.annotations.NonNull;
 
+import java.util.Objects;
+
 /**
  * CosId algorithm ID generator.
  * 
@@ -138,6 +140,37 @@ public interface CosIdGenerator extends IdGenerator {
         return getStateParser().asString(generateAsState());
     }
     
+    /**
+     * Generate {@code count} IDs as string values into {@code dest} starting at {@code offset}.
+     *
+     * <p>Each ID is generated by {@link #generateAsString()}, as the string form is parsed from the state
+     * rather than converted from a {@code long}.
+     */
+    @Override
+    default void generateAsString(String[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        for (int i = offset; i < offset + count; i++) {
+            dest[i] = generateAsString();
+        }
+    }
+    
+    /**
+     * Generate an ID and write its string form into {@code dest} starting at {@code offset}.
+     * 
+     * <p>Implementations backed by a radix state parser write the digits straight into the buffer,
+     * so callers that reuse {@code dest} generate IDs without any allocation.
+     *
+     * @param dest   the destination buffer
+     * @param offset the index of the first character to write
+     * @return the number of characters written
+     */
+    default int generateInto(char[] dest, int offset) {
+        String id = generateAsString();
+        Objects.checkFromIndexSize(offset, id.length(), dest.length);
+        id.getChars(0, id.length(), dest, offset);
+        return id.length();
+    }
+    
     /**
      * Get statistical information about this CosId generator.
      * 
@@ -13,6 +13,8 @@
 
 package me.ahoo.cosid.cosid;
 
+import me.ahoo.cosid.util.Clock;
+
 import java.time.ZoneId;
 
 /**
@@ -48,7 +50,24 @@ public class FriendlyCosIdGenerator extends RadixCosIdGenerator {
      * @param padStart              whether to pad numbers with leading zeros
      */
     public FriendlyCosIdGenerator(int timestampBit, int machineIdBit, int sequenceBit, int machineId, int sequenceResetThreshold, ZoneId zoneId, boolean padStart) {
-        super(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, new FriendlyIdStateParser(zoneId, padStart, machineIdBit, sequenceBit));
+        this(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, zoneId, padStart, Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a generator with custom bit configuration reading time from the given clock.
+     *
+     * @param timestampBit           number of bits for timestamp
+     * @param machineIdBit          number of bits for machine ID
+     * @param sequenceBit           number of bits for sequence
+     * @param machineId             the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence
+     * @param zoneId                time zone for timestamp formatting
+     * @param padStart              whether to pad numbers with leading zeros
+     * @param clock                 the time source
+     */
+    public FriendlyCosIdGenerator(int timestampBit, int machineIdBit, int sequenceBit, int machineId, int sequenceResetThreshold, ZoneId zoneId, boolean padStart,
+                                  Clock clock) {
+        super(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, new FriendlyIdStateParser(zoneId, padStart, machineIdBit, sequenceBit), clock);
     }
 
 }
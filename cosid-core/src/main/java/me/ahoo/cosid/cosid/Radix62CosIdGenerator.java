@@ -13,6 +13,8 @@
 
 package me.ahoo.cosid.cosid;
 
+import me.ahoo.cosid.util.Clock;
+
 /**
  * CosIdGenerator using radix-62 string encoding.
  *
@@ -42,7 +44,21 @@ public class Radix62CosIdGenerator extends RadixCosIdGenerator {
      * @param sequenceResetThreshold threshold for resetting sequence
      */
     public Radix62CosIdGenerator(int timestampBit, int machineIdBit, int sequenceBit, int machineId, int sequenceResetThreshold) {
-        super(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, RadixCosIdStateParser.ofRadix62(timestampBit, machineIdBit, sequenceBit));
+        this(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a generator with custom configuration reading time from the given clock.
+     *
+     * @param timestampBit           number of bits for timestamp
+     * @param machineIdBit          number of bits for machine ID
+     * @param sequenceBit           number of bits for sequence
+     * @param machineId             the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence
+     * @param clock                 the time source
+     */
+    public Radix62CosIdGenerator(int timestampBit, int machineIdBit, int sequenceBit, int machineId, int sequenceResetThreshold, Clock clock) {
+        super(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, RadixCosIdStateParser.ofRadix62(timestampBit, machineIdBit, sequenceBit), clock);
     }
 
 }
@@ -15,10 +15,13 @@ package me.ahoo.cosid.cosid;
 
 import me.ahoo.cosid.snowflake.exception.ClockBackwardsException;
 import me.ahoo.cosid.snowflake.exception.TimestampOverflowException;
+import me.ahoo.cosid.util.Clock;
 
 import com.google.common.base.Strings;
 import org.jspecify.annotations.NonNull;
 
+import java.util.Objects;
+
 /**
  * Radix-based CosIdGenerator implementation.
  *
@@ -60,6 +63,11 @@ public class RadixCosIdGenerator implements CosIdGenerator {
     private long lastTimestamp = -1L;
 
     private final CosIdIdStateParser stateParser;
+    private final Clock clock;
+    /**
+     * Reusable buffer for {@link #generateAsString()}, guarded by {@code this}. {@code null} unless the parser is a {@link RadixCosIdStateParser}.
+     */
+    private final char[] stringBuffer;
 
     /**
      * Creates a new RadixCosIdGenerator.
@@ -77,6 +85,27 @@ public class RadixCosIdGenerator implements CosIdGenerator {
                                int machineId,
                                int sequenceResetThreshold,
                                CosIdIdStateParser stateParser) {
+        this(timestampBit, machineIdBit, sequenceBit, machineId, sequenceResetThreshold, stateParser, Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a new RadixCosIdGenerator reading time from the given clock.
+     *
+     * @param timestampBit           number of bits for timestamp
+     * @param machineIdBit          number of bits for machine ID
+     * @param sequenceBit           number of bits for sequence
+     * @param machineId             the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence
+     * @param stateParser           the state parser for string conversion
+     * @param clock                 the time source, e.g. {@link Clock.MillisecondCacheClock#getInstance()}
+     */
+    public RadixCosIdGenerator(int timestampBit,
+                               int machineIdBit,
+                               int sequenceBit,
+                               int machineId,
+                               int sequenceResetThreshold,
+                               CosIdIdStateParser stateParser,
+                               Clock clock) {
         this.maxTimestamp = ~(-1L << timestampBit);
         this.maxMachine = ~(-1 << machineIdBit);
         this.maxSequence = ~(-1 << sequenceBit);
@@ -86,6 +115,8 @@ public class RadixCosIdGenerator implements CosIdGenerator {
         }
         this.machineId = machineId;
         this.stateParser = stateParser;
+        this.clock = clock;
+        this.stringBuffer = stateParser instanceof RadixCosIdStateParser radixStateParser ? new char[radixStateParser.getCharSize()] : null;
     }
 
     @Override
@@ -105,7 +136,7 @@ public class RadixCosIdGenerator implements CosIdGenerator {
     }
 
     protected long currentTimeMillis() {
-        return System.currentTimeMillis();
+        return clock.millisecondTime();
     }
 
     private long nextTime() {
@@ -123,6 +154,40 @@ public class RadixCosIdGenerator implements CosIdGenerator {
      */
     @NonNull
     public synchronized CosIdState generateAsState() {
+        nextState();
+        return new CosIdState(lastTimestamp, machineId, sequence);
+    }
+
+    /**
+     * Generates the next ID as a string.
+     *
+     * <p>Skips the intermediate {@link CosIdState}; with a {@link RadixCosIdStateParser} the digits are written into a
+     * reusable buffer so the returned {@link String} is the only allocation.
+     *
+     * @return the generated ID
+     */
+    @Override
+    public synchronized @NonNull String generateAsString() {
+        nextState();
+        if (stringBuffer == null) {
+            return stateParser.asString(lastTimestamp, machineId, sequence);
+        }
+        int charLen = ((RadixCosIdStateParser) stateParser).asChars(lastTimestamp, machineId, sequence, stringBuffer, 0);
+        return new String(stringBuffer, 0, charLen);
+    }
+
+    @Override
+    public synchronized int generateInto(char[] dest, int offset) {
+        if (stringBuffer == null) {
+            return CosIdGenerator.super.generateInto(dest, offset);
+        }
+        RadixCosIdStateParser radixStateParser = (RadixCosIdStateParser) stateParser;
+        Objects.checkFromIndexSize(offset, radixStateParser.getCharSize(), dest.length);
+        nextState();
+        return radixStateParser.asChars(lastTimestamp, machineId, sequence, dest, offset);
+    }
+
+    private void nextState() {
         long currentTimestamp = currentTimeMillis();
         if (currentTimestamp < lastTimestamp) {
             throw new ClockBackwardsException(lastTimestamp, currentTimestamp);
@@ -147,7 +212,6 @@ public class RadixCosIdGenerator implements CosIdGenerator {
             throw new TimestampOverflowException(0, currentTimestamp, maxTimestamp);
         }
         lastTimestamp = currentTimestamp;
-        return new CosIdState(lastTimestamp, machineId, sequence);
     }
 
 }
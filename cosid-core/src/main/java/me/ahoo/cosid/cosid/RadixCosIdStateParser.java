@@ -32,16 +32,27 @@ public class RadixCosIdStateParser implements CosIdIdStateParser {
     private final RadixIdConverter timestampConvert;
     private final RadixIdConverter machineConvert;
     private final RadixIdConverter sequenceConvert;
+    private final int charSize;
     
     public RadixCosIdStateParser(RadixIdConverter timestampConvert, RadixIdConverter machineConvert, RadixIdConverter sequenceConvert) {
         this.timestampConvert = timestampConvert;
         this.machineConvert = machineConvert;
         this.sequenceConvert = sequenceConvert;
+        this.charSize = timestampConvert.getCharSize() + machineConvert.getCharSize() + sequenceConvert.getCharSize();
+    }
+    
+    /**
+     * Gets the maximum number of characters of an ID, which is the exact length when every part is padded.
+     *
+     * @return the total character size
+     */
+    public int getCharSize() {
+        return charSize;
     }
     
     @Override
     public CosIdState asState(String id) {
-        int totalCharSize = timestampConvert.getCharSize() + machineConvert.getCharSize() + sequenceConvert.getCharSize();
+        int totalCharSize = charSize;
         Preconditions.checkArgument(id.length() == totalCharSize, "id[%s] length must equal to totalCharSize:[%s].", id, totalCharSize);
         String timestampPart = id.substring(0, timestampConvert.getCharSize());
         String machineIdPart = id.substring(timestampConvert.getCharSize(), timestampConvert.getCharSize() + machineConvert.getCharSize());
@@ -55,7 +66,27 @@ public class RadixCosIdStateParser implements CosIdIdStateParser {
     
     @Override
     public String asString(long lastTimestamp, int machineId, int sequence) {
-        return timestampConvert.asString(lastTimestamp) + machineConvert.asString(machineId) + sequenceConvert.asString(sequence);
+        char[] buf = new char[charSize];
+        int charLen = asChars(lastTimestamp, machineId, sequence, buf, 0);
+        return new String(buf, 0, charLen);
+    }
+    
+    /**
+     * Writes the ID into {@code dest} starting at {@code offset} without allocating.
+     *
+     * @param lastTimestamp the timestamp in milliseconds
+     * @param machineId     the machine ID
+     * @param sequence      the sequence number
+     * @param dest          the destination buffer, at least {@link #getCharSize()} characters from {@code offset}
+     * @param offset        the index of the first character to write
+     * @return the number of characters written
+     */
+    public int asChars(long lastTimestamp, int machineId, int sequence, char[] dest, int offset) {
+        int charIdx = offset;
+        charIdx += timestampConvert.asChars(lastTimestamp, dest, charIdx);
+        charIdx += machineConvert.asChars(machineId, dest, charIdx);
+        charIdx += sequenceConvert.asChars(sequence, dest, charIdx);
+        return charIdx - offset;
     }
     
     static RadixCosIdStateParser ofRadix62(int timestampBits, int machineIdBits, int sequenceBits) {
@@ -17,6 +17,7 @@ import me.ahoo.cosid.IdGenerator;
 
 import org.jspecify.annotations.NonNull;
 
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -43,4 +44,12 @@ public class UuidGenerator implements IdGenerator {
     public @NonNull String generateAsString() {
         return UUID.randomUUID().toString();
     }
+
+    @Override
+    public void generateAsString(String[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        for (int i = offset; i < offset + count; i++) {
+            dest[i] = generateAsString();
+        }
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+
+/**
+ * Adaptive step sizing for {@link SegmentChainId}.
+ *
+ * <p>Sizes the step requested from the {@link IdSegmentDistributor} so that one segment covers
+ * {@link #getRefillInterval()} of the observed consumption rate, bounded by
+ * {@link #getMinStep()} and {@link #getMaxStep()}. A quiet generator then wastes fewer IDs, while a busy
+ * one hits the distributor less often during traffic peaks.
+ *
+ * @author ahoo wang
+ */
+public final class AdaptiveStep {
+    /**
+     * The default duration of demand one segment should cover.
+     */
+    public static final Duration DEFAULT_REFILL_INTERVAL = Duration.ofSeconds(5);
+
+    /**
+     * The default ratio of the max step to the configured step.
+     */
+    public static final int DEFAULT_MAX_STEP_MULTIPLE = 100;
+
+    private final long minStep;
+    private final long maxStep;
+    private final Duration refillInterval;
+    private final double refillSeconds;
+
+    /**
+     * Create a new adaptive step sizing.
+     *
+     * @param minStep        The lower bound of the step
+     * @param maxStep        The upper bound of the step
+     * @param refillInterval The duration of demand one segment should cover
+     */
+    public AdaptiveStep(long minStep, long maxStep, Duration refillInterval) {
+        IdSegmentDistributor.ensureStep(minStep);
+        Preconditions.checkArgument(maxStep >= minStep, "maxStep:[%s] must be greater than or equal to minStep:[%s].", maxStep, minStep);
+        Preconditions.checkArgument(!refillInterval.isNegative() && !refillInterval.isZero(), "refillInterval:[%s] must be greater than 0.", refillInterval);
+        this.minStep = minStep;
+        this.maxStep = maxStep;
+        this.refillInterval = refillInterval;
+        this.refillSeconds = refillInterval.toNanos() / 1_000_000_000D;
+    }
+
+    /**
+     * Create an adaptive step sizing ranging from {@code step} to {@link #DEFAULT_MAX_STEP_MULTIPLE} times of it,
+     * covering {@link #DEFAULT_REFILL_INTERVAL} of demand.
+     *
+     * @param step The configured step of the distributor
+     * @return The adaptive step sizing
+     */
+    public static AdaptiveStep of(long step) {
+        return new AdaptiveStep(step, Math.multiplyExact(step, DEFAULT_MAX_STEP_MULTIPLE), DEFAULT_REFILL_INTERVAL);
+    }
+
+    public long getMinStep() {
+        return minStep;
+    }
+
+    public long getMaxStep() {
+        return maxStep;
+    }
+
+    public Duration getRefillInterval() {
+        return refillInterval;
+    }
+
+    /**
+     * Bound the step to {@code [minStep, maxStep]}.
+     *
+     * @param step The step
+     * @return The bounded step
+     */
+    public long bound(long step) {
+        return Math.min(Math.max(step, minStep), maxStep);
+    }
+
+    /**
+     * Get the step that covers the refill interval at the given consumption rate.
+     *
+     * @param idsPerSecond The observed number of IDs consumed per second
+     * @return The bounded step
+     */
+    public long step(double idsPerSecond) {
+        double demand = Math.ceil(idsPerSecond * refillSeconds);
+        if (demand >= maxStep) {
+            return maxStep;
+        }
+        return bound((long) demand);
+    }
+}
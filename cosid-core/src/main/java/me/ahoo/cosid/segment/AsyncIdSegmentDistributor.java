@@ -0,0 +1,49 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.segment;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link IdSegmentDistributor} that can allocate the next max ID without blocking the calling thread.
+ *
+ * <p>The prefetch job of {@link SegmentChainId} allocates through {@link #nextMaxIdAsync(long)} and appends
+ * the segment once the returned stage completes, so the prefetch worker never parks on the backend.
+ * Reactive callers can adapt the stage with {@code Mono.fromCompletionStage}.
+ *
+ * <p>{@link #nextMaxId(long)} is still used when the chain runs dry and a generating thread has to wait for an ID.
+ *
+ * @author ahoo wang
+ */
+public interface AsyncIdSegmentDistributor extends IdSegmentDistributor {
+
+    /**
+     * Allocate the next maximum ID using the default step size.
+     *
+     * @return The stage completed with the maximum ID in the allocated range
+     */
+    default CompletionStage<Long> nextMaxIdAsync() {
+        return nextMaxIdAsync(getStep());
+    }
+
+    /**
+     * Allocate the next maximum ID with the specified step size.
+     *
+     * <p>Implementations must not block the calling thread, failures complete the stage exceptionally.
+     *
+     * @param step The step size for allocation
+     * @return The stage completed with the maximum ID in the allocated range
+     */
+    CompletionStage<Long> nextMaxIdAsync(long step);
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import java.util.List;
+
+/**
+ * Allocates the next max IDs of many {@link IdSegmentDistributor}s that share a backend in one round trip.
+ *
+ * <p>Distributors whose {@link IdSegmentDistributor#getBatchDistributor()} are equal can be allocated
+ * by a single call, which is how the prefetch worker coalesces the allocations of all the jobs it owns.
+ * Implementations should therefore implement {@code equals} and {@code hashCode} by the backend they
+ * talk to.
+ *
+ * @author ahoo wang
+ * @see me.ahoo.cosid.segment.concurrent.CoalescingAffinityJob
+ */
+public interface BatchIdSegmentDistributor {
+
+    /**
+     * Allocate the next maximum ID of each distributor.
+     *
+     * <p>Either all the allocations succeed or an exception is thrown, callers may fall back to
+     * {@link IdSegmentDistributor#nextMaxId(long)} of each distributor on failure.
+     *
+     * @param distributors The distributors sharing this batch distributor
+     * @param steps        The step size for allocation of each distributor
+     * @return The maximum ID in the allocated range of each distributor, in the order of {@code distributors}
+     */
+    long[] nextMaxIds(List<? extends IdSegmentDistributor> distributors, long[] steps);
+}
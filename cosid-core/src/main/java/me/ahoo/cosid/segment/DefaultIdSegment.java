@@ -262,6 +262,36 @@ public class DefaultIdSegment implements IdSegment {
         return nextSeq;
     }
 
+    /**
+     * Atomically reserve up to {@code count} IDs with a single {@code getAndAdd}
+     * on the sequence and write them to {@code dest}.
+     *
+     * <p>The reserved range is clipped to {@link #getMaxId()}; the part beyond it is
+     * simply lost together with the rest of this exhausted segment.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  maximum number of IDs to reserve
+     * @return the number of IDs written to {@code dest}
+     */
+    @Override
+    public int reserve(long[] dest, int offset, int count) {
+        if (count <= 0 || isOverflow()) {
+            return 0;
+        }
+
+        final long firstSeq = S.getAndAdd(this, count) + 1;
+        if (isOverflow(firstSeq)) {
+            return 0;
+        }
+        final int reserved = (int) (Math.min(firstSeq + count - 1, maxId) - firstSeq + 1);
+        for (int i = 0; i < reserved; i++) {
+            dest[offset + i] = firstSeq + i;
+        }
+        GroupedAccessor.setIfNotNever(group());
+        return reserved;
+    }
+
     /**
      * Get the string representation of this segment.
      *
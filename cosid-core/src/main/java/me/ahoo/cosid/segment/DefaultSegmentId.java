@@ -21,6 +21,7 @@ import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Objects;
 
 /**
  * Default segment algorithm ID generator.
@@ -99,4 +100,36 @@ public class DefaultSegmentId implements SegmentId {
         }
     }
 
+    @Override
+    public void generate(long[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        if (maxIdDistributor.getStep() == ONE_STEP) {
+            SegmentId.super.generate(dest, offset, count);
+            return;
+        }
+        int filled = 0;
+        if (segment.isAvailable()) {
+            filled = segment.reserve(dest, offset, count);
+        }
+        if (filled == count) {
+            return;
+        }
+
+        synchronized (this) {
+            while (true) {
+                if (segment.isAvailable()) {
+                    filled += segment.reserve(dest, offset + filled, count - filled);
+                    if (filled == count) {
+                        return;
+                    }
+                }
+                IdSegment nextIdSegment = maxIdDistributor.nextIdSegment(idSegmentTtl);
+                if (!maxIdDistributor.allowReset()) {
+                    segment.ensureNextIdSegment(nextIdSegment);
+                }
+                segment = nextIdSegment;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Prefetch policy doubling the prefetch distance on hunger and halving it otherwise.
+ *
+ * <p>Keeps the safe distance while callers are fed. It reacts quickly to bursts but oscillates
+ * under periodic load and may reserve very large ranges in a single allocation.
+ *
+ * <p>The distance follows the doubling and halving {@link SegmentChainId} used before {@link PrefetchPolicy}
+ * became pluggable, but it is not the same behaviour: while hungry, {@link SegmentChainId} used to append the
+ * whole distance on each prefetch on top of the segments already prefetched, whereas, as with any policy, it now
+ * only appends the segments missing to reach the distance.
+ *
+ * @author ahoo wang
+ */
+public class DoublingPrefetchPolicy implements PrefetchPolicy {
+    /**
+     * The maximum prefetch distance to prevent excessive resource usage.
+     */
+    public static final int MAX_PREFETCH_DISTANCE = 100_000_000;
+
+    private final int safeDistance;
+    private int distance;
+
+    public DoublingPrefetchPolicy(int safeDistance) {
+        Preconditions.checkArgument(safeDistance > 0, "safeDistance:[%s] must be greater than 0.", safeDistance);
+        this.safeDistance = safeDistance;
+        this.distance = safeDistance;
+    }
+
+    @Override
+    public int prefetchDistance(boolean hunger, long consumed, long elapsedNanos, long step) {
+        if (hunger) {
+            distance = (int) Math.min((long) distance * 2, MAX_PREFETCH_DISTANCE);
+            return distance;
+        }
+        distance = Math.max(Math.floorDiv(distance, 2), safeDistance);
+        return safeDistance;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prefetch policy tracking an exponentially weighted consumption rate and allocation latency.
+ *
+ * <p>The prefetch distance covers {@link #getCoverage()} plus the average allocation latency of the
+ * observed consumption rate, bounded by the safe distance and {@link #getMaxDistance()}. The weighted rate
+ * decays with the time elapsed between samples, so irregular prefetch periods do not skew it. The distance
+ * follows the higher of the weighted and the latest rate: it rises with a burst at once, but shrinks
+ * gradually afterwards instead of halving. While callers are hungry, the distance also grows additively
+ * by the safe distance on each prefetch.
+ *
+ * @author ahoo wang
+ */
+public class EwmaPrefetchPolicy implements PrefetchPolicy {
+    /**
+     * The default duration of demand the prefetched segments should cover.
+     */
+    public static final Duration DEFAULT_COVERAGE = Duration.ofSeconds(2);
+
+    /**
+     * The default time constant of the consumption rate decay.
+     */
+    public static final Duration DEFAULT_DECAY = Duration.ofSeconds(10);
+
+    /**
+     * The default upper bound of the prefetch distance.
+     */
+    public static final int DEFAULT_MAX_DISTANCE = 1024;
+
+    /**
+     * The weight of the latest sample in the average allocation latency.
+     */
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    private final int safeDistance;
+    private final int maxDistance;
+    private final Duration coverage;
+    private final Duration decay;
+    private final double coverageNanos;
+    private final double decayNanos;
+
+    /**
+     * The consumption rate in IDs per nanosecond.
+     */
+    private double rate;
+    private int distance;
+    /**
+     * The bits of the weighted allocation latency in nanoseconds, updated by {@link #onAppended} from any thread.
+     */
+    private final AtomicLong latencyNanosBits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+    public EwmaPrefetchPolicy(int safeDistance) {
+        this(safeDistance, Math.max(safeDistance, DEFAULT_MAX_DISTANCE), DEFAULT_COVERAGE, DEFAULT_DECAY);
+    }
+
+    /**
+     * Create a new EWMA prefetch policy.
+     *
+     * @param safeDistance The lower bound of the prefetch distance
+     * @param maxDistance  The upper bound of the prefetch distance
+     * @param coverage     The duration of demand the prefetched segments should cover
+     * @param decay        The time constant of the consumption rate decay
+     */
+    public EwmaPrefetchPolicy(int safeDistance, int maxDistance, Duration coverage, Duration decay) {
+        Preconditions.checkArgument(safeDistance > 0, "safeDistance:[%s] must be greater than 0.", safeDistance);
+        Preconditions.checkArgument(maxDistance >= safeDistance, "maxDistance:[%s] must be greater than or equal to safeDistance:[%s].", maxDistance, safeDistance);
+        Preconditions.checkArgument(!coverage.isNegative() && !coverage.isZero(), "coverage:[%s] must be greater than 0.", coverage);
+        Preconditions.checkArgument(!decay.isNegative() && !decay.isZero(), "decay:[%s] must be greater than 0.", decay);
+        this.safeDistance = safeDistance;
+        this.maxDistance = maxDistance;
+        this.coverage = coverage;
+        this.decay = decay;
+        this.coverageNanos = coverage.toNanos();
+        this.decayNanos = decay.toNanos();
+        this.distance = safeDistance;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public Duration getCoverage() {
+        return coverage;
+    }
+
+    public Duration getDecay() {
+        return decay;
+    }
+
+    /**
+     * Get the weighted consumption rate.
+     *
+     * @return The number of IDs consumed per second
+     */
+    public double getRate() {
+        return rate * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the weighted allocation latency.
+     *
+     * @return The allocation latency in nanoseconds
+     */
+    public long getLatency() {
+        return (long) latencyNanos();
+    }
+
+    @Override
+    public int prefetchDistance(boolean hunger, long consumed, long elapsedNanos, long step) {
+        double instantRate = rate;
+        if (elapsedNanos > 0) {
+            instantRate = consumed / (double) elapsedNanos;
+            double alpha = 1 - Math.exp(-elapsedNanos / decayNanos);
+            rate += alpha * (instantRate - rate);
+        }
+        double demandSegments = Math.ceil(Math.max(rate, instantRate) * (coverageNanos + latencyNanos()) / step);
+        long target = demandSegments >= maxDistance ? maxDistance : (long) demandSegments;
+        if (hunger) {
+            target = Math.max(target, (long) distance + safeDistance);
+        }
+        distance = (int) Math.min(Math.max(target, safeDistance), maxDistance);
+        return distance;
+    }
+
+    @Override
+    public void onAppended(int segments, long latencyNanos) {
+        latencyNanosBits.updateAndGet(bits -> {
+            double weighted = Double.longBitsToDouble(bits);
+            if (weighted == 0) {
+                return Double.doubleToRawLongBits(latencyNanos);
+            }
+            return Double.doubleToRawLongBits(weighted + LATENCY_WEIGHT * (latencyNanos - weighted));
+        });
+    }
+
+    private double latencyNanos() {
+        return Double.longBitsToDouble(latencyNanosBits.get());
+    }
+}
@@ -203,6 +203,34 @@ public interface IdSegment extends Comparable<IdSegment>, Grouped {
      */
     long incrementAndGet();
     
+    /**
+     * Atomically reserve up to {@code count} IDs from this segment and write them to
+     * {@code dest} starting at {@code offset}.
+     * 
+     * <p>Fewer than {@code count} IDs are written when the segment runs out, in which
+     * case the caller should continue with the next segment.
+     * 
+     * <p>The default implementation calls {@link #incrementAndGet()} once per ID;
+     * implementations backed by a single counter should reserve the whole range
+     * with one atomic operation.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  maximum number of IDs to reserve
+     * @return the number of IDs written to {@code dest}
+     */
+    default int reserve(long[] dest, int offset, int count) {
+        int reserved = 0;
+        while (reserved < count) {
+            long nextSeq = incrementAndGet();
+            if (isOverflow(nextSeq)) {
+                break;
+            }
+            dest[offset + reserved++] = nextSeq;
+        }
+        return reserved;
+    }
+    
     /**
      * Compare this segment to another segment based on offset.
      * 
@@ -208,6 +208,11 @@ public class IdSegmentChain implements IdSegment {
         return idSegment.incrementAndGet();
     }
 
+    @Override
+    public int reserve(long[] dest, int offset, int count) {
+        return idSegment.reserve(dest, offset, count);
+    }
+
     @Override
     public String toString() {
         return "IdSegmentChain{"
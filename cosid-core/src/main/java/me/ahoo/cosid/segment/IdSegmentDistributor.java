@@ -22,6 +22,7 @@ import me.ahoo.cosid.util.Clock;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -163,6 +164,16 @@ public interface IdSegmentDistributor extends Grouped {
      */
     long nextMaxId(long step);
 
+    /**
+     * Get the batch distributor that allocates this distributor together with others sharing its backend.
+     *
+     * @return The batch distributor, {@code null} when this distributor can not be batched
+     */
+    @Nullable
+    default BatchIdSegmentDistributor getBatchDistributor() {
+        return null;
+    }
+
     /**
      * Allocate the next maximum ID using the default step size.
      *
@@ -250,6 +261,50 @@ public interface IdSegmentDistributor extends Grouped {
         return new IdSegmentChain(previousChain, nextIdSegment, allowReset());
     }
 
+    /**
+     * Allocate the next ID segment with a step other than {@link #getStep()}.
+     *
+     * <p>Used by adaptive step sizing, the total step of the segment is {@code step * segments}.
+     *
+     * @param segments The number of segments to allocate
+     * @param step     The step of each segment
+     * @param ttl      The time-to-live for the segment
+     * @return The allocated ID segment
+     */
+    @NonNull
+    default IdSegment nextIdSegment(int segments, long step, long ttl) {
+        Preconditions.checkArgument(segments > 0, "segments:[%s] must be greater than 0.", segments);
+        Preconditions.checkArgument(ttl > 0, "ttl:[%s] must be greater than 0.", ttl);
+        ensureStep(step);
+
+        final long totalStep = Math.multiplyExact(step, segments);
+        final long maxId = nextMaxId(totalStep);
+        final IdSegment nextIdSegment = new DefaultIdSegment(maxId, totalStep, Clock.SYSTEM.secondTime(), ttl, group());
+        if (DEFAULT_SEGMENTS == segments) {
+            return nextIdSegment;
+        }
+        return new MergedIdSegment(segments, nextIdSegment);
+    }
+
+    /**
+     * Allocate the next ID segment chain with a step other than {@link #getStep()}.
+     *
+     * @param previousChain The previous segment chain
+     * @param segments      The number of segments to allocate
+     * @param step          The step of each segment
+     * @param ttl           The time-to-live for the segment
+     * @return The allocated ID segment chain
+     */
+    @NonNull
+    default IdSegmentChain nextIdSegmentChain(IdSegmentChain previousChain, int segments, long step, long ttl) {
+        if (step == getStep()) {
+            return nextIdSegmentChain(previousChain, segments, ttl);
+        }
+
+        IdSegment nextIdSegment = nextIdSegment(segments, step, ttl);
+        return new IdSegmentChain(previousChain, nextIdSegment, allowReset());
+    }
+
     /**
      * Ensure that the specified step size is valid.
      *
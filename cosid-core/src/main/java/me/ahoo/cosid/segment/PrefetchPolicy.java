@@ -0,0 +1,52 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+/**
+ * Decides how many segments {@link SegmentChainId} keeps prefetched ahead of the head of its chain.
+ *
+ * <p>Each {@link SegmentChainId} owns its policy. {@link #prefetchDistance} is only called from its prefetch job,
+ * one call at a time, so state used only there needs no synchronization. {@link #onAppended} may be called from
+ * any thread, such as the one completing an allocation of an {@link AsyncIdSegmentDistributor}, concurrently with
+ * {@link #prefetchDistance}, so state it shares with it must be thread-safe.
+ *
+ * @author ahoo wang
+ * @see EwmaPrefetchPolicy
+ * @see DoublingPrefetchPolicy
+ */
+public interface PrefetchPolicy {
+
+    /**
+     * Get the number of segments to keep ahead of the head of the chain.
+     *
+     * @param hunger       Whether callers recently ran out of prefetched segments
+     * @param consumed     The number of IDs consumed since the last call
+     * @param elapsedNanos The nanoseconds elapsed since the last call
+     * @param step         The step of each segment
+     * @return The prefetch distance in segments, greater than {@code 0}
+     */
+    int prefetchDistance(boolean hunger, long consumed, long elapsedNanos, long step);
+
+    /**
+     * Record that segments were appended to the chain.
+     *
+     * <p>May be called from any thread.
+     *
+     * @param segments     The number of appended segments
+     * @param latencyNanos The nanoseconds from the start of the allocation until they were appended
+     */
+    default void onAppended(int segments, long latencyNanos) {
+    }
+}
@@ -15,7 +15,7 @@ package me.ahoo.cosid.segment;
 
 import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
 
-import me.ahoo.cosid.segment.concurrent.AffinityJob;
+import me.ahoo.cosid.segment.concurrent.CoalescingAffinityJob;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorker;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
 import me.ahoo.cosid.util.Clock;
@@ -23,6 +23,13 @@ import me.ahoo.cosid.util.Clock;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Segment chain algorithm ID generator.
@@ -61,6 +68,21 @@ public class SegmentChainId implements SegmentId {
      */
     public static final int DEFAULT_SAFE_DISTANCE = 2;
 
+    /**
+     * The default lease size, {@code 1} disables per-thread leasing.
+     */
+    public static final int DEFAULT_LEASE_SIZE = 1;
+
+    /**
+     * The default prefetch watermark, {@code 0} disables the consumption-driven prefetch trigger.
+     */
+    public static final double DEFAULT_PREFETCH_WATERMARK = 0;
+
+    /**
+     * The default time an allocation from an {@link AsyncIdSegmentDistributor} may take before the prefetch gives it up.
+     */
+    public static final Duration DEFAULT_ASYNC_ALLOCATION_TIMEOUT = Duration.ofSeconds(30);
+
     /**
      * The time-to-live for ID segments in milliseconds.
      *
@@ -93,6 +115,49 @@ public class SegmentChainId implements SegmentId {
      */
     private final PrefetchJob prefetchJob;
 
+    /**
+     * The number of IDs each thread leases from the head segment at a time.
+     */
+    private final int leaseSize;
+
+    /**
+     * Per-thread leased IDs, {@code null} when leasing is disabled.
+     */
+    private final ThreadLocal<Lease> leases;
+
+    /**
+     * The consumed ratio of a segment at which the generating thread wakes up the prefetch job,
+     * {@code 0} when the trigger is disabled.
+     */
+    private final double prefetchWatermark;
+
+    /**
+     * The version of the last segment chain that crossed the prefetch watermark.
+     *
+     * <p>Ensures the prefetch job is woken up at most once per segment.
+     */
+    private volatile long watermarkVersion = IdSegmentChain.ROOT_VERSION;
+
+    /**
+     * The adaptive step sizing, {@code null} when the step of the distributor is used as is.
+     */
+    private final AdaptiveStep adaptiveStep;
+
+    /**
+     * The step of each segment requested from the distributor.
+     */
+    private volatile long step;
+
+    /**
+     * The policy deciding how many segments to keep prefetched.
+     */
+    private final PrefetchPolicy prefetchPolicy;
+
+    /**
+     * The time an allocation from an {@link AsyncIdSegmentDistributor} may take before the prefetch gives it up.
+     */
+    private final Duration asyncAllocationTimeout;
+
     /**
      * The head of the segment chain.
      *
@@ -116,8 +181,8 @@ public class SegmentChainId implements SegmentId {
     /**
      * Create a new SegmentChainId with custom configuration.
      *
-     * <p>This constructor allows full control over all parameters of the
-     * segment chain ID generator.
+     * <p>Use {@link #builder()} to also configure leasing, the prefetch watermark,
+     * adaptive step sizing or the prefetch policy.
      *
      * @param idSegmentTtl                  The time-to-live for segments
      * @param safeDistance                  The safe distance for prefetching
@@ -125,14 +190,48 @@ public class SegmentChainId implements SegmentId {
      * @param prefetchWorkerExecutorService The executor for prefetch jobs
      */
     public SegmentChainId(long idSegmentTtl, int safeDistance, IdSegmentDistributor maxIdDistributor, PrefetchWorkerExecutorService prefetchWorkerExecutorService) {
-        Preconditions.checkArgument(idSegmentTtl > 0, Strings.lenientFormat("Illegal idSegmentTtl parameter:[%s].", idSegmentTtl));
-        Preconditions.checkArgument(safeDistance > 0, "The safety distance must be greater than 0.");
+        this(builder()
+            .idSegmentTtl(idSegmentTtl)
+            .safeDistance(safeDistance)
+            .maxIdDistributor(maxIdDistributor)
+            .prefetchWorkerExecutorService(prefetchWorkerExecutorService));
+    }
+
+    private SegmentChainId(SegmentChainIdBuilder builder) {
+        Preconditions.checkNotNull(builder.maxIdDistributor, "maxIdDistributor can not be null.");
+        Preconditions.checkArgument(builder.idSegmentTtl > 0, Strings.lenientFormat("Illegal idSegmentTtl parameter:[%s].", builder.idSegmentTtl));
+        Preconditions.checkArgument(builder.safeDistance > 0, "The safety distance must be greater than 0.");
+        Preconditions.checkArgument(builder.leaseSize > 0, "leaseSize:[%s] must be greater than 0.", builder.leaseSize);
+        Preconditions.checkArgument(builder.prefetchWatermark >= 0 && builder.prefetchWatermark <= 1, "prefetchWatermark:[%s] must be between 0 and 1.", builder.prefetchWatermark);
+        Preconditions.checkArgument(builder.asyncAllocationTimeout.toNanos() > 0, "asyncAllocationTimeout:[%s] must be greater than 0.", builder.asyncAllocationTimeout);
+        final IdSegmentDistributor maxIdDistributor = builder.maxIdDistributor;
+        final int leaseSize = builder.leaseSize;
+        final AdaptiveStep adaptiveStep = builder.adaptiveStep;
         this.headChain = IdSegmentChain.newRoot(maxIdDistributor.allowReset());
-        this.idSegmentTtl = idSegmentTtl;
-        this.safeDistance = safeDistance;
+        this.idSegmentTtl = builder.idSegmentTtl;
+        this.safeDistance = builder.safeDistance;
         this.maxIdDistributor = maxIdDistributor;
+        this.leaseSize = leaseSize;
+        this.leases = leaseSize > 1 ? ThreadLocal.withInitial(() -> new Lease(leaseSize)) : null;
+        this.prefetchWatermark = builder.prefetchWatermark;
+        this.adaptiveStep = adaptiveStep;
+        this.step = adaptiveStep == null ? maxIdDistributor.getStep() : adaptiveStep.bound(maxIdDistributor.getStep());
+        this.prefetchPolicy = builder.prefetchPolicy == null ? new EwmaPrefetchPolicy(builder.safeDistance) : builder.prefetchPolicy;
+        this.asyncAllocationTimeout = builder.asyncAllocationTimeout;
         prefetchJob = new PrefetchJob(headChain);
-        prefetchWorkerExecutorService.submit(prefetchJob);
+        builder.prefetchWorkerExecutorService.submit(prefetchJob);
+    }
+
+    /**
+     * Creates a new builder for SegmentChainId.
+     *
+     * <p>Only {@link SegmentChainIdBuilder#maxIdDistributor(IdSegmentDistributor)} is required, every other option
+     * defaults to the same value as {@link #SegmentChainId(IdSegmentDistributor)}.
+     *
+     * @return a new builder instance
+     */
+    public static SegmentChainIdBuilder builder() {
+        return new SegmentChainIdBuilder();
     }
 
     /**
@@ -161,6 +260,52 @@ public class SegmentChainId implements SegmentId {
         return headChain;
     }
 
+    /**
+     * Get the number of IDs each thread leases from the head segment.
+     *
+     * @return The lease size, {@code 1} when leasing is disabled
+     */
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * Get the consumed ratio of a segment that triggers prefetching.
+     *
+     * @return The prefetch watermark, {@code 0} when the trigger is disabled
+     */
+    public double getPrefetchWatermark() {
+        return prefetchWatermark;
+    }
+
+    /**
+     * Get the adaptive step sizing.
+     *
+     * @return The adaptive step sizing, {@code null} when disabled
+     */
+    @Nullable
+    public AdaptiveStep getAdaptiveStep() {
+        return adaptiveStep;
+    }
+
+    /**
+     * Get the policy deciding how many segments to keep prefetched.
+     *
+     * @return The prefetch policy
+     */
+    public PrefetchPolicy getPrefetchPolicy() {
+        return prefetchPolicy;
+    }
+
+    @Override
+    public long getEffectiveStep() {
+        return step;
+    }
+
+    public Duration getAsyncAllocationTimeout() {
+        return asyncAllocationTimeout;
+    }
+
     /**
      * Forward the head of the chain to a newer segment.
      *
@@ -198,7 +343,30 @@ public class SegmentChainId implements SegmentId {
      * @return The next segment chain
      */
     private IdSegmentChain generateNext(IdSegmentChain previousChain, int segments) {
-        return maxIdDistributor.nextIdSegmentChain(previousChain, segments, idSegmentTtl);
+        return maxIdDistributor.nextIdSegmentChain(previousChain, segments, step, idSegmentTtl);
+    }
+
+    /**
+     * Wake up the prefetch job once the consumption of a segment crosses the prefetch watermark.
+     *
+     * <p>Only the first thread that observes the crossing of each segment wakes up the prefetch job,
+     * the others return after a single volatile read.
+     *
+     * @param chain      The segment chain the ID was allocated from
+     * @param lastNextId The last ID allocated from the segment chain
+     */
+    private void onConsumed(IdSegmentChain chain, long lastNextId) {
+        if (prefetchWatermark == 0 || chain.getVersion() <= watermarkVersion) {
+            return;
+        }
+        if (lastNextId - chain.getOffset() < chain.getStep() * prefetchWatermark) {
+            return;
+        }
+        watermarkVersion = chain.getVersion();
+        if (log.isDebugEnabled()) {
+            log.debug("Watermark [{}] - headChain.version:[{}] - sequence:[{}].", maxIdDistributor.getNamespacedName(), chain.getVersion(), lastNextId);
+        }
+        prefetchJob.wakeup();
     }
 
     /**
@@ -212,6 +380,44 @@ public class SegmentChainId implements SegmentId {
      */
     @Override
     public long generate() {
+        if (leases != null) {
+            return generateFromLease(leases.get());
+        }
+        return generateFromChain();
+    }
+
+    /**
+     * Serve the next ID from the thread-local lease, leasing a new range from the chain when it runs out.
+     *
+     * @param lease The lease of the current thread
+     * @return A unique distributed ID
+     */
+    private long generateFromLease(Lease lease) {
+        if (lease.hasNext()) {
+            return lease.next();
+        }
+        IdSegmentChain currentChain = headChain;
+        while (currentChain != null) {
+            if (currentChain.isAvailable()) {
+                int reserved = currentChain.reserve(lease.ids, 0, leaseSize);
+                if (reserved > 0) {
+                    forward(currentChain);
+                    onConsumed(currentChain, lease.ids[reserved - 1]);
+                    lease.reset(currentChain, reserved);
+                    return lease.next();
+                }
+            }
+            currentChain = currentChain.getNext();
+        }
+        return generateFromChain();
+    }
+
+    /**
+     * Generate the next ID from the shared sequence of the chain.
+     *
+     * @return A unique distributed ID
+     */
+    private long generateFromChain() {
         while (true) {
             IdSegmentChain currentChain = headChain;
             while (currentChain != null) {
@@ -219,6 +425,7 @@ public class SegmentChainId implements SegmentId {
                     long nextSeq = currentChain.incrementAndGet();
                     if (!currentChain.isOverflow(nextSeq)) {
                         forward(currentChain);
+                        onConsumed(currentChain, nextSeq);
                         return nextSeq;
                     }
                 }
@@ -244,19 +451,76 @@ public class SegmentChainId implements SegmentId {
         }
     }
 
+    /**
+     * Generate a batch of distributed IDs.
+     *
+     * <p>Walks the segment chain once, reserving as many IDs as possible from each
+     * available segment with a single atomic operation. When the chain runs dry,
+     * falls back to {@link #generate()} to append the next segments before continuing.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  number of IDs to generate
+     */
+    @Override
+    public void generate(long[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        int filled = 0;
+        while (filled < count) {
+            IdSegmentChain currentChain = headChain;
+            while (currentChain != null && filled < count) {
+                if (currentChain.isAvailable()) {
+                    int reserved = currentChain.reserve(dest, offset + filled, count - filled);
+                    if (reserved > 0) {
+                        filled += reserved;
+                        forward(currentChain);
+                        onConsumed(currentChain, dest[offset + filled - 1]);
+                    }
+                }
+                currentChain = currentChain.getNext();
+            }
+            if (filled < count) {
+                dest[offset + filled++] = generateFromChain();
+            }
+        }
+    }
+
+    /**
+     * IDs leased by one thread, only accessed by that thread.
+     */
+    private static final class Lease {
+        private final long[] ids;
+        private int position;
+        private int limit;
+        private IdSegment segment;
+
+        Lease(int leaseSize) {
+            this.ids = new long[leaseSize];
+        }
+
+        boolean hasNext() {
+            return position < limit && !segment.isExpired();
+        }
+
+        long next() {
+            return ids[position++];
+        }
+
+        void reset(IdSegment segment, int limit) {
+            this.segment = segment;
+            this.position = 0;
+            this.limit = limit;
+        }
+    }
+
     /**
      * Background prefetch job for segment chain ID generation.
      *
      * <p>This job runs in the background to prefetch segments before they
-     * are needed, reducing latency during ID generation. It dynamically
-     * adjusts the prefetch distance based on demand patterns.
+     * are needed, reducing latency during ID generation. The prefetch
+     * distance is decided by the {@link PrefetchPolicy} based on demand patterns.
      */
-    public class PrefetchJob implements AffinityJob {
-        /**
-         * The maximum prefetch distance to prevent excessive resource usage.
-         */
-        private static final int MAX_PREFETCH_DISTANCE = 100_000_000;
-
+    public class PrefetchJob implements CoalescingAffinityJob {
         /**
          * The hunger threshold in seconds.
          *
@@ -265,6 +529,11 @@ public class SegmentChainId implements SegmentId {
          */
         private static final long hungerThreshold = 5;
 
+        /**
+         * The minimum interval between two consumption rate samples.
+         */
+        private static final long MIN_SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
         /**
          * The prefetch worker that executes this job.
          */
@@ -273,8 +542,7 @@ public class SegmentChainId implements SegmentId {
         /**
          * The current prefetch distance.
          *
-         * <p>This value is dynamically adjusted based on demand patterns
-         * to optimize performance.
+         * <p>This value is decided by the {@link PrefetchPolicy} on each prefetch.
          */
         private int prefetchDistance = safeDistance;
 
@@ -295,6 +563,27 @@ public class SegmentChainId implements SegmentId {
          */
         private volatile long lastHungerTime;
 
+        /**
+         * The segment chain and its sequence at the last consumption sample.
+         */
+        private IdSegmentChain sampleChain;
+        private long sampleSequence;
+        private long sampleNanoTime = System.nanoTime();
+
+        /**
+         * The IDs consumed and nanoseconds elapsed since the step was last adapted.
+         */
+        private long stepWindowConsumed;
+        private long stepWindowNanos;
+
+        /**
+         * Whether an allocation from an {@link AsyncIdSegmentDistributor} is in flight.
+         *
+         * <p>{@link #prepare()} skips the run until the in-flight segment is appended,
+         * so the tail of the chain is only ever appended by one thread at a time.
+         */
+        private volatile boolean allocating;
+
         /**
          * Create a new prefetch job for the specified tail chain.
          *
@@ -366,35 +655,69 @@ public class SegmentChainId implements SegmentId {
             prefetch();
         }
 
+        /**
+         * Wake up the prefetch worker to run this job ahead of the prefetch period.
+         *
+         * <p>Unlike {@link #hungry()}, this does not mark the job hungry, so the prefetch distance
+         * is not expanded.
+         */
+        public void wakeup() {
+            PrefetchWorker worker = this.prefetchWorker;
+            if (worker != null) {
+                worker.wakeup(this);
+            }
+        }
+
         /**
          * Perform the prefetching logic.
          *
          * <p>This method implements the core prefetching algorithm, which:
          * <ol>
-         *   <li>Determines current demand based on hunger signals</li>
-         *   <li>Adjusts prefetch distance based on demand</li>
+         *   <li>Determines current demand based on hunger signals and the IDs consumed since the last prefetch</li>
+         *   <li>Asks the {@link PrefetchPolicy} for the prefetch distance</li>
          *   <li>Identifies the available head of the chain</li>
          *   <li>Calculates the gap to the tail</li>
          *   <li>Prefetches segments if needed</li>
          * </ol>
          */
         public void prefetch() {
+            Allocation allocation = prepare();
+            if (allocation != null) {
+                allocation.run();
+            }
+        }
+
+        /**
+         * Decide how many segments to prefetch, leaving the allocation to the caller.
+         *
+         * <p>The prefetch worker coalesces the returned allocation with those of the other jobs it owns.
+         *
+         * @return The pending allocation, {@code null} when the prefetch distance is already covered
+         * @see #prefetch()
+         */
+        @Override
+        public @Nullable Allocation prepare() {
+            if (allocating) {
+                return null;
+            }
 
             long wakeupTimeGap = Clock.SYSTEM.secondTime() - lastHungerTime;
             final boolean hunger = wakeupTimeGap < hungerThreshold;
 
+            final long now = System.nanoTime();
+            final long elapsed = now - sampleNanoTime;
+            final long consumed = sample(SegmentChainId.this.headChain, now);
+
+            if (adaptiveStep != null) {
+                adaptStep(consumed, elapsed);
+            }
+
             final int prePrefetchDistance = this.prefetchDistance;
-            if (hunger) {
-                this.prefetchDistance = Math.min(Math.multiplyExact(this.prefetchDistance, 2), MAX_PREFETCH_DISTANCE);
+            this.prefetchDistance = prefetchPolicy.prefetchDistance(hunger, consumed, elapsed, step);
+            if (prePrefetchDistance != this.prefetchDistance) {
                 if (log.isInfoEnabled()) {
-                    log.info("Prefetch [{}] - Hunger, Safety distance expansion.[{}->{}]", maxIdDistributor.getNamespacedName(), prePrefetchDistance, this.prefetchDistance);
-                }
-            } else {
-                this.prefetchDistance = Math.max(Math.floorDiv(this.prefetchDistance, 2), safeDistance);
-                if (prePrefetchDistance > this.prefetchDistance) {
-                    if (log.isInfoEnabled()) {
-                        log.info("Prefetch [{}] - Full, Safety distance shrinks.[{}->{}]", maxIdDistributor.getNamespacedName(), prePrefetchDistance, this.prefetchDistance);
-                    }
+                    log.info("Prefetch [{}] - {}, Safety distance {}.[{}->{}]", maxIdDistributor.getNamespacedName(), hunger ? "Hunger" : "Full",
+                        prePrefetchDistance < this.prefetchDistance ? "expansion" : "shrinks", prePrefetchDistance, this.prefetchDistance);
                 }
             }
 
@@ -409,20 +732,88 @@ public class SegmentChainId implements SegmentId {
 
             forward(availableHeadChain);
 
-            final int headToTailGap = availableHeadChain.gap(tailChain, maxIdDistributor.getStep());
-            final int safeGap = safeDistance - headToTailGap;
+            final int headToTailGap = availableHeadChain.gap(tailChain, step);
+            final int prefetchSegments = this.prefetchDistance - headToTailGap;
 
-            if (safeGap <= 0 && !hunger) {
+            if (prefetchSegments <= 0) {
                 if (log.isTraceEnabled()) {
-                    log.trace("Prefetch [{}] - safeGap is less than or equal to 0, and is not hungry - headChain.version:[{}] - tailChain.version:[{}].", maxIdDistributor.getNamespacedName(),
+                    log.trace("Prefetch [{}] - prefetchSegments is less than or equal to 0 - headChain.version:[{}] - tailChain.version:[{}].", maxIdDistributor.getNamespacedName(),
                         availableHeadChain.getVersion(), tailChain.getVersion());
                 }
+                return null;
+            }
+
+            return new Append(availableHeadChain, prefetchSegments, step);
+        }
+
+        /**
+         * Take a consumption sample at the current head of the chain.
+         *
+         * @param currentHead The current head of the chain
+         * @param now         The current {@link System#nanoTime()}
+         * @return The number of IDs consumed since the last sample
+         */
+        private long sample(IdSegmentChain currentHead, long now) {
+            sampleNanoTime = now;
+            if (currentHead.getVersion() == IdSegmentChain.ROOT_VERSION) {
+                return 0;
+            }
+            final long consumed = sampleChain == null ? 0 : Math.max(consumed(currentHead), 0);
+            sampleChain = currentHead;
+            sampleSequence = consumedSequence(currentHead);
+            return consumed;
+        }
+
+        /**
+         * Size the step by the IDs consumed once the sampling window reaches the minimum interval.
+         *
+         * @param consumed The number of IDs consumed since the last sample
+         * @param elapsed  The nanoseconds elapsed since the last sample
+         */
+        private void adaptStep(long consumed, long elapsed) {
+            stepWindowConsumed += consumed;
+            stepWindowNanos += elapsed;
+            if (stepWindowNanos < MIN_SAMPLE_INTERVAL_NANOS) {
                 return;
             }
+            final double idsPerSecond = stepWindowConsumed * (double) TimeUnit.SECONDS.toNanos(1) / stepWindowNanos;
+            stepWindowConsumed = 0;
+            stepWindowNanos = 0;
+            final long preStep = step;
+            final long nextStep = adaptiveStep.step(idsPerSecond);
+            if (preStep != nextStep) {
+                step = nextStep;
+                if (log.isInfoEnabled()) {
+                    log.info("Prefetch [{}] - Adapt step.[{}->{}] - idsPerSecond:[{}]", maxIdDistributor.getNamespacedName(), preStep, nextStep, (long) idsPerSecond);
+                }
+            }
+        }
 
-            final int prefetchSegments = hunger ? this.prefetchDistance : safeGap;
+        /**
+         * Count the IDs consumed from the sampled chain up to the current head.
+         *
+         * @param currentHead The current head of the chain
+         * @return The number of consumed IDs, {@code -1} when the current head is not reachable from the sampled chain
+         */
+        private long consumed(IdSegmentChain currentHead) {
+            long consumed = 0;
+            long fromSequence = sampleSequence;
+            IdSegmentChain current = sampleChain;
+            while (current != currentHead) {
+                if (current == null) {
+                    return -1;
+                }
+                consumed += current.getMaxId() - fromSequence;
+                current = current.getNext();
+                if (current != null) {
+                    fromSequence = current.getOffset();
+                }
+            }
+            return consumed + Math.max(consumedSequence(currentHead) - fromSequence, 0);
+        }
 
-            appendChain(availableHeadChain, prefetchSegments);
+        private long consumedSequence(IdSegmentChain chain) {
+            return Math.min(Math.max(chain.getSequence(), chain.getOffset()), chain.getMaxId());
         }
 
         /**
@@ -433,8 +824,10 @@ public class SegmentChainId implements SegmentId {
          *
          * @param availableHeadChain The current head of the available chain
          * @param prefetchSegments   The number of segments to prefetch
+         * @param startNanoTime      The {@link System#nanoTime()} the allocation of the segments started at
+         * @param generator          Generates the appended chain from the tail
          */
-        private void appendChain(IdSegmentChain availableHeadChain, int prefetchSegments) {
+        private void appendChain(IdSegmentChain availableHeadChain, int prefetchSegments, long startNanoTime, Function<IdSegmentChain, IdSegmentChain> generator) {
 
             if (log.isDebugEnabled()) {
                 log.debug("AppendChain [{}] - headChain.version:[{}] - tailChain.version:[{}] - prefetchSegments:[{}].", maxIdDistributor.getNamespacedName(), availableHeadChain.getVersion(),
@@ -443,7 +836,8 @@ public class SegmentChainId implements SegmentId {
 
             try {
                 final IdSegmentChain preTail = tailChain;
-                tailChain = tailChain.ensureSetNext((preChain) -> generateNext(preChain, prefetchSegments)).getNext();
+                tailChain = tailChain.ensureSetNext(generator).getNext();
+                prefetchPolicy.onAppended(prefetchSegments, System.nanoTime() - startNanoTime);
                 while (tailChain.getNext() != null) {
                     tailChain = tailChain.getNext();
                 }
@@ -457,5 +851,232 @@ public class SegmentChainId implements SegmentId {
                 }
             }
         }
+
+        /**
+         * The pending allocation of a prefetch.
+         */
+        private class Append implements Allocation {
+            private final IdSegmentChain availableHeadChain;
+            private final int prefetchSegments;
+            private final long segmentStep;
+            /**
+             * The {@link System#nanoTime()} the allocation started at, so that the {@link PrefetchPolicy} sees the
+             * latency of the distributor also when the segment is appended by {@link #complete(long)}.
+             */
+            private volatile long startNanoTime;
+
+            Append(IdSegmentChain availableHeadChain, int prefetchSegments, long segmentStep) {
+                this.availableHeadChain = availableHeadChain;
+                this.prefetchSegments = prefetchSegments;
+                this.segmentStep = segmentStep;
+                this.startNanoTime = System.nanoTime();
+            }
+
+            @Override
+            public IdSegmentDistributor getDistributor() {
+                return maxIdDistributor;
+            }
+
+            @Override
+            public long getStep() {
+                return Math.multiplyExact(segmentStep, prefetchSegments);
+            }
+
+            @Override
+            public void complete(long maxId) {
+                appendChain(availableHeadChain, prefetchSegments, startNanoTime, (preChain) -> {
+                    IdSegment nextIdSegment = new DefaultIdSegment(maxId, getStep(), Clock.SYSTEM.secondTime(), idSegmentTtl, maxIdDistributor.group());
+                    if (prefetchSegments != IdSegmentDistributor.DEFAULT_SEGMENTS) {
+                        nextIdSegment = new MergedIdSegment(prefetchSegments, nextIdSegment);
+                    }
+                    return new IdSegmentChain(preChain, nextIdSegment, maxIdDistributor.allowReset());
+                });
+            }
+
+            @Override
+            public void run() {
+                startNanoTime = System.nanoTime();
+                if (maxIdDistributor instanceof AsyncIdSegmentDistributor asyncDistributor) {
+                    runAsync(asyncDistributor);
+                    return;
+                }
+                appendChain(availableHeadChain, prefetchSegments, startNanoTime,
+                    (preChain) -> maxIdDistributor.nextIdSegmentChain(preChain, prefetchSegments, segmentStep, idSegmentTtl));
+            }
+
+            /**
+             * Allocate without blocking the prefetch worker, the segment is appended by the thread completing the allocation.
+             *
+             * <p>An allocation not completed within the async allocation timeout is given up, so that a stage that never
+             * completes does not disable the prefetch. The segment of an allocation completing after it is skipped.
+             *
+             * @param asyncDistributor The asynchronous distributor
+             */
+            private void runAsync(AsyncIdSegmentDistributor asyncDistributor) {
+                allocating = true;
+                CompletableFuture<Long> nextMaxId;
+                try {
+                    nextMaxId = asyncDistributor.nextMaxIdAsync(getStep()).toCompletableFuture()
+                        .copy()
+                        .orTimeout(asyncAllocationTimeout.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RuntimeException runtimeException) {
+                    allocating = false;
+                    throw runtimeException;
+                }
+                nextMaxId.whenComplete((maxId, throwable) -> {
+                    try {
+                        if (throwable != null) {
+                            if (log.isWarnEnabled()) {
+                                log.warn("Prefetch [{}] - async allocation failed.", maxIdDistributor.getNamespacedName(), throwable);
+                            }
+                            return;
+                        }
+                        complete(maxId);
+                    } finally {
+                        allocating = false;
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Builder for SegmentChainId.
+     */
+    public static class SegmentChainIdBuilder {
+        private long idSegmentTtl = TIME_TO_LIVE_FOREVER;
+        private int safeDistance = DEFAULT_SAFE_DISTANCE;
+        private IdSegmentDistributor maxIdDistributor;
+        private PrefetchWorkerExecutorService prefetchWorkerExecutorService = PrefetchWorkerExecutorService.DEFAULT;
+        private int leaseSize = DEFAULT_LEASE_SIZE;
+        private double prefetchWatermark = DEFAULT_PREFETCH_WATERMARK;
+        @Nullable
+        private AdaptiveStep adaptiveStep;
+        @Nullable
+        private PrefetchPolicy prefetchPolicy;
+        private Duration asyncAllocationTimeout = DEFAULT_ASYNC_ALLOCATION_TIMEOUT;
+
+        SegmentChainIdBuilder() {
+        }
+
+        /**
+         * Sets the time-to-live for segments.
+         *
+         * @param idSegmentTtl the time-to-live for segments, {@link IdSegment#TIME_TO_LIVE_FOREVER} by default
+         * @return this builder
+         */
+        public SegmentChainIdBuilder idSegmentTtl(long idSegmentTtl) {
+            this.idSegmentTtl = idSegmentTtl;
+            return this;
+        }
+
+        /**
+         * Sets the safe distance for prefetching.
+         *
+         * @param safeDistance the safe distance for prefetching, {@link #DEFAULT_SAFE_DISTANCE} by default
+         * @return this builder
+         */
+        public SegmentChainIdBuilder safeDistance(int safeDistance) {
+            this.safeDistance = safeDistance;
+            return this;
+        }
+
+        /**
+         * Sets the distributor for allocating new segments.
+         *
+         * @param maxIdDistributor the distributor for allocating new segments, required
+         * @return this builder
+         */
+        public SegmentChainIdBuilder maxIdDistributor(IdSegmentDistributor maxIdDistributor) {
+            this.maxIdDistributor = maxIdDistributor;
+            return this;
+        }
+
+        /**
+         * Sets the executor for prefetch jobs.
+         *
+         * @param prefetchWorkerExecutorService the executor for prefetch jobs, {@link PrefetchWorkerExecutorService#DEFAULT} by default
+         * @return this builder
+         */
+        public SegmentChainIdBuilder prefetchWorkerExecutorService(PrefetchWorkerExecutorService prefetchWorkerExecutorService) {
+            this.prefetchWorkerExecutorService = prefetchWorkerExecutorService;
+            return this;
+        }
+
+        /**
+         * Sets the number of IDs each thread leases from the head segment.
+         *
+         * <p>With a {@code leaseSize} greater than {@code 1}, each thread reserves {@code leaseSize} IDs
+         * from the head segment with a single atomic operation into a thread-local buffer, and then serves
+         * them without touching the shared sequence. IDs stay unique but are only ordered per thread, and
+         * IDs left in a thread's lease are skipped when the thread stops generating or the segment expires.
+         *
+         * @param leaseSize the number of IDs leased per thread, {@code 1} (the default) to disable leasing
+         * @return this builder
+         */
+        public SegmentChainIdBuilder leaseSize(int leaseSize) {
+            this.leaseSize = leaseSize;
+            return this;
+        }
+
+        /**
+         * Sets the consumed ratio of a segment that triggers prefetching.
+         *
+         * <p>With a {@code prefetchWatermark} greater than {@code 0}, the thread that consumes a segment past
+         * that ratio of its step wakes up the prefetch job, so segments are appended before the chain runs dry
+         * instead of waiting for the next prefetch period or for callers to go hungry.
+         *
+         * @param prefetchWatermark the consumed ratio in {@code (0, 1]} that triggers prefetching, {@code 0} (the default) to disable
+         * @return this builder
+         */
+        public SegmentChainIdBuilder prefetchWatermark(double prefetchWatermark) {
+            this.prefetchWatermark = prefetchWatermark;
+            return this;
+        }
+
+        /**
+         * Sets the adaptive step sizing.
+         *
+         * <p>With an adaptive step, the prefetch job measures the IDs consumed per second from the chain and
+         * requests segments covering {@link AdaptiveStep#getRefillInterval()} of that demand, bounded by the min and max step.
+         *
+         * @param adaptiveStep the adaptive step sizing, {@code null} (the default) to always use the step of the distributor
+         * @return this builder
+         */
+        public SegmentChainIdBuilder adaptiveStep(@Nullable AdaptiveStep adaptiveStep) {
+            this.adaptiveStep = adaptiveStep;
+            return this;
+        }
+
+        /**
+         * Sets the policy deciding how many segments to keep prefetched.
+         *
+         * @param prefetchPolicy the prefetch policy owned by the generator, {@code null} (the default) to use an {@link EwmaPrefetchPolicy}
+         * @return this builder
+         */
+        public SegmentChainIdBuilder prefetchPolicy(@Nullable PrefetchPolicy prefetchPolicy) {
+            this.prefetchPolicy = prefetchPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the time an allocation from an {@link AsyncIdSegmentDistributor} may take before the prefetch gives it up.
+         *
+         * @param asyncAllocationTimeout the allocation timeout, {@link #DEFAULT_ASYNC_ALLOCATION_TIMEOUT} by default
+         * @return this builder
+         */
+        public SegmentChainIdBuilder asyncAllocationTimeout(Duration asyncAllocationTimeout) {
+            this.asyncAllocationTimeout = asyncAllocationTimeout;
+            return this;
+        }
+
+        /**
+         * Builds the SegmentChainId instance and submits its prefetch job.
+         *
+         * @return the built instance
+         */
+        public SegmentChainId build() {
+            return new SegmentChainId(this);
+        }
     }
 }
@@ -68,6 +68,17 @@ public interface SegmentId extends IdGenerator {
      */
     IdSegment current();
 
+    /**
+     * Get the step of each segment requested from the distributor.
+     *
+     * <p>Equals the step of the current segment unless the generator sizes its steps adaptively.
+     *
+     * @return The effective step
+     */
+    default long getEffectiveStep() {
+        return current().getStep();
+    }
+
     /**
      * Get statistical information about this Segment ID generator.
      * 
@@ -84,6 +95,7 @@ public interface SegmentId extends IdGenerator {
                 current().getOffset(),
                 current().getSequence(),
                 current().getStep(),
+                getEffectiveStep(),
                 current().isExpired(),
                 current().isOverflow(),
                 current().isAvailable(),
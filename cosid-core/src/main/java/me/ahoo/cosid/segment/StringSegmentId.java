@@ -44,6 +44,11 @@ public class StringSegmentId extends StringIdGeneratorDecorator implements Segme
         return actualSegmentId.current();
     }
 
+    @Override
+    public long getEffectiveStep() {
+        return actualSegmentId.getEffectiveStep();
+    }
+
     @Override
     public IdGeneratorStat stat() {
         return super.stat();
@@ -0,0 +1,80 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment.concurrent;
+
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Affinity job whose allocation can be coalesced with the allocations of the other jobs owned by the same worker.
+ *
+ * <p>Each run is split into {@link #prepare()}, which decides what to allocate, and the {@link Allocation},
+ * which is either completed from a {@link BatchIdSegmentDistributor} call shared with other jobs or run on its own.
+ *
+ * @author ahoo wang
+ */
+public interface CoalescingAffinityJob extends AffinityJob {
+
+    /**
+     * Decide the allocation this job needs on this run.
+     *
+     * @return the pending allocation, {@code null} when nothing needs to be allocated
+     */
+    @Nullable
+    Allocation prepare();
+
+    @Override
+    default void run() {
+        Allocation allocation = prepare();
+        if (allocation != null) {
+            allocation.run();
+        }
+    }
+
+    /**
+     * A pending allocation of a {@link CoalescingAffinityJob}.
+     */
+    interface Allocation extends Runnable {
+
+        /**
+         * Gets the distributor to allocate from.
+         *
+         * @return the distributor
+         */
+        IdSegmentDistributor getDistributor();
+
+        /**
+         * Gets the step size to allocate.
+         *
+         * @return the step size
+         */
+        long getStep();
+
+        /**
+         * Completes the allocation with the max ID allocated by a batch call.
+         *
+         * @param maxId the maximum ID in the allocated range
+         */
+        void complete(long maxId);
+
+        /**
+         * Allocates from {@link #getDistributor()} on its own.
+         */
+        @Override
+        void run();
+    }
+}
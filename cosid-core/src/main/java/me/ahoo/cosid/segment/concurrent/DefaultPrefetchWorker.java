@@ -13,10 +13,18 @@
 
 package me.ahoo.cosid.segment.concurrent;
 
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
@@ -25,7 +33,9 @@ import java.util.concurrent.locks.LockSupport;
  * Default prefetch worker implementation.
  *
  * <p>Runs a background thread that periodically executes affinity jobs
- * to prefetch ID segments before they are exhausted.
+ * to prefetch ID segments before they are exhausted. The allocations of
+ * {@link CoalescingAffinityJob}s sharing a {@link BatchIdSegmentDistributor}
+ * are coalesced into one batch call per run.
  *
  * @author ahoo wang
  */
@@ -103,8 +113,16 @@ public class DefaultPrefetchWorker extends Thread implements PrefetchWorker {
     public void run() {
         while (!shutdown) {
             try {
+                List<CoalescingAffinityJob.Allocation> allocations = new ArrayList<>();
                 affinityJobs.forEach(affinityJob -> {
                     try {
+                        if (affinityJob instanceof CoalescingAffinityJob coalescingAffinityJob) {
+                            CoalescingAffinityJob.Allocation allocation = coalescingAffinityJob.prepare();
+                            if (allocation != null) {
+                                allocations.add(allocation);
+                            }
+                            return;
+                        }
                         affinityJob.run();
                     } catch (Throwable throwable) {
                         if (log.isErrorEnabled()) {
@@ -112,6 +130,7 @@ public class DefaultPrefetchWorker extends Thread implements PrefetchWorker {
                         }
                     }
                 });
+                allocate(allocations);
                 LockSupport.parkNanos(this, prefetchPeriod.toNanos());
             } catch (Throwable throwable) {
                 if (log.isErrorEnabled()) {
@@ -120,4 +139,67 @@ public class DefaultPrefetchWorker extends Thread implements PrefetchWorker {
             }
         }
     }
+
+    /**
+     * Allocate the pending allocations with one batch call per {@link BatchIdSegmentDistributor}.
+     *
+     * <p>Allocations that can not be batched, or whose batch call failed, are run on their own.
+     *
+     * @param allocations the pending allocations of this run
+     */
+    @VisibleForTesting
+    static void allocate(List<CoalescingAffinityJob.Allocation> allocations) {
+        Map<BatchIdSegmentDistributor, List<CoalescingAffinityJob.Allocation>> batches = new LinkedHashMap<>();
+        for (CoalescingAffinityJob.Allocation allocation : allocations) {
+            BatchIdSegmentDistributor batchDistributor = allocation.getDistributor().getBatchDistributor();
+            if (batchDistributor == null) {
+                runSafely(allocation);
+                continue;
+            }
+            batches.computeIfAbsent(batchDistributor, key -> new ArrayList<>()).add(allocation);
+        }
+        batches.forEach(DefaultPrefetchWorker::allocate);
+    }
+
+    private static void allocate(BatchIdSegmentDistributor batchDistributor, List<CoalescingAffinityJob.Allocation> batch) {
+        if (batch.size() == 1) {
+            runSafely(batch.get(0));
+            return;
+        }
+        List<IdSegmentDistributor> distributors = new ArrayList<>(batch.size());
+        long[] steps = new long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            distributors.add(batch.get(i).getDistributor());
+            steps[i] = batch.get(i).getStep();
+        }
+        long[] maxIds;
+        try {
+            maxIds = batchDistributor.nextMaxIds(distributors, steps);
+        } catch (Throwable throwable) {
+            if (log.isWarnEnabled()) {
+                log.warn("Allocate - batch of size:[{}] failed, fall back to allocate one by one.", batch.size(), throwable);
+            }
+            batch.forEach(DefaultPrefetchWorker::runSafely);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                batch.get(i).complete(maxIds[i]);
+            } catch (Throwable throwable) {
+                if (log.isErrorEnabled()) {
+                    log.error(throwable.getMessage(), throwable);
+                }
+            }
+        }
+    }
+
+    private static void runSafely(CoalescingAffinityJob.Allocation allocation) {
+        try {
+            allocation.run();
+        } catch (Throwable throwable) {
+            if (log.isErrorEnabled()) {
+                log.error(throwable.getMessage(), throwable);
+            }
+        }
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Prefetch worker dedicated to a single {@link AffinityJob}.
+ *
+ * <p>Runs its job on its own virtual thread (platform daemon thread when virtual threads are not available),
+ * so a job blocked on distributor I/O never delays the prefetch of other jobs.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class VirtualThreadPrefetchWorker implements PrefetchWorker, Runnable {
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_UNSTARTED;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderUnstarted = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class);
+            builderUnstarted = builderClass.getMethod("unstarted", Runnable.class);
+        } catch (ReflectiveOperationException ignored) {
+            // Virtual threads require Java 21.
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_UNSTARTED = builderUnstarted;
+    }
+
+    private final Duration prefetchPeriod;
+    private final Consumer<VirtualThreadPrefetchWorker> onShutdown;
+    private final Thread thread;
+    private volatile AffinityJob affinityJob;
+    private volatile boolean shutdown = false;
+
+    public VirtualThreadPrefetchWorker(String name, Duration prefetchPeriod) {
+        this(name, prefetchPeriod, worker -> {
+        });
+    }
+
+    /**
+     * Create a worker notifying its owner once it is shut down, when its job is cancelled or by the owner.
+     *
+     * @param name           the name of the worker thread
+     * @param prefetchPeriod the period between two runs of the job
+     * @param onShutdown     called with this worker once it is shut down
+     */
+    VirtualThreadPrefetchWorker(String name, Duration prefetchPeriod, Consumer<VirtualThreadPrefetchWorker> onShutdown) {
+        this.prefetchPeriod = prefetchPeriod;
+        this.onShutdown = onShutdown;
+        this.thread = newThread(name, this);
+    }
+
+    /**
+     * Whether workers run on virtual threads in this JVM.
+     *
+     * @return {@code true} if virtual threads are available
+     */
+    public static boolean isVirtualThreadSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    private static Thread newThread(String name, Runnable task) {
+        if (OF_VIRTUAL != null) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name);
+                return (Thread) BUILDER_UNSTARTED.invoke(builder, task);
+            } catch (ReflectiveOperationException | RuntimeException exception) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Create virtual thread [{}] failed, fall back to platform thread.", name, exception);
+                }
+            }
+        }
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @Override
+    public String getName() {
+        return thread.getName();
+    }
+
+    @Override
+    public synchronized void submit(AffinityJob affinityJob) {
+        if (log.isInfoEnabled()) {
+            log.info("Submit [{}] to [{}].", affinityJob.getJobId(), getName());
+        }
+        if (shutdown) {
+            throw new IllegalArgumentException("PrefetchWorker is shutdown.");
+        }
+        if (this.affinityJob != null && !this.affinityJob.equals(affinityJob)) {
+            throw new IllegalStateException("PrefetchWorker is dedicated to job:[" + this.affinityJob.getJobId() + "].");
+        }
+        this.affinityJob = affinityJob;
+        if (Thread.State.NEW.equals(thread.getState())) {
+            thread.start();
+        }
+    }
+
+    @Override
+    public void cancel(AffinityJob affinityJob) {
+        if (log.isInfoEnabled()) {
+            log.info("Cancel [{}] on [{}].", affinityJob.getJobId(), getName());
+        }
+        if (affinityJob.equals(this.affinityJob)) {
+            shutdown();
+        }
+    }
+
+    @Override
+    public void wakeup(AffinityJob affinityJob) {
+        if (log.isDebugEnabled()) {
+            log.debug("Wakeup [{}] - state:[{}].", affinityJob.getJobId(), thread.getState());
+        }
+        if (shutdown) {
+            if (log.isWarnEnabled()) {
+                log.warn("Wakeup [{}] - PrefetchWorker is shutdown,Can't be awakened!", affinityJob.getJobId());
+            }
+            return;
+        }
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        if (log.isInfoEnabled()) {
+            log.info("Shutdown [{}]!", getName());
+        }
+        shutdown = true;
+        LockSupport.unpark(thread);
+        onShutdown.accept(this);
+    }
+
+    @Override
+    public void run() {
+        while (!shutdown) {
+            try {
+                affinityJob.run();
+            } catch (Throwable throwable) {
+                if (log.isErrorEnabled()) {
+                    log.error(throwable.getMessage(), throwable);
+                }
+            }
+            LockSupport.parkNanos(this, prefetchPeriod.toNanos());
+        }
+    }
+}
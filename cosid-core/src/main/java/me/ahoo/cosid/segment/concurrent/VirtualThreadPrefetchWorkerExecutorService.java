@@ -0,0 +1,97 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment.concurrent;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefetch Worker Executor Service that gives every job its own {@link VirtualThreadPrefetchWorker}.
+ *
+ * <p>Unlike {@link PrefetchWorkerExecutorService}, where jobs bound to the same platform worker run one after another,
+ * each job is scheduled and woken up independently, so a slow distributor round trip only delays its own segment name.
+ * Requires Java 21 for virtual threads, otherwise each job gets a platform daemon thread. The worker of a job is
+ * released once the job is cancelled.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class VirtualThreadPrefetchWorkerExecutorService extends PrefetchWorkerExecutorService {
+    private final Duration prefetchPeriod;
+    private final Set<VirtualThreadPrefetchWorker> workers = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown = false;
+
+    public VirtualThreadPrefetchWorkerExecutorService(Duration prefetchPeriod) {
+        this(prefetchPeriod, true);
+    }
+
+    public VirtualThreadPrefetchWorkerExecutorService(Duration prefetchPeriod, boolean shutdownHook) {
+        super(prefetchPeriod, 1, shutdownHook);
+        this.prefetchPeriod = prefetchPeriod;
+    }
+
+    @Override
+    public void shutdown() {
+        if (log.isInfoEnabled()) {
+            log.info("Shutdown!");
+        }
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        for (VirtualThreadPrefetchWorker worker : workers) {
+            worker.shutdown();
+        }
+        workers.clear();
+    }
+
+    /**
+     * Gets the number of workers whose job is still running.
+     *
+     * @return the number of workers
+     */
+    @VisibleForTesting
+    int getWorkerCount() {
+        return workers.size();
+    }
+
+    @Override
+    public void submit(AffinityJob affinityJob) {
+        Preconditions.checkNotNull(affinityJob, "affinityJob can not be null!");
+        if (log.isInfoEnabled()) {
+            log.info("Submit jobId:[{}].", affinityJob.getJobId());
+        }
+        if (shutdown) {
+            throw new IllegalStateException("PrefetchWorkerExecutorService is shutdown.");
+        }
+        if (affinityJob.getPrefetchWorker() != null) {
+            return;
+        }
+        synchronized (this) {
+            if (affinityJob.getPrefetchWorker() != null) {
+                return;
+            }
+            VirtualThreadPrefetchWorker prefetchWorker = new VirtualThreadPrefetchWorker("VirtualThreadPrefetchWorker-" + affinityJob.getJobId(), prefetchPeriod, workers::remove);
+            workers.add(prefetchWorker);
+            prefetchWorker.submit(affinityJob);
+            affinityJob.setPrefetchWorker(prefetchWorker);
+        }
+    }
+}
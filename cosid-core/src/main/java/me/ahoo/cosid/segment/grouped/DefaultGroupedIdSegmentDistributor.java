@@ -130,6 +130,16 @@ public class DefaultGroupedIdSegmentDistributor implements GroupedIdSegmentDistr
         return this.ensureGroupedBinding().nextIdSegmentChain(previousChain);
     }
 
+    @Override
+    public @NonNull IdSegment nextIdSegment(int segments, long step, long ttl) {
+        return this.ensureGroupedBinding().nextIdSegment(segments, step, ttl);
+    }
+
+    @Override
+    public @NonNull IdSegmentChain nextIdSegmentChain(IdSegmentChain previousChain, int segments, long step, long ttl) {
+        return this.ensureGroupedBinding().nextIdSegmentChain(previousChain, segments, step, ttl);
+    }
+
     /**
      * Holds a group binding with its distributor.
      */
@@ -196,5 +206,17 @@ public class DefaultGroupedIdSegmentDistributor implements GroupedIdSegmentDistr
             long minTtl = getMinTtl(ttl);
             return GroupedIdSegmentDistributor.super.nextIdSegmentChain(previousChain, segments, minTtl);
         }
+
+        @Override
+        public @NonNull IdSegment nextIdSegment(int segments, long step, long ttl) {
+            long minTtl = getMinTtl(ttl);
+            return GroupedIdSegmentDistributor.super.nextIdSegment(segments, step, minTtl);
+        }
+
+        @Override
+        public @NonNull IdSegmentChain nextIdSegmentChain(IdSegmentChain previousChain, int segments, long step, long ttl) {
+            long minTtl = getMinTtl(ttl);
+            return GroupedIdSegmentDistributor.super.nextIdSegmentChain(previousChain, segments, step, minTtl);
+        }
     }
 }
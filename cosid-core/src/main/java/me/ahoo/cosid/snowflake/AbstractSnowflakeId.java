@@ -15,9 +15,12 @@ package me.ahoo.cosid.snowflake;
 
 import me.ahoo.cosid.snowflake.exception.ClockBackwardsException;
 import me.ahoo.cosid.snowflake.exception.TimestampOverflowException;
+import me.ahoo.cosid.util.Clock;
 
 import com.google.common.base.Strings;
 
+import java.util.Objects;
+
 /**
  * Abstract SnowflakeId implementation.
  *
@@ -80,7 +83,15 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
     /**
      * Threshold for resetting sequence counter when timestamp advances.
      */
-    private final long sequenceResetThreshold;
+    protected final long sequenceResetThreshold;
+    /**
+     * Time source backing {@link #getCurrentTime()}.
+     */
+    protected final Clock clock;
+    /**
+     * Maximum lead of the logical timestamp over the clock, in timestamp units; {@code 0} disables borrowing future time.
+     */
+    protected final long maxBorrowTime;
     /**
      * Current sequence counter value.
      */
@@ -107,6 +118,56 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
                                int sequenceBit,
                                int machineId,
                                long sequenceResetThreshold) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a new AbstractSnowflakeId reading time from the given clock.
+     *
+     * @param epoch                   epoch timestamp in milliseconds
+     * @param timestampBit           number of bits for timestamp
+     * @param machineBit              number of bits for machine ID
+     * @param sequenceBit            number of bits for sequence
+     * @param machineId              the machine ID value
+     * @param sequenceResetThreshold threshold for resetting sequence on timestamp advance
+     * @param clock                  the time source
+     * @throws IllegalArgumentException if total bits exceed 63 or machineId is invalid
+     */
+    public AbstractSnowflakeId(long epoch,
+                               int timestampBit,
+                               int machineBit,
+                               int sequenceBit,
+                               int machineId,
+                               long sequenceResetThreshold,
+                               Clock clock) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock, 0L);
+    }
+
+    /**
+     * Creates a new AbstractSnowflakeId that borrows future time when the sequence is exhausted.
+     *
+     * <p>Instead of spinning until the clock ticks, the timestamp is advanced logically once the sequence
+     * of the current timestamp is exhausted, and only waits when the logical timestamp would lead the clock by
+     * more than {@code maxBorrowTime}. A clock moving backwards within the borrowed lead is absorbed the same way.
+     *
+     * @param epoch                   epoch timestamp in milliseconds
+     * @param timestampBit           number of bits for timestamp
+     * @param machineBit              number of bits for machine ID
+     * @param sequenceBit            number of bits for sequence
+     * @param machineId              the machine ID value
+     * @param sequenceResetThreshold threshold for resetting sequence on timestamp advance
+     * @param clock                  the time source
+     * @param maxBorrowTime          maximum lead over the clock in timestamp units, {@code 0} to disable
+     * @throws IllegalArgumentException if total bits exceed 63, machineId is invalid or maxBorrowTime is negative
+     */
+    public AbstractSnowflakeId(long epoch,
+                               int timestampBit,
+                               int machineBit,
+                               int sequenceBit,
+                               int machineId,
+                               long sequenceResetThreshold,
+                               Clock clock,
+                               long maxBorrowTime) {
         if ((timestampBit + machineBit + sequenceBit) > TOTAL_BIT) {
             throw new IllegalArgumentException("total bit can't be greater than TOTAL_BIT[63] .");
         }
@@ -124,6 +185,11 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
         }
         this.machineId = machineId;
         this.sequenceResetThreshold = sequenceResetThreshold;
+        if (maxBorrowTime < 0) {
+            throw new IllegalArgumentException(Strings.lenientFormat("maxBorrowTime[%s] can't be less than 0 .", maxBorrowTime));
+        }
+        this.clock = clock;
+        this.maxBorrowTime = maxBorrowTime;
     }
 
     /**
@@ -139,6 +205,21 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
         return time;
     }
 
+    /**
+     * Advances the timestamp logically past the last timestamp, waiting only while it would lead
+     * the current time by more than {@link #maxBorrowTime}.
+     *
+     * @param currentTimestamp the current (logical) timestamp
+     * @return the next valid timestamp
+     */
+    protected long borrowTime(long currentTimestamp) {
+        final long time = Math.max(currentTimestamp, lastTimestamp + 1);
+        while (time - getCurrentTime() > maxBorrowTime) {
+            Thread.onSpinWait();
+        }
+        return time;
+    }
+
     /**
      * Gets the current time in the appropriate unit for this snowflake ID variant.
      *
@@ -157,9 +238,38 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
      */
     @Override
     public synchronized long generate() {
+        return nextId();
+    }
+
+    /**
+     * Generates a batch of unique IDs under a single lock acquisition.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  number of IDs to generate
+     * @throws ClockBackwardsException   if system clock has moved backwards
+     * @throws TimestampOverflowException if timestamp exceeds maximum value
+     */
+    @Override
+    public synchronized void generate(long[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        for (int i = offset; i < offset + count; i++) {
+            dest[i] = nextId();
+        }
+    }
+
+    /**
+     * Generates the next ID, the caller must hold the lock of this instance.
+     *
+     * @return a unique snowflake ID
+     */
+    private long nextId() {
         long currentTimestamp = getCurrentTime();
         if (currentTimestamp < lastTimestamp) {
-            throw new ClockBackwardsException(lastTimestamp, currentTimestamp);
+            if (lastTimestamp - currentTimestamp > maxBorrowTime) {
+                throw new ClockBackwardsException(lastTimestamp, currentTimestamp);
+            }
+            currentTimestamp = lastTimestamp;
         }
 
         //region Reset sequence based on sequence reset threshold,Optimize the problem of uneven sharding.
@@ -172,7 +282,7 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
         sequence = (sequence + 1) & maxSequence;
 
         if (sequence == 0L) {
-            currentTimestamp = nextTime();
+            currentTimestamp = maxBorrowTime > 0 ? borrowTime(currentTimestamp) : nextTime();
         }
 
         //endregion
@@ -226,6 +336,15 @@ public abstract class AbstractSnowflakeId implements SnowflakeId {
         return lastTimestamp;
     }
 
+    /**
+     * Gets the maximum lead of the logical timestamp over the clock.
+     *
+     * @return maximum borrowed time in timestamp units, {@code 0} when borrowing is disabled
+     */
+    public long getMaxBorrowTime() {
+        return maxBorrowTime;
+    }
+
     @Override
     public int getMachineId() {
         return (int) machineId;
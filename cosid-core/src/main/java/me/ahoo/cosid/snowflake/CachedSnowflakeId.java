@@ -0,0 +1,362 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.IdGeneratorDecorator;
+import me.ahoo.cosid.stat.generator.IdGeneratorStat;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cached SnowflakeId.
+ *
+ * <p>Serves IDs from a power-of-two ring buffer of pre-generated IDs (similar to Baidu's {@code CachedUidGenerator}),
+ * so {@link #generate()} costs one CAS on the consumer cursor instead of a call into the actual generator.
+ * A daemon filler thread refills the buffer in batches through {@link SnowflakeId#generate(long[], int, int)}
+ * whenever the number of cached IDs drops below {@code refillThreshold}.
+ *
+ * <p>When the buffer is empty, the {@link EmptyPolicy} decides whether to wait for the filler or to generate directly.
+ * After a failed fill the filler backs off for a fill period, meanwhile {@link EmptyPolicy#BLOCK} consumers fail fast with the fill failure.
+ * Wrap the actual generator with {@link ClockSyncSnowflakeId} so the filler recovers from clock backwards by itself.
+ * IDs are unique but only ordered per consumer thread, and their timestamps may lag behind the time they are served.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class CachedSnowflakeId implements IdGeneratorDecorator, SnowflakeId, Runnable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final long FILL_PERIOD = Duration.ofSeconds(1).toNanos();
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final SnowflakeId actual;
+    private final long[] buffer;
+    private final int mask;
+    private final int refillThreshold;
+    private final int fillBatchSize;
+    private final EmptyPolicy emptyPolicy;
+    /**
+     * Number of IDs served, advanced by consumers with CAS.
+     */
+    private final PaddedAtomicLong head = new PaddedAtomicLong();
+    /**
+     * Number of IDs published, only advanced by the filler.
+     */
+    private final PaddedAtomicLong tail = new PaddedAtomicLong();
+    private final Thread filler;
+    private volatile boolean waiting = false;
+    /**
+     * The failure of the last fill, cleared once a fill succeeds.
+     */
+    @Nullable
+    private volatile Throwable fillFailure;
+    private volatile boolean shutdown = false;
+
+    public CachedSnowflakeId(SnowflakeId actual) {
+        this(actual, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_SIZE / 2, EmptyPolicy.BLOCK);
+    }
+
+    /**
+     * Creates a CachedSnowflakeId and starts its filler thread.
+     *
+     * @param actual          the actual snowflake ID generator
+     * @param bufferSize      the ring buffer size, must be a power of 2
+     * @param refillThreshold the filler is woken when fewer IDs than this are cached
+     * @param emptyPolicy     what to do when the buffer is empty
+     */
+    public CachedSnowflakeId(SnowflakeId actual, int bufferSize, int refillThreshold, EmptyPolicy emptyPolicy) {
+        Preconditions.checkArgument(bufferSize > 0 && Integer.bitCount(bufferSize) == 1, "bufferSize:[%s] must be a power of 2.", bufferSize);
+        Preconditions.checkArgument(refillThreshold >= 0 && refillThreshold < bufferSize, "refillThreshold:[%s] must be in [0,bufferSize:[%s]).", refillThreshold,
+            bufferSize);
+        this.actual = actual;
+        this.buffer = new long[bufferSize];
+        this.mask = bufferSize - 1;
+        this.refillThreshold = refillThreshold;
+        // Fill one tick's worth of sequences at a time so a synchronized actual is not held for long.
+        this.fillBatchSize = (int) Math.min(bufferSize, actual.getMaxSequence() + 1);
+        this.emptyPolicy = Objects.requireNonNull(emptyPolicy, "emptyPolicy can not be null.");
+        this.filler = new Thread(this);
+        this.filler.setName("CosId-CachedSnowflakeId-" + THREAD_COUNTER.incrementAndGet());
+        this.filler.setDaemon(true);
+        this.filler.start();
+    }
+
+    @Override
+    public @NonNull SnowflakeId getActual() {
+        return actual;
+    }
+
+    public int getBufferSize() {
+        return buffer.length;
+    }
+
+    public int getRefillThreshold() {
+        return refillThreshold;
+    }
+
+    public EmptyPolicy getEmptyPolicy() {
+        return emptyPolicy;
+    }
+
+    /**
+     * Gets the number of IDs currently cached.
+     *
+     * @return cached ID count
+     */
+    public int getCachedSize() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    @Override
+    public long generate() {
+        while (true) {
+            final long currentHead = head.get();
+            final long available = tail.get() - currentHead;
+            if (available <= 0) {
+                if (onEmpty()) {
+                    return actual.generate();
+                }
+                continue;
+            }
+            // The slot can only be overwritten after head moved past it, in which case the CAS fails.
+            final long id = buffer[(int) currentHead & mask];
+            if (head.compareAndSet(currentHead, currentHead + 1)) {
+                wakeupIfLow(available - 1);
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Takes a run of cached IDs with each CAS.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  number of IDs to generate
+     */
+    @Override
+    public void generate(long[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        int filled = 0;
+        while (filled < count) {
+            final long currentHead = head.get();
+            final long available = tail.get() - currentHead;
+            if (available <= 0) {
+                if (onEmpty()) {
+                    actual.generate(dest, offset + filled, count - filled);
+                    return;
+                }
+                continue;
+            }
+            final int taken = (int) Math.min(count - filled, Math.min(available, buffer.length));
+            final int start = (int) currentHead & mask;
+            final int firstPart = Math.min(taken, buffer.length - start);
+            System.arraycopy(buffer, start, dest, offset + filled, firstPart);
+            System.arraycopy(buffer, 0, dest, offset + filled + firstPart, taken - firstPart);
+            if (head.compareAndSet(currentHead, currentHead + taken)) {
+                filled += taken;
+                wakeupIfLow(available - taken);
+            }
+        }
+    }
+
+    /**
+     * Handles an empty buffer.
+     *
+     * @return {@code true} if the caller should generate directly from {@link #actual}
+     * @throws CosIdException if the policy is {@link EmptyPolicy#BLOCK} and the last fill failed
+     */
+    private boolean onEmpty() {
+        wakeup();
+        if (shutdown || EmptyPolicy.DIRECT.equals(emptyPolicy)) {
+            return true;
+        }
+        Throwable failure = fillFailure;
+        if (failure != null) {
+            throw new CosIdException(Strings.lenientFormat("[%s] failed to fill the buffer.", filler.getName()), failure);
+        }
+        Thread.onSpinWait();
+        return false;
+    }
+
+    private void wakeupIfLow(long remaining) {
+        if (remaining < refillThreshold) {
+            wakeup();
+        }
+    }
+
+    private void wakeup() {
+        if (waiting) {
+            waiting = false;
+            LockSupport.unpark(filler);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (!shutdown) {
+            try {
+                fill();
+                fillFailure = null;
+            } catch (Throwable throwable) {
+                fillFailure = throwable;
+                if (log.isErrorEnabled()) {
+                    log.error(throwable.getMessage(), throwable);
+                }
+                backOff();
+                continue;
+            }
+            waiting = true;
+            // Re-check after publishing the waiting flag so a wakeup in between is not lost.
+            if (!shutdown && tail.get() - head.get() > refillThreshold) {
+                LockSupport.parkNanos(this, FILL_PERIOD);
+            }
+            waiting = false;
+        }
+    }
+
+    /**
+     * Parks for a whole fill period after a failed fill, only {@link #shutdown()} cuts it short.
+     */
+    private void backOff() {
+        final long deadline = System.nanoTime() + FILL_PERIOD;
+        long remaining;
+        while (!shutdown && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void fill() {
+        long currentTail = tail.get();
+        int free;
+        while (!shutdown && (free = buffer.length - (int) (currentTail - head.get())) > 0) {
+            final int start = (int) currentTail & mask;
+            final int batchSize = Math.min(Math.min(free, buffer.length - start), fillBatchSize);
+            actual.generate(buffer, start, batchSize);
+            currentTail += batchSize;
+            tail.set(currentTail);
+        }
+    }
+
+    /**
+     * Stops the filler thread, the remaining cached IDs are still served and then generated directly.
+     */
+    public void shutdown() {
+        if (log.isInfoEnabled()) {
+            log.info("Shutdown [{}]!", filler.getName());
+        }
+        shutdown = true;
+        LockSupport.unpark(filler);
+    }
+
+    @Override
+    public IdGeneratorStat stat() {
+        return IdGeneratorDecorator.super.stat();
+    }
+
+    @Override
+    public long getEpoch() {
+        return actual.getEpoch();
+    }
+
+    @Override
+    public int getTimestampBit() {
+        return actual.getTimestampBit();
+    }
+
+    @Override
+    public int getMachineBit() {
+        return actual.getMachineBit();
+    }
+
+    @Override
+    public int getSequenceBit() {
+        return actual.getSequenceBit();
+    }
+
+    @Override
+    public boolean isSafeJavascript() {
+        return actual.isSafeJavascript();
+    }
+
+    @Override
+    public long getMaxTimestamp() {
+        return actual.getMaxTimestamp();
+    }
+
+    @Override
+    public int getMaxMachineId() {
+        return actual.getMaxMachineId();
+    }
+
+    @Override
+    public long getMaxSequence() {
+        return actual.getMaxSequence();
+    }
+
+    @Override
+    public long getLastTimestamp() {
+        return actual.getLastTimestamp();
+    }
+
+    @Override
+    public long getLastTimestampAsMilliseconds() {
+        return actual.getLastTimestampAsMilliseconds();
+    }
+
+    @Override
+    public int getMachineId() {
+        return actual.getMachineId();
+    }
+
+    /**
+     * What {@link #generate()} does when no cached ID is available.
+     */
+    public enum EmptyPolicy {
+        /**
+         * Spin until the filler publishes new IDs, or throw the failure of the last fill while the filler backs off.
+         */
+        BLOCK,
+        /**
+         * Generate from the actual generator directly, the ID may then be greater than IDs served later from the buffer.
+         */
+        DIRECT
+    }
+
+    /**
+     * Cursor padded against false sharing between the consumer and filler cursors.
+     */
+    @SuppressWarnings("unused")
+    static final class PaddedAtomicLong extends AtomicLong {
+        private static final long serialVersionUID = 1L;
+        public volatile long p1;
+        public volatile long p2;
+        public volatile long p3;
+        public volatile long p4;
+        public volatile long p5;
+        public volatile long p6;
+        public volatile long p7;
+    }
+}
@@ -59,6 +59,19 @@ public class ClockSyncSnowflakeId implements IdGeneratorDecorator, SnowflakeId {
         }
     }
 
+    @Override
+    public void generate(long[] dest, int offset, int count) {
+        try {
+            actual.generate(dest, offset, count);
+        } catch (ClockBackwardsException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn(exception.getMessage(), exception);
+            }
+            clockBackwardsSynchronizer.syncUninterruptibly(actual.getLastTimestampAsMilliseconds());
+            actual.generate(dest, offset, count);
+        }
+    }
+
     @Override
     public IdGeneratorStat stat() {
         return IdGeneratorDecorator.super.stat();
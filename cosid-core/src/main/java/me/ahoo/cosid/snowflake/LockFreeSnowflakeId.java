@@ -0,0 +1,254 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.snowflake.exception.ClockBackwardsException;
+import me.ahoo.cosid.snowflake.exception.TimestampOverflowException;
+import me.ahoo.cosid.util.Clock;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Lock-free SnowflakeId implementation.
+ *
+ * <p>Instead of a {@code synchronized} {@link #generate()}, the last timestamp and the
+ * sequence are packed into a single {@code long} ({@code (lastTimestamp - epoch) << sequenceBit | sequence})
+ * and advanced with a CAS loop, so concurrent callers never park on a monitor.
+ *
+ * <p>It keeps the same guarantees as {@link AbstractSnowflakeId}:
+ * <ul>
+ *   <li>IDs are monotonically increasing within this instance</li>
+ *   <li>The sequence is reset according to {@code sequenceResetThreshold} when the timestamp advances</li>
+ *   <li>{@link ClockBackwardsException} is thrown when the clock moves backwards</li>
+ * </ul>
+ *
+ * <p>Supported timestamp units are {@link TimeUnit#MILLISECONDS} and {@link TimeUnit#SECONDS}.
+ *
+ * @author ahoo wang
+ */
+public class LockFreeSnowflakeId extends AbstractSnowflakeId {
+    /**
+     * State value before the first ID is generated.
+     */
+    private static final long NOT_GENERATED = -1L;
+
+    private static final AtomicLongFieldUpdater<LockFreeSnowflakeId> S = AtomicLongFieldUpdater.newUpdater(LockFreeSnowflakeId.class, "state");
+
+    private final TimeUnit timestampUnit;
+
+    /**
+     * Packed {@code (lastTimestamp - epoch) << sequenceBit | sequence}.
+     */
+    private volatile long state = NOT_GENERATED;
+
+    /**
+     * Creates a millisecond-precision LockFreeSnowflakeId with default configuration.
+     *
+     * @param machineId the machine ID
+     */
+    public LockFreeSnowflakeId(int machineId) {
+        this(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT, MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT, machineId,
+            MillisecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new LockFreeSnowflakeId.
+     *
+     * @param epoch                  epoch timestamp in {@code timestampUnit}
+     * @param timestampBit           number of bits for timestamp
+     * @param machineBit             number of bits for machine ID
+     * @param sequenceBit            number of bits for sequence
+     * @param machineId              the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence on timestamp advance
+     * @param timestampUnit          unit of the timestamp bits, {@link TimeUnit#MILLISECONDS} or {@link TimeUnit#SECONDS}
+     */
+    public LockFreeSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, int machineId, long sequenceResetThreshold, TimeUnit timestampUnit) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, timestampUnit, Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a new LockFreeSnowflakeId reading time from the given clock.
+     *
+     * @param epoch                  epoch timestamp in {@code timestampUnit}
+     * @param timestampBit           number of bits for timestamp
+     * @param machineBit             number of bits for machine ID
+     * @param sequenceBit            number of bits for sequence
+     * @param machineId              the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence on timestamp advance
+     * @param timestampUnit          unit of the timestamp bits, {@link TimeUnit#MILLISECONDS} or {@link TimeUnit#SECONDS}
+     * @param clock                  the time source
+     */
+    public LockFreeSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, int machineId, long sequenceResetThreshold, TimeUnit timestampUnit,
+                               Clock clock) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, timestampUnit, clock, 0L);
+    }
+
+    /**
+     * Creates a new LockFreeSnowflakeId that borrows future time when the sequence is exhausted.
+     *
+     * @param epoch                  epoch timestamp in {@code timestampUnit}
+     * @param timestampBit           number of bits for timestamp
+     * @param machineBit             number of bits for machine ID
+     * @param sequenceBit            number of bits for sequence
+     * @param machineId              the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence on timestamp advance
+     * @param timestampUnit          unit of the timestamp bits, {@link TimeUnit#MILLISECONDS} or {@link TimeUnit#SECONDS}
+     * @param clock                  the time source
+     * @param maxBorrowTime          maximum lead over the clock in {@code timestampUnit}, {@code 0} to disable
+     */
+    public LockFreeSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, int machineId, long sequenceResetThreshold, TimeUnit timestampUnit,
+                               Clock clock, long maxBorrowTime) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock, maxBorrowTime);
+        Preconditions.checkArgument(TimeUnit.MILLISECONDS.equals(timestampUnit) || TimeUnit.SECONDS.equals(timestampUnit),
+            "timestampUnit:[%s] must be MILLISECONDS or SECONDS.", timestampUnit);
+        this.timestampUnit = timestampUnit;
+    }
+
+    /**
+     * Gets the unit of the timestamp bits.
+     *
+     * @return the timestamp unit
+     */
+    public TimeUnit getTimestampUnit() {
+        return timestampUnit;
+    }
+
+    @Override
+    protected long getCurrentTime() {
+        if (TimeUnit.SECONDS.equals(timestampUnit)) {
+            return clock.secondTime();
+        }
+        return clock.millisecondTime();
+    }
+
+    @Override
+    public long generate() {
+        while (true) {
+            final long current = state;
+            final long lastTimestamp = lastTimestampOf(current);
+            final long clockTimestamp = getCurrentTime();
+            long currentTimestamp = logicalTimestamp(lastTimestamp, clockTimestamp);
+            final long nextSequence = nextSequence(current, currentTimestamp > lastTimestamp);
+            if (nextSequence == 0L && currentTimestamp == lastTimestamp) {
+                if (lastTimestamp + 1 - clockTimestamp > maxBorrowTime) {
+                    waitNextTime(lastTimestamp - maxBorrowTime);
+                    continue;
+                }
+                currentTimestamp = lastTimestamp + 1;
+            }
+            final long diffTimestamp = diffTimestamp(currentTimestamp);
+            if (S.compareAndSet(this, current, diffTimestamp << sequenceBit | nextSequence)) {
+                return diffTimestamp << timestampLeft
+                    | machineId << machineLeft
+                    | nextSequence;
+            }
+        }
+    }
+
+    /**
+     * Generates a batch of unique IDs, reserving a run of sequences of the same timestamp with each CAS.
+     *
+     * @param dest   destination array
+     * @param offset first index of {@code dest} to write
+     * @param count  number of IDs to generate
+     */
+    @Override
+    public void generate(long[] dest, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, dest.length);
+        int filled = 0;
+        while (filled < count) {
+            final long current = state;
+            final long lastTimestamp = lastTimestampOf(current);
+            final long clockTimestamp = getCurrentTime();
+            long currentTimestamp = logicalTimestamp(lastTimestamp, clockTimestamp);
+            final long firstSequence = nextSequence(current, currentTimestamp > lastTimestamp);
+            if (firstSequence == 0L && currentTimestamp == lastTimestamp) {
+                if (lastTimestamp + 1 - clockTimestamp > maxBorrowTime) {
+                    waitNextTime(lastTimestamp - maxBorrowTime);
+                    continue;
+                }
+                currentTimestamp = lastTimestamp + 1;
+            }
+            final int reserved = (int) Math.min(count - filled, maxSequence - firstSequence + 1);
+            final long lastSequence = firstSequence + reserved - 1;
+            final long diffTimestamp = diffTimestamp(currentTimestamp);
+            if (S.compareAndSet(this, current, diffTimestamp << sequenceBit | lastSequence)) {
+                final long prefix = diffTimestamp << timestampLeft | machineId << machineLeft;
+                for (int i = 0; i < reserved; i++) {
+                    dest[offset + filled + i] = prefix | (firstSequence + i);
+                }
+                filled += reserved;
+            }
+        }
+    }
+
+    private long lastTimestampOf(long state) {
+        if (state == NOT_GENERATED) {
+            return NOT_GENERATED;
+        }
+        return (state >> sequenceBit) + epoch;
+    }
+
+    /**
+     * Keeps a borrowed timestamp while the clock is behind it by at most {@link #maxBorrowTime}.
+     */
+    private long logicalTimestamp(long lastTimestamp, long clockTimestamp) {
+        if (clockTimestamp >= lastTimestamp) {
+            return clockTimestamp;
+        }
+        if (lastTimestamp - clockTimestamp > maxBorrowTime) {
+            throw new ClockBackwardsException(lastTimestamp, clockTimestamp);
+        }
+        return lastTimestamp;
+    }
+
+    private long nextSequence(long state, boolean timestampAdvanced) {
+        long sequence = state == NOT_GENERATED ? 0L : state & maxSequence;
+        //region Reset sequence based on sequence reset threshold,Optimize the problem of uneven sharding.
+        if (timestampAdvanced && sequence >= sequenceResetThreshold) {
+            sequence = 0L;
+        }
+        //endregion
+        return (sequence + 1) & maxSequence;
+    }
+
+    private long diffTimestamp(long currentTimestamp) {
+        long diffTimestamp = currentTimestamp - epoch;
+        if (diffTimestamp > maxTimestamp) {
+            throw new TimestampOverflowException(epoch, diffTimestamp, maxTimestamp);
+        }
+        return diffTimestamp;
+    }
+
+    private void waitNextTime(long lastTimestamp) {
+        while (getCurrentTime() <= lastTimestamp) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public long getLastTimestamp() {
+        return lastTimestampOf(state);
+    }
+
+    @Override
+    public long getLastTimestampAsMilliseconds() {
+        return timestampUnit.toMillis(getLastTimestamp());
+    }
+}
@@ -14,6 +14,7 @@
 package me.ahoo.cosid.snowflake;
 
 import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.util.Clock;
 
 /**
  * Millisecond-precision Snowflake ID generator.
@@ -131,17 +132,52 @@ public class MillisecondSnowflakeId extends AbstractSnowflakeId {
         super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold);
     }
     
+    /**
+     * Create a new MillisecondSnowflakeId reading time from the given clock.
+     *
+     * @param epoch The epoch timestamp to use as the base
+     * @param timestampBit The number of bits to use for timestamp
+     * @param machineBit The number of bits to use for machine ID
+     * @param sequenceBit The number of bits to use for sequence
+     * @param machineId The machine ID for this generator
+     * @param sequenceResetThreshold The threshold for sequence reset
+     * @param clock The time source, e.g. {@link Clock.MillisecondCacheClock#getInstance()}
+     */
+    public MillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, int machineId, long sequenceResetThreshold, Clock clock) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock);
+    }
+    
+    /**
+     * Create a new MillisecondSnowflakeId that borrows future milliseconds when the sequence is exhausted.
+     * 
+     * <p>Bursts beyond {@code 2^sequenceBit} IDs per millisecond then only wait once the logical
+     * timestamp leads the clock by more than {@code maxBorrowTime} milliseconds.
+     *
+     * @param epoch The epoch timestamp to use as the base
+     * @param timestampBit The number of bits to use for timestamp
+     * @param machineBit The number of bits to use for machine ID
+     * @param sequenceBit The number of bits to use for sequence
+     * @param machineId The machine ID for this generator
+     * @param sequenceResetThreshold The threshold for sequence reset
+     * @param clock The time source
+     * @param maxBorrowTime The maximum lead over the clock in milliseconds, {@code 0} to disable
+     */
+    public MillisecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, int machineId, long sequenceResetThreshold, Clock clock,
+                                  long maxBorrowTime) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock, maxBorrowTime);
+    }
+    
     /**
      * Get the current time in milliseconds.
      * 
      * <p>This method provides the time source for the timestamp portion of
-     * generated IDs. It uses {@link System#currentTimeMillis()} to retrieve
-     * the current time with millisecond precision.
+     * generated IDs. It uses {@link Clock#millisecondTime()} of the configured
+     * clock, {@link System#currentTimeMillis()} by default.
      *
      * @return The current time in milliseconds since the Unix epoch
      */
     @Override
     protected long getCurrentTime() {
-        return System.currentTimeMillis();
+        return clock.millisecondTime();
     }
 }
@@ -14,6 +14,7 @@
 package me.ahoo.cosid.snowflake;
 
 import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.util.Clock;
 
 import java.util.concurrent.TimeUnit;
 
@@ -98,9 +99,41 @@ public class SecondSnowflakeId extends AbstractSnowflakeId {
         super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold);
     }
 
+    /**
+     * Creates a SecondSnowflakeId reading time from the given clock.
+     *
+     * @param epoch                   epoch timestamp in milliseconds
+     * @param timestampBit            number of bits for timestamp
+     * @param machineBit              number of bits for machine ID
+     * @param sequenceBit             number of bits for sequence
+     * @param machineId               the machine ID
+     * @param sequenceResetThreshold  threshold for resetting sequence
+     * @param clock                   the time source
+     */
+    public SecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, int machineId, long sequenceResetThreshold, Clock clock) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock);
+    }
+
+    /**
+     * Creates a SecondSnowflakeId that borrows future seconds when the sequence is exhausted.
+     *
+     * @param epoch                   epoch timestamp in milliseconds
+     * @param timestampBit            number of bits for timestamp
+     * @param machineBit              number of bits for machine ID
+     * @param sequenceBit             number of bits for sequence
+     * @param machineId               the machine ID
+     * @param sequenceResetThreshold  threshold for resetting sequence
+     * @param clock                   the time source
+     * @param maxBorrowTime           maximum lead over the clock in seconds, {@code 0} to disable
+     */
+    public SecondSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, int machineId, long sequenceResetThreshold, Clock clock,
+                             long maxBorrowTime) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock, maxBorrowTime);
+    }
+
     @Override
     protected long getCurrentTime() {
-        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        return clock.secondTime();
     }
 
     @Override
@@ -28,6 +28,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -325,6 +326,12 @@ public abstract class SnowflakeIdStateParser {
         if (actual instanceof SecondSnowflakeId) {
             return SecondSnowflakeIdStateParser.of(actual, zoneId, padStart);
         }
+        if (actual instanceof LockFreeSnowflakeId lockFreeSnowflakeId && TimeUnit.SECONDS.equals(lockFreeSnowflakeId.getTimestampUnit())) {
+            return SecondSnowflakeIdStateParser.of(actual, zoneId, padStart);
+        }
+        if (actual instanceof StripedSnowflakeId stripedSnowflakeId && TimeUnit.SECONDS.equals(stripedSnowflakeId.getTimestampUnit())) {
+            return SecondSnowflakeIdStateParser.of(actual, zoneId, padStart);
+        }
         return MillisecondSnowflakeIdStateParser.of(actual, zoneId, padStart);
     }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.util.Clock;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-striped SnowflakeId.
+ *
+ * <p>The sequence bits are split into {@code stripeBit} high bits holding a stripe index and
+ * {@code sequenceBit - stripeBit} low bits holding a per-stripe sequence:
+ * <pre>
+ * timestamp | machineId | stripe | stripeSequence
+ * </pre>
+ * Each stripe is an independent {@link LockFreeSnowflakeId}, padded against false sharing with its neighbours,
+ * and a calling thread is mapped to a stripe by a per-thread probe, so threads on different stripes never contend
+ * on the same CAS or cache line. The bit layout seen by {@link SnowflakeIdStateParser} is unchanged, the stripe
+ * index is simply part of the sequence.
+ *
+ * <p><strong>Monotonicity tradeoff</strong>: IDs are unique and monotonically increasing per stripe, and
+ * globally ordered by timestamp, but IDs generated within the same time unit are <strong>not</strong>
+ * ordered across stripes: an ID from stripe {@code 1} is always greater than an ID from stripe {@code 0}
+ * of the same timestamp, regardless of which was generated first. Each stripe also only owns
+ * {@code 1/stripes} of the sequence space per time unit, so a single hot thread reaches the
+ * per-tick limit sooner than with an unstriped generator.
+ *
+ * @author ahoo wang
+ */
+public class StripedSnowflakeId extends AbstractSnowflakeId {
+    /**
+     * The golden ratio increment between the probes of successive threads, as used by {@link ThreadLocal}, so the
+     * low bits of consecutive probes spread evenly over any power of two stripes.
+     */
+    private static final int PROBE_INCREMENT = 0x61c88647;
+    private static final AtomicInteger NEXT_PROBE = new AtomicInteger();
+    private static final ThreadLocal<Integer> PROBE = ThreadLocal.withInitial(() -> NEXT_PROBE.getAndAdd(PROBE_INCREMENT));
+
+    private final TimeUnit timestampUnit;
+    private final int stripeBit;
+    private final int stripeMask;
+    private final LockFreeSnowflakeId[] stripes;
+
+    /**
+     * Creates a millisecond-precision StripedSnowflakeId with default bit configuration.
+     *
+     * @param machineId the machine ID
+     * @param stripes   the number of stripes, must be a power of two
+     */
+    public StripedSnowflakeId(int machineId, int stripes) {
+        this(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT, MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT,
+            machineId, MillisecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD, TimeUnit.MILLISECONDS, stripes);
+    }
+
+    /**
+     * Creates a new StripedSnowflakeId.
+     *
+     * @param epoch                  epoch timestamp in {@code timestampUnit}
+     * @param timestampBit           number of bits for timestamp
+     * @param machineBit             number of bits for machine ID
+     * @param sequenceBit            number of bits for sequence, including the stripe bits
+     * @param machineId              the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence, scaled down per stripe
+     * @param timestampUnit          unit of the timestamp bits, {@link TimeUnit#MILLISECONDS} or {@link TimeUnit#SECONDS}
+     * @param stripes                the number of stripes, must be a power of two and less than {@code 2^sequenceBit}
+     */
+    public StripedSnowflakeId(long epoch,
+                              int timestampBit,
+                              int machineBit,
+                              int sequenceBit,
+                              int machineId,
+                              long sequenceResetThreshold,
+                              TimeUnit timestampUnit,
+                              int stripes) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, timestampUnit, stripes, Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a new StripedSnowflakeId reading time from the given clock.
+     *
+     * @param epoch                  epoch timestamp in {@code timestampUnit}
+     * @param timestampBit           number of bits for timestamp
+     * @param machineBit             number of bits for machine ID
+     * @param sequenceBit            number of bits for sequence, including the stripe bits
+     * @param machineId              the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence, scaled down per stripe
+     * @param timestampUnit          unit of the timestamp bits, {@link TimeUnit#MILLISECONDS} or {@link TimeUnit#SECONDS}
+     * @param stripes                the number of stripes, must be a power of two and less than {@code 2^sequenceBit}
+     * @param clock                  the time source shared by all stripes
+     */
+    public StripedSnowflakeId(long epoch,
+                              int timestampBit,
+                              int machineBit,
+                              int sequenceBit,
+                              int machineId,
+                              long sequenceResetThreshold,
+                              TimeUnit timestampUnit,
+                              int stripes,
+                              Clock clock) {
+        this(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, timestampUnit, stripes, clock, 0L);
+    }
+
+    /**
+     * Creates a new StripedSnowflakeId whose stripes borrow future time when their sequence is exhausted.
+     *
+     * @param epoch                  epoch timestamp in {@code timestampUnit}
+     * @param timestampBit           number of bits for timestamp
+     * @param machineBit             number of bits for machine ID
+     * @param sequenceBit            number of bits for sequence, including the stripe bits
+     * @param machineId              the machine ID
+     * @param sequenceResetThreshold threshold for resetting sequence, scaled down per stripe
+     * @param timestampUnit          unit of the timestamp bits, {@link TimeUnit#MILLISECONDS} or {@link TimeUnit#SECONDS}
+     * @param stripes                the number of stripes, must be a power of two and less than {@code 2^sequenceBit}
+     * @param clock                  the time source shared by all stripes
+     * @param maxBorrowTime          maximum lead of each stripe over the clock in {@code timestampUnit}, {@code 0} to disable
+     */
+    public StripedSnowflakeId(long epoch,
+                              int timestampBit,
+                              int machineBit,
+                              int sequenceBit,
+                              int machineId,
+                              long sequenceResetThreshold,
+                              TimeUnit timestampUnit,
+                              int stripes,
+                              Clock clock,
+                              long maxBorrowTime) {
+        super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, clock, maxBorrowTime);
+        Preconditions.checkArgument(stripes > 0 && Integer.bitCount(stripes) == 1, "stripes:[%s] must be a power of 2.", stripes);
+        this.stripeBit = Integer.numberOfTrailingZeros(stripes);
+        Preconditions.checkArgument(stripeBit < sequenceBit, "stripes:[%s] must be less than 2^sequenceBit:[%s].", stripes, sequenceBit);
+        this.timestampUnit = timestampUnit;
+        this.stripeMask = stripes - 1;
+        this.stripes = new LockFreeSnowflakeId[stripes];
+        final int stripeSequenceBit = sequenceBit - stripeBit;
+        final long stripeSequenceResetThreshold = sequenceResetThreshold >>> stripeBit;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            this.stripes[stripe] = new PaddedLockFreeSnowflakeId(epoch, timestampBit, machineBit + stripeBit, stripeSequenceBit, machineId << stripeBit | stripe,
+                stripeSequenceResetThreshold, timestampUnit, clock, maxBorrowTime);
+        }
+    }
+
+    /**
+     * Gets the unit of the timestamp bits.
+     *
+     * @return the timestamp unit
+     */
+    public TimeUnit getTimestampUnit() {
+        return timestampUnit;
+    }
+
+    /**
+     * Gets the number of stripes.
+     *
+     * @return the number of stripes
+     */
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Gets the number of high sequence bits used as the stripe index.
+     *
+     * @return the number of stripe bits
+     */
+    public int getStripeBit() {
+        return stripeBit;
+    }
+
+    private LockFreeSnowflakeId currentStripe() {
+        return stripes[PROBE.get() & stripeMask];
+    }
+
+    @Override
+    protected long getCurrentTime() {
+        return stripes[0].getCurrentTime();
+    }
+
+    @Override
+    public long generate() {
+        return currentStripe().generate();
+    }
+
+    @Override
+    public void generate(long[] dest, int offset, int count) {
+        currentStripe().generate(dest, offset, count);
+    }
+
+    /**
+     * Gets the latest timestamp used by any stripe.
+     *
+     * @return the last timestamp
+     */
+    @Override
+    public long getLastTimestamp() {
+        long lastTimestamp = -1L;
+        for (LockFreeSnowflakeId stripe : stripes) {
+            lastTimestamp = Math.max(lastTimestamp, stripe.getLastTimestamp());
+        }
+        return lastTimestamp;
+    }
+
+    @Override
+    public long getLastTimestampAsMilliseconds() {
+        return timestampUnit.toMillis(getLastTimestamp());
+    }
+
+    /**
+     * Stripe padded against false sharing between the states of stripes allocated next to each other.
+     */
+    @SuppressWarnings("unused")
+    static final class PaddedLockFreeSnowflakeId extends LockFreeSnowflakeId {
+        public volatile long p1;
+        public volatile long p2;
+        public volatile long p3;
+        public volatile long p4;
+        public volatile long p5;
+        public volatile long p6;
+        public volatile long p7;
+
+        PaddedLockFreeSnowflakeId(long epoch, int timestampBit, int machineBit, int sequenceBit, int machineId, long sequenceResetThreshold, TimeUnit timestampUnit,
+                                  Clock clock, long maxBorrowTime) {
+            super(epoch, timestampBit, machineBit, sequenceBit, machineId, sequenceResetThreshold, timestampUnit, clock, maxBorrowTime);
+        }
+    }
+}
@@ -33,6 +33,7 @@ public final class SegmentIdStat implements IdGeneratorStat {
     private final long offset;
     private final long sequence;
     private final long step;
+    private final long effectiveStep;
     private final boolean isExpired;
     private final boolean isOverflow;
     private final boolean isAvailable;
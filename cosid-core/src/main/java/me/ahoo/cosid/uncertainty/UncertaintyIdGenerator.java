@@ -75,7 +75,18 @@ public class UncertaintyIdGenerator implements IdGeneratorDecorator {
     
     @Override
     public long generate() {
-        long originalId = getActual().generate();
+        return withUncertainty(getActual().generate());
+    }
+    
+    @Override
+    public void generate(long[] dest, int offset, int count) {
+        getActual().generate(dest, offset, count);
+        for (int i = offset; i < offset + count; i++) {
+            dest[i] = withUncertainty(dest[i]);
+        }
+    }
+    
+    private long withUncertainty(long originalId) {
         if (originalId > maxOriginalId) {
             throw new OriginalIdOverflowException(originalId, originalIdBits, maxOriginalId);
         }
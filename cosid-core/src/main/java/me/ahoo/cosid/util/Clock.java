@@ -13,10 +13,15 @@
 
 package me.ahoo.cosid.util;
 
+import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.ThreadSafe;
 
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
 
 /**
  * {@link System#currentTimeMillis()} is too slow.
@@ -32,6 +37,17 @@ public interface Clock {
 
     long secondTime();
 
+    /**
+     * Current time in milliseconds.
+     *
+     * <p>Defaults to the precision of {@link #secondTime()}, clocks with a finer resolution should override it.
+     *
+     * @return millisecond time
+     */
+    default long millisecondTime() {
+        return TimeUnit.SECONDS.toMillis(secondTime());
+    }
+
     static long getSystemSecondTime() {
         return System.currentTimeMillis() / 1000;
     }
@@ -47,6 +63,11 @@ public interface Clock {
         public long secondTime() {
             return getSystemSecondTime();
         }
+
+        @Override
+        public long millisecondTime() {
+            return System.currentTimeMillis();
+        }
     }
 
     /**
@@ -100,4 +121,201 @@ public interface Clock {
             }
         }
     }
+
+    /**
+     * Millisecond precision variant of {@link CacheClock}, a daemon thread refreshes the cached time every millisecond
+     * so reading the time costs a volatile read instead of a {@link System#currentTimeMillis()} call.
+     *
+     * <p>The cached time may lag behind the wall clock by about one tick. The shared {@link #getInstance()} is created and
+     * started on first use and runs for the lifetime of the JVM, other instances stop refreshing once {@link #close()}d.
+     *
+     * @author ahoo wang
+     */
+    class MillisecondCacheClock implements Clock, Runnable, AutoCloseable {
+        public static final long ONE_MILLISECOND_PERIOD = Duration.ofMillis(1).toNanos();
+        private final Clock clock;
+        private final Thread thread;
+        private final boolean shared;
+        private volatile long lastTime;
+
+        public MillisecondCacheClock(Clock clock) {
+            this(clock, true, false);
+        }
+
+        MillisecondCacheClock(Clock clock, boolean autoStart) {
+            this(clock, autoStart, false);
+        }
+
+        private MillisecondCacheClock(Clock clock, boolean autoStart, boolean shared) {
+            this.clock = clock;
+            this.shared = shared;
+            this.lastTime = clock.millisecondTime();
+            this.thread = new Thread(this);
+            this.thread.setName("CosId-MillisecondCacheClock");
+            this.thread.setDaemon(true);
+            if (autoStart) {
+                this.thread.start();
+            }
+        }
+
+        /**
+         * Shared instance refreshed from {@link Clock#SYSTEM}, its thread is started on the first call.
+         *
+         * @return the shared millisecond cache clock
+         */
+        public static MillisecondCacheClock getInstance() {
+            return InstanceHolder.INSTANCE;
+        }
+
+        @Override
+        public long secondTime() {
+            return TimeUnit.MILLISECONDS.toSeconds(lastTime);
+        }
+
+        @Override
+        public long millisecondTime() {
+            return lastTime;
+        }
+
+        @Override
+        public void run() {
+            while (!thread.isInterrupted()) {
+                tick();
+                LockSupport.parkNanos(this, ONE_MILLISECOND_PERIOD);
+            }
+        }
+
+        void tick() {
+            long currentTime = clock.millisecondTime();
+            // Avoid time going backwards
+            if (currentTime > lastTime) {
+                this.lastTime = currentTime;
+            }
+        }
+
+        boolean isRunning() {
+            return thread.isAlive();
+        }
+
+        /**
+         * Stop refreshing the cached time, the clock keeps returning the last cached time afterwards.
+         */
+        @Override
+        public void close() {
+            Preconditions.checkState(!shared, "The shared MillisecondCacheClock can not be closed.");
+            thread.interrupt();
+        }
+
+        private static final class InstanceHolder {
+            private static final MillisecondCacheClock INSTANCE = new MillisecondCacheClock(SYSTEM, true, true);
+        }
+    }
+
+    /**
+     * Monotonic millisecond clock anchored to the wall clock once and advanced by {@link System#nanoTime()},
+     * so a wall clock step (e.g. by NTP) never makes it go backwards and generators never block on
+     * {@link me.ahoo.cosid.machine.ClockBackwardsSynchronizer}.
+     *
+     * <p>Drift is corrected at most once per {@code correctionPeriod}: when the wall clock is ahead the clock steps forward
+     * to it, when the wall clock is behind the clock keeps running but slows down by {@code maxSlewPpm} until
+     * the wall clock catches up.
+     *
+     * <p>After a backwards wall clock step the clock may lead the wall clock for a while, while the
+     * {@link me.ahoo.cosid.machine.MachineState} last timestamp persisted on shutdown is taken from the wall clock,
+     * so a restart within that window relies on the usual startup clock backwards check.
+     *
+     * @author ahoo wang
+     */
+    class MonotonicClock implements Clock {
+        public static final long DEFAULT_CORRECTION_PERIOD = Duration.ofSeconds(1).toNanos();
+        /**
+         * Slow down by at most 500 ppm (0.5 ms per second) while the wall clock is behind, the same limit as NTP.
+         */
+        public static final int DEFAULT_MAX_SLEW_PPM = 500;
+        public static final MonotonicClock INSTANCE = new MonotonicClock(SYSTEM);
+        private static final AtomicReferenceFieldUpdater<MonotonicClock, Anchor> ANCHOR =
+            AtomicReferenceFieldUpdater.newUpdater(MonotonicClock.class, Anchor.class, "anchor");
+        private final Clock wallClock;
+        private final LongSupplier nanoTime;
+        private final long correctionPeriod;
+        private final long slewDivisor;
+        /**
+         * The greatest time returned so far, readers racing with a correction never return less.
+         */
+        private final AtomicLong lastTime = new AtomicLong(Long.MIN_VALUE);
+        private volatile Anchor anchor;
+
+        public MonotonicClock(Clock wallClock) {
+            this(wallClock, System::nanoTime, DEFAULT_CORRECTION_PERIOD, DEFAULT_MAX_SLEW_PPM);
+        }
+
+        MonotonicClock(Clock wallClock, LongSupplier nanoTime, long correctionPeriod, int maxSlewPpm) {
+            Preconditions.checkArgument(maxSlewPpm > 0 && maxSlewPpm < 1_000_000, "maxSlewPpm:[%s] must be in (0,1000000).", maxSlewPpm);
+            this.wallClock = wallClock;
+            this.nanoTime = nanoTime;
+            this.correctionPeriod = correctionPeriod;
+            this.slewDivisor = 1_000_000 / maxSlewPpm;
+            this.anchor = new Anchor(TimeUnit.MILLISECONDS.toNanos(wallClock.millisecondTime()), nanoTime.getAsLong(), false);
+        }
+
+        @Override
+        public long secondTime() {
+            return TimeUnit.MILLISECONDS.toSeconds(millisecondTime());
+        }
+
+        @Override
+        public long millisecondTime() {
+            final long currentNanoTime = nanoTime.getAsLong();
+            Anchor current = anchor;
+            if (currentNanoTime - current.nanoTime >= correctionPeriod) {
+                current = correct(current, currentNanoTime);
+            }
+            final long currentTime = TimeUnit.NANOSECONDS.toMillis(current.timeAt(currentNanoTime, slewDivisor));
+            // Only CAS when the time advances, most reads within the same millisecond stay a plain volatile read.
+            long last = lastTime.get();
+            while (currentTime > last) {
+                if (lastTime.compareAndSet(last, currentTime)) {
+                    return currentTime;
+                }
+                last = lastTime.get();
+            }
+            return last;
+        }
+
+        private Anchor correct(Anchor current, long currentNanoTime) {
+            final long monotonicTime = current.timeAt(currentNanoTime, slewDivisor);
+            final long wallTime = TimeUnit.MILLISECONDS.toNanos(wallClock.millisecondTime());
+            Anchor next = wallTime >= monotonicTime
+                ? new Anchor(wallTime, currentNanoTime, false)
+                : new Anchor(monotonicTime, currentNanoTime, true);
+            if (ANCHOR.compareAndSet(this, current, next)) {
+                return next;
+            }
+            return anchor;
+        }
+
+        /**
+         * Immutable correction point: {@code time} in epoch nanoseconds at {@code nanoTime}, advancing at full speed or slewing.
+         */
+        static final class Anchor {
+            private final long time;
+            private final long nanoTime;
+            private final boolean slewing;
+
+            Anchor(long time, long nanoTime, boolean slewing) {
+                this.time = time;
+                this.nanoTime = nanoTime;
+                this.slewing = slewing;
+            }
+
+            long timeAt(long currentNanoTime, long slewDivisor) {
+                // A reader that sampled nanoTime before a concurrent correction must not see time before the anchor.
+                final long elapsed = Math.max(0, currentNanoTime - nanoTime);
+                if (slewing) {
+                    return time + elapsed - elapsed / slewDivisor;
+                }
+                return time + elapsed;
+            }
+        }
+    }
 }
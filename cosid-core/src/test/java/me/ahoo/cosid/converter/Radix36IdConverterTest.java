@@ -25,6 +25,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * @author ahoo wang
  */
@@ -38,6 +41,34 @@ class Radix36IdConverterTest {
         Assertions.assertTrue(idStr.length() <= Radix36IdConverter.MAX_CHAR_SIZE);
     }
     
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 5, 62, 63, 124, Integer.MAX_VALUE, Long.MAX_VALUE})
+    void asBytesShouldRoundTrip(long argId) {
+        byte[] idBytes = Radix36IdConverter.INSTANCE.asBytes(argId);
+        Assertions.assertEquals(Radix36IdConverter.INSTANCE.asString(argId), new String(idBytes, StandardCharsets.US_ASCII));
+        Assertions.assertEquals(argId, Radix36IdConverter.INSTANCE.fromBytes(idBytes, 0, idBytes.length));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 5, 62, 63, 124, Integer.MAX_VALUE, Long.MAX_VALUE})
+    void asBytesShouldRoundTripByteBuffer(long argId) {
+        ByteBuffer buffer = ByteBuffer.allocate(Radix36IdConverter.MAX_CHAR_SIZE + 1);
+        buffer.put((byte) '-');
+        int length = Radix36IdConverter.PAD_START.asBytes(argId, buffer);
+        Assertions.assertEquals(Radix36IdConverter.MAX_CHAR_SIZE, length);
+        buffer.flip().position(1);
+        Assertions.assertEquals(argId, Radix36IdConverter.PAD_START.fromBytes(buffer));
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+    
+    @Test
+    void fromBytesWhenNumberFormat() {
+        byte[] idBytes = "1-".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertThrows(NumberFormatException.class, () -> {
+            Radix36IdConverter.INSTANCE.fromBytes(idBytes, 0, idBytes.length);
+        });
+    }
+    
     @Test
     void asStringWhenIdNegative() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
@@ -25,6 +25,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * @author ahoo wang
  */
@@ -39,6 +42,53 @@ class Radix62IdConverterTest {
         Assertions.assertTrue(idStr.length() <= Radix62IdConverter.MAX_CHAR_SIZE);
     }
     
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 5, 62, 63, 124, Integer.MAX_VALUE, Long.MAX_VALUE})
+    void asCharsShouldMatchAsString(long argId) {
+        char[] dest = new char[Radix62IdConverter.MAX_CHAR_SIZE + 1];
+        int charLen = Radix62IdConverter.INSTANCE.asChars(argId, dest, 1);
+        Assertions.assertEquals(Radix62IdConverter.INSTANCE.asString(argId), new String(dest, 1, charLen));
+        
+        charLen = Radix62IdConverter.PAD_START.asChars(argId, dest, 1);
+        Assertions.assertEquals(Radix62IdConverter.MAX_CHAR_SIZE, charLen);
+        Assertions.assertEquals(Radix62IdConverter.PAD_START.asString(argId), new String(dest, 1, charLen));
+    }
+    
+    @Test
+    void asCharsWhenBufferTooSmall() {
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> {
+            Radix62IdConverter.PAD_START.asChars(1L, new char[Radix62IdConverter.MAX_CHAR_SIZE], 1);
+        });
+    }
+    
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 5, 62, 63, 124, Integer.MAX_VALUE, Long.MAX_VALUE})
+    void asBytesShouldRoundTrip(long argId) {
+        byte[] idBytes = Radix62IdConverter.INSTANCE.asBytes(argId);
+        Assertions.assertEquals(Radix62IdConverter.INSTANCE.asString(argId), new String(idBytes, StandardCharsets.US_ASCII));
+        Assertions.assertEquals(argId, Radix62IdConverter.INSTANCE.fromBytes(idBytes, 0, idBytes.length));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 5, 62, 63, 124, Integer.MAX_VALUE, Long.MAX_VALUE})
+    void asBytesShouldRoundTripByteBuffer(long argId) {
+        ByteBuffer buffer = ByteBuffer.allocate(Radix62IdConverter.MAX_CHAR_SIZE + 1);
+        buffer.put((byte) '-');
+        int length = Radix62IdConverter.PAD_START.asBytes(argId, buffer);
+        Assertions.assertEquals(Radix62IdConverter.MAX_CHAR_SIZE, length);
+        buffer.flip().position(1);
+        Assertions.assertEquals(argId, Radix62IdConverter.PAD_START.fromBytes(buffer));
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+    
+    @Test
+    void fromBytesWhenNumberFormat() {
+        byte[] idBytes = "1-".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertThrows(NumberFormatException.class, () -> {
+            Radix62IdConverter.INSTANCE.fromBytes(idBytes, 0, idBytes.length);
+        });
+    }
+    
     @Test
     void asStringWhenIdNegative() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
@@ -63,6 +63,38 @@ class ClockSyncCosIdGeneratorTest {
         assertEquals(123, synchronizer.lastTimestamp);
     }
 
+    @Test
+    void generateAsStringShouldSynchronizeLastTimestampAndRetryOnceWhenClockMovesBackwards() {
+        CosIdState expected = new CosIdState(124, 7, 1);
+        FakeCosIdGenerator actual = new FakeCosIdGenerator(7, 123, RadixCosIdStateParser.DEFAULT)
+            .thenThrowClockBackwards()
+            .thenReturn(expected);
+        RecordingSynchronizer synchronizer = new RecordingSynchronizer();
+        ClockSyncCosIdGenerator generator = new ClockSyncCosIdGenerator(actual, synchronizer);
+
+        assertEquals(RadixCosIdStateParser.DEFAULT.asString(expected), generator.generateAsString());
+        assertEquals(2, actual.generateCalls);
+        assertEquals(1, synchronizer.syncCalls);
+        assertEquals(123, synchronizer.lastTimestamp);
+    }
+
+    @Test
+    void generateIntoShouldSynchronizeLastTimestampAndRetryOnceWhenClockMovesBackwards() {
+        CosIdState expected = new CosIdState(124, 7, 1);
+        FakeCosIdGenerator actual = new FakeCosIdGenerator(7, 123, RadixCosIdStateParser.DEFAULT)
+            .thenThrowClockBackwards()
+            .thenReturn(expected);
+        RecordingSynchronizer synchronizer = new RecordingSynchronizer();
+        ClockSyncCosIdGenerator generator = new ClockSyncCosIdGenerator(actual, synchronizer);
+        char[] dest = new char[RadixCosIdStateParser.DEFAULT.getCharSize()];
+
+        int charLen = generator.generateInto(dest, 0);
+
+        assertEquals(RadixCosIdStateParser.DEFAULT.asString(expected), new String(dest, 0, charLen));
+        assertEquals(2, actual.generateCalls);
+        assertEquals(1, synchronizer.syncCalls);
+    }
+
     @Test
     void statShouldWrapActualGeneratorAndParserStats() {
         FakeCosIdGenerator actual = new FakeCosIdGenerator(7, 123, RadixCosIdStateParser.DEFAULT);
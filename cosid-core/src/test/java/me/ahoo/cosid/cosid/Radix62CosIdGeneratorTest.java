@@ -18,6 +18,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import me.ahoo.cosid.test.ConcurrentGenerateStingSpec;
+import me.ahoo.cosid.util.Clock;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -42,6 +43,41 @@ class Radix62CosIdGeneratorTest {
         assertThat(state2, greaterThan(state1));
     }
 
+    @Test
+    void generateAsStringShouldMatchStateParser() {
+        Radix62CosIdGenerator cosIdGenerator = new TestRadix62CosIdGenerator();
+        String id = cosIdGenerator.generateAsString();
+        CosIdState state = cosIdGenerator.getStateParser().asState(id);
+        assertThat(state, equalTo(new CosIdState(1000, 1, 1)));
+        assertThat(cosIdGenerator.getStateParser().asString(state), equalTo(id));
+    }
+
+    @Test
+    void generateInto() {
+        char[] dest = new char[17];
+        int charLen = radix62CosIdGenerator.generateInto(dest, 1);
+        assertThat(charLen, equalTo(15));
+        String id1 = new String(dest, 1, charLen);
+        String id2 = radix62CosIdGenerator.generateAsString();
+        assertThat(id2, greaterThan(id1));
+        assertThat(radix62CosIdGenerator.getStateParser().asState(id1).getMachineId(), equalTo(1));
+    }
+
+    @Test
+    void generateIntoWhenBufferTooSmall() {
+        long lastTimestamp = radix62CosIdGenerator.getLastTimestamp();
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> radix62CosIdGenerator.generateInto(new char[15], 1));
+        assertThat(radix62CosIdGenerator.getLastTimestamp(), equalTo(lastTimestamp));
+    }
+
+    @Test
+    void generateWithClock() {
+        Clock clock = () -> 2;
+        Radix62CosIdGenerator cosIdGenerator = new Radix62CosIdGenerator(DEFAULT_TIMESTAMP_BIT, DEFAULT_MACHINE_BIT, DEFAULT_SEQUENCE_BIT, 1, DEFAULT_SEQUENCE_RESET_THRESHOLD, clock);
+        CosIdState state = cosIdGenerator.generateAsState();
+        assertThat(state.getTimestamp(), equalTo(2000L));
+    }
+
     @Test
     void customizeOverflowMachineId() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
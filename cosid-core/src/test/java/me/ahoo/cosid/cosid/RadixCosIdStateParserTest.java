@@ -54,4 +54,17 @@ class RadixCosIdStateParserTest {
         assertEquals("id[" + id.substring(1) + "] length must equal to totalCharSize:[4].", tooShort.getMessage());
         assertEquals("id[" + id + "0] length must equal to totalCharSize:[4].", tooLong.getMessage());
     }
+
+    @ParameterizedTest
+    @MethodSource("parserProvider")
+    void asCharsShouldWriteIdAtOffset(RadixCosIdStateParser parser, CosIdState state, String expected) {
+        char[] dest = new char[parser.getCharSize() + 2];
+
+        int charLen = parser.asChars(state.getTimestamp(), state.getMachineId(), state.getSequence(), dest, 1);
+
+        assertEquals(parser.getCharSize(), charLen);
+        assertEquals(expected, new String(dest, 1, charLen));
+        assertEquals('\0', dest[0]);
+        assertEquals('\0', dest[dest.length - 1]);
+    }
 }
@@ -15,6 +15,7 @@ package me.ahoo.cosid.jvm;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,19 @@ class AtomicLongGeneratorTest {
         assertThat(idSecond, equalTo(idFirst + 1));
     }
 
+    @Test
+    void generateAsStringBatchShouldConvertConsecutiveIds() {
+        AtomicLongGenerator generator = new AtomicLongGenerator();
+        String[] ids = new String[4];
+
+        generator.generateAsString(ids, 1, 3);
+
+        assertThat(ids[0], nullValue());
+        long first = generator.idConverter().asLong(ids[1]);
+        assertThat(generator.idConverter().asLong(ids[2]), equalTo(first + 1));
+        assertThat(generator.idConverter().asLong(ids[3]), equalTo(first + 2));
+    }
+
     @Test
     void generateShouldBeUniqueWhenCalledConcurrently() throws InterruptedException {
         int taskCount = 256;
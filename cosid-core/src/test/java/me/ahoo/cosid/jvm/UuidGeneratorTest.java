@@ -36,4 +36,12 @@ class UuidGeneratorTest {
         assertEquals(36, uuid.length());
         assertEquals(uuid, UUID.fromString(uuid).toString());
     }
+
+    @Test
+    void generateAsStringBatch() {
+        String[] uuids = new String[2];
+        UuidGenerator.INSTANCE.generateAsString(uuids, 0, 2);
+        assertEquals(uuids[0], UUID.fromString(uuids[0]).toString());
+        assertEquals(uuids[1], UUID.fromString(uuids[1]).toString());
+    }
 }
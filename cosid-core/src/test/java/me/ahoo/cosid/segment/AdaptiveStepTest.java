@@ -0,0 +1,60 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class AdaptiveStepTest {
+
+    @Test
+    void stepShouldCoverRefillIntervalOfDemand() {
+        AdaptiveStep adaptiveStep = new AdaptiveStep(10, 1000, Duration.ofSeconds(5));
+
+        assertEquals(500, adaptiveStep.step(100));
+        assertEquals(501, adaptiveStep.step(100.1));
+    }
+
+    @Test
+    void stepShouldBeBounded() {
+        AdaptiveStep adaptiveStep = new AdaptiveStep(10, 1000, Duration.ofSeconds(5));
+
+        assertEquals(10, adaptiveStep.step(0));
+        assertEquals(1000, adaptiveStep.step(1_000_000));
+        assertEquals(1000, adaptiveStep.step(Double.MAX_VALUE));
+        assertEquals(10, adaptiveStep.bound(1));
+        assertEquals(1000, adaptiveStep.bound(Long.MAX_VALUE));
+    }
+
+    @Test
+    void of() {
+        AdaptiveStep adaptiveStep = AdaptiveStep.of(10);
+
+        assertEquals(10, adaptiveStep.getMinStep());
+        assertEquals(10 * AdaptiveStep.DEFAULT_MAX_STEP_MULTIPLE, adaptiveStep.getMaxStep());
+        assertEquals(AdaptiveStep.DEFAULT_REFILL_INTERVAL, adaptiveStep.getRefillInterval());
+    }
+
+    @Test
+    void constructorShouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveStep(0, 10, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveStep(10, 9, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveStep(10, 10, Duration.ZERO));
+    }
+}
@@ -13,6 +13,7 @@
 
 package me.ahoo.cosid.segment;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -82,6 +83,20 @@ class DefaultIdSegmentTest {
         assertSame(group, GroupedAccessor.requiredGet());
     }
 
+    @Test
+    void reserveShouldFillContiguousRangeAndClipAtMaxId() {
+        DefaultIdSegment segment = new DefaultIdSegment(5, 5);
+        long[] ids = new long[8];
+
+        assertEquals(3, segment.reserve(ids, 1, 3));
+        assertEquals(2, segment.reserve(ids, 4, 4));
+        assertEquals(0, segment.reserve(ids, 6, 2));
+
+        assertArrayEquals(new long[]{0, 1, 2, 3, 4, 5, 0, 0}, ids);
+        assertTrue(segment.isOverflow());
+        assertEquals(IdSegment.SEQUENCE_OVERFLOW, segment.incrementAndGet());
+    }
+
     @Test
     void foreverSegmentShouldNeverExpireAndExpiredSegmentShouldBeUnavailable() {
         DefaultIdSegment forever = new DefaultIdSegment(10, 10, 0, IdSegment.TIME_TO_LIVE_FOREVER, GroupedKey.NEVER);
@@ -76,6 +76,26 @@ class DefaultSegmentIdTest {
         assertEquals(2, distributor.nextMaxIdCalls);
     }
 
+    @Test
+    void generateBatchShouldSpanSegmentsWithOneFetchPerSegment() {
+        RecordingDistributor distributor = new RecordingDistributor(3, GroupedKey.NEVER);
+        DefaultSegmentId generator = new DefaultSegmentId(distributor);
+        long[] ids = new long[7];
+
+        generator.generate(ids, 0, 7);
+
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5, 6, 7}, ids);
+        assertEquals(3, distributor.nextMaxIdCalls);
+        assertEquals(8, generator.generate());
+    }
+
+    @Test
+    void generateBatchShouldRejectOutOfBoundsRange() {
+        DefaultSegmentId generator = new DefaultSegmentId(new IdSegmentDistributor.Atomic(3));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.generate(new long[2], 1, 2));
+    }
+
     @Test
     void generateAsStringShouldUseDefaultRadix62Converter() {
         DefaultSegmentId generator = new DefaultSegmentId(new IdSegmentDistributor.Atomic(3));
@@ -0,0 +1,41 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class DoublingPrefetchPolicyTest {
+
+    @Test
+    void prefetchDistanceShouldDoubleWhenHungryAndKeepSafeDistanceOtherwise() {
+        DoublingPrefetchPolicy policy = new DoublingPrefetchPolicy(2);
+
+        assertEquals(2, policy.prefetchDistance(false, 0, 0, 10));
+        assertEquals(4, policy.prefetchDistance(true, 0, 0, 10));
+        assertEquals(8, policy.prefetchDistance(true, 0, 0, 10));
+        assertEquals(2, policy.prefetchDistance(false, 0, 0, 10));
+        // The expanded distance halves while fed.
+        assertEquals(8, policy.prefetchDistance(true, 0, 0, 10));
+    }
+
+    @Test
+    void prefetchDistanceShouldBeBounded() {
+        DoublingPrefetchPolicy policy = new DoublingPrefetchPolicy(DoublingPrefetchPolicy.MAX_PREFETCH_DISTANCE / 2 + 1);
+
+        assertEquals(DoublingPrefetchPolicy.MAX_PREFETCH_DISTANCE, policy.prefetchDistance(true, 0, 0, 10));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+class EwmaPrefetchPolicyTest {
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void prefetchDistanceShouldStartAtSafeDistance() {
+        EwmaPrefetchPolicy policy = new EwmaPrefetchPolicy(2);
+
+        assertEquals(2, policy.prefetchDistance(false, 0, ONE_SECOND, 10));
+        assertEquals(EwmaPrefetchPolicy.DEFAULT_MAX_DISTANCE, policy.getMaxDistance());
+        assertEquals(EwmaPrefetchPolicy.DEFAULT_COVERAGE, policy.getCoverage());
+        assertEquals(EwmaPrefetchPolicy.DEFAULT_DECAY, policy.getDecay());
+    }
+
+    @Test
+    void prefetchDistanceShouldConvergeToCoveredDemand() {
+        EwmaPrefetchPolicy policy = new EwmaPrefetchPolicy(2, 1000, Duration.ofSeconds(2), Duration.ofSeconds(1));
+
+        int distance = 0;
+        for (int i = 0; i < 30; i++) {
+            distance = policy.prefetchDistance(false, 1000, ONE_SECOND, 100);
+        }
+
+        assertEquals(1000, policy.getRate(), 1);
+        // 1000 IDs/s covering 2s with a step of 100.
+        assertEquals(20, distance);
+    }
+
+    @Test
+    void prefetchDistanceShouldMoveGradually() {
+        EwmaPrefetchPolicy policy = new EwmaPrefetchPolicy(1, 1000, Duration.ofSeconds(1), Duration.ofSeconds(10));
+        for (int i = 0; i < 100; i++) {
+            policy.prefetchDistance(false, 1000, ONE_SECOND, 10);
+        }
+        int steady = policy.prefetchDistance(false, 1000, ONE_SECOND, 10);
+
+        int afterIdle = policy.prefetchDistance(false, 0, ONE_SECOND, 10);
+
+        assertEquals(100, steady);
+        assertTrue(afterIdle < steady && afterIdle > steady / 2, "afterIdle:" + afterIdle);
+    }
+
+    @Test
+    void prefetchDistanceShouldRiseWithBurstAtOnce() {
+        EwmaPrefetchPolicy policy = new EwmaPrefetchPolicy(1, 1000, Duration.ofSeconds(1), Duration.ofSeconds(10));
+        policy.prefetchDistance(false, 100, ONE_SECOND, 10);
+
+        assertEquals(500, policy.prefetchDistance(false, 5000, ONE_SECOND, 10));
+        assertTrue(policy.getRate() < 1000, "rate:" + policy.getRate());
+    }
+
+    @Test
+    void prefetchDistanceShouldGrowAdditivelyWhenHungry() {
+        EwmaPrefetchPolicy policy = new EwmaPrefetchPolicy(2, 5, Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+        assertEquals(4, policy.prefetchDistance(true, 0, ONE_SECOND, 10));
+        assertEquals(5, policy.prefetchDistance(true, 0, ONE_SECOND, 10));
+        assertEquals(5, policy.prefetchDistance(true, 0, ONE_SECOND, 10));
+        assertEquals(2, policy.prefetchDistance(false, 0, ONE_SECOND, 10));
+    }
+
+    @Test
+    void prefetchDistanceShouldCoverAllocationLatency() {
+        EwmaPrefetchPolicy policy = new EwmaPrefetchPolicy(1, 1000, Duration.ofSeconds(1), Duration.ofNanos(1));
+        assertEquals(10, policy.prefetchDistance(false, 100, ONE_SECOND, 10));
+
+        policy.onAppended(1, ONE_SECOND);
+
+        assertEquals(ONE_SECOND, policy.getLatency());
+        assertEquals(20, policy.prefetchDistance(false, 100, ONE_SECOND, 10));
+    }
+
+    @Test
+    void constructorShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new EwmaPrefetchPolicy(0));
+        assertThrows(IllegalArgumentException.class, () -> new EwmaPrefetchPolicy(2, 1, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new EwmaPrefetchPolicy(2, 2, Duration.ZERO, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new EwmaPrefetchPolicy(2, 2, Duration.ofSeconds(1), Duration.ZERO));
+    }
+}
@@ -17,19 +17,28 @@ import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import me.ahoo.cosid.segment.concurrent.AffinityJob;
+import me.ahoo.cosid.segment.concurrent.CoalescingAffinityJob;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorker;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
+import me.ahoo.cosid.stat.generator.SegmentIdStat;
 import me.ahoo.cosid.test.ConcurrentGenerateSpec;
 
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 class SegmentChainIdTest {
 
@@ -58,6 +67,16 @@ class SegmentChainIdTest {
         assertEquals(1, generator.getHead().getVersion());
     }
 
+    @Test
+    void generateBatchShouldReserveAcrossChainAndForwardHead() {
+        SegmentChainId generator = new SegmentChainId(TIME_TO_LIVE_FOREVER, 2, new IdSegmentDistributor.Atomic(2), new NoopPrefetchWorkerExecutorService());
+
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5, 6}, generator.generate(6).toArray());
+
+        assertEquals(1, generator.getHead().getVersion());
+        assertEquals(7, generator.generate());
+    }
+
     @Test
     void nextIdSegmentChainShouldCreateMergedChainWithExpectedVersionAndRange() {
         IdSegmentDistributor distributor = new IdSegmentDistributor.Atomic(10);
@@ -72,6 +91,21 @@ class SegmentChainIdTest {
         assertEquals(3, chain.gap(chain, distributor.getStep()));
     }
 
+    @Test
+    void nextIdSegmentChainWithStepShouldOverrideDistributorStep() {
+        IdSegmentDistributor distributor = new IdSegmentDistributor.Atomic(10);
+        IdSegmentChain root = IdSegmentChain.newRoot(false);
+
+        IdSegmentChain chain = distributor.nextIdSegmentChain(root, 1, 25, TIME_TO_LIVE_FOREVER);
+        IdSegmentChain merged = distributor.nextIdSegmentChain(chain, 2, 25, TIME_TO_LIVE_FOREVER);
+
+        assertEquals(0, chain.getOffset());
+        assertEquals(25, chain.getMaxId());
+        assertEquals(25, merged.getOffset());
+        assertEquals(75, merged.getMaxId());
+        assertEquals(2, merged.gap(merged, 25));
+    }
+
     @Test
     void idSegmentChainShouldSetNextOnlyOnceAndRejectExpiredNextWhenResetIsForbidden() {
         IdSegmentChain root = IdSegmentChain.newRoot(false);
@@ -123,8 +157,329 @@ class SegmentChainIdTest {
         new ConcurrentGenerateSpec(4, 256, Duration.ofSeconds(5), generator).verify();
     }
 
+    @Test
+    void generateShouldServeFromThreadLocalLease() throws Exception {
+        SegmentChainId generator = SegmentChainId.builder()
+            .maxIdDistributor(new IdSegmentDistributor.Atomic(10))
+            .prefetchWorkerExecutorService(new NoopPrefetchWorkerExecutorService())
+            .leaseSize(3)
+            .build();
+
+        assertEquals(3, generator.getLeaseSize());
+        assertEquals(1, generator.generate());
+        long[] otherThreadIds = new long[2];
+        Thread otherThread = new Thread(() -> {
+            otherThreadIds[0] = generator.generate();
+            otherThreadIds[1] = generator.generate();
+        });
+        otherThread.start();
+        otherThread.join();
+        assertArrayEquals(new long[]{2, 3}, otherThreadIds);
+        assertEquals(5, generator.generate());
+        assertEquals(6, generator.generate());
+        assertEquals(7, generator.generate());
+        assertEquals(8, generator.generate());
+    }
+
+    @Test
+    void generateShouldLeaseAcrossChain() {
+        SegmentChainId generator = SegmentChainId.builder()
+            .maxIdDistributor(new IdSegmentDistributor.Atomic(2))
+            .prefetchWorkerExecutorService(new NoopPrefetchWorkerExecutorService())
+            .leaseSize(4)
+            .build();
+
+        long[] ids = new long[10];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generator.generate();
+        }
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+    }
+
+    @Test
+    void builderShouldDefaultToConstructorDefaults() {
+        SegmentChainId generator = SegmentChainId.builder()
+            .maxIdDistributor(new IdSegmentDistributor.Atomic(10))
+            .prefetchWorkerExecutorService(new NoopPrefetchWorkerExecutorService())
+            .build();
+
+        assertEquals(SegmentChainId.DEFAULT_LEASE_SIZE, generator.getLeaseSize());
+        assertEquals(SegmentChainId.DEFAULT_PREFETCH_WATERMARK, generator.getPrefetchWatermark());
+        assertNull(generator.getAdaptiveStep());
+        assertInstanceOf(EwmaPrefetchPolicy.class, generator.getPrefetchPolicy());
+        assertEquals(SegmentChainId.DEFAULT_ASYNC_ALLOCATION_TIMEOUT, generator.getAsyncAllocationTimeout());
+        assertEquals(1, generator.generate());
+    }
+
+    @Test
+    void builderShouldRequireDistributor() {
+        SegmentChainId.SegmentChainIdBuilder builder = SegmentChainId.builder().prefetchWorkerExecutorService(new NoopPrefetchWorkerExecutorService());
+
+        assertThrows(NullPointerException.class, builder::build);
+    }
+
+    @Test
+    void constructorShouldRejectInvalidLeaseSize() {
+        IdSegmentDistributor distributor = new IdSegmentDistributor.Atomic(2);
+        NoopPrefetchWorkerExecutorService executor = new NoopPrefetchWorkerExecutorService();
+
+        assertThrows(IllegalArgumentException.class, () -> SegmentChainId.builder().maxIdDistributor(distributor).prefetchWorkerExecutorService(executor).leaseSize(0).build());
+    }
+
+    @Test
+    void generateWithLeaseShouldRemainUniqueUnderConcurrentLoad() {
+        SegmentChainId generator = SegmentChainId.builder()
+            .safeDistance(4)
+            .maxIdDistributor(new IdSegmentDistributor.Atomic(64))
+            .prefetchWorkerExecutorService(new NoopPrefetchWorkerExecutorService())
+            .leaseSize(8)
+            .build();
+
+        new ConcurrentGenerateSpec(4, 4000, Duration.ofSeconds(5), generator) {
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                assertTrue(id > previousId);
+            }
+
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+        }.verify();
+    }
+
+    @Test
+    void generateShouldWakeupPrefetchOnceWhenWatermarkIsCrossed() {
+        NoopPrefetchWorkerExecutorService executor = new NoopPrefetchWorkerExecutorService();
+        SegmentChainId generator = SegmentChainId.builder()
+            .safeDistance(1)
+            .maxIdDistributor(new IdSegmentDistributor.Atomic(10))
+            .prefetchWorkerExecutorService(executor)
+            .prefetchWatermark(0.7)
+            .build();
+
+        assertEquals(0.7, generator.getPrefetchWatermark());
+        // The first call appends the chain and signals hunger.
+        assertEquals(1, generator.generate());
+        assertEquals(1, executor.worker.wakeups);
+        for (int i = 2; i <= 6; i++) {
+            assertEquals(i, generator.generate());
+        }
+        assertEquals(1, executor.worker.wakeups);
+        assertEquals(7, generator.generate());
+        assertEquals(2, executor.worker.wakeups);
+        for (int i = 8; i <= 10; i++) {
+            assertEquals(i, generator.generate());
+        }
+        assertEquals(2, executor.worker.wakeups);
+    }
+
+    @Test
+    void constructorShouldRejectInvalidPrefetchWatermark() {
+        IdSegmentDistributor distributor = new IdSegmentDistributor.Atomic(2);
+        NoopPrefetchWorkerExecutorService executor = new NoopPrefetchWorkerExecutorService();
+
+        assertThrows(IllegalArgumentException.class, () -> SegmentChainId.builder().maxIdDistributor(distributor).prefetchWorkerExecutorService(executor).prefetchWatermark(-0.1).build());
+        assertThrows(IllegalArgumentException.class, () -> SegmentChainId.builder().maxIdDistributor(distributor).prefetchWorkerExecutorService(executor).prefetchWatermark(1.1).build());
+    }
+
+    @Test
+    void prefetchShouldAdaptStepToConsumptionRate() throws InterruptedException {
+        PrefetchWorkerExecutorService executor = new PrefetchWorkerExecutorService(Duration.ofMillis(50), 1, false);
+        try {
+            AdaptiveStep adaptiveStep = new AdaptiveStep(10, 1000, Duration.ofSeconds(5));
+            SegmentChainId generator = SegmentChainId.builder()
+                .maxIdDistributor(new IdSegmentDistributor.Atomic(10))
+                .prefetchWorkerExecutorService(executor)
+                .adaptiveStep(adaptiveStep)
+                .build();
+
+            assertSame(adaptiveStep, generator.getAdaptiveStep());
+            assertEquals(10, generator.getEffectiveStep());
+            generator.generate();
+            // Let the prefetch job take its first sample.
+            Thread.sleep(200);
+            generator.generate(2000);
+            awaitEffectiveStep(generator, 1000);
+            assertEquals(1000, ((SegmentIdStat) generator.stat()).getEffectiveStep());
+            // No consumption shrinks the step back to the min step.
+            awaitEffectiveStep(generator, 10);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void prefetchShouldKeepDistanceDecidedByPrefetchPolicy() throws InterruptedException {
+        PrefetchWorkerExecutorService executor = new PrefetchWorkerExecutorService(Duration.ofMillis(50), 1, false);
+        try {
+            PrefetchPolicy prefetchPolicy = (hunger, consumed, elapsedNanos, step) -> 5;
+            SegmentChainId generator = SegmentChainId.builder()
+                .safeDistance(1)
+                .maxIdDistributor(new IdSegmentDistributor.Atomic(10))
+                .prefetchWorkerExecutorService(executor)
+                .prefetchPolicy(prefetchPolicy)
+                .build();
+
+            assertSame(prefetchPolicy, generator.getPrefetchPolicy());
+            assertEquals(1, generator.generate());
+            long deadline = System.currentTimeMillis() + 5000;
+            while (generator.getHead().gap(tail(generator.getHead()), 10) < 5 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(5, generator.getHead().gap(tail(generator.getHead()), 10));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void prefetchShouldAppendAsyncAllocationWithoutBlockingWorker() {
+        NoopPrefetchWorkerExecutorService executor = new NoopPrefetchWorkerExecutorService();
+        AsyncAtomic distributor = new AsyncAtomic(10);
+        SegmentChainId generator = SegmentChainId.builder()
+            .safeDistance(1)
+            .maxIdDistributor(distributor)
+            .prefetchWorkerExecutorService(executor)
+            .prefetchPolicy((hunger, consumed, elapsedNanos, step) -> 2)
+            .build();
+
+        executor.job.run();
+        assertEquals(1, distributor.pending.size());
+        assertNull(generator.getHead().getNext());
+        // The next run is skipped while the allocation is in flight.
+        executor.job.run();
+        assertEquals(1, distributor.pending.size());
+
+        distributor.pending.remove(0).complete(20L);
+        assertEquals(2, generator.getHead().gap(tail(generator.getHead()), 10));
+        assertEquals(1, generator.generate());
+
+        executor.job.run();
+        assertEquals(1, distributor.pending.size());
+        distributor.pending.remove(0).completeExceptionally(new IllegalStateException("unavailable"));
+        // A failed allocation releases the job for the next run.
+        executor.job.run();
+        assertEquals(1, distributor.pending.size());
+    }
+
+    @Test
+    void prefetchShouldGiveUpAsyncAllocationAfterTimeout() throws InterruptedException {
+        NoopPrefetchWorkerExecutorService executor = new NoopPrefetchWorkerExecutorService();
+        AsyncAtomic distributor = new AsyncAtomic(10);
+        SegmentChainId generator = SegmentChainId.builder()
+            .safeDistance(1)
+            .maxIdDistributor(distributor)
+            .prefetchWorkerExecutorService(executor)
+            .prefetchPolicy((hunger, consumed, elapsedNanos, step) -> 2)
+            .asyncAllocationTimeout(Duration.ofMillis(50))
+            .build();
+
+        executor.job.run();
+        assertEquals(1, distributor.pending.size());
+        Thread.sleep(200);
+        // The stalled allocation no longer blocks the next run.
+        executor.job.run();
+        assertEquals(2, distributor.pending.size());
+
+        // The allocation completing after its timeout is skipped.
+        distributor.pending.get(0).complete(40L);
+        assertNull(generator.getHead().getNext());
+        distributor.pending.get(1).complete(20L);
+        assertEquals(2, generator.getHead().gap(tail(generator.getHead()), 10));
+    }
+
+    @Test
+    void prefetchShouldReportAsyncAllocationLatencyToPrefetchPolicy() throws InterruptedException {
+        NoopPrefetchWorkerExecutorService executor = new NoopPrefetchWorkerExecutorService();
+        AsyncAtomic distributor = new AsyncAtomic(10);
+        LatencyRecordingPrefetchPolicy prefetchPolicy = new LatencyRecordingPrefetchPolicy();
+        SegmentChainId.builder()
+            .safeDistance(1)
+            .maxIdDistributor(distributor)
+            .prefetchWorkerExecutorService(executor)
+            .prefetchPolicy(prefetchPolicy)
+            .build();
+
+        executor.job.run();
+        Thread.sleep(100);
+        distributor.pending.remove(0).complete(20L);
+
+        assertTrue(prefetchPolicy.latencyNanos >= TimeUnit.MILLISECONDS.toNanos(100), () -> "latencyNanos:" + prefetchPolicy.latencyNanos);
+    }
+
+    @Test
+    void prefetchShouldReportBatchedAllocationLatencyToPrefetchPolicy() throws InterruptedException {
+        NoopPrefetchWorkerExecutorService executor = new NoopPrefetchWorkerExecutorService();
+        LatencyRecordingPrefetchPolicy prefetchPolicy = new LatencyRecordingPrefetchPolicy();
+        SegmentChainId generator = SegmentChainId.builder()
+            .safeDistance(1)
+            .maxIdDistributor(new IdSegmentDistributor.Atomic(10))
+            .prefetchWorkerExecutorService(executor)
+            .prefetchPolicy(prefetchPolicy)
+            .build();
+
+        CoalescingAffinityJob.Allocation allocation = ((CoalescingAffinityJob) executor.job).prepare();
+        // The batch call of the prefetch worker takes place between prepare and complete.
+        Thread.sleep(100);
+        allocation.complete(20L);
+
+        assertEquals(2, generator.getHead().gap(tail(generator.getHead()), 10));
+        assertTrue(prefetchPolicy.latencyNanos >= TimeUnit.MILLISECONDS.toNanos(100), () -> "latencyNanos:" + prefetchPolicy.latencyNanos);
+    }
+
+    private static IdSegmentChain tail(IdSegmentChain chain) {
+        while (chain.getNext() != null) {
+            chain = chain.getNext();
+        }
+        return chain;
+    }
+
+    private static void awaitEffectiveStep(SegmentChainId generator, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (generator.getEffectiveStep() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, generator.getEffectiveStep());
+    }
+
+    private static final class AsyncAtomic extends IdSegmentDistributor.Atomic implements AsyncIdSegmentDistributor {
+        private final List<CompletableFuture<Long>> pending = new ArrayList<>();
+
+        private AsyncAtomic(long step) {
+            super(step);
+        }
+
+        @Override
+        public CompletionStage<Long> nextMaxIdAsync(long step) {
+            CompletableFuture<Long> nextMaxId = new CompletableFuture<>();
+            pending.add(nextMaxId);
+            return nextMaxId;
+        }
+    }
+
+    private static final class LatencyRecordingPrefetchPolicy implements PrefetchPolicy {
+        private volatile long latencyNanos;
+
+        @Override
+        public int prefetchDistance(boolean hunger, long consumed, long elapsedNanos, long step) {
+            return 2;
+        }
+
+        @Override
+        public void onAppended(int segments, long latencyNanos) {
+            this.latencyNanos = latencyNanos;
+        }
+    }
+
     private static final class NoopPrefetchWorkerExecutorService extends PrefetchWorkerExecutorService {
-        private final PrefetchWorker worker = new NoopPrefetchWorker();
+        private final NoopPrefetchWorker worker = new NoopPrefetchWorker();
+        private AffinityJob job;
 
         private NoopPrefetchWorkerExecutorService() {
             super(Duration.ofDays(1), 1, false);
@@ -133,10 +488,13 @@ class SegmentChainIdTest {
         @Override
         public void submit(AffinityJob affinityJob) {
             affinityJob.setPrefetchWorker(worker);
+            this.job = affinityJob;
         }
     }
 
     private static final class NoopPrefetchWorker implements PrefetchWorker {
+        private int wakeups;
+
         @Override
         public String getName() {
             return "noop-prefetch-worker";
@@ -152,6 +510,7 @@ class SegmentChainIdTest {
 
         @Override
         public void wakeup(AffinityJob affinityJob) {
+            wakeups++;
         }
 
         @Override
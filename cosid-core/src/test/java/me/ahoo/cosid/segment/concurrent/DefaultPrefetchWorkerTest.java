@@ -0,0 +1,165 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment.concurrent;
+
+import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
+
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.SegmentChainId;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DefaultPrefetchWorkerTest .
+ *
+ * @author ahoo wang
+ */
+class DefaultPrefetchWorkerTest {
+
+    @Test
+    void allocateShouldCoalesceAllocationsSharingBatchDistributor() {
+        CountingBatchDistributor batchDistributor = new CountingBatchDistributor(false);
+        TestAllocation first = new TestAllocation(new BatchAtomic(batchDistributor), 10);
+        TestAllocation second = new TestAllocation(new BatchAtomic(batchDistributor), 20);
+        TestAllocation unbatched = new TestAllocation(new IdSegmentDistributor.Atomic(), 30);
+
+        DefaultPrefetchWorker.allocate(List.of(first, unbatched, second));
+
+        Assertions.assertEquals(1, batchDistributor.calls.get());
+        Assertions.assertEquals(10, first.completedMaxId);
+        Assertions.assertEquals(20, second.completedMaxId);
+        Assertions.assertEquals(0, first.runs);
+        Assertions.assertEquals(1, unbatched.runs);
+    }
+
+    @Test
+    void allocateShouldRunAloneWhenBatchHasSingleAllocation() {
+        CountingBatchDistributor batchDistributor = new CountingBatchDistributor(false);
+        TestAllocation allocation = new TestAllocation(new BatchAtomic(batchDistributor), 10);
+
+        DefaultPrefetchWorker.allocate(List.of(allocation));
+
+        Assertions.assertEquals(0, batchDistributor.calls.get());
+        Assertions.assertEquals(1, allocation.runs);
+    }
+
+    @Test
+    void allocateShouldFallBackWhenBatchFails() {
+        CountingBatchDistributor batchDistributor = new CountingBatchDistributor(true);
+        TestAllocation first = new TestAllocation(new BatchAtomic(batchDistributor), 10);
+        TestAllocation second = new TestAllocation(new BatchAtomic(batchDistributor), 20);
+
+        DefaultPrefetchWorker.allocate(List.of(first, second));
+
+        Assertions.assertEquals(1, batchDistributor.calls.get());
+        Assertions.assertEquals(1, first.runs);
+        Assertions.assertEquals(1, second.runs);
+        Assertions.assertEquals(-1, first.completedMaxId);
+    }
+
+    @Test
+    void runShouldCoalescePrefetchOfSegmentChainIds() throws InterruptedException {
+        PrefetchWorkerExecutorService executor = new PrefetchWorkerExecutorService(Duration.ofMillis(50), 1, false);
+        try {
+            CountingBatchDistributor batchDistributor = new CountingBatchDistributor(false);
+            SegmentChainId first = new SegmentChainId(TIME_TO_LIVE_FOREVER, 2, new BatchAtomic(batchDistributor), executor);
+            SegmentChainId second = new SegmentChainId(TIME_TO_LIVE_FOREVER, 2, new BatchAtomic(batchDistributor), executor);
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (batchDistributor.calls.get() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            Assertions.assertTrue(batchDistributor.calls.get() > 0);
+            Assertions.assertEquals(1, first.generate());
+            Assertions.assertEquals(1, second.generate());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static final class CountingBatchDistributor implements BatchIdSegmentDistributor {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final boolean fail;
+
+        private CountingBatchDistributor(boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public long[] nextMaxIds(List<? extends IdSegmentDistributor> distributors, long[] steps) {
+            calls.incrementAndGet();
+            if (fail) {
+                throw new IllegalStateException("batch failed");
+            }
+            long[] maxIds = new long[distributors.size()];
+            for (int i = 0; i < maxIds.length; i++) {
+                maxIds[i] = distributors.get(i).nextMaxId(steps[i]);
+            }
+            return maxIds;
+        }
+    }
+
+    private static final class BatchAtomic extends IdSegmentDistributor.Atomic {
+        private final BatchIdSegmentDistributor batchDistributor;
+
+        private BatchAtomic(BatchIdSegmentDistributor batchDistributor) {
+            this.batchDistributor = batchDistributor;
+        }
+
+        @Override
+        public BatchIdSegmentDistributor getBatchDistributor() {
+            return batchDistributor;
+        }
+    }
+
+    private static final class TestAllocation implements CoalescingAffinityJob.Allocation {
+        private final IdSegmentDistributor distributor;
+        private final long step;
+        private long completedMaxId = -1;
+        private int runs;
+
+        private TestAllocation(IdSegmentDistributor distributor, long step) {
+            this.distributor = distributor;
+            this.step = step;
+        }
+
+        @Override
+        public IdSegmentDistributor getDistributor() {
+            return distributor;
+        }
+
+        @Override
+        public long getStep() {
+            return step;
+        }
+
+        @Override
+        public void complete(long maxId) {
+            completedMaxId = maxId;
+        }
+
+        @Override
+        public void run() {
+            runs++;
+            distributor.nextMaxId(step);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.segment.concurrent;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class VirtualThreadPrefetchWorkerExecutorServiceTest {
+    VirtualThreadPrefetchWorkerExecutorService executorService;
+
+    @BeforeEach
+    void setup() {
+        executorService = new VirtualThreadPrefetchWorkerExecutorService(Duration.ofMillis(10), false);
+    }
+
+    @AfterEach
+    void destroy() {
+        executorService.shutdown();
+    }
+
+    @Test
+    void shutdown() {
+        executorService.shutdown();
+        // Multiple shutdowns have no side effects
+        executorService.shutdown();
+    }
+
+    @Test
+    void submit() {
+        TestAffinityJob affinityJob = new TestAffinityJob("job", 2, 0);
+
+        executorService.submit(affinityJob);
+
+        Assertions.assertInstanceOf(VirtualThreadPrefetchWorker.class, affinityJob.getPrefetchWorker());
+        Assertions.assertTrue(affinityJob.awaitRuns(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submitShouldBindEachJobToItsOwnWorker() {
+        TestAffinityJob first = new TestAffinityJob("first", 1, 0);
+        TestAffinityJob second = new TestAffinityJob("second", 1, 0);
+
+        executorService.submit(first);
+        executorService.submit(second);
+
+        Assertions.assertNotSame(first.getPrefetchWorker(), second.getPrefetchWorker());
+    }
+
+    @Test
+    void slowJobShouldNotBlockOtherJobs() {
+        TestAffinityJob slowJob = new TestAffinityJob("slow", 1, 5_000);
+        TestAffinityJob fastJob = new TestAffinityJob("fast", 5, 0);
+
+        executorService.submit(slowJob);
+        executorService.submit(fastJob);
+
+        Assertions.assertTrue(fastJob.awaitRuns(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelShouldReleaseWorker() {
+        TestAffinityJob affinityJob = new TestAffinityJob("job", 1, 0);
+        executorService.submit(affinityJob);
+        Assertions.assertEquals(1, executorService.getWorkerCount());
+
+        affinityJob.getPrefetchWorker().cancel(affinityJob);
+
+        Assertions.assertEquals(0, executorService.getWorkerCount());
+    }
+
+    @Test
+    void shutdownShouldReleaseWorkers() {
+        executorService.submit(new TestAffinityJob("first", 1, 0));
+        executorService.submit(new TestAffinityJob("second", 1, 0));
+        Assertions.assertEquals(2, executorService.getWorkerCount());
+
+        executorService.shutdown();
+
+        Assertions.assertEquals(0, executorService.getWorkerCount());
+    }
+
+    @Test
+    void submitWhenShutdown() {
+        executorService.shutdown();
+        TestAffinityJob affinityJob = new TestAffinityJob("job", 1, 0);
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, () -> executorService.submit(affinityJob));
+        Assertions.assertEquals("PrefetchWorkerExecutorService is shutdown.", exception.getMessage());
+        Assertions.assertNull(affinityJob.getPrefetchWorker());
+    }
+
+    private static final class TestAffinityJob implements AffinityJob {
+        private final String jobId;
+        private final CountDownLatch runs;
+        private final long sleepMillis;
+        private final AtomicInteger runCount = new AtomicInteger();
+        private volatile PrefetchWorker prefetchWorker;
+
+        private TestAffinityJob(String jobId, int expectedRuns, long sleepMillis) {
+            this.jobId = jobId;
+            this.runs = new CountDownLatch(expectedRuns);
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        public String getJobId() {
+            return jobId;
+        }
+
+        @Override
+        public void setHungerTime(long hungerTime) {
+        }
+
+        @Override
+        public PrefetchWorker getPrefetchWorker() {
+            return prefetchWorker;
+        }
+
+        @Override
+        public void setPrefetchWorker(PrefetchWorker prefetchWorker) {
+            this.prefetchWorker = prefetchWorker;
+        }
+
+        @SneakyThrows
+        @Override
+        public void run() {
+            runCount.incrementAndGet();
+            runs.countDown();
+            if (sleepMillis > 0) {
+                Thread.sleep(sleepMillis);
+            }
+        }
+
+        @SneakyThrows
+        private boolean awaitRuns(long timeout, TimeUnit unit) {
+            return runs.await(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.snowflake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.snowflake.exception.ClockBackwardsException;
+import me.ahoo.cosid.test.ConcurrentGenerateSpec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CachedSnowflakeIdTest {
+    public static final int TEST_MACHINE_ID = 1;
+
+    @Test
+    void generateShouldBeMonotonicAndParseable() {
+        CachedSnowflakeId snowflakeId = new CachedSnowflakeId(new MillisecondSnowflakeId(TEST_MACHINE_ID));
+        try {
+            long previousId = snowflakeId.generate();
+            for (int i = 0; i < 100_000; i++) {
+                long id = snowflakeId.generate();
+                assertTrue(id > previousId);
+                previousId = id;
+            }
+            SnowflakeIdState state = SnowflakeIdStateParser.of(snowflakeId).parse(previousId);
+            assertEquals(TEST_MACHINE_ID, state.getMachineId());
+        } finally {
+            snowflakeId.shutdown();
+        }
+    }
+
+    @Test
+    void generateBatchShouldSpanRingBufferWrap() {
+        CachedSnowflakeId snowflakeId = new CachedSnowflakeId(new MillisecondSnowflakeId(TEST_MACHINE_ID), 1024, 512, CachedSnowflakeId.EmptyPolicy.BLOCK);
+        try {
+            for (int round = 0; round < 10; round++) {
+                long[] ids = snowflakeId.generate(1500).toArray();
+                for (int i = 1; i < ids.length; i++) {
+                    assertTrue(ids[i] > ids[i - 1]);
+                }
+            }
+        } finally {
+            snowflakeId.shutdown();
+        }
+    }
+
+    @Test
+    void generateShouldFallBackToActualWhenShutdown() {
+        CachedSnowflakeId snowflakeId = new CachedSnowflakeId(new MillisecondSnowflakeId(TEST_MACHINE_ID), 16, 0, CachedSnowflakeId.EmptyPolicy.BLOCK);
+        snowflakeId.shutdown();
+        long[] ids = new long[100];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = snowflakeId.generate();
+        }
+        assertEquals(ids.length, Arrays.stream(ids).distinct().count());
+        assertEquals(0, snowflakeId.getCachedSize());
+    }
+
+    @Test
+    void directPolicyShouldGenerateUniqueIds() {
+        CachedSnowflakeId snowflakeId = new CachedSnowflakeId(new MillisecondSnowflakeId(TEST_MACHINE_ID), 16, 8, CachedSnowflakeId.EmptyPolicy.DIRECT);
+        try {
+            long[] ids = new long[100_000];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = snowflakeId.generate();
+            }
+            assertEquals(ids.length, Arrays.stream(ids).distinct().count());
+        } finally {
+            snowflakeId.shutdown();
+        }
+    }
+
+    @Test
+    void blockPolicyShouldThrowFillFailureAndBackOff() throws InterruptedException {
+        AtomicInteger fills = new AtomicInteger();
+        MillisecondSnowflakeId actual = new MillisecondSnowflakeId(TEST_MACHINE_ID) {
+            @Override
+            public synchronized void generate(long[] dest, int offset, int count) {
+                fills.incrementAndGet();
+                throw new ClockBackwardsException(1, 0);
+            }
+        };
+        CachedSnowflakeId snowflakeId = new CachedSnowflakeId(actual, 16, 8, CachedSnowflakeId.EmptyPolicy.BLOCK);
+        try {
+            while (fills.get() == 0) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+            while (System.nanoTime() < deadline) {
+                CosIdException exception = assertThrows(CosIdException.class, snowflakeId::generate);
+                assertTrue(exception.getCause() instanceof ClockBackwardsException);
+            }
+            assertEquals(1, fills.get());
+        } finally {
+            snowflakeId.shutdown();
+        }
+    }
+
+    @Test
+    void constructorShouldRejectInvalidBufferSize() {
+        MillisecondSnowflakeId actual = new MillisecondSnowflakeId(TEST_MACHINE_ID);
+        assertThrows(IllegalArgumentException.class, () -> new CachedSnowflakeId(actual, 1000, 10, CachedSnowflakeId.EmptyPolicy.BLOCK));
+        assertThrows(IllegalArgumentException.class, () -> new CachedSnowflakeId(actual, 1024, 1024, CachedSnowflakeId.EmptyPolicy.BLOCK));
+    }
+
+    @Test
+    void getActual() {
+        MillisecondSnowflakeId actual = new MillisecondSnowflakeId(TEST_MACHINE_ID);
+        CachedSnowflakeId snowflakeId = new CachedSnowflakeId(actual);
+        try {
+            assertSame(actual, snowflakeId.getActual());
+            assertEquals(actual.getMachineId(), snowflakeId.getMachineId());
+            assertEquals(CachedSnowflakeId.DEFAULT_BUFFER_SIZE, snowflakeId.getBufferSize());
+        } finally {
+            snowflakeId.shutdown();
+        }
+    }
+
+    @Test
+    void generateWhenConcurrent() {
+        CachedSnowflakeId snowflakeId = new CachedSnowflakeId(new ClockSyncSnowflakeId(new MillisecondSnowflakeId(TEST_MACHINE_ID)));
+        try {
+            new ConcurrentGenerateSpec(snowflakeId) {
+                @Override
+                protected void assertGlobalFirst(long id) {
+                }
+
+                @Override
+                protected void assertGlobalEach(long previousId, long id) {
+                    Assertions.assertTrue(id > previousId);
+                }
+
+                @Override
+                protected void assertGlobalLast(long lastId) {
+                }
+
+            }.verify();
+        } finally {
+            snowflakeId.shutdown();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.snowflake.exception.ClockBackwardsException;
+import me.ahoo.cosid.test.ConcurrentGenerateSpec;
+import me.ahoo.cosid.test.ModSpec;
+import me.ahoo.cosid.util.Clock;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LockFreeSnowflakeIdTest {
+    public static final int TEST_MACHINE_ID = 1;
+
+    @Test
+    void generateShouldBeMonotonicAndParseable() {
+        LockFreeSnowflakeId snowflakeId = new LockFreeSnowflakeId(TEST_MACHINE_ID);
+
+        long idFirst = snowflakeId.generate();
+        long idSecond = snowflakeId.generate();
+
+        assertTrue(idSecond > idFirst);
+        SnowflakeIdState idState = SnowflakeIdStateParser.of(snowflakeId).parse(idSecond);
+        assertEquals(TEST_MACHINE_ID, idState.getMachineId());
+        assertEquals(snowflakeId.getLastTimestamp(), snowflakeId.getEpoch() + (idSecond >> snowflakeId.timestampLeft));
+    }
+
+    @Test
+    void sequenceShouldIncrementWithinSameTimestamp() {
+        LockFreeSnowflakeId snowflakeId = new FixedTimeSnowflakeId(new AtomicLong(CosId.COSID_EPOCH + 1));
+
+        long id = snowflakeId.generate();
+        long id2 = snowflakeId.generate();
+
+        assertEquals(1, id & snowflakeId.getMaxSequence());
+        assertEquals(2, id2 & snowflakeId.getMaxSequence());
+        assertEquals(CosId.COSID_EPOCH + 1, snowflakeId.getLastTimestamp());
+    }
+
+    @Test
+    void sequenceShouldResetWhenTimestampAdvancesPastThreshold() {
+        AtomicLong time = new AtomicLong(CosId.COSID_EPOCH + 1);
+        LockFreeSnowflakeId snowflakeId = new LockFreeSnowflakeId(CosId.COSID_EPOCH, 41, 10, 12, TEST_MACHINE_ID, 1, TimeUnit.MILLISECONDS) {
+            @Override
+            protected long getCurrentTime() {
+                return time.get();
+            }
+        };
+
+        snowflakeId.generate();
+        time.incrementAndGet();
+
+        assertEquals(1, snowflakeId.generate() & snowflakeId.getMaxSequence());
+    }
+
+    @Test
+    void generateShouldThrowWhenClockMovesBackwards() {
+        AtomicLong time = new AtomicLong(CosId.COSID_EPOCH + 10);
+        LockFreeSnowflakeId snowflakeId = new FixedTimeSnowflakeId(time);
+        snowflakeId.generate();
+        time.decrementAndGet();
+
+        ClockBackwardsException exception = assertThrows(ClockBackwardsException.class, snowflakeId::generate);
+        assertEquals(CosId.COSID_EPOCH + 10, exception.getLastTimestamp());
+    }
+
+    @Test
+    void generateBatchShouldSpanTimestampsWhenSequenceIsExhausted() {
+        LockFreeSnowflakeId snowflakeId = new LockFreeSnowflakeId(CosId.COSID_EPOCH, 41, 10, 2, TEST_MACHINE_ID, 1, TimeUnit.MILLISECONDS);
+
+        long[] ids = snowflakeId.generate(16).toArray();
+
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+        assertTrue(snowflakeId.generate() > ids[ids.length - 1]);
+    }
+
+    @Test
+    void generateShouldBorrowFutureTimeWhenSequenceIsExhausted() {
+        AtomicLong time = new AtomicLong(CosId.COSID_EPOCH + 10);
+        LockFreeSnowflakeId snowflakeId = new LockFreeSnowflakeId(CosId.COSID_EPOCH, 41, 10, 2, TEST_MACHINE_ID, 1, TimeUnit.MILLISECONDS, fixedClock(time), 10);
+
+        long[] ids = snowflakeId.generate(20).toArray();
+
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+        assertEquals(CosId.COSID_EPOCH + 15, snowflakeId.getLastTimestamp());
+        assertTrue(snowflakeId.generate() > ids[ids.length - 1]);
+    }
+
+    @Test
+    void generateShouldAbsorbClockBackwardsWithinBorrowedTime() {
+        AtomicLong time = new AtomicLong(CosId.COSID_EPOCH + 10);
+        LockFreeSnowflakeId snowflakeId = new LockFreeSnowflakeId(CosId.COSID_EPOCH, 41, 10, 12, TEST_MACHINE_ID, 1, TimeUnit.MILLISECONDS, fixedClock(time), 5);
+        long id = snowflakeId.generate();
+
+        time.addAndGet(-5);
+        assertTrue(snowflakeId.generate() > id);
+        assertEquals(CosId.COSID_EPOCH + 10, snowflakeId.getLastTimestamp());
+
+        time.decrementAndGet();
+        assertThrows(ClockBackwardsException.class, snowflakeId::generate);
+    }
+
+    @Test
+    void secondTimestampUnitShouldUseSecondParser() {
+        LockFreeSnowflakeId snowflakeId = new LockFreeSnowflakeId(CosId.COSID_EPOCH_SECOND, SecondSnowflakeId.DEFAULT_TIMESTAMP_BIT, SecondSnowflakeId.DEFAULT_MACHINE_BIT,
+            SecondSnowflakeId.DEFAULT_SEQUENCE_BIT, TEST_MACHINE_ID, SecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD, TimeUnit.SECONDS);
+
+        snowflakeId.generate();
+
+        assertInstanceOf(SecondSnowflakeIdStateParser.class, SnowflakeIdStateParser.of(snowflakeId));
+        assertEquals(TimeUnit.SECONDS.toMillis(snowflakeId.getLastTimestamp()), snowflakeId.getLastTimestampAsMilliseconds());
+    }
+
+    @Test
+    void constructorShouldRejectUnsupportedTimestampUnit() {
+        assertThrows(IllegalArgumentException.class, () -> new LockFreeSnowflakeId(CosId.COSID_EPOCH, 41, 10, 12, TEST_MACHINE_ID, 1, TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    void sequenceModUniformity() {
+        new ModSpec(99999, 4, 100, new LockFreeSnowflakeId(TEST_MACHINE_ID)::generate, ModSpec.DEFAULT_WAIT).verify();
+    }
+
+    @Test
+    void generateWhenConcurrent() {
+        new ConcurrentGenerateSpec(new ClockSyncSnowflakeId(new LockFreeSnowflakeId(TEST_MACHINE_ID))) {
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                Assertions.assertTrue(id > previousId);
+            }
+
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+
+        }.verify();
+    }
+
+    private static Clock fixedClock(AtomicLong time) {
+        return new Clock() {
+            @Override
+            public long secondTime() {
+                return time.get();
+            }
+
+            @Override
+            public long millisecondTime() {
+                return time.get();
+            }
+        };
+    }
+
+    private static class FixedTimeSnowflakeId extends LockFreeSnowflakeId {
+        private final AtomicLong time;
+
+        FixedTimeSnowflakeId(AtomicLong time) {
+            super(TEST_MACHINE_ID);
+            this.time = time;
+        }
+
+        @Override
+        protected long getCurrentTime() {
+            return time.get();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import me.ahoo.cosid.converter.Radix62IdConverter;
 import me.ahoo.cosid.test.ConcurrentGenerateSpec;
 import me.ahoo.cosid.test.ConcurrentGenerateStingSpec;
 import me.ahoo.cosid.test.ModSpec;
+import me.ahoo.cosid.util.Clock;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -74,6 +75,81 @@ class MillisecondSnowflakeIdTest {
     }
 
 
+    @Test
+    public void generateWithClock() {
+        Clock clock = new Clock() {
+            @Override
+            public long secondTime() {
+                return millisecondTime() / 1000;
+            }
+
+            @Override
+            public long millisecondTime() {
+                return CosId.COSID_EPOCH + 1000;
+            }
+        };
+        MillisecondSnowflakeId clockSnowflakeId = new MillisecondSnowflakeId(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT,
+            MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT, TEST_MACHINE_ID, MillisecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD, clock);
+        long id = clockSnowflakeId.generate();
+        Assertions.assertEquals(CosId.COSID_EPOCH + 1000, clockSnowflakeId.getLastTimestamp());
+        Assertions.assertEquals(1000, id >> clockSnowflakeId.timestampLeft);
+    }
+
+    @Test
+    public void generateWithBorrowedTime() {
+        Clock clock = new Clock() {
+            @Override
+            public long secondTime() {
+                return millisecondTime() / 1000;
+            }
+
+            @Override
+            public long millisecondTime() {
+                return CosId.COSID_EPOCH + 1000;
+            }
+        };
+        MillisecondSnowflakeId borrowSnowflakeId = new MillisecondSnowflakeId(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT,
+            MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, 2, TEST_MACHINE_ID, 1, clock, 10);
+        long previousId = borrowSnowflakeId.generate();
+        for (int i = 1; i < 20; i++) {
+            long id = borrowSnowflakeId.generate();
+            Assertions.assertTrue(id > previousId);
+            previousId = id;
+        }
+        Assertions.assertEquals(CosId.COSID_EPOCH + 1005, borrowSnowflakeId.getLastTimestamp());
+        Assertions.assertEquals(10, borrowSnowflakeId.getMaxBorrowTime());
+    }
+
+    @Test
+    public void generateWithMillisecondCacheClock() {
+        MillisecondSnowflakeId clockSnowflakeId = new MillisecondSnowflakeId(CosId.COSID_EPOCH, MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT,
+            MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT, TEST_MACHINE_ID, MillisecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD,
+            Clock.MillisecondCacheClock.getInstance());
+        new ConcurrentGenerateSpec(clockSnowflakeId) {
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                Assertions.assertTrue(id > previousId);
+            }
+
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+        }.verify();
+    }
+
+    @Test
+    public void generateBatch() {
+        long[] ids = snowflakeId.generate(1000).toArray();
+        for (int i = 1; i < ids.length; i++) {
+            Assertions.assertTrue(ids[i] > ids[i - 1]);
+        }
+        Assertions.assertTrue(snowflakeId.generate() > ids[ids.length - 1]);
+    }
+
     @Test
     public void sequenceModUniformity() {
         new ModSpec(99999, 4, 100, snowflakeId::generate, ModSpec.DEFAULT_WAIT).verify();
@@ -0,0 +1,130 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.snowflake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.test.ConcurrentGenerateSpec;
+import me.ahoo.cosid.test.ModSpec;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+class StripedSnowflakeIdTest {
+    public static final int TEST_MACHINE_ID = 1;
+    public static final int TEST_STRIPES = 4;
+
+    @Test
+    void generateShouldBeMonotonicWithinThreadAndParseable() {
+        StripedSnowflakeId snowflakeId = new StripedSnowflakeId(TEST_MACHINE_ID, TEST_STRIPES);
+
+        long idFirst = snowflakeId.generate();
+        long idSecond = snowflakeId.generate();
+
+        assertTrue(idSecond > idFirst);
+        SnowflakeIdState idState = SnowflakeIdStateParser.of(snowflakeId).parse(idSecond);
+        assertEquals(TEST_MACHINE_ID, idState.getMachineId());
+        assertEquals(stripeOf(snowflakeId, idFirst), stripeOf(snowflakeId, idSecond));
+    }
+
+    @Test
+    void threadsShouldSpreadOverStripes() throws InterruptedException {
+        StripedSnowflakeId snowflakeId = new StripedSnowflakeId(TEST_MACHINE_ID, TEST_STRIPES);
+        Set<Long> stripes = new HashSet<>();
+        for (int i = 0; i < TEST_STRIPES; i++) {
+            long[] id = new long[1];
+            Thread thread = new Thread(() -> id[0] = snowflakeId.generate());
+            thread.start();
+            thread.join();
+            stripes.add(stripeOf(snowflakeId, id[0]));
+        }
+
+        assertEquals(TEST_STRIPES, stripes.size());
+    }
+
+    @Test
+    void stripeBitShouldBeTakenFromSequenceBit() {
+        StripedSnowflakeId snowflakeId = new StripedSnowflakeId(TEST_MACHINE_ID, TEST_STRIPES);
+
+        assertEquals(TEST_STRIPES, snowflakeId.getStripes());
+        assertEquals(2, snowflakeId.getStripeBit());
+        assertEquals(MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT, snowflakeId.getSequenceBit());
+        assertEquals(MillisecondSnowflakeId.DEFAULT_MACHINE_BIT, snowflakeId.getMachineBit());
+    }
+
+    @Test
+    void constructorShouldRejectInvalidStripes() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeId(TEST_MACHINE_ID, 0));
+        assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeId(TEST_MACHINE_ID, 3));
+        assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeId(TEST_MACHINE_ID, 1 << MillisecondSnowflakeId.DEFAULT_SEQUENCE_BIT));
+    }
+
+    @Test
+    void generateBatch() {
+        StripedSnowflakeId snowflakeId = new StripedSnowflakeId(TEST_MACHINE_ID, TEST_STRIPES);
+        long[] ids = new long[1000];
+
+        snowflakeId.generate(ids, 0, ids.length);
+
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+    }
+
+    @Test
+    void secondTimestampUnitShouldUseSecondParser() {
+        StripedSnowflakeId snowflakeId = new StripedSnowflakeId(CosId.COSID_EPOCH_SECOND, SecondSnowflakeId.DEFAULT_TIMESTAMP_BIT, SecondSnowflakeId.DEFAULT_MACHINE_BIT,
+            SecondSnowflakeId.DEFAULT_SEQUENCE_BIT, TEST_MACHINE_ID, SecondSnowflakeId.DEFAULT_SEQUENCE_RESET_THRESHOLD, TimeUnit.SECONDS, TEST_STRIPES);
+
+        assertInstanceOf(SecondSnowflakeIdStateParser.class, SnowflakeIdStateParser.of(snowflakeId));
+        long id = snowflakeId.generate();
+        assertEquals(TEST_MACHINE_ID, SnowflakeIdStateParser.of(snowflakeId).parse(id).getMachineId());
+    }
+
+    @Test
+    void generateWhenConcurrent() {
+        new ConcurrentGenerateSpec(new ClockSyncSnowflakeId(new StripedSnowflakeId(TEST_MACHINE_ID, TEST_STRIPES))) {
+            @Override
+            protected void assertGlobalFirst(long id) {
+            }
+
+            @Override
+            protected void assertGlobalEach(long previousId, long id) {
+                assertTrue(id > previousId);
+            }
+
+            @Override
+            protected void assertGlobalLast(long lastId) {
+            }
+
+        }.verify();
+    }
+
+    @Test
+    void sequenceModUniformity() {
+        new ModSpec(99999, 4, 100, new StripedSnowflakeId(TEST_MACHINE_ID, TEST_STRIPES)::generate, ModSpec.DEFAULT_WAIT).verify();
+    }
+
+    private static long stripeOf(StripedSnowflakeId snowflakeId, long id) {
+        long sequence = SnowflakeIdStateParser.of(snowflakeId).parse(id).getSequence();
+        return sequence >> (snowflakeId.getSequenceBit() - snowflakeId.getStripeBit());
+    }
+}
@@ -64,6 +64,18 @@ class UncertaintyIdGeneratorTest {
         assertTrue(second > first);
     }
 
+    @Test
+    void generateBatchShouldApplyUncertaintyToEachId() {
+        UncertaintyIdGenerator generator = new UncertaintyIdGenerator(new SequenceIdGenerator(7), UNCERTAINTY_BITS);
+        long[] ids = new long[3];
+
+        generator.generate(ids, 0, ids.length);
+
+        assertEquals(7, ids[0] >>> UNCERTAINTY_BITS);
+        assertEquals(8, ids[1] >>> UNCERTAINTY_BITS);
+        assertEquals(9, ids[2] >>> UNCERTAINTY_BITS);
+    }
+
     @Test
     void generateShouldRejectOriginalIdThatCannotFitIntoRemainingBits() {
         long maxOriginalId = (1L << (SnowflakeId.TOTAL_BIT - UNCERTAINTY_BITS)) - 1;
@@ -28,4 +28,18 @@ public class ClockTest {
         long diff = Math.abs(systemSecond - cacheSecond);
         Assertions.assertTrue(diff <= 1, () -> "cacheSecond=" + cacheSecond + ", systemSecond=" + systemSecond);
     }
+
+    @Test
+    public void systemClockMillisecondTimeShouldBeCurrentTimeMillis() {
+        long before = System.currentTimeMillis();
+        long millisecondTime = Clock.SYSTEM.millisecondTime();
+        long after = System.currentTimeMillis();
+        Assertions.assertTrue(millisecondTime >= before && millisecondTime <= after);
+    }
+
+    @Test
+    public void millisecondTimeShouldDefaultToSecondPrecision() {
+        Clock clock = () -> 7;
+        Assertions.assertEquals(7000, clock.millisecondTime());
+    }
 }
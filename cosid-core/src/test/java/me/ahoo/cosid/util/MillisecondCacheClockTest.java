@@ -0,0 +1,105 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class MillisecondCacheClockTest {
+
+    @Test
+    void millisecondTime() {
+        long actual = Clock.MillisecondCacheClock.getInstance().millisecondTime();
+        long expected = System.currentTimeMillis();
+        long diff = Math.abs(actual - expected);
+        long tolerance = 100L;
+        assertTrue(diff <= tolerance);
+    }
+
+    @Test
+    void secondTimeShouldDeriveFromMillisecondTime() {
+        Clock.MillisecondCacheClock cacheClock = new Clock.MillisecondCacheClock(new StepClock(1999, 2000), false);
+        assertEquals(1, cacheClock.secondTime());
+
+        cacheClock.tick();
+        assertEquals(2000, cacheClock.millisecondTime());
+        assertEquals(2, cacheClock.secondTime());
+    }
+
+    @Test
+    void millisecondTimeIfBackwards() {
+        StepClock backwardsClock = new StepClock(1, 2, 3, 2, 1, 4);
+        Clock.MillisecondCacheClock cacheClock = new Clock.MillisecondCacheClock(backwardsClock, false);
+        assertEquals(1, cacheClock.millisecondTime());
+
+        cacheClock.tick();
+        assertEquals(2, cacheClock.millisecondTime());
+        cacheClock.tick();
+        assertEquals(3, cacheClock.millisecondTime());
+        cacheClock.tick();
+        assertEquals(3, cacheClock.millisecondTime());
+        cacheClock.tick();
+        assertEquals(3, cacheClock.millisecondTime());
+        cacheClock.tick();
+        assertEquals(4, cacheClock.millisecondTime());
+    }
+
+    @Test
+    void getInstanceShouldReturnSharedInstance() {
+        assertSame(Clock.MillisecondCacheClock.getInstance(), Clock.MillisecondCacheClock.getInstance());
+        assertTrue(Clock.MillisecondCacheClock.getInstance().isRunning());
+        assertThrows(IllegalStateException.class, () -> Clock.MillisecondCacheClock.getInstance().close());
+    }
+
+    @Test
+    void closeShouldStopRefreshing() throws InterruptedException {
+        Clock.MillisecondCacheClock cacheClock = new Clock.MillisecondCacheClock(Clock.SYSTEM);
+        assertTrue(cacheClock.isRunning());
+        cacheClock.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cacheClock.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertFalse(cacheClock.isRunning());
+    }
+
+    static class StepClock implements Clock {
+        private final long[] timeline;
+        private int index = 0;
+
+        StepClock(long... timeline) {
+            this.timeline = timeline;
+        }
+
+        @Override
+        public long secondTime() {
+            return millisecondTime() / 1000;
+        }
+
+        @Override
+        public long millisecondTime() {
+            if (index >= timeline.length) {
+                return timeline[timeline.length - 1];
+            }
+            return timeline[index++];
+        }
+    }
+}
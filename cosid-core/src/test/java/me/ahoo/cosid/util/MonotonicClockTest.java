@@ -0,0 +1,169 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class MonotonicClockTest {
+    private static final long CORRECTION_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong wallTime = new AtomicLong(1000);
+    private final AtomicLong nanoTime = new AtomicLong(0);
+    private final Clock wallClock = new Clock() {
+        @Override
+        public long secondTime() {
+            return TimeUnit.MILLISECONDS.toSeconds(millisecondTime());
+        }
+
+        @Override
+        public long millisecondTime() {
+            return wallTime.get();
+        }
+    };
+
+    private Clock.MonotonicClock newClock() {
+        return new Clock.MonotonicClock(wallClock, nanoTime::get, CORRECTION_PERIOD, Clock.MonotonicClock.DEFAULT_MAX_SLEW_PPM);
+    }
+
+    private void advance(long millis) {
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void millisecondTime() {
+        long actual = Clock.MonotonicClock.INSTANCE.millisecondTime();
+        long expected = System.currentTimeMillis();
+        long diff = Math.abs(actual - expected);
+        long tolerance = 100L;
+        assertTrue(diff <= tolerance);
+    }
+
+    @Test
+    void advanceWithNanoTime() {
+        Clock.MonotonicClock clock = newClock();
+        assertEquals(1000, clock.millisecondTime());
+        advance(500);
+        assertEquals(1500, clock.millisecondTime());
+        assertEquals(1, clock.secondTime());
+    }
+
+    @Test
+    void ignoreWallClockStepBackwardsAndSlew() {
+        Clock.MonotonicClock clock = newClock();
+        wallTime.set(0);
+        advance(500);
+        assertEquals(1500, clock.millisecondTime());
+        advance(500);
+        assertEquals(2000, clock.millisecondTime());
+        advance(1000);
+        // 500 ppm slower while the wall clock is behind: 1000ms - 0.5ms.
+        assertEquals(2999, clock.millisecondTime());
+    }
+
+    @Test
+    void stepForwardWhenWallClockIsAhead() {
+        Clock.MonotonicClock clock = newClock();
+        wallTime.set(10_000);
+        advance(500);
+        assertEquals(1500, clock.millisecondTime());
+        advance(500);
+        assertEquals(10_000, clock.millisecondTime());
+        advance(1);
+        assertEquals(10_001, clock.millisecondTime());
+    }
+
+    @Test
+    void neverGoBackwards() {
+        Clock.MonotonicClock clock = newClock();
+        long lastTime = clock.millisecondTime();
+        for (int i = 0; i < 100; i++) {
+            wallTime.set(i % 2 == 0 ? 0 : 100_000);
+            advance(700);
+            long currentTime = clock.millisecondTime();
+            assertTrue(currentTime >= lastTime);
+            lastTime = currentTime;
+        }
+    }
+
+    @Test
+    void neverGoBackwardsWhenReaderReturnsStaleSample() {
+        Clock.MonotonicClock clock = newClock();
+        advance(500);
+        assertEquals(1500, clock.millisecondTime());
+        // A reader that sampled nanoTime earlier but returns later, as when it is preempted before computing its time.
+        advance(-100);
+        assertEquals(1500, clock.millisecondTime());
+        advance(200);
+        assertEquals(1600, clock.millisecondTime());
+    }
+
+    @Test
+    void neverGoBackwardsWhenReadersRaceWithCorrection() throws Exception {
+        // Every read corrects against a wall clock stepping ahead, so readers holding the previous anchor keep racing with the swap.
+        AtomicLong steppingWallTime = new AtomicLong(System.currentTimeMillis());
+        Clock steppingWallClock = new Clock() {
+            @Override
+            public long secondTime() {
+                return TimeUnit.MILLISECONDS.toSeconds(millisecondTime());
+            }
+
+            @Override
+            public long millisecondTime() {
+                return steppingWallTime.incrementAndGet();
+            }
+        };
+        Clock.MonotonicClock clock = new Clock.MonotonicClock(steppingWallClock, System::nanoTime, 0, Clock.MonotonicClock.DEFAULT_MAX_SLEW_PPM);
+        AtomicLong maxReturned = new AtomicLong(clock.millisecondTime());
+        final int readers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(readers);
+            for (int i = 0; i < readers; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 200_000; j++) {
+                        // Any time returned before this read started is a lower bound of it.
+                        long previousTime = maxReturned.get();
+                        long currentTime = clock.millisecondTime();
+                        assertTrue(currentTime >= previousTime);
+                        maxReturned.accumulateAndGet(currentTime, Math::max);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void ctorIfInvalidMaxSlewPpm() {
+        assertThrows(IllegalArgumentException.class, () -> new Clock.MonotonicClock(wallClock, nanoTime::get, CORRECTION_PERIOD, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Clock.MonotonicClock(wallClock, nanoTime::get, CORRECTION_PERIOD, 1_000_000));
+    }
+}
@@ -17,6 +17,8 @@ dependencies {
     api(platform(libs.coapi.bom))
     api(platform(libs.mongodb.driver.bom))
     api(platform(libs.testcontainers.bom))
+    api(platform(libs.grpc.bom))
+    api(platform(libs.protobuf.bom))
     constraints {
         api(libs.guava)
         api(libs.mybatis)
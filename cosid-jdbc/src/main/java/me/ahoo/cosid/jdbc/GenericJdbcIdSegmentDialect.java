@@ -0,0 +1,154 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.jdbc.exception.NotFoundMaxIdException;
+import me.ahoo.cosid.jdbc.exception.SegmentNameMissingException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Generic Jdbc IdSegment Dialect.
+ *
+ * <p>Runs the increment SQL and then the fetch SQL in one transaction, which works on any database
+ * but takes three round trips and holds the row lock across two of them.
+ *
+ * @author ahoo wang
+ */
+public class GenericJdbcIdSegmentDialect implements JdbcIdSegmentDialect {
+    public static final GenericJdbcIdSegmentDialect INSTANCE = new GenericJdbcIdSegmentDialect(JdbcIdSegmentDistributor.INCREMENT_MAX_ID_SQL, JdbcIdSegmentDistributor.FETCH_MAX_ID_SQL);
+
+    private final String incrementMaxIdSql;
+    private final String fetchMaxIdSql;
+
+    public GenericJdbcIdSegmentDialect(String incrementMaxIdSql, String fetchMaxIdSql) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(incrementMaxIdSql), "incrementMaxIdSql can not be empty!");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(fetchMaxIdSql), "fetchMaxIdSql can not be empty!");
+        this.incrementMaxIdSql = incrementMaxIdSql;
+        this.fetchMaxIdSql = fetchMaxIdSql;
+    }
+
+    public String getIncrementMaxIdSql() {
+        return incrementMaxIdSql;
+    }
+
+    public String getFetchMaxIdSql() {
+        return fetchMaxIdSql;
+    }
+
+    @Override
+    public long incrementAndGet(Connection connection, String namespacedName, long step) throws SQLException {
+        try (PreparedStatement accStatement = connection.prepareStatement(incrementMaxIdSql)) {
+            accStatement.setLong(1, step);
+            accStatement.setString(2, namespacedName);
+            int affected = accStatement.executeUpdate();
+            if (affected == 0) {
+                throw new SegmentNameMissingException(namespacedName);
+            }
+        }
+
+        try (PreparedStatement fetchStatement = connection.prepareStatement(fetchMaxIdSql)) {
+            return fetchMaxId(fetchStatement, namespacedName);
+        }
+    }
+
+    @Override
+    public long nextMaxId(Connection connection, String namespacedName, long step) throws SQLException {
+        return JdbcIdSegmentDialect.inTransaction(connection, () -> incrementAndGet(connection, namespacedName, step));
+    }
+
+    /**
+     * Increment all the segments with one batch update in {@link JdbcIdSegmentDialect#lockOrder(List) lock order}, then read them back.
+     */
+    @Override
+    public long[] nextMaxIds(Connection connection, List<String> namespacedNames, long[] steps) throws SQLException {
+        return JdbcIdSegmentDialect.inTransaction(connection, () -> {
+            final int[] lockOrder = JdbcIdSegmentDialect.lockOrder(namespacedNames);
+            try (PreparedStatement accStatement = connection.prepareStatement(incrementMaxIdSql)) {
+                for (int i : lockOrder) {
+                    accStatement.setLong(1, steps[i]);
+                    accStatement.setString(2, namespacedNames.get(i));
+                    accStatement.addBatch();
+                }
+                int[] affected = accStatement.executeBatch();
+                for (int i = 0; i < affected.length; i++) {
+                    if (affected[i] == 0) {
+                        throw new SegmentNameMissingException(namespacedNames.get(lockOrder[i]));
+                    }
+                }
+            }
+
+            Map<String, Long> lastMaxIds = new LinkedHashMap<>();
+            try (PreparedStatement fetchStatement = connection.prepareStatement(fetchMaxIdSql)) {
+                for (String namespacedName : namespacedNames) {
+                    if (!lastMaxIds.containsKey(namespacedName)) {
+                        lastMaxIds.put(namespacedName, fetchMaxId(fetchStatement, namespacedName));
+                    }
+                }
+            }
+
+            /*
+             * A name may be requested more than once, e.g. by two SegmentChainIds sharing it,
+             * so hand out its accumulated range backwards in the order of the requests.
+             */
+            Map<String, Long> remainingMaxIds = new HashMap<>(lastMaxIds);
+            long[] nextMaxIds = new long[steps.length];
+            for (int i = steps.length - 1; i >= 0; i--) {
+                String namespacedName = namespacedNames.get(i);
+                long nextMaxId = remainingMaxIds.get(namespacedName);
+                nextMaxIds[i] = nextMaxId;
+                remainingMaxIds.put(namespacedName, nextMaxId - steps[i]);
+            }
+            return nextMaxIds;
+        });
+    }
+
+    private static long fetchMaxId(PreparedStatement fetchStatement, String namespacedName) throws SQLException {
+        fetchStatement.setString(1, namespacedName);
+        try (ResultSet resultSet = fetchStatement.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new NotFoundMaxIdException(namespacedName);
+            }
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GenericJdbcIdSegmentDialect that)) {
+            return false;
+        }
+        return incrementMaxIdSql.equals(that.incrementMaxIdSql) && fetchMaxIdSql.equals(that.fetchMaxIdSql);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(incrementMaxIdSql, fetchMaxIdSql);
+    }
+}
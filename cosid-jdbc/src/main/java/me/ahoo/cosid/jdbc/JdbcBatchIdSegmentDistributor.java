@@ -0,0 +1,82 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Jdbc Batch IdSegment Distributor.
+ *
+ * <p>Allocates all the names in a single transaction on a single connection, see
+ * {@link JdbcIdSegmentDialect#nextMaxIds(Connection, List, long[])}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class JdbcBatchIdSegmentDistributor implements BatchIdSegmentDistributor {
+    private final DataSource dataSource;
+    private final JdbcIdSegmentDialect dialect;
+
+    public JdbcBatchIdSegmentDistributor(DataSource dataSource, JdbcIdSegmentDialect dialect) {
+        this.dataSource = dataSource;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public long[] nextMaxIds(List<? extends IdSegmentDistributor> distributors, long[] steps) {
+        Preconditions.checkArgument(distributors.size() == steps.length, "distributors size:[%s] must be equal to steps length:[%s]!", distributors.size(), steps.length);
+        List<String> namespacedNames = new ArrayList<>(distributors.size());
+        for (int i = 0; i < steps.length; i++) {
+            IdSegmentDistributor.ensureStep(steps[i]);
+            namespacedNames.add(distributors.get(i).getNamespacedName());
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            return dialect.nextMaxIds(connection, namespacedNames, steps);
+        } catch (SQLException sqlException) {
+            if (log.isErrorEnabled()) {
+                log.error(sqlException.getMessage(), sqlException);
+            }
+            throw new CosIdException(sqlException.getMessage(), sqlException);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JdbcBatchIdSegmentDistributor that)) {
+            return false;
+        }
+        return dataSource.equals(that.dataSource) && dialect.equals(that.dialect);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataSource, dialect);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Jdbc IdSegment Dialect.
+ *
+ * <p>Decides the SQL used to increment the max ID of a segment and read it back, so databases able to
+ * return the updated value from the update statement itself allocate in one round trip, without holding
+ * the row lock across statements.
+ *
+ * @author ahoo wang
+ * @see GenericJdbcIdSegmentDialect
+ * @see MySqlJdbcIdSegmentDialect
+ * @see PostgreSqlJdbcIdSegmentDialect
+ */
+public interface JdbcIdSegmentDialect {
+
+    /**
+     * Increment the max ID of the segment and get the incremented max ID, within the current transaction of the connection.
+     *
+     * @param connection     The connection
+     * @param namespacedName The namespaced name of the segment
+     * @param step           The step size to increment
+     * @return The incremented max ID
+     * @throws SQLException on database access error
+     */
+    long incrementAndGet(Connection connection, String namespacedName, long step) throws SQLException;
+
+    /**
+     * Allocate the next max ID of the segment.
+     *
+     * <p>In auto-commit mode the increment commits by itself. Otherwise, e.g. on a pool configured with {@code autoCommit=false},
+     * it is committed before returning, so the allocated range is never rolled back once handed out.
+     *
+     * @param connection     The connection
+     * @param namespacedName The namespaced name of the segment
+     * @param step           The step size to increment
+     * @return The incremented max ID
+     * @throws SQLException on database access error
+     */
+    default long nextMaxId(Connection connection, String namespacedName, long step) throws SQLException {
+        if (connection.getAutoCommit()) {
+            return incrementAndGet(connection, namespacedName, step);
+        }
+        return inTransaction(connection, () -> incrementAndGet(connection, namespacedName, step));
+    }
+
+    /**
+     * Allocate the next max IDs of many segments in one transaction.
+     *
+     * <p>The segment rows are updated in {@link #lockOrder(List)}, so concurrent batches never deadlock on each other.
+     *
+     * @param connection      The connection
+     * @param namespacedNames The namespaced names of the segments, a name may appear more than once
+     * @param steps           The step size to increment of each segment
+     * @return The incremented max ID of each segment, in the order of {@code namespacedNames}
+     * @throws SQLException on database access error
+     */
+    default long[] nextMaxIds(Connection connection, List<String> namespacedNames, long[] steps) throws SQLException {
+        return inTransaction(connection, () -> {
+            long[] nextMaxIds = new long[steps.length];
+            for (int i : lockOrder(namespacedNames)) {
+                nextMaxIds[i] = incrementAndGet(connection, namespacedNames.get(i), steps[i]);
+            }
+            return nextMaxIds;
+        });
+    }
+
+    /**
+     * Get the indexes of the namespaced names sorted by name, repeated names keep their relative order.
+     *
+     * <p>Updating the segment rows in this order makes all the nodes take the row locks in the same order.
+     *
+     * @param namespacedNames The namespaced names of the segments
+     * @return The indexes of {@code namespacedNames} in lock order
+     */
+    static int[] lockOrder(List<String> namespacedNames) {
+        return IntStream.range(0, namespacedNames.size())
+            .boxed()
+            .sorted(Comparator.comparing(namespacedNames::get))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    /**
+     * Run the callable in a transaction of the connection and commit it, restoring the previous auto-commit mode afterwards.
+     *
+     * @param connection The connection
+     * @param callable   The callable to run
+     * @param <T>        The result type
+     * @return The result of the callable
+     * @throws SQLException on database access error
+     */
+    static <T> T inTransaction(Connection connection, SqlCallable<T> callable) throws SQLException {
+        final boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        try {
+            T result = callable.call();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException exception) {
+            connection.rollback();
+            throw exception;
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * A callable throwing {@link SQLException}.
+     *
+     * @param <T> The result type
+     */
+    @FunctionalInterface
+    interface SqlCallable<T> {
+        T call() throws SQLException;
+    }
+}
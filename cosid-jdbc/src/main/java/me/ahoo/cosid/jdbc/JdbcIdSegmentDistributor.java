@@ -14,8 +14,7 @@
 package me.ahoo.cosid.jdbc;
 
 import me.ahoo.cosid.CosIdException;
-import me.ahoo.cosid.jdbc.exception.NotFoundMaxIdException;
-import me.ahoo.cosid.jdbc.exception.SegmentNameMissingException;
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 
 import com.google.common.base.Preconditions;
@@ -25,8 +24,6 @@ import org.jspecify.annotations.NonNull;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 /**
@@ -46,27 +43,30 @@ public class JdbcIdSegmentDistributor implements IdSegmentDistributor {
     private final String name;
     private final long step;
     private final DataSource dataSource;
-    private final String incrementMaxIdSql;
-    private final String fetchMaxIdSql;
+    private final JdbcIdSegmentDialect dialect;
+    private final JdbcBatchIdSegmentDistributor batchDistributor;
 
     public JdbcIdSegmentDistributor(String namespace, String name, long step, DataSource dataSource) {
-        this(namespace, name, step, INCREMENT_MAX_ID_SQL, FETCH_MAX_ID_SQL, dataSource);
+        this(namespace, name, step, GenericJdbcIdSegmentDialect.INSTANCE, dataSource);
     }
 
     public JdbcIdSegmentDistributor(String namespace, String name, long step, String incrementMaxIdSql, String fetchMaxIdSql, DataSource dataSource) {
+        this(namespace, name, step, new GenericJdbcIdSegmentDialect(incrementMaxIdSql, fetchMaxIdSql), dataSource);
+    }
+
+    public JdbcIdSegmentDistributor(String namespace, String name, long step, JdbcIdSegmentDialect dialect, DataSource dataSource) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(namespace), "namespace can not be empty!");
         Preconditions.checkArgument(!Strings.isNullOrEmpty(name), "name can not be empty!");
         Preconditions.checkArgument(step > 0, "step:[%s] must be greater than 0!", step);
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(incrementMaxIdSql), "incrementMaxIdSql can not be empty!");
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(fetchMaxIdSql), "fetchMaxIdSql can not be empty!");
+        Preconditions.checkNotNull(dialect, "dialect can not be null!");
         Preconditions.checkNotNull(dataSource, "dataSource can not be null!");
 
         this.namespace = namespace;
         this.name = name;
         this.step = step;
-        this.incrementMaxIdSql = incrementMaxIdSql;
-        this.fetchMaxIdSql = fetchMaxIdSql;
+        this.dialect = dialect;
         this.dataSource = dataSource;
+        this.batchDistributor = new JdbcBatchIdSegmentDistributor(dataSource, dialect);
     }
 
     @Override
@@ -84,32 +84,24 @@ public class JdbcIdSegmentDistributor implements IdSegmentDistributor {
         return step;
     }
 
+    public JdbcIdSegmentDialect getDialect() {
+        return dialect;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public BatchIdSegmentDistributor getBatchDistributor() {
+        return batchDistributor;
+    }
+
     @Override
     public long nextMaxId(long step) {
         IdSegmentDistributor.ensureStep(step);
         try (Connection connection = dataSource.getConnection()) {
-            connection.setAutoCommit(false);
-            try (PreparedStatement accStatement = connection.prepareStatement(incrementMaxIdSql)) {
-                accStatement.setLong(1, step);
-                accStatement.setString(2, getNamespacedName());
-                int affected = accStatement.executeUpdate();
-                if (affected == 0) {
-                    throw new SegmentNameMissingException(getNamespacedName());
-                }
-            }
-
-            long nextMaxId;
-            try (PreparedStatement fetchStatement = connection.prepareStatement(fetchMaxIdSql)) {
-                fetchStatement.setString(1, getNamespacedName());
-                try (ResultSet resultSet = fetchStatement.executeQuery()) {
-                    if (!resultSet.next()) {
-                        throw new NotFoundMaxIdException(getNamespacedName());
-                    }
-                    nextMaxId = resultSet.getLong(1);
-                }
-            }
-            connection.commit();
-            return nextMaxId;
+            return dialect.nextMaxId(connection, getNamespacedName(), step);
         } catch (SQLException sqlException) {
             if (log.isErrorEnabled()) {
                 log.error(sqlException.getMessage(), sqlException);
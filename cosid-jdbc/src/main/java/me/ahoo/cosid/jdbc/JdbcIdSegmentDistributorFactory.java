@@ -30,15 +30,17 @@ public class JdbcIdSegmentDistributorFactory implements IdSegmentDistributorFact
     private final DataSource dataSource;
     private final boolean enableAutoInitIdSegment;
     private final JdbcIdSegmentInitializer jdbcIdSegmentInitializer;
-    private final String incrementMaxIdSql;
-    private final String fetchMaxIdSql;
+    private final JdbcIdSegmentDialect dialect;
 
     public JdbcIdSegmentDistributorFactory(DataSource dataSource, boolean enableAutoInitIdSegment, JdbcIdSegmentInitializer jdbcIdSegmentInitializer, String incrementMaxIdSql, String fetchMaxIdSql) {
+        this(dataSource, enableAutoInitIdSegment, jdbcIdSegmentInitializer, new GenericJdbcIdSegmentDialect(incrementMaxIdSql, fetchMaxIdSql));
+    }
+
+    public JdbcIdSegmentDistributorFactory(DataSource dataSource, boolean enableAutoInitIdSegment, JdbcIdSegmentInitializer jdbcIdSegmentInitializer, JdbcIdSegmentDialect dialect) {
         this.dataSource = dataSource;
         this.enableAutoInitIdSegment = enableAutoInitIdSegment;
         this.jdbcIdSegmentInitializer = jdbcIdSegmentInitializer;
-        this.incrementMaxIdSql = incrementMaxIdSql;
-        this.fetchMaxIdSql = fetchMaxIdSql;
+        this.dialect = dialect;
     }
 
     @Override
@@ -48,7 +50,7 @@ public class JdbcIdSegmentDistributorFactory implements IdSegmentDistributorFact
         }
         return new JdbcIdSegmentDistributor(
             definition.getNamespace(), definition.getName(), definition.getStep(),
-            incrementMaxIdSql, fetchMaxIdSql, dataSource
+            dialect, dataSource
         );
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.jdbc;
+
+import java.util.Locale;
+
+/**
+ * Jdbc Sequence Dialect.
+ *
+ * <p>The SQL of the native {@code SEQUENCE} of each database, used by {@link JdbcSequenceIdSegmentDistributor}.
+ *
+ * @author ahoo wang
+ */
+public enum JdbcSequenceDialect {
+    POSTGRESQL {
+        @Override
+        public String createSequenceSql(String sequenceName, long start, long increment, int cache) {
+            return String.format("create sequence if not exists %s start with %s increment by %s cache %s", sequenceName, start, increment, Math.max(cache, 1));
+        }
+
+        @Override
+        public String nextValueSql(String sequenceName) {
+            return String.format("select nextval('%s')", sequenceName);
+        }
+
+        @Override
+        public String incrementSql(String sequenceName) {
+            return String.format("select increment_by from pg_sequences where schemaname = current_schema() and sequencename = '%s'",
+                sequenceName.toLowerCase(Locale.ROOT));
+        }
+    },
+    /**
+     * Oracle does not support {@code if not exists} before 23c, creating an existing sequence fails with {@code ORA-00955}.
+     */
+    ORACLE {
+        @Override
+        public String createSequenceSql(String sequenceName, long start, long increment, int cache) {
+            return String.format("create sequence %s start with %s increment by %s %s", sequenceName, start, increment, cacheClause(cache));
+        }
+
+        @Override
+        public String nextValueSql(String sequenceName) {
+            return String.format("select %s.nextval from dual", sequenceName);
+        }
+
+        @Override
+        public String incrementSql(String sequenceName) {
+            return String.format("select increment_by from user_sequences where sequence_name = '%s'", sequenceName.toUpperCase(Locale.ROOT));
+        }
+    },
+    MARIADB {
+        @Override
+        public String createSequenceSql(String sequenceName, long start, long increment, int cache) {
+            return String.format("create sequence if not exists %s start with %s increment by %s %s", sequenceName, start, increment, cacheClause(cache));
+        }
+
+        @Override
+        public String nextValueSql(String sequenceName) {
+            return String.format("select nextval(%s)", sequenceName);
+        }
+
+        /**
+         * A MariaDB sequence is a table, reading it fails when the sequence does not exist.
+         */
+        @Override
+        public String incrementSql(String sequenceName) {
+            return String.format("select increment from %s", sequenceName);
+        }
+    };
+
+    /**
+     * The SQL to create the sequence, whose first value is {@code start}.
+     *
+     * @param sequenceName the name of the sequence
+     * @param start        the first value of the sequence
+     * @param increment    the increment of the sequence, the step of each segment
+     * @param cache        the number of values preallocated in memory by the database, {@code 1} disables caching
+     * @return the SQL to create the sequence
+     */
+    public abstract String createSequenceSql(String sequenceName, long start, long increment, int cache);
+
+    /**
+     * The SQL to fetch the next value of the sequence.
+     *
+     * @param sequenceName the name of the sequence
+     * @return the SQL to fetch the next value of the sequence
+     */
+    public abstract String nextValueSql(String sequenceName);
+
+    /**
+     * The SQL to read the increment of the sequence from the catalog, no row when the sequence does not exist.
+     *
+     * @param sequenceName the name of the sequence
+     * @return the SQL to read the increment of the sequence
+     */
+    public abstract String incrementSql(String sequenceName);
+
+    private static String cacheClause(int cache) {
+        return cache > 1 ? "cache " + cache : "nocache";
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.jdbc.exception.NotFoundMaxIdException;
+import me.ahoo.cosid.segment.DefaultIdSegment;
+import me.ahoo.cosid.segment.IdSegment;
+import me.ahoo.cosid.segment.IdSegmentChain;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.util.Clock;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.math.LongMath;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+
+import javax.sql.DataSource;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Jdbc Sequence IdSegment Distributor.
+ *
+ * <p>Allocates segments from a native database {@code SEQUENCE} whose increment is the step, instead of a row-lock
+ * {@code UPDATE} on the {@code cosid} table: each {@code nextval} returns the max ID of the next segment, so concurrent
+ * allocations never contend on a row.
+ *
+ * <p>The step is fixed by the increment of the sequence, {@link #checkIncrement()} fails when the sequence was created
+ * with another step. Several segments of a chain are allocated as several values fetched on one connection, and a step
+ * other than {@link #getStep()}, e.g. from adaptive step sizing, falls back to it.
+ *
+ * <p>{@link #nextMaxId(long)} with a smaller step takes one value and wastes the rest of it. A larger step, e.g. from a
+ * merged segment or from a pooling proxy server, takes {@code ceil(step / getStep())} contiguous values of one connection,
+ * values interleaved with other connections are skipped, so it is costly under contention for a step much larger than
+ * {@link #getStep()}.
+ *
+ * <p>The max IDs must keep increasing for a segment chain. PostgreSQL caches sequence values per session, so a
+ * {@code cache} greater than {@code 1} is only safe there together with a {@link PinnedConnectionDataSource}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class JdbcSequenceIdSegmentDistributor implements IdSegmentDistributor {
+    public static final String SEQUENCE_NAME_PREFIX = "cosid_";
+    /**
+     * The values fetched for a contiguous run of {@code n} values are at most {@code n * MAX_FETCH_FACTOR}.
+     */
+    public static final int MAX_FETCH_FACTOR = 4;
+
+    private final String namespace;
+    private final String name;
+    private final long step;
+    private final JdbcSequenceDialect dialect;
+    private final DataSource dataSource;
+    private final String sequenceName;
+    private final String nextValueSql;
+
+    public JdbcSequenceIdSegmentDistributor(String namespace, String name, long step, JdbcSequenceDialect dialect, DataSource dataSource) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(namespace), "namespace can not be empty!");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(name), "name can not be empty!");
+        Preconditions.checkArgument(step > 0, "step:[%s] must be greater than 0!", step);
+        Preconditions.checkNotNull(dialect, "dialect can not be null!");
+        Preconditions.checkNotNull(dataSource, "dataSource can not be null!");
+
+        this.namespace = namespace;
+        this.name = name;
+        this.step = step;
+        this.dialect = dialect;
+        this.dataSource = dataSource;
+        this.sequenceName = getSequenceName(getNamespacedName());
+        this.nextValueSql = dialect.nextValueSql(sequenceName);
+    }
+
+    /**
+     * The name of the sequence of a segment, {@link #SEQUENCE_NAME_PREFIX} followed by the namespaced name with
+     * every character that is not allowed in an unquoted identifier replaced by {@code _}.
+     *
+     * @param namespacedName the namespaced name of the segment
+     * @return the name of the sequence
+     */
+    public static String getSequenceName(String namespacedName) {
+        return SEQUENCE_NAME_PREFIX + namespacedName.replaceAll("[^A-Za-z0-9_]", "_");
+    }
+
+    @Override
+    public @NonNull String getNamespace() {
+        return namespace;
+    }
+
+    @Override
+    public @NonNull String getName() {
+        return name;
+    }
+
+    @Override
+    public long getStep() {
+        return step;
+    }
+
+    public JdbcSequenceDialect getDialect() {
+        return dialect;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    /**
+     * Check that the increment of the sequence is the step, so that the segments of a sequence created with another
+     * step never overlap the segments already handed out.
+     *
+     * <p>Changing the step of an existing sequence needs {@code alter sequence ... increment by ...} once every node
+     * uses the new step.
+     *
+     * @throws CosIdException when the increment is not the step or can not be read
+     */
+    public void checkIncrement() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement incrementStatement = connection.prepareStatement(dialect.incrementSql(sequenceName));
+             ResultSet resultSet = incrementStatement.executeQuery()) {
+            if (!resultSet.next()) {
+                return;
+            }
+            long increment = resultSet.getLong(1);
+            if (increment != step) {
+                throw new CosIdException(Strings.lenientFormat(
+                    "The increment:[%s] of sequence:[%s] is not equal to the step:[%s] of [%s]!", increment, sequenceName, step, getNamespacedName()));
+            }
+        } catch (SQLException sqlException) {
+            if (log.isErrorEnabled()) {
+                log.error(sqlException.getMessage(), sqlException);
+            }
+            throw new CosIdException(sqlException.getMessage(), sqlException);
+        }
+    }
+
+    @Override
+    public long nextMaxId(long step) {
+        IdSegmentDistributor.ensureStep(step);
+        if (step <= this.step) {
+            return nextMaxIds(1)[0];
+        }
+        return nextContiguousMaxId(Math.toIntExact(LongMath.divide(step, this.step, RoundingMode.CEILING)));
+    }
+
+    @Override
+    public @NonNull IdSegmentChain nextIdSegmentChain(IdSegmentChain previousChain, int segments, long ttl) {
+        Preconditions.checkArgument(segments > 0, "segments:[%s] must be greater than 0.", segments);
+        Preconditions.checkArgument(ttl > 0, "ttl:[%s] must be greater than 0.", ttl);
+
+        long[] maxIds = nextMaxIds(segments);
+        IdSegmentChain headChain = new IdSegmentChain(previousChain, newIdSegment(maxIds[0], ttl), allowReset());
+        IdSegmentChain tailChain = headChain;
+        for (int i = 1; i < maxIds.length; i++) {
+            IdSegmentChain nextChain = new IdSegmentChain(tailChain, newIdSegment(maxIds[i], ttl), allowReset());
+            tailChain.setNext(nextChain);
+            tailChain = nextChain;
+        }
+        return headChain;
+    }
+
+    @Override
+    public @NonNull IdSegmentChain nextIdSegmentChain(IdSegmentChain previousChain, int segments, long step, long ttl) {
+        return nextIdSegmentChain(previousChain, segments, ttl);
+    }
+
+    private IdSegment newIdSegment(long maxId, long ttl) {
+        return new DefaultIdSegment(maxId, step, Clock.SYSTEM.secondTime(), ttl, group());
+    }
+
+    /**
+     * Fetch the next values of the sequence on one connection, so they increase even with a per-session cache.
+     */
+    private long[] nextMaxIds(int segments) {
+        long[] maxIds = new long[segments];
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement nextValueStatement = connection.prepareStatement(nextValueSql)) {
+            for (int i = 0; i < segments; i++) {
+                maxIds[i] = nextValue(nextValueStatement);
+            }
+            return maxIds;
+        } catch (SQLException sqlException) {
+            if (log.isErrorEnabled()) {
+                log.error(sqlException.getMessage(), sqlException);
+            }
+            throw new CosIdException(sqlException.getMessage(), sqlException);
+        }
+    }
+
+    /**
+     * Fetch values of the sequence on one connection until the last {@code values} of them are contiguous, so that
+     * {@code (maxId - values * step, maxId]} is one segment.
+     */
+    private long nextContiguousMaxId(int values) {
+        long maxFetches = (long) values * MAX_FETCH_FACTOR;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement nextValueStatement = connection.prepareStatement(nextValueSql)) {
+            long maxId = nextValue(nextValueStatement);
+            int contiguous = 1;
+            for (long fetched = 1; contiguous < values; fetched++) {
+                if (fetched >= maxFetches) {
+                    throw new CosIdException(Strings.lenientFormat(
+                        "Can not fetch [%s] contiguous values of sequence:[%s] in [%s] fetches!", values, sequenceName, maxFetches));
+                }
+                long nextMaxId = nextValue(nextValueStatement);
+                contiguous = nextMaxId - maxId == step ? contiguous + 1 : 1;
+                maxId = nextMaxId;
+            }
+            return maxId;
+        } catch (SQLException sqlException) {
+            if (log.isErrorEnabled()) {
+                log.error(sqlException.getMessage(), sqlException);
+            }
+            throw new CosIdException(sqlException.getMessage(), sqlException);
+        }
+    }
+
+    private long nextValue(PreparedStatement nextValueStatement) throws SQLException {
+        try (ResultSet resultSet = nextValueStatement.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new NotFoundMaxIdException(getNamespacedName());
+            }
+            return resultSet.getLong(1);
+        }
+    }
+}
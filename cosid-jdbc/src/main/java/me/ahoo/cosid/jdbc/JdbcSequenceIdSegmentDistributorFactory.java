@@ -0,0 +1,54 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
+import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+
+import org.jspecify.annotations.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Jdbc Sequence IdSegment Distributor Factory.
+ *
+ * @author ahoo wang
+ */
+public class JdbcSequenceIdSegmentDistributorFactory implements IdSegmentDistributorFactory {
+    private final DataSource dataSource;
+    private final boolean enableAutoInitSequence;
+    private final JdbcSequenceInitializer jdbcSequenceInitializer;
+    private final JdbcSequenceDialect dialect;
+
+    public JdbcSequenceIdSegmentDistributorFactory(DataSource dataSource, boolean enableAutoInitSequence, JdbcSequenceInitializer jdbcSequenceInitializer, JdbcSequenceDialect dialect) {
+        this.dataSource = dataSource;
+        this.enableAutoInitSequence = enableAutoInitSequence;
+        this.jdbcSequenceInitializer = jdbcSequenceInitializer;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public @NonNull IdSegmentDistributor create(IdSegmentDistributorDefinition definition) {
+        JdbcSequenceIdSegmentDistributor distributor = new JdbcSequenceIdSegmentDistributor(
+            definition.getNamespace(), definition.getName(), definition.getStep(),
+            dialect, dataSource
+        );
+        if (enableAutoInitSequence) {
+            jdbcSequenceInitializer.tryInitSequence(distributor.getSequenceName(), definition.getOffset(), definition.getStep());
+        }
+        distributor.checkIncrement();
+        return distributor;
+    }
+}
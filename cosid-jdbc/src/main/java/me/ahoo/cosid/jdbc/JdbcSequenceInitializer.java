@@ -0,0 +1,85 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.jdbc;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Jdbc Sequence Initializer.
+ *
+ * <p>Creates the sequence of a {@link JdbcSequenceIdSegmentDistributor}, starting at {@code offset + step} so that its
+ * first segment is {@code (offset, offset + step]}, the same as the {@code cosid} table.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class JdbcSequenceInitializer {
+    public static final int DEFAULT_CACHE = 1;
+
+    private final JdbcSequenceDialect dialect;
+    private final int cache;
+    private final DataSource dataSource;
+
+    public JdbcSequenceInitializer(JdbcSequenceDialect dialect, DataSource dataSource) {
+        this(dialect, DEFAULT_CACHE, dataSource);
+    }
+
+    public JdbcSequenceInitializer(JdbcSequenceDialect dialect, int cache, DataSource dataSource) {
+        Preconditions.checkNotNull(dialect, "dialect can not be null!");
+        Preconditions.checkArgument(cache > 0, "cache:[%s] must be greater than 0!", cache);
+        Preconditions.checkNotNull(dataSource, "dataSource can not be null!");
+
+        this.dialect = dialect;
+        this.cache = cache;
+        this.dataSource = dataSource;
+    }
+
+    public int getCache() {
+        return cache;
+    }
+
+    public void initSequence(String sequenceName, long offset, long step) throws SQLException {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sequenceName), "sequenceName can not be empty!");
+        Preconditions.checkArgument(offset >= 0, "offset:[%s] must be greater than or equal to 0!", offset);
+        Preconditions.checkArgument(step > 0, "step:[%s] must be greater than 0!", step);
+
+        if (log.isInfoEnabled()) {
+            log.info("Init Sequence - sequenceName:[{}] - offset:[{}] - step:[{}] - cache:[{}]", sequenceName, offset, step, cache);
+        }
+        String createSequenceSql = dialect.createSequenceSql(sequenceName, Math.addExact(offset, step), step, cache);
+        try (Connection connection = dataSource.getConnection();
+             Statement createStatement = connection.createStatement()) {
+            createStatement.execute(createSequenceSql);
+        }
+    }
+
+    public boolean tryInitSequence(String sequenceName, long offset, long step) {
+        try {
+            initSequence(sequenceName, offset, step);
+            return true;
+        } catch (Throwable throwable) {
+            if (log.isInfoEnabled()) {
+                log.info("Try Init Sequence failed.[{}]", throwable.getMessage());
+            }
+            return false;
+        }
+    }
+}
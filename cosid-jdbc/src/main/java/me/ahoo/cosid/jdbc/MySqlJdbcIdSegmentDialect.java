@@ -0,0 +1,95 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.jdbc.exception.NotFoundMaxIdException;
+import me.ahoo.cosid.jdbc.exception.SegmentNameMissingException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * MySQL Jdbc IdSegment Dialect.
+ *
+ * <p>Wraps the incremented max ID in {@code LAST_INSERT_ID(expr)}, which MySQL returns in the OK packet of the update,
+ * so the driver exposes it as the generated key without another round trip. Drivers that do not expose it fall back
+ * to {@code SELECT LAST_INSERT_ID()} on the same connection, which does not touch the segment row.
+ *
+ * @author ahoo wang
+ */
+public class MySqlJdbcIdSegmentDialect implements JdbcIdSegmentDialect {
+    public static final String INCREMENT_LAST_INSERT_ID_SQL
+        = "update cosid set last_max_id=last_insert_id(last_max_id + ?),last_fetch_time=unix_timestamp() where name = ?;";
+    public static final String FETCH_LAST_INSERT_ID_SQL = "select last_insert_id();";
+    public static final MySqlJdbcIdSegmentDialect INSTANCE = new MySqlJdbcIdSegmentDialect(INCREMENT_LAST_INSERT_ID_SQL);
+
+    private final String incrementLastInsertIdSql;
+
+    public MySqlJdbcIdSegmentDialect(String incrementLastInsertIdSql) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(incrementLastInsertIdSql), "incrementLastInsertIdSql can not be empty!");
+        this.incrementLastInsertIdSql = incrementLastInsertIdSql;
+    }
+
+    public String getIncrementLastInsertIdSql() {
+        return incrementLastInsertIdSql;
+    }
+
+    @Override
+    public long incrementAndGet(Connection connection, String namespacedName, long step) throws SQLException {
+        try (PreparedStatement accStatement = connection.prepareStatement(incrementLastInsertIdSql, Statement.RETURN_GENERATED_KEYS)) {
+            accStatement.setLong(1, step);
+            accStatement.setString(2, namespacedName);
+            int affected = accStatement.executeUpdate();
+            if (affected == 0) {
+                throw new SegmentNameMissingException(namespacedName);
+            }
+            try (ResultSet generatedKeys = accStatement.getGeneratedKeys()) {
+                if (generatedKeys != null && generatedKeys.next()) {
+                    return generatedKeys.getLong(1);
+                }
+            }
+        }
+
+        try (PreparedStatement fetchStatement = connection.prepareStatement(FETCH_LAST_INSERT_ID_SQL);
+             ResultSet resultSet = fetchStatement.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new NotFoundMaxIdException(namespacedName);
+            }
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MySqlJdbcIdSegmentDialect that)) {
+            return false;
+        }
+        return incrementLastInsertIdSql.equals(that.incrementLastInsertIdSql);
+    }
+
+    @Override
+    public int hashCode() {
+        return incrementLastInsertIdSql.hashCode();
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.jdbc;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Pinned Connection DataSource.
+ *
+ * <p>Hands out one dedicated connection, taken once from the target {@link DataSource} and kept open,
+ * with its {@link PreparedStatement}s cached by SQL. Segment allocation then no longer borrows a connection
+ * from the application pool and re-prepares its statements on every call, so its latency does not depend
+ * on the saturation of the pool.
+ *
+ * <p>The connection is used by one caller at a time: {@link #getConnection()} waits up to {@code acquireTimeout}
+ * for the previous caller to close it. Closing it returns it to this data source instead of closing it.
+ * The connection is switched to auto-commit when pinned. A caller that leaves a transaction open has its close fail, after
+ * the transaction is rolled back, so work it did not commit is never treated as done. When a statement fails with a connection error, the connection is discarded on
+ * close and reopened by the next caller, backing off exponentially while reopening keeps failing.
+ * A connection idle for {@code validationInterval} is checked with {@link Connection#isValid(int)} before reuse,
+ * so a connection dropped by the database or a firewall meanwhile is reopened instead of failing the next allocation.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class PinnedConnectionDataSource implements DataSource, AutoCloseable {
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_VALIDATION_INTERVAL = Duration.ofSeconds(30);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSource targetDataSource;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long acquireTimeoutNanos;
+    private final long validationIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * The cached statements of the pinned connection, keyed by SQL and auto-generated keys flag.
+     */
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private Connection connection;
+    private boolean broken;
+    private int connectFailures;
+    private long nextConnectNanoTime;
+    private long lastUsedNanoTime;
+
+    public PinnedConnectionDataSource(DataSource targetDataSource) {
+        this(targetDataSource, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    public PinnedConnectionDataSource(DataSource targetDataSource, Duration initialBackoff, Duration maxBackoff) {
+        this(targetDataSource, initialBackoff, maxBackoff, DEFAULT_ACQUIRE_TIMEOUT, DEFAULT_VALIDATION_INTERVAL);
+    }
+
+    public PinnedConnectionDataSource(DataSource targetDataSource, Duration initialBackoff, Duration maxBackoff, Duration acquireTimeout, Duration validationInterval) {
+        Preconditions.checkNotNull(targetDataSource, "targetDataSource can not be null!");
+        Preconditions.checkArgument(!initialBackoff.isNegative(), "initialBackoff:[%s] must be greater than or equal to 0!", initialBackoff);
+        Preconditions.checkArgument(maxBackoff.compareTo(initialBackoff) >= 0, "maxBackoff:[%s] must be greater than or equal to initialBackoff:[%s]!", maxBackoff, initialBackoff);
+        Preconditions.checkArgument(!acquireTimeout.isNegative(), "acquireTimeout:[%s] must be greater than or equal to 0!", acquireTimeout);
+        Preconditions.checkArgument(!validationInterval.isNegative(), "validationInterval:[%s] must be greater than or equal to 0!", validationInterval);
+        this.targetDataSource = targetDataSource;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.validationIntervalNanos = validationInterval.toNanos();
+    }
+
+    public DataSource getTargetDataSource() {
+        return targetDataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return pinnedConnection(ensureConnection());
+        } catch (SQLException | RuntimeException exception) {
+            lock.unlock();
+            throw exception;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("PinnedConnectionDataSource does not support getConnection with credentials.");
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!lock.tryLock(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(String.format("Pinned connection is still in use after [%s] ms.",
+                    TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos)));
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for the pinned connection.", interruptedException);
+        }
+    }
+
+    private Connection ensureConnection() throws SQLException {
+        if (connection != null && !connection.isClosed() && isValidAfterIdle()) {
+            return connection;
+        }
+        discard();
+        long now = System.nanoTime();
+        if (connectFailures > 0 && now - nextConnectNanoTime < 0) {
+            throw new SQLTransientConnectionException(String.format("Reconnect is backing off for [%s] ms after [%s] failures.",
+                TimeUnit.NANOSECONDS.toMillis(nextConnectNanoTime - now), connectFailures));
+        }
+        try {
+            connection = autoCommit(targetDataSource.getConnection());
+            connectFailures = 0;
+            lastUsedNanoTime = System.nanoTime();
+            return connection;
+        } catch (SQLException | RuntimeException exception) {
+            connectFailures++;
+            nextConnectNanoTime = now + backoffNanos(connectFailures);
+            if (log.isWarnEnabled()) {
+                log.warn("Connect failed [{}] times, back off [{}] ms.", connectFailures, TimeUnit.NANOSECONDS.toMillis(nextConnectNanoTime - now), exception);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Switch the connection to auto-commit, a pool may hand out connections with {@code autoCommit=false}.
+     *
+     * @param target The connection taken from the target data source
+     * @return The connection in auto-commit mode
+     * @throws SQLException if auto-commit can not be switched on, the connection is closed
+     */
+    private static Connection autoCommit(Connection target) throws SQLException {
+        try {
+            if (!target.getAutoCommit()) {
+                target.setAutoCommit(true);
+            }
+            if (!target.getAutoCommit()) {
+                throw new SQLException("Pinned connection can not be switched to auto-commit.");
+            }
+            return target;
+        } catch (SQLException | RuntimeException exception) {
+            try {
+                target.close();
+            } catch (SQLException closeException) {
+                exception.addSuppressed(closeException);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Validate the pinned connection once it has been idle for {@link #validationIntervalNanos}.
+     *
+     * @return {@code true} if the connection was used recently or is still valid
+     */
+    private boolean isValidAfterIdle() {
+        if (System.nanoTime() - lastUsedNanoTime < validationIntervalNanos) {
+            return true;
+        }
+        try {
+            if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return true;
+            }
+        } catch (SQLException sqlException) {
+            if (log.isDebugEnabled()) {
+                log.debug(sqlException.getMessage(), sqlException);
+            }
+        }
+        if (log.isWarnEnabled()) {
+            log.warn("Validate - discard the idle connection that is no longer valid.");
+        }
+        return false;
+    }
+
+    /**
+     * Close the pinned connection, waiting for its current caller to release it.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            discard();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    long backoffNanos(int failures) {
+        long backoff = initialBackoffNanos;
+        for (int i = 1; i < failures && backoff < maxBackoffNanos; i++) {
+            backoff *= 2;
+        }
+        return Math.min(backoff, maxBackoffNanos);
+    }
+
+    /**
+     * Close the pinned connection and its cached statements, the next caller reopens it.
+     */
+    private void discard() {
+        statements.clear();
+        broken = false;
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException sqlException) {
+            if (log.isDebugEnabled()) {
+                log.debug(sqlException.getMessage(), sqlException);
+            }
+        }
+        connection = null;
+    }
+
+    private void release() throws SQLException {
+        SQLException openTransaction = null;
+        try {
+            if (!broken && !connection.getAutoCommit()) {
+                openTransaction = new SQLException("Pinned connection was closed with an uncommitted transaction, which has been rolled back.");
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException sqlException) {
+            markBroken(sqlException);
+            if (openTransaction != null) {
+                openTransaction.addSuppressed(sqlException);
+            }
+        }
+        if (broken) {
+            if (log.isWarnEnabled()) {
+                log.warn("Release - discard the broken connection.");
+            }
+            discard();
+        }
+        lastUsedNanoTime = System.nanoTime();
+        lock.unlock();
+        if (openTransaction != null) {
+            throw openTransaction;
+        }
+    }
+
+    private void markBroken(SQLException sqlException) {
+        if (sqlException instanceof SQLNonTransientConnectionException
+            || sqlException instanceof SQLTransientConnectionException
+            || sqlException instanceof SQLRecoverableException
+            || (sqlException.getSQLState() != null && sqlException.getSQLState().startsWith("08"))) {
+            broken = true;
+        }
+    }
+
+    private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException invocationTargetException) {
+            Throwable cause = invocationTargetException.getCause();
+            if (cause instanceof SQLException sqlException) {
+                markBroken(sqlException);
+            }
+            throw cause;
+        }
+    }
+
+    private Connection pinnedConnection(Connection target) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            release();
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed;
+                    case "prepareStatement":
+                        ensureOpen();
+                        if (args.length == 1 || (args.length == 2 && args[1] instanceof Integer)) {
+                            return cachedStatement(target, method, args);
+                        }
+                        break;
+                    default:
+                        ensureOpen();
+                        break;
+                }
+                return PinnedConnectionDataSource.this.invoke(target, method, args);
+            }
+
+            private void ensureOpen() throws SQLException {
+                if (closed) {
+                    throw new SQLException("Connection is closed.");
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private PreparedStatement cachedStatement(Connection target, Method method, Object[] args) throws Throwable {
+        String key = args.length == 2 ? args[1] + ":" + args[0] : (String) args[0];
+        PreparedStatement statement = statements.get(key);
+        if (statement == null) {
+            statement = (PreparedStatement) invoke(target, method, args);
+            statements.put(key, statement);
+        }
+        PreparedStatement targetStatement = statement;
+        InvocationHandler handler = (proxy, statementMethod, statementArgs) -> {
+            if ("close".equals(statementMethod.getName())) {
+                targetStatement.clearBatch();
+                targetStatement.clearParameters();
+                return null;
+            }
+            return invoke(targetStatement, statementMethod, statementArgs);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, handler);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return targetDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        targetDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        targetDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return targetDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return targetDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return targetDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || targetDataSource.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.jdbc;
+
+import me.ahoo.cosid.jdbc.exception.SegmentNameMissingException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL Jdbc IdSegment Dialect.
+ *
+ * <p>Increments the max ID and reads it back with a single {@code UPDATE ... RETURNING} statement.
+ *
+ * @author ahoo wang
+ */
+public class PostgreSqlJdbcIdSegmentDialect implements JdbcIdSegmentDialect {
+    public static final String INCREMENT_RETURNING_MAX_ID_SQL
+        = "update cosid set last_max_id=(last_max_id + ?),last_fetch_time=cast(extract(epoch from now()) as bigint) where name = ? returning last_max_id;";
+    public static final PostgreSqlJdbcIdSegmentDialect INSTANCE = new PostgreSqlJdbcIdSegmentDialect(INCREMENT_RETURNING_MAX_ID_SQL);
+
+    private final String incrementReturningMaxIdSql;
+
+    public PostgreSqlJdbcIdSegmentDialect(String incrementReturningMaxIdSql) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(incrementReturningMaxIdSql), "incrementReturningMaxIdSql can not be empty!");
+        this.incrementReturningMaxIdSql = incrementReturningMaxIdSql;
+    }
+
+    public String getIncrementReturningMaxIdSql() {
+        return incrementReturningMaxIdSql;
+    }
+
+    @Override
+    public long incrementAndGet(Connection connection, String namespacedName, long step) throws SQLException {
+        try (PreparedStatement accStatement = connection.prepareStatement(incrementReturningMaxIdSql)) {
+            accStatement.setLong(1, step);
+            accStatement.setString(2, namespacedName);
+            try (ResultSet resultSet = accStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new SegmentNameMissingException(namespacedName);
+                }
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PostgreSqlJdbcIdSegmentDialect that)) {
+            return false;
+        }
+        return incrementReturningMaxIdSql.equals(that.incrementReturningMaxIdSql);
+    }
+
+    @Override
+    public int hashCode() {
+        return incrementReturningMaxIdSql.hashCode();
+    }
+}
@@ -26,6 +26,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -38,14 +40,29 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 final class InMemoryJdbcDataSource implements DataSource {
+    private static final Pattern CREATE_SEQUENCE_PATTERN
+        = Pattern.compile("create sequence (if not exists )?(\\w+) start with (-?\\d+) increment by (\\d+).*");
+    private static final Pattern NEXT_VALUE_PATTERN
+        = Pattern.compile("select (?:nextval\\('?(\\w+)'?\\)|(\\w+)\\.nextval from dual)");
+    private static final Pattern INCREMENT_PATTERN
+        = Pattern.compile("select increment(?:_by)? from (?:pg_sequences where .*sequencename = '(\\w+)'|user_sequences where sequence_name = '(\\w+)'|(\\w+))");
     private final Map<String, Long> segments = new ConcurrentHashMap<>();
+    private final Map<String, Sequence> sequences = new HashMap<>();
     private final Map<String, MachineRow> machineRows = new LinkedHashMap<>();
     private final List<String> executedSql = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> incrementedSegments = Collections.synchronizedList(new ArrayList<>());
     private final ReentrantLock transactionLock = new ReentrantLock();
+    private final AtomicInteger openedConnections = new AtomicInteger();
+    private final AtomicInteger failedConnections = new AtomicInteger();
+    private volatile int connectionGeneration;
+    private volatile boolean defaultAutoCommit = true;
     private volatile int loginTimeout;
     private PrintWriter logWriter;
     private int failedRevertDistributeUpdates;
@@ -53,12 +70,16 @@ final class InMemoryJdbcDataSource implements DataSource {
     private boolean cosIdMachineTableInitialized;
 
     @Override
-    public Connection getConnection() {
+    public Connection getConnection() throws SQLException {
+        if (failedConnections.getAndUpdate(failed -> Math.max(failed - 1, 0)) > 0) {
+            throw new SQLNonTransientConnectionException("Connection refused.", "08001");
+        }
+        openedConnections.incrementAndGet();
         return connection();
     }
 
     @Override
-    public Connection getConnection(String username, String password) {
+    public Connection getConnection(String username, String password) throws SQLException {
         return getConnection();
     }
 
@@ -118,6 +139,10 @@ final class InMemoryJdbcDataSource implements DataSource {
         machineRows.put(name, new MachineRow(name, namespace, machineId, lastTimestamp, instanceId, System.currentTimeMillis(), 0));
     }
 
+    synchronized boolean containsSequence(String sequenceName) {
+        return sequences.containsKey(sequenceName.toLowerCase(Locale.ROOT));
+    }
+
     synchronized Optional<MachineRowSnapshot> findMachine(String namespace, int machineId) {
         MachineRow row = machineRows.get(namespacedMachineId(namespace, machineId));
         if (row == null) {
@@ -138,13 +163,46 @@ final class InMemoryJdbcDataSource implements DataSource {
         return cosIdMachineTableInitialized;
     }
 
+    int getOpenedConnections() {
+        return openedConnections.get();
+    }
+
+    void failNextConnections(int connections) {
+        failedConnections.set(connections);
+    }
+
+    /**
+     * Open the next connections with the given auto-commit mode, like a pool configured with {@code autoCommit=false}.
+     *
+     * <p>Segment increments of a connection not in auto-commit mode are undone on rollback, and when the
+     * connection is closed without a commit.
+     */
+    void setDefaultAutoCommit(boolean defaultAutoCommit) {
+        this.defaultAutoCommit = defaultAutoCommit;
+    }
+
+    /**
+     * Break all the opened connections, their statements then fail with a connection error.
+     */
+    void breakOpenedConnections() {
+        connectionGeneration++;
+    }
+
     List<String> getExecutedSql() {
         synchronized (executedSql) {
             return List.copyOf(executedSql);
         }
     }
 
+    List<String> getIncrementedSegments() {
+        synchronized (incrementedSegments) {
+            return List.copyOf(incrementedSegments);
+        }
+    }
+
     private Connection connection() {
+        int generation = connectionGeneration;
+        Transaction transaction = new Transaction(defaultAutoCommit);
         return proxy(Connection.class, new InvocationHandler() {
             private final AtomicBoolean transactionLocked = new AtomicBoolean();
 
@@ -152,7 +210,10 @@ final class InMemoryJdbcDataSource implements DataSource {
             public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
                 String methodName = method.getName();
                 if ("prepareStatement".equals(methodName)) {
-                    return preparedStatement((String) args[0]);
+                    return preparedStatement((String) args[0], generation, transaction);
+                }
+                if ("createStatement".equals(methodName)) {
+                    return statement();
                 }
                 if ("setAutoCommit".equals(methodName)) {
                     boolean autoCommit = (Boolean) args[0];
@@ -160,20 +221,32 @@ final class InMemoryJdbcDataSource implements DataSource {
                         transactionLock.lock();
                     }
                     if (autoCommit) {
+                        // Switching auto-commit on commits the current transaction.
+                        commit(transaction);
                         unlockTransaction();
                     }
+                    transaction.autoCommit = autoCommit;
                     return null;
                 }
-                if ("commit".equals(methodName) || "rollback".equals(methodName) || "close".equals(methodName)) {
+                if ("commit".equals(methodName)) {
+                    commit(transaction);
+                    unlockTransaction();
+                    return null;
+                }
+                if ("rollback".equals(methodName) || "close".equals(methodName)) {
+                    rollback(transaction);
                     unlockTransaction();
                     return null;
                 }
                 if ("getAutoCommit".equals(methodName)) {
-                    return !transactionLocked.get();
+                    return transaction.autoCommit;
                 }
                 if ("isClosed".equals(methodName)) {
                     return false;
                 }
+                if ("isValid".equals(methodName)) {
+                    return generation == connectionGeneration;
+                }
                 if ("unwrap".equals(methodName)) {
                     return unwrapArgument(proxy, args);
                 }
@@ -191,20 +264,53 @@ final class InMemoryJdbcDataSource implements DataSource {
         });
     }
 
-    private PreparedStatement preparedStatement(String sql) {
+    private PreparedStatement preparedStatement(String sql, int generation, Transaction transaction) {
         executedSql.add(sql);
         Map<Integer, Object> params = new HashMap<>();
+        List<Map<Integer, Object>> batch = new ArrayList<>();
+        List<Row> generatedKeys = new ArrayList<>();
         return proxy(PreparedStatement.class, (proxy, method, args) -> {
             String methodName = method.getName();
+            if (methodName.startsWith("execute") && generation != connectionGeneration) {
+                throw new SQLNonTransientConnectionException("Connection reset.", "08006");
+            }
             if (methodName.startsWith("set")) {
                 params.put((Integer) args[0], args[1]);
                 return null;
             }
+            if ("clearParameters".equals(methodName)) {
+                params.clear();
+                return null;
+            }
             if ("executeUpdate".equals(methodName)) {
-                return executeUpdate(sql, params);
+                generatedKeys.clear();
+                if (normalize(sql).equals(normalize(MySqlJdbcIdSegmentDialect.INCREMENT_LAST_INSERT_ID_SQL))) {
+                    Long lastInsertId = incrementAndGetSegment((String) params.get(2), (Long) params.get(1), transaction);
+                    if (lastInsertId == null) {
+                        return 0;
+                    }
+                    generatedKeys.add(Row.of(lastInsertId));
+                    return 1;
+                }
+                return executeUpdate(sql, params, transaction);
+            }
+            if ("getGeneratedKeys".equals(methodName)) {
+                return resultSet(List.copyOf(generatedKeys));
+            }
+            if ("addBatch".equals(methodName)) {
+                batch.add(new HashMap<>(params));
+                return null;
+            }
+            if ("executeBatch".equals(methodName)) {
+                int[] affected = new int[batch.size()];
+                for (int i = 0; i < affected.length; i++) {
+                    affected[i] = executeUpdate(sql, batch.get(i), transaction);
+                }
+                batch.clear();
+                return affected;
             }
             if ("executeQuery".equals(methodName)) {
-                return executeQuery(sql, params);
+                return executeQuery(sql, params, transaction);
             }
             if ("close".equals(methodName)) {
                 return null;
@@ -219,6 +325,22 @@ final class InMemoryJdbcDataSource implements DataSource {
         });
     }
 
+    private Statement statement() {
+        return proxy(Statement.class, (proxy, method, args) -> {
+            String methodName = method.getName();
+            if ("execute".equals(methodName)) {
+                String sql = (String) args[0];
+                executedSql.add(sql);
+                executeUpdate(sql, Map.of(), null);
+                return false;
+            }
+            if ("close".equals(methodName)) {
+                return null;
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
     private ResultSet resultSet(List<Row> rows) {
         return proxy(ResultSet.class, new InvocationHandler() {
             private int index = -1;
@@ -257,7 +379,7 @@ final class InMemoryJdbcDataSource implements DataSource {
         });
     }
 
-    private synchronized int executeUpdate(String sql, Map<Integer, Object> params) throws SQLException {
+    private synchronized int executeUpdate(String sql, Map<Integer, Object> params, Transaction transaction) throws SQLException {
         String normalizedSql = normalize(sql);
         if (normalizedSql.equals(normalize(JdbcIdSegmentInitializer.INIT_COSID_TABLE_SQL))) {
             cosIdTableInitialized = true;
@@ -267,7 +389,12 @@ final class InMemoryJdbcDataSource implements DataSource {
             return initSegment((String) params.get(1), (Long) params.get(2));
         }
         if (normalizedSql.equals(normalize(JdbcIdSegmentDistributor.INCREMENT_MAX_ID_SQL))) {
-            return incrementSegment((String) params.get(2), (Long) params.get(1));
+            return incrementSegment((String) params.get(2), (Long) params.get(1), transaction);
+        }
+        Matcher createSequence = CREATE_SEQUENCE_PATTERN.matcher(normalizedSql);
+        if (createSequence.matches()) {
+            return createSequence(createSequence.group(2), createSequence.group(1) != null,
+                Long.parseLong(createSequence.group(3)), Long.parseLong(createSequence.group(4)));
         }
         if (normalizedSql.startsWith("create table if not exists cosid_machine")) {
             cosIdMachineTableInitialized = true;
@@ -292,8 +419,15 @@ final class InMemoryJdbcDataSource implements DataSource {
         throw unsupportedSql(sql);
     }
 
-    private synchronized ResultSet executeQuery(String sql, Map<Integer, Object> params) throws SQLException {
+    private synchronized ResultSet executeQuery(String sql, Map<Integer, Object> params, Transaction transaction) throws SQLException {
         String normalizedSql = normalize(sql);
+        if (normalizedSql.equals(normalize(PostgreSqlJdbcIdSegmentDialect.INCREMENT_RETURNING_MAX_ID_SQL))) {
+            Long lastMaxId = incrementAndGetSegment((String) params.get(2), (Long) params.get(1), transaction);
+            if (lastMaxId == null) {
+                return resultSet(List.of());
+            }
+            return resultSet(List.of(Row.of(lastMaxId)));
+        }
         if (normalizedSql.equals(normalize(JdbcIdSegmentDistributor.FETCH_MAX_ID_SQL))) {
             Long lastMaxId = segments.get((String) params.get(1));
             if (lastMaxId == null) {
@@ -301,6 +435,19 @@ final class InMemoryJdbcDataSource implements DataSource {
             }
             return resultSet(List.of(Row.of(lastMaxId)));
         }
+        Matcher nextValue = NEXT_VALUE_PATTERN.matcher(normalizedSql);
+        if (nextValue.matches()) {
+            return resultSet(List.of(Row.of(nextValue(nextValue.group(1) != null ? nextValue.group(1) : nextValue.group(2)))));
+        }
+        Matcher increment = INCREMENT_PATTERN.matcher(normalizedSql);
+        if (increment.matches()) {
+            String sequenceName = increment.group(1) != null ? increment.group(1) : increment.group(2) != null ? increment.group(2) : increment.group(3);
+            Sequence sequence = sequences.get(sequenceName);
+            if (sequence == null) {
+                return resultSet(List.of());
+            }
+            return resultSet(List.of(Row.of(sequence.increment)));
+        }
         if (normalizedSql.startsWith("select machine_id, last_timestamp from cosid_machine where namespace=? and instance_id=?")) {
             return resultSet(findSelfMachineRows((String) params.get(1), (String) params.get(2), (Long) params.get(3)));
         }
@@ -321,15 +468,54 @@ final class InMemoryJdbcDataSource implements DataSource {
         return 1;
     }
 
-    private int incrementSegment(String segmentName, long step) {
+    private synchronized Long incrementAndGetSegment(String segmentName, long step, Transaction transaction) {
+        if (incrementSegment(segmentName, step, transaction) == 0) {
+            return null;
+        }
+        return segments.get(segmentName);
+    }
+
+    private int incrementSegment(String segmentName, long step, Transaction transaction) {
         Long current = segments.get(segmentName);
         if (current == null) {
             return 0;
         }
+        if (transaction != null && !transaction.autoCommit) {
+            transaction.undo.putIfAbsent(segmentName, current);
+        }
         segments.put(segmentName, current + step);
+        incrementedSegments.add(segmentName);
         return 1;
     }
 
+    private synchronized void commit(Transaction transaction) {
+        transaction.undo.clear();
+    }
+
+    private synchronized void rollback(Transaction transaction) {
+        segments.putAll(transaction.undo);
+        transaction.undo.clear();
+    }
+
+    private int createSequence(String sequenceName, boolean ifNotExists, long start, long increment) throws SQLException {
+        if (sequences.containsKey(sequenceName)) {
+            if (ifNotExists) {
+                return 0;
+            }
+            throw new SQLException("Sequence already exists: " + sequenceName);
+        }
+        sequences.put(sequenceName, new Sequence(start, increment));
+        return 0;
+    }
+
+    private long nextValue(String sequenceName) throws SQLException {
+        Sequence sequence = sequences.get(sequenceName);
+        if (sequence == null) {
+            throw new SQLException("Sequence does not exist: " + sequenceName);
+        }
+        return sequence.next();
+    }
+
     private int distributeRevertedMachine(String name, String instanceId, long lastTimestamp, long distributeTime, long safeGuardAt) {
         MachineRow row = machineRows.get(name);
         if (row == null || (!row.instanceId.isEmpty() && row.lastTimestamp > safeGuardAt)) {
@@ -460,6 +646,15 @@ final class InMemoryJdbcDataSource implements DataSource {
     record MachineRowSnapshot(String name, String namespace, int machineId, long lastTimestamp, String instanceId, long distributeTime, long revertTime) {
     }
 
+    private static final class Transaction {
+        private final Map<String, Long> undo = new HashMap<>();
+        private volatile boolean autoCommit;
+
+        private Transaction(boolean autoCommit) {
+            this.autoCommit = autoCommit;
+        }
+    }
+
     private static final class MachineRow {
         private final String name;
         private final String namespace;
@@ -484,6 +679,22 @@ final class InMemoryJdbcDataSource implements DataSource {
         }
     }
 
+    private static final class Sequence {
+        private final long increment;
+        private long nextValue;
+
+        private Sequence(long start, long increment) {
+            this.nextValue = start;
+            this.increment = increment;
+        }
+
+        private long next() {
+            long value = nextValue;
+            nextValue += increment;
+            return value;
+        }
+    }
+
     private static final class Row {
         private final Object[] values;
 
@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.instanceOf;
 
 import me.ahoo.cosid.CosIdException;
 import me.ahoo.cosid.jdbc.exception.SegmentNameMissingException;
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
@@ -30,7 +31,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * @author ahoo wang
@@ -44,8 +47,11 @@ class JdbcIdSegmentDistributorTest extends IdSegmentDistributorSpec {
     void setup() {
         dataSource = DataSourceFactory.INSTANCE.createDataSource();
         jdbcIdSegmentInitializer = new JdbcIdSegmentInitializer(dataSource);
-        distributorFactory =
-            new JdbcIdSegmentDistributorFactory(dataSource, true, jdbcIdSegmentInitializer, JdbcIdSegmentDistributor.INCREMENT_MAX_ID_SQL, JdbcIdSegmentDistributor.FETCH_MAX_ID_SQL);
+        distributorFactory = new JdbcIdSegmentDistributorFactory(dataSource, true, jdbcIdSegmentInitializer, dialect());
+    }
+
+    protected JdbcIdSegmentDialect dialect() {
+        return GenericJdbcIdSegmentDialect.INSTANCE;
     }
     
     @Override
@@ -95,6 +101,31 @@ class JdbcIdSegmentDistributorTest extends IdSegmentDistributorSpec {
         assertThat(actual.getMessage(), containsString("Unsupported SQL"));
     }
 
+    @Test
+    void nextMaxIdShouldCommitWhenAutoCommitIsDisabled() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        IdSegmentDistributor distributor = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "autoCommitDisabled", 0, 10));
+        dataSource.setDefaultAutoCommit(false);
+
+        assertThat(distributor.nextMaxId(), equalTo(10L));
+        assertThat(dataSource.getSegmentMaxId(distributor.getNamespacedName()), equalTo(10L));
+        assertThat(distributor.nextMaxId(), equalTo(20L));
+        assertThat(dataSource.getSegmentMaxId(distributor.getNamespacedName()), equalTo(20L));
+    }
+
+    @Test
+    void inTransactionShouldRestorePreviousAutoCommit() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(JdbcIdSegmentDialect.inTransaction(connection, connection::getAutoCommit), equalTo(false));
+            assertThat(connection.getAutoCommit(), equalTo(true));
+        }
+        dataSource.setDefaultAutoCommit(false);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(JdbcIdSegmentDialect.inTransaction(connection, connection::getAutoCommit), equalTo(false));
+            assertThat(connection.getAutoCommit(), equalTo(false));
+        }
+    }
+
     @Test
     void factoryCreateShouldInitializeSegmentWithDefinitionOffset() {
         String namespace = MockIdGenerator.INSTANCE.generateAsString();
@@ -105,4 +136,50 @@ class JdbcIdSegmentDistributorTest extends IdSegmentDistributorSpec {
         assertThat(dataSource.getSegmentMaxId(definition.getNamespacedName()), equalTo(9L));
         assertThat(distributor.nextMaxId(), equalTo(12L));
     }
+
+    @Test
+    void nextMaxIdsShouldAllocateAllNamesInOneTransaction() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        IdSegmentDistributor first = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "batchFirst", 0, 10));
+        IdSegmentDistributor second = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "batchSecond", 0, 10));
+        BatchIdSegmentDistributor batchDistributor = first.getBatchDistributor();
+        assertThat(batchDistributor, equalTo(second.getBatchDistributor()));
+
+        int executedSql = dataSource.getExecutedSql().size();
+        long[] nextMaxIds = batchDistributor.nextMaxIds(List.of(first, second, first), new long[]{10, 20, 5});
+
+        assertThat(nextMaxIds, equalTo(new long[]{10, 20, 15}));
+        if (dialect() instanceof GenericJdbcIdSegmentDialect) {
+            // One batch update and one fetch statement.
+            assertThat(dataSource.getExecutedSql().size() - executedSql, equalTo(2));
+        }
+        assertThat(dataSource.getSegmentMaxId(first.getNamespacedName()), equalTo(15L));
+        assertThat(dataSource.getSegmentMaxId(second.getNamespacedName()), equalTo(20L));
+    }
+
+    @Test
+    void nextMaxIdsShouldUpdateSegmentsInNameOrder() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        IdSegmentDistributor first = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "batchFirst", 0, 10));
+        IdSegmentDistributor second = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "batchSecond", 0, 10));
+
+        int incrementedSegments = dataSource.getIncrementedSegments().size();
+        long[] nextMaxIds = first.getBatchDistributor().nextMaxIds(List.of(second, first, second), new long[]{10, 20, 5});
+
+        assertThat(nextMaxIds, equalTo(new long[]{10, 20, 15}));
+        List<String> actual = dataSource.getIncrementedSegments();
+        assertThat(actual.subList(incrementedSegments, actual.size()),
+            equalTo(List.of(first.getNamespacedName(), second.getNamespacedName(), second.getNamespacedName())));
+    }
+
+    @Test
+    void nextMaxIdsWhenSegmentNameMissing() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        IdSegmentDistributor distributor = distributorFactory.create(new IdSegmentDistributorDefinition(namespace, "batchExisting", 0, 10));
+        JdbcIdSegmentDistributor missing = new JdbcIdSegmentDistributor(namespace, "batchMissing", 10, dataSource);
+
+        SegmentNameMissingException actual = Assertions.assertThrows(SegmentNameMissingException.class,
+            () -> missing.getBatchDistributor().nextMaxIds(List.of(distributor, missing), new long[]{10, 10}));
+        assertThat(actual.getMessage(), containsString(missing.getNamespacedName()));
+    }
 }
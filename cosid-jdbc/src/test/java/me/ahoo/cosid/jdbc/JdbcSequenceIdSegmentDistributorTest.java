@@ -0,0 +1,182 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.jdbc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.segment.IdSegment;
+import me.ahoo.cosid.segment.IdSegmentChain;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
+import me.ahoo.cosid.segment.SegmentChainId;
+import me.ahoo.cosid.test.MockIdGenerator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author ahoo wang
+ */
+class JdbcSequenceIdSegmentDistributorTest {
+    InMemoryJdbcDataSource dataSource;
+    JdbcSequenceInitializer jdbcSequenceInitializer;
+    JdbcSequenceIdSegmentDistributorFactory distributorFactory;
+
+    @BeforeEach
+    void setup() {
+        dataSource = DataSourceFactory.INSTANCE.createDataSource();
+        jdbcSequenceInitializer = new JdbcSequenceInitializer(JdbcSequenceDialect.POSTGRESQL, dataSource);
+        distributorFactory = new JdbcSequenceIdSegmentDistributorFactory(dataSource, true, jdbcSequenceInitializer, JdbcSequenceDialect.POSTGRESQL);
+    }
+
+    private JdbcSequenceIdSegmentDistributor create(String name, long offset, long step) {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        return (JdbcSequenceIdSegmentDistributor) distributorFactory.create(new IdSegmentDistributorDefinition(namespace, name, offset, step));
+    }
+
+    @Test
+    void getSequenceName() {
+        assertThat(JdbcSequenceIdSegmentDistributor.getSequenceName("order-service.biz:order"), equalTo("cosid_order_service_biz_order"));
+    }
+
+    @Test
+    void factoryCreateShouldInitSequenceWithDefinitionOffset() {
+        JdbcSequenceIdSegmentDistributor distributor = create("factoryCreateShouldInit", 9, 3);
+
+        assertThat(dataSource.containsSequence(distributor.getSequenceName()), equalTo(true));
+        assertThat(distributor.nextMaxId(), equalTo(12L));
+        assertThat(distributor.nextMaxId(), equalTo(15L));
+    }
+
+    @Test
+    void factoryCreateShouldKeepExistingSequence() {
+        JdbcSequenceIdSegmentDistributor distributor = create("factoryCreateShouldKeep", 0, 10);
+        assertThat(distributor.nextMaxId(), equalTo(10L));
+
+        IdSegmentDistributor recreated = distributorFactory.create(
+            new IdSegmentDistributorDefinition(distributor.getNamespace(), distributor.getName(), 0, 10));
+
+        assertThat(recreated.nextMaxId(), equalTo(20L));
+    }
+
+    @Test
+    void tryInitSequenceWhenSequenceExists() {
+        JdbcSequenceInitializer oracleInitializer = new JdbcSequenceInitializer(JdbcSequenceDialect.ORACLE, dataSource);
+        assertThat(oracleInitializer.tryInitSequence("cosid_oracle", 0, 10), equalTo(true));
+        assertThat(oracleInitializer.tryInitSequence("cosid_oracle", 0, 10), equalTo(false));
+    }
+
+    @Test
+    void factoryCreateWhenIncrementIsNotStep() {
+        JdbcSequenceIdSegmentDistributor distributor = create("factoryCreateWhenIncrementIsNotStep", 0, 10);
+        IdSegmentDistributorDefinition changedStep = new IdSegmentDistributorDefinition(distributor.getNamespace(), distributor.getName(), 0, 20);
+
+        Assertions.assertThrows(CosIdException.class, () -> distributorFactory.create(changedStep));
+    }
+
+    @Test
+    void checkIncrementWhenSequenceMissing() {
+        JdbcSequenceIdSegmentDistributor distributor = new JdbcSequenceIdSegmentDistributor(
+            MockIdGenerator.INSTANCE.generateAsString(), "SequenceMissing", 10, JdbcSequenceDialect.ORACLE, dataSource);
+
+        distributor.checkIncrement();
+    }
+
+    @Test
+    void nextMaxIdWhenStepIsLessThanIncrement() {
+        JdbcSequenceIdSegmentDistributor distributor = create("nextMaxIdWhenStepIsLess", 0, 10);
+
+        assertThat(distributor.nextMaxId(5), equalTo(10L));
+        assertThat(distributor.nextMaxId(5), equalTo(20L));
+    }
+
+    @Test
+    void nextMaxIdWhenStepIsGreaterThanIncrement() {
+        JdbcSequenceIdSegmentDistributor distributor = create("nextMaxIdWhenStepIsGreater", 0, 10);
+        int openedConnections = dataSource.getOpenedConnections();
+
+        assertThat(distributor.nextMaxId(25), equalTo(30L));
+        assertThat(dataSource.getOpenedConnections() - openedConnections, equalTo(1));
+        assertThat(distributor.nextMaxId(), equalTo(40L));
+    }
+
+    @Test
+    void nextIdSegmentWithSegments() {
+        JdbcSequenceIdSegmentDistributor distributor = create("nextIdSegmentWithSegments", 0, 10);
+
+        IdSegment segment = distributor.nextIdSegment(3, Long.MAX_VALUE);
+
+        assertThat(segment.getMaxId(), equalTo(30L));
+        assertThat(segment.getOffset(), equalTo(0L));
+    }
+
+    @Test
+    void nextMaxIdWhenSequenceMissing() {
+        JdbcSequenceIdSegmentDistributor distributor = new JdbcSequenceIdSegmentDistributor(
+            MockIdGenerator.INSTANCE.generateAsString(), "SequenceMissing", 10, JdbcSequenceDialect.POSTGRESQL, dataSource);
+
+        CosIdException actual = Assertions.assertThrows(CosIdException.class, distributor::nextMaxId);
+
+        assertThat(actual.getCause(), instanceOf(SQLException.class));
+    }
+
+    @Test
+    void nextIdSegmentChainShouldLinkOneSegmentPerValueOnOneConnection() {
+        JdbcSequenceIdSegmentDistributor distributor = create("nextIdSegmentChainWithSegments", 0, 10);
+        int openedConnections = dataSource.getOpenedConnections();
+
+        IdSegmentChain head = distributor.nextIdSegmentChain(IdSegmentChain.newRoot(false), 3, 20, Long.MAX_VALUE);
+
+        assertThat(dataSource.getOpenedConnections() - openedConnections, equalTo(1));
+        assertThat(head.getMaxId(), equalTo(10L));
+        assertThat(head.getStep(), equalTo(10L));
+        assertThat(head.getNext().getMaxId(), equalTo(20L));
+        assertThat(head.getNext().getNext().getMaxId(), equalTo(30L));
+        assertThat(head.getNext().getNext().getNext(), nullValue());
+        assertThat(head.getNext().getVersion(), equalTo(head.getVersion() + 1));
+    }
+
+    @Test
+    void generateOfChain() {
+        SegmentChainId segmentChainId = new SegmentChainId(create("generateOfChain", 0, 10));
+        Set<Long> ids = new HashSet<>();
+        long lastId = 0;
+        for (int i = 0; i < 1000; i++) {
+            long id = segmentChainId.generate();
+            assertThat(id > lastId, equalTo(true));
+            ids.add(id);
+            lastId = id;
+        }
+        assertThat(ids.size(), equalTo(1000));
+    }
+
+    @Test
+    void createSequenceSql() {
+        assertThat(JdbcSequenceDialect.POSTGRESQL.createSequenceSql("cosid_seq", 10, 10, 1),
+            equalTo("create sequence if not exists cosid_seq start with 10 increment by 10 cache 1"));
+        assertThat(JdbcSequenceDialect.ORACLE.createSequenceSql("cosid_seq", 10, 10, 1),
+            equalTo("create sequence cosid_seq start with 10 increment by 10 nocache"));
+        assertThat(JdbcSequenceDialect.MARIADB.createSequenceSql("cosid_seq", 10, 10, 100),
+            equalTo("create sequence if not exists cosid_seq start with 10 increment by 10 cache 100"));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.jdbc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
+import me.ahoo.cosid.test.MockIdGenerator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * PinnedConnectionDataSourceTest .
+ *
+ * @author ahoo wang
+ */
+class PinnedConnectionDataSourceTest {
+    InMemoryJdbcDataSource dataSource;
+    JdbcIdSegmentInitializer jdbcIdSegmentInitializer;
+
+    @BeforeEach
+    void setup() {
+        dataSource = DataSourceFactory.INSTANCE.createDataSource();
+        jdbcIdSegmentInitializer = new JdbcIdSegmentInitializer(dataSource);
+    }
+
+    private IdSegmentDistributor createDistributor(PinnedConnectionDataSource pinnedDataSource, String name) {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        JdbcIdSegmentDistributorFactory distributorFactory =
+            new JdbcIdSegmentDistributorFactory(pinnedDataSource, true, jdbcIdSegmentInitializer, GenericJdbcIdSegmentDialect.INSTANCE);
+        return distributorFactory.create(new IdSegmentDistributorDefinition(namespace, name, 0, 10));
+    }
+
+    @Test
+    void nextMaxIdShouldReuseConnectionAndStatements() {
+        PinnedConnectionDataSource pinnedDataSource = new PinnedConnectionDataSource(dataSource);
+        IdSegmentDistributor distributor = createDistributor(pinnedDataSource, "reuse");
+        int openedConnections = dataSource.getOpenedConnections();
+        int executedSql = dataSource.getExecutedSql().size();
+
+        assertThat(distributor.nextMaxId(), equalTo(10L));
+        assertThat(distributor.nextMaxId(), equalTo(20L));
+        assertThat(distributor.getBatchDistributor().nextMaxIds(List.of(distributor), new long[]{5})[0], equalTo(25L));
+
+        assertThat(dataSource.getOpenedConnections() - openedConnections, equalTo(1));
+        // The increment and fetch statements are only prepared once.
+        assertThat(dataSource.getExecutedSql().size() - executedSql, equalTo(2));
+    }
+
+    @Test
+    void getConnectionShouldSwitchToAutoCommit() throws SQLException {
+        PinnedConnectionDataSource pinnedDataSource = new PinnedConnectionDataSource(dataSource);
+        IdSegmentDistributor distributor = createDistributor(pinnedDataSource, "autoCommit");
+        dataSource.setDefaultAutoCommit(false);
+
+        try (Connection connection = pinnedDataSource.getConnection()) {
+            assertThat(connection.getAutoCommit(), equalTo(true));
+        }
+        assertThat(distributor.nextMaxId(), equalTo(10L));
+        assertThat(dataSource.getSegmentMaxId(distributor.getNamespacedName()), equalTo(10L));
+    }
+
+    @Test
+    void closeShouldFailWhenTransactionIsLeftOpen() throws SQLException {
+        PinnedConnectionDataSource pinnedDataSource = new PinnedConnectionDataSource(dataSource);
+        IdSegmentDistributor distributor = createDistributor(pinnedDataSource, "openTransaction");
+
+        Connection connection = pinnedDataSource.getConnection();
+        connection.setAutoCommit(false);
+        Assertions.assertThrows(SQLException.class, connection::close);
+
+        try (Connection next = pinnedDataSource.getConnection()) {
+            assertThat(next.getAutoCommit(), equalTo(true));
+        }
+        assertThat(distributor.nextMaxId(), equalTo(10L));
+    }
+
+    @Test
+    void nextMaxIdShouldReconnectWhenConnectionIsBroken() {
+        PinnedConnectionDataSource pinnedDataSource = new PinnedConnectionDataSource(dataSource, Duration.ZERO, Duration.ZERO);
+        IdSegmentDistributor distributor = createDistributor(pinnedDataSource, "reconnect");
+        assertThat(distributor.nextMaxId(), equalTo(10L));
+        int openedConnections = dataSource.getOpenedConnections();
+
+        dataSource.breakOpenedConnections();
+        Assertions.assertThrows(CosIdException.class, distributor::nextMaxId);
+
+        assertThat(distributor.nextMaxId(), equalTo(20L));
+        assertThat(dataSource.getOpenedConnections() - openedConnections, equalTo(1));
+    }
+
+    @Test
+    void nextMaxIdShouldReconnectWhenIdleConnectionIsInvalid() {
+        PinnedConnectionDataSource pinnedDataSource = new PinnedConnectionDataSource(dataSource, Duration.ZERO, Duration.ZERO,
+            PinnedConnectionDataSource.DEFAULT_ACQUIRE_TIMEOUT, Duration.ZERO);
+        IdSegmentDistributor distributor = createDistributor(pinnedDataSource, "validate");
+        assertThat(distributor.nextMaxId(), equalTo(10L));
+        int openedConnections = dataSource.getOpenedConnections();
+
+        dataSource.breakOpenedConnections();
+
+        assertThat(distributor.nextMaxId(), equalTo(20L));
+        assertThat(dataSource.getOpenedConnections() - openedConnections, equalTo(1));
+    }
+
+    @Test
+    void getConnectionShouldTimeOutWhenConnectionIsInUse() throws Exception {
+        PinnedConnectionDataSource pinnedDataSource = new PinnedConnectionDataSource(dataSource, Duration.ZERO, Duration.ZERO,
+            Duration.ofMillis(50), PinnedConnectionDataSource.DEFAULT_VALIDATION_INTERVAL);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection ignored = pinnedDataSource.getConnection()) {
+            Future<Connection> waiting = executor.submit(() -> pinnedDataSource.getConnection());
+            ExecutionException actual = Assertions.assertThrows(ExecutionException.class, waiting::get);
+            assertThat(actual.getCause(), instanceOf(SQLTransientConnectionException.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nextMaxIdShouldBackOffWhenReconnectFails() {
+        PinnedConnectionDataSource pinnedDataSource = new PinnedConnectionDataSource(dataSource, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        IdSegmentDistributor distributor = createDistributor(pinnedDataSource, "backoff");
+        int openedConnections = dataSource.getOpenedConnections();
+
+        dataSource.failNextConnections(1);
+        Assertions.assertThrows(CosIdException.class, distributor::nextMaxId);
+        CosIdException backingOff = Assertions.assertThrows(CosIdException.class, distributor::nextMaxId);
+
+        assertThat(backingOff.getCause(), instanceOf(SQLTransientConnectionException.class));
+        assertThat(dataSource.getOpenedConnections(), equalTo(openedConnections));
+    }
+
+    @Test
+    void backoffShouldDoubleUpToMaxBackoff() {
+        PinnedConnectionDataSource pinnedDataSource = new PinnedConnectionDataSource(dataSource, Duration.ofMillis(100), Duration.ofMillis(500));
+
+        assertThat(pinnedDataSource.backoffNanos(1), equalTo(Duration.ofMillis(100).toNanos()));
+        assertThat(pinnedDataSource.backoffNanos(2), equalTo(Duration.ofMillis(200).toNanos()));
+        assertThat(pinnedDataSource.backoffNanos(3), equalTo(Duration.ofMillis(400).toNanos()));
+        assertThat(pinnedDataSource.backoffNanos(4), equalTo(Duration.ofMillis(500).toNanos()));
+        assertThat(pinnedDataSource.backoffNanos(64), equalTo(Duration.ofMillis(500).toNanos()));
+    }
+}
@@ -52,6 +52,10 @@ public class MongoIdSegmentDistributor implements IdSegmentDistributor {
         return name;
     }
     
+    public long getOffset() {
+        return offset;
+    }
+    
     @Override
     public long getStep() {
         return step;
@@ -20,7 +20,7 @@ import me.ahoo.cosid.mongo.Documents;
 import me.ahoo.cosid.mongo.IdSegmentCollection;
 import me.ahoo.cosid.mongo.IdSegmentOperates;
 
-import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
 import com.mongodb.ErrorCategory;
 import com.mongodb.MongoWriteException;
 import com.mongodb.client.model.Filters;
@@ -30,6 +30,7 @@ import com.mongodb.reactivestreams.client.MongoCollection;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.Document;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
 
 import java.util.Objects;
 
@@ -43,32 +44,40 @@ public class MongoReactiveIdSegmentCollection implements IdSegmentCollection {
 
     @Override
     public long incrementAndGet(String namespacedName, long offset, long step) {
-        ensureOffset(namespacedName, offset);
-        Publisher<Document> publisher = cosidCollection.findOneAndUpdate(
-            Filters.eq(Documents.ID_FIELD, namespacedName),
-            incrementAndGetUpdates(step),
-            Documents.UPDATE_UPSERT_AFTER_OPTIONS);
-        Document afterDoc = BlockingAdapter.block(publisher);
-
-        assert afterDoc != null;
-        Preconditions.checkNotNull(afterDoc, "IdSegment[%s] can not be null!", namespacedName);
-        Long lastMaxId = afterDoc.getLong(IdSegmentOperates.LAST_MAX_ID_FIELD);
+        Long lastMaxId = BlockingAdapter.block(incrementAndGetAsync(namespacedName, offset, step));
         return Objects.requireNonNull(lastMaxId);
     }
 
-    private void ensureOffset(String namespacedName, long offset) {
-        try {
-            Publisher<UpdateResult> publisher = cosidCollection.updateOne(
+    /**
+     * Increment the last max ID without blocking, the offset is ensured before the increment is subscribed.
+     *
+     * @param namespacedName The namespaced name of the segment
+     * @param offset         The offset set when the segment is inserted
+     * @param step           The step to increment by
+     * @return The last max ID after the increment
+     */
+    public Mono<Long> incrementAndGetAsync(String namespacedName, long offset, long step) {
+        return ensureOffset(namespacedName, offset)
+            .then(Mono.defer(() -> Mono.from(cosidCollection.findOneAndUpdate(
                 Filters.eq(Documents.ID_FIELD, namespacedName),
-                ensureOffsetUpdates(offset),
-                new UpdateOptions().upsert(true)
-            );
-            BlockingAdapter.block(publisher);
-        } catch (MongoWriteException mongoWriteException) {
-            if (mongoWriteException.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
-                return;
-            }
-            throw mongoWriteException;
-        }
+                incrementAndGetUpdates(step),
+                Documents.UPDATE_UPSERT_AFTER_OPTIONS))))
+            .switchIfEmpty(Mono.error(() -> new NullPointerException(Strings.lenientFormat("IdSegment[%s] can not be null!", namespacedName))))
+            .map(afterDoc -> Objects.requireNonNull(afterDoc.getLong(IdSegmentOperates.LAST_MAX_ID_FIELD)));
+    }
+
+    private Mono<UpdateResult> ensureOffset(String namespacedName, long offset) {
+        Publisher<UpdateResult> publisher = cosidCollection.updateOne(
+            Filters.eq(Documents.ID_FIELD, namespacedName),
+            ensureOffsetUpdates(offset),
+            new UpdateOptions().upsert(true)
+        );
+        return Mono.from(publisher)
+            .onErrorResume(MongoWriteException.class, mongoWriteException -> {
+                if (mongoWriteException.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                    return Mono.empty();
+                }
+                return Mono.error(mongoWriteException);
+            });
     }
 }
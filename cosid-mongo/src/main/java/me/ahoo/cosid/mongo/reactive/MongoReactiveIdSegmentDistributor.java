@@ -0,0 +1,43 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.mongo.reactive;
+
+import me.ahoo.cosid.mongo.MongoIdSegmentDistributor;
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Mongo Reactive IdSegment Distributor.
+ *
+ * <p>Prefetching allocates through {@link #nextMaxIdAsync(long)} on the reactive driver,
+ * {@link #nextMaxId(long)} still blocks for the callers that need an ID right away.
+ *
+ * @author ahoo wang
+ */
+public class MongoReactiveIdSegmentDistributor extends MongoIdSegmentDistributor implements AsyncIdSegmentDistributor {
+    private final MongoReactiveIdSegmentCollection idSegmentCollection;
+    
+    public MongoReactiveIdSegmentDistributor(String namespace, String name, long offset, long step, MongoReactiveIdSegmentCollection idSegmentCollection) {
+        super(namespace, name, offset, step, idSegmentCollection);
+        this.idSegmentCollection = idSegmentCollection;
+    }
+    
+    @Override
+    public CompletionStage<Long> nextMaxIdAsync(long step) {
+        IdSegmentDistributor.ensureStep(step);
+        return idSegmentCollection.incrementAndGetAsync(getNamespacedName(), getOffset(), step).toFuture();
+    }
+}
@@ -15,8 +15,6 @@ package me.ahoo.cosid.mongo.reactive;
 
 import static me.ahoo.cosid.mongo.IdSegmentCollection.COLLECTION_NAME;
 
-import me.ahoo.cosid.mongo.IdSegmentCollection;
-import me.ahoo.cosid.mongo.MongoIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
@@ -33,9 +31,9 @@ public class MongoReactiveIdSegmentDistributorFactory implements IdSegmentDistri
     
     @Override
     public @NonNull IdSegmentDistributor create(IdSegmentDistributorDefinition definition) {
-        IdSegmentCollection idSegmentCollection = new MongoReactiveIdSegmentCollection(mongoDatabase.getCollection(COLLECTION_NAME));
+        MongoReactiveIdSegmentCollection idSegmentCollection = new MongoReactiveIdSegmentCollection(mongoDatabase.getCollection(COLLECTION_NAME));
         
-        return new MongoIdSegmentDistributor(definition.getNamespace(),
+        return new MongoReactiveIdSegmentDistributor(definition.getNamespace(),
             definition.getName(),
             definition.getOffset(),
             definition.getStep(),
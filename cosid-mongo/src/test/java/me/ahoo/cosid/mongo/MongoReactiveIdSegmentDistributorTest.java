@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.*;
 import me.ahoo.cosid.mongo.reactive.MongoReactiveIdSegmentDistributorFactory;
 import me.ahoo.cosid.mongo.reactive.MongoReactiveIdSegmentInitializer;
 import me.ahoo.cosid.mongo.reactive.BlockingAdapter;
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
@@ -98,6 +99,19 @@ class MongoReactiveIdSegmentDistributorTest extends IdSegmentDistributorSpec {
         assertThat(nextMaxId, equalTo(TEST_OFFSET + TEST_STEP));
     }
     
+    @Test
+    public void nextMaxIdAsync() {
+        String namespace = MockIdGenerator.INSTANCE.generateAsString();
+        IdSegmentDistributorDefinition definition = new IdSegmentDistributorDefinition(namespace, "nextMaxIdAsync", TEST_OFFSET, TEST_STEP);
+        IdSegmentDistributor distributor = factory().create(definition);
+        assertThat(distributor, instanceOf(AsyncIdSegmentDistributor.class));
+
+        StepVerifier.create(Mono.fromCompletionStage(((AsyncIdSegmentDistributor) distributor).nextMaxIdAsync()))
+            .expectNext(TEST_OFFSET + TEST_STEP)
+            .verifyComplete();
+        assertThat(distributor.nextMaxId(), equalTo(TEST_OFFSET + TEST_STEP * 2));
+    }
+    
     @Test
     public void nextMaxIdInParallel() {
         var mono = Mono.fromRunnable(() -> {
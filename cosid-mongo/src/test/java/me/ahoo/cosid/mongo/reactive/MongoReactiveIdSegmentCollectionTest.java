@@ -117,6 +117,20 @@ class MongoReactiveIdSegmentCollectionTest {
         Assertions.assertTrue(incrementUpdate.getDocument("$set").containsKey(IdSegmentOperates.LAST_FETCH_TIME_FIELD));
     }
 
+    @Test
+    void incrementAndGetAsyncShouldDeferFindOneAndUpdateUntilSubscribed() {
+        RecordingMongoCollection recordingCollection = new RecordingMongoCollection()
+            .emitEnsureOffsetFailure(duplicateKeyException())
+            .returnLastMaxId(107);
+        MongoReactiveIdSegmentCollection collection = new MongoReactiveIdSegmentCollection(recordingCollection.mongoCollection());
+
+        Mono<Long> lastMaxId = collection.incrementAndGetAsync("ns.name", 7, 100);
+
+        assertThat(recordingCollection.findOneAndUpdateCalls, equalTo(0));
+        assertThat(lastMaxId.block(), equalTo(107L));
+        assertThat(recordingCollection.findOneAndUpdateCalls, equalTo(1));
+    }
+
     private static MongoWriteException duplicateKeyException() {
         return writeException(11000);
     }
@@ -0,0 +1,50 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.boot.starter;
+
+import me.ahoo.cosid.util.Clock;
+
+/**
+ * Time source of the time based ID generators.
+ *
+ * @author ahoo wang
+ */
+public enum ClockType {
+    /**
+     * {@link Clock#SYSTEM}, reads {@link System#currentTimeMillis()} on every ID.
+     */
+    SYSTEM,
+    /**
+     * {@link Clock.MillisecondCacheClock}, a background thread caches the millisecond time.
+     */
+    CACHE,
+    /**
+     * {@link Clock.MonotonicClock}, anchored to the wall clock once and advanced by {@link System#nanoTime()},
+     * so wall clock steps never move it backwards.
+     */
+    MONOTONIC;
+
+    /**
+     * Gets the shared {@link Clock} instance of this type.
+     *
+     * @return the clock
+     */
+    public Clock asClock() {
+        return switch (this) {
+            case SYSTEM -> Clock.SYSTEM;
+            case CACHE -> Clock.MillisecondCacheClock.getInstance();
+            case MONOTONIC -> Clock.MonotonicClock.INSTANCE;
+        };
+    }
+}
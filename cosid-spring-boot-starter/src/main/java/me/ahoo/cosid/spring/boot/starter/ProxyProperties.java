@@ -13,6 +13,12 @@
 
 package me.ahoo.cosid.spring.boot.starter;
 
+import me.ahoo.cosid.CosId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for CosId proxy server connection.
  *
@@ -25,17 +31,60 @@ package me.ahoo.cosid.spring.boot.starter;
  * cosid:
  *   proxy:
  *     host: "http://cosid-proxy.example.com:8688"
+ *     hosts:
+ *       - "http://cosid-proxy-0.example.com:8688"
+ *       - "http://cosid-proxy-1.example.com:8688"
+ *     binary:
+ *       enabled: true
+ *       port: 8689
+ *     pool:
+ *       enabled: true
+ *       super-step: 100000
  * }</pre>
  *
  * @author ahoo wang
  */
 public class ProxyProperties {
+    public static final String PREFIX = CosId.COSID_PREFIX + "proxy";
+
     /**
      * The proxy server host URL.
      * Default is "http://localhost:8688".
      */
     private String host = "http://localhost:8688";
 
+    /**
+     * The proxy server host URLs segments are fetched from.
+     * When more than one is set, segment fetches are load balanced, hedged and failed over among them.
+     * Default is empty, segments are fetched from {@link #host}.
+     */
+    private List<String> hosts = new ArrayList<>();
+
+    /**
+     * The hedged segment fetches among {@link #hosts}.
+     */
+    private Hedge hedge = new Hedge();
+
+    /**
+     * The connect and response timeout of a segment fetch over HTTP by the async segment client.
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /**
+     * The binary segment protocol.
+     */
+    private Binary binary = new Binary();
+
+    /**
+     * The segment pool of the proxy server.
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * The gRPC services of the proxy server.
+     */
+    private Grpc grpc = new Grpc();
+
     /**
      * Gets the proxy server host URL.
      *
@@ -56,4 +105,334 @@ public class ProxyProperties {
         return this;
     }
 
+    /**
+     * Gets the proxy server host URLs segments are fetched from.
+     *
+     * @return the proxy server URLs
+     */
+    public List<String> getHosts() {
+        return hosts;
+    }
+
+    /**
+     * Sets the proxy server host URLs segments are fetched from.
+     *
+     * @param hosts the proxy server URLs
+     * @return this properties instance for method chaining
+     */
+    public ProxyProperties setHosts(List<String> hosts) {
+        this.hosts = hosts;
+        return this;
+    }
+
+    /**
+     * Gets the timeout of a segment fetch by the async segment client.
+     *
+     * @return the timeout of a segment fetch
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the timeout of a segment fetch by the async segment client.
+     *
+     * @param timeout the timeout of a segment fetch
+     * @return this properties instance for method chaining
+     */
+    public ProxyProperties setTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Gets the hedged segment fetch properties.
+     *
+     * @return the hedged segment fetch properties
+     */
+    public Hedge getHedge() {
+        return hedge;
+    }
+
+    /**
+     * Sets the hedged segment fetch properties.
+     *
+     * @param hedge the hedged segment fetch properties
+     * @return this properties instance for method chaining
+     */
+    public ProxyProperties setHedge(Hedge hedge) {
+        this.hedge = hedge;
+        return this;
+    }
+
+    /**
+     * Gets the binary segment protocol properties.
+     *
+     * @return the binary segment protocol properties
+     */
+    public Binary getBinary() {
+        return binary;
+    }
+
+    /**
+     * Sets the binary segment protocol properties.
+     *
+     * @param binary the binary segment protocol properties
+     * @return this properties instance for method chaining
+     */
+    public ProxyProperties setBinary(Binary binary) {
+        this.binary = binary;
+        return this;
+    }
+
+    /**
+     * Gets the segment pool properties.
+     *
+     * @return the segment pool properties
+     */
+    public Pool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets the segment pool properties.
+     *
+     * @param pool the segment pool properties
+     * @return this properties instance for method chaining
+     */
+    public ProxyProperties setPool(Pool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Gets the gRPC properties.
+     *
+     * @return the gRPC properties
+     */
+    public Grpc getGrpc() {
+        return grpc;
+    }
+
+    /**
+     * Sets the gRPC properties.
+     *
+     * @param grpc the gRPC properties
+     * @return this properties instance for method chaining
+     */
+    public ProxyProperties setGrpc(Grpc grpc) {
+        this.grpc = grpc;
+        return this;
+    }
+
+    /**
+     * The binary segment protocol, length-prefixed frames multiplexed on one persistent TCP connection.
+     *
+     * <p>On the client it replaces the JSON HTTP exchange of each segment fetch, the host is taken from
+     * {@link ProxyProperties#getHost()}. On the proxy server it starts the listener.
+     */
+    public static class Binary {
+        public static final String PREFIX = CosId.COSID_PREFIX + "proxy.binary";
+        public static final String ENABLED_KEY = PREFIX + EnabledSuffix.KEY;
+
+        /**
+         * Whether the binary segment protocol is enabled.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The port of the binary segment protocol.
+         */
+        private int port = 8689;
+
+        /**
+         * The number of proxy server threads allocating from the backing distributor.
+         */
+        private int workerThreads = 32;
+
+        /**
+         * The number of requests waiting for a proxy server worker thread, beyond which requests are answered with an error frame.
+         */
+        private int queueCapacity = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public Binary setEnabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public Binary setPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public int getWorkerThreads() {
+            return workerThreads;
+        }
+
+        public Binary setWorkerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public Binary setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+    }
+
+    /**
+     * The segment pool of the proxy server, only read by the proxy server.
+     *
+     * <p>The proxy server fetches super-segments of {@code superStep} IDs from the backing distributor
+     * and carves the segments requested by the clients out of them in memory.
+     */
+    public static class Pool {
+        public static final String PREFIX = CosId.COSID_PREFIX + "proxy.pool";
+        public static final String ENABLED_KEY = PREFIX + EnabledSuffix.KEY;
+
+        /**
+         * Whether the segment pool is enabled.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The number of IDs fetched from the backing distributor at once.
+         */
+        private long superStep = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public Pool setEnabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public long getSuperStep() {
+            return superStep;
+        }
+
+        public Pool setSuperStep(long superStep) {
+            this.superStep = superStep;
+            return this;
+        }
+    }
+
+    /**
+     * The gRPC services of the proxy server, only read by the proxy server.
+     *
+     * <p>Serves ID generation, segment allocation and machine distribution, see {@code cosid_proxy.proto}
+     * of {@code cosid-proxy-grpc}.
+     */
+    public static class Grpc {
+        public static final String PREFIX = CosId.COSID_PREFIX + "proxy.grpc";
+        public static final String ENABLED_KEY = PREFIX + EnabledSuffix.KEY;
+
+        /**
+         * Whether the gRPC services are enabled.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The port of the gRPC services.
+         */
+        private int port = 8690;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public Grpc setEnabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public Grpc setPort(int port) {
+            this.port = port;
+            return this;
+        }
+    }
+
+    /**
+     * The hedged segment fetches among {@link ProxyProperties#getHosts()}, only read by the clients.
+     *
+     * <p>A fetch not answered within the hedge delay, the 99th percentile of the recent latencies, is sent to another
+     * host as well. A host failing {@code failureThreshold} times in a row is skipped for {@code openDuration}.
+     */
+    public static class Hedge {
+        public static final String PREFIX = CosId.COSID_PREFIX + "proxy.hedge";
+
+        /**
+         * The hedge delay until enough latencies are recorded.
+         */
+        private Duration initialDelay = Duration.ofMillis(100);
+
+        /**
+         * The lower bound of the hedge delay.
+         */
+        private Duration minDelay = Duration.ofMillis(5);
+
+        /**
+         * The number of consecutive failures that opens the circuit of a host.
+         */
+        private int failureThreshold = 3;
+
+        /**
+         * How long a host with an open circuit is skipped.
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public Hedge setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public Hedge setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public Hedge setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public Hedge setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+    }
 }
@@ -27,6 +27,7 @@ import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
 import me.ahoo.cosid.spring.boot.starter.CosIdProperties;
 import me.ahoo.cosid.spring.boot.starter.Namespaces;
 import me.ahoo.cosid.spring.boot.starter.machine.MachineProperties;
+import me.ahoo.cosid.util.Clock;
 
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -121,21 +122,23 @@ public class CosIdGeneratorAutoConfiguration {
      */
     @Nonnull
     private CosIdGenerator createCosIdGenerator(int machineId) {
+        Clock clock = cosIdGeneratorProperties.getClock().asClock();
         switch (cosIdGeneratorProperties.getType()) {
             case RADIX62 -> {
                 return new Radix62CosIdGenerator(cosIdGeneratorProperties.getTimestampBit(),
                     cosIdGeneratorProperties.getMachineBit(), cosIdGeneratorProperties.getSequenceBit(), machineId,
-                    cosIdGeneratorProperties.getSequenceResetThreshold());
+                    cosIdGeneratorProperties.getSequenceResetThreshold(), clock);
             }
             case RADIX36 -> {
                 return new Radix36CosIdGenerator(cosIdGeneratorProperties.getTimestampBit(),
                     cosIdGeneratorProperties.getMachineBit(), cosIdGeneratorProperties.getSequenceBit(), machineId,
-                    cosIdGeneratorProperties.getSequenceResetThreshold());
+                    cosIdGeneratorProperties.getSequenceResetThreshold(), clock);
             }
             case FRIENDLY -> {
                 return new FriendlyCosIdGenerator(cosIdGeneratorProperties.getTimestampBit(),
                     cosIdGeneratorProperties.getMachineBit(), cosIdGeneratorProperties.getSequenceBit(), machineId,
-                    cosIdGeneratorProperties.getSequenceResetThreshold(), cosIdGeneratorProperties.getZoneId(), cosIdGeneratorProperties.isPadStart());
+                    cosIdGeneratorProperties.getSequenceResetThreshold(), cosIdGeneratorProperties.getZoneId(), cosIdGeneratorProperties.isPadStart(),
+                    clock);
             }
             default -> throw new IllegalStateException("Unexpected value: " + cosIdGeneratorProperties.getType());
         }
@@ -17,6 +17,7 @@ import static me.ahoo.cosid.cosid.RadixCosIdGenerator.DEFAULT_MACHINE_BIT;
 
 import me.ahoo.cosid.CosId;
 import me.ahoo.cosid.cosid.RadixCosIdGenerator;
+import me.ahoo.cosid.spring.boot.starter.ClockType;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -115,6 +116,12 @@ public class CosIdGeneratorProperties {
      */
     private boolean padStart = true;
 
+    /**
+     * The time source of the generator.
+     * Default is {@link ClockType#SYSTEM}.
+     */
+    private ClockType clock = ClockType.SYSTEM;
+
     /**
      * Checks if CosId generator auto-configuration is enabled.
      *
@@ -277,6 +284,24 @@ public class CosIdGeneratorProperties {
         this.type = type;
     }
 
+    /**
+     * Gets the time source of the generator.
+     *
+     * @return the clock type
+     */
+    public ClockType getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the time source of the generator.
+     *
+     * @param clock the clock type to set
+     */
+    public void setClock(ClockType clock) {
+        this.clock = clock;
+    }
+
     /**
      * Enumeration of supported CosId generator types.
      */
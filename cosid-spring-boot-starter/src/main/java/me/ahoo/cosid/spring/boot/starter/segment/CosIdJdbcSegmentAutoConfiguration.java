@@ -13,8 +13,13 @@
 
 package me.ahoo.cosid.spring.boot.starter.segment;
 
+import me.ahoo.cosid.jdbc.GenericJdbcIdSegmentDialect;
+import me.ahoo.cosid.jdbc.JdbcIdSegmentDialect;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentDistributorFactory;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentInitializer;
+import me.ahoo.cosid.jdbc.MySqlJdbcIdSegmentDialect;
+import me.ahoo.cosid.jdbc.PinnedConnectionDataSource;
+import me.ahoo.cosid.jdbc.PostgreSqlJdbcIdSegmentDialect;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
 
@@ -61,7 +66,23 @@ public class CosIdJdbcSegmentAutoConfiguration {
     @ConditionalOnMissingBean
     public IdSegmentDistributorFactory idSegmentDistributorFactory(DataSource dataSource, JdbcIdSegmentInitializer jdbcIdSegmentInitializer) {
         SegmentIdProperties.Distributor.Jdbc jdbc = segmentIdProperties.getDistributor().getJdbc();
-        return new JdbcIdSegmentDistributorFactory(dataSource, jdbc.isEnableAutoInitIdSegment(), jdbcIdSegmentInitializer, jdbc.getIncrementMaxIdSql(), jdbc.getFetchMaxIdSql());
+        return new JdbcIdSegmentDistributorFactory(asDataSource(dataSource, jdbc.getPinnedConnection()), jdbc.isEnableAutoInitIdSegment(), jdbcIdSegmentInitializer, asDialect(jdbc));
+    }
+
+    static DataSource asDataSource(DataSource dataSource, SegmentIdProperties.Distributor.Jdbc.PinnedConnection pinnedConnection) {
+        if (!pinnedConnection.isEnabled()) {
+            return dataSource;
+        }
+        return new PinnedConnectionDataSource(dataSource, pinnedConnection.getInitialBackoff(), pinnedConnection.getMaxBackoff(),
+            pinnedConnection.getAcquireTimeout(), pinnedConnection.getValidationInterval());
+    }
+
+    private static JdbcIdSegmentDialect asDialect(SegmentIdProperties.Distributor.Jdbc jdbc) {
+        return switch (jdbc.getDialect()) {
+            case GENERIC -> new GenericJdbcIdSegmentDialect(jdbc.getIncrementMaxIdSql(), jdbc.getFetchMaxIdSql());
+            case MYSQL -> MySqlJdbcIdSegmentDialect.INSTANCE;
+            case POSTGRESQL -> PostgreSqlJdbcIdSegmentDialect.INSTANCE;
+        };
     }
 
 }
@@ -14,16 +14,32 @@
 package me.ahoo.cosid.spring.boot.starter.segment;
 
 import me.ahoo.coapi.spring.EnableCoApi;
+import me.ahoo.cosid.proxy.AsyncSegmentClient;
+import me.ahoo.cosid.proxy.BinarySegmentClient;
+import me.ahoo.cosid.proxy.HedgedSegmentClient;
+import me.ahoo.cosid.proxy.HttpAsyncSegmentClient;
 import me.ahoo.cosid.proxy.ProxyIdSegmentDistributorFactory;
 import me.ahoo.cosid.proxy.api.SegmentClient;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
+import me.ahoo.cosid.spring.boot.starter.CosIdProperties;
+import me.ahoo.cosid.spring.boot.starter.ProxyProperties;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.net.URI;
+import java.util.List;
 
 /**
  * CosId Jdbc Segment AutoConfiguration.
@@ -33,15 +49,57 @@ import org.springframework.context.annotation.Bean;
 @AutoConfiguration
 @ConditionalOnCosIdEnabled
 @ConditionalOnCosIdSegmentEnabled
-@EnableConfigurationProperties(SegmentIdProperties.class)
+@EnableConfigurationProperties({CosIdProperties.class, SegmentIdProperties.class})
 @ConditionalOnProperty(value = SegmentIdProperties.Distributor.TYPE, havingValue = "proxy")
 @EnableCoApi(clients = SegmentClient.class)
 public class CosIdProxySegmentAutoConfiguration {
 
+    /**
+     * The async segment client, only when the binary protocol or several proxy hosts need it. Otherwise segments are
+     * fetched by the {@link SegmentClient}, unless an {@link AsyncSegmentClient} bean is defined.
+     */
     @Bean
     @ConditionalOnMissingBean
-    public IdSegmentDistributorFactory idSegmentDistributorFactory(SegmentClient segmentClient) {
-        return new ProxyIdSegmentDistributorFactory(segmentClient);
+    @Conditional(OnAsyncSegmentClientCondition.class)
+    public AsyncSegmentClient asyncSegmentClient(CosIdProperties cosIdProperties) {
+        ProxyProperties proxy = cosIdProperties.getProxy();
+        if (proxy.getHosts().isEmpty()) {
+            return createAsyncSegmentClient(proxy, proxy.getHost());
+        }
+        List<AsyncSegmentClient> clients = proxy.getHosts().stream()
+            .map(host -> createAsyncSegmentClient(proxy, host))
+            .toList();
+        ProxyProperties.Hedge hedge = proxy.getHedge();
+        return new HedgedSegmentClient(clients, hedge.getInitialDelay(), hedge.getMinDelay(), hedge.getFailureThreshold(), hedge.getOpenDuration());
+    }
+
+    private static AsyncSegmentClient createAsyncSegmentClient(ProxyProperties proxy, String host) {
+        if (proxy.getBinary().isEnabled()) {
+            return new BinarySegmentClient(URI.create(host).getHost(), proxy.getBinary().getPort(), BinarySegmentClient.DEFAULT_CONNECT_TIMEOUT, proxy.getTimeout());
+        }
+        return new HttpAsyncSegmentClient(host, proxy.getTimeout());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdSegmentDistributorFactory idSegmentDistributorFactory(SegmentClient segmentClient, ObjectProvider<AsyncSegmentClient> asyncSegmentClient) {
+        return new ProxyIdSegmentDistributorFactory(segmentClient, asyncSegmentClient.getIfAvailable());
+    }
+
+    static class OnAsyncSegmentClientCondition extends SpringBootCondition {
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            ProxyProperties proxy = Binder.get(context.getEnvironment())
+                .bind(ProxyProperties.PREFIX, ProxyProperties.class)
+                .orElseGet(ProxyProperties::new);
+            if (proxy.getBinary().isEnabled()) {
+                return ConditionOutcome.match("The binary segment protocol is enabled.");
+            }
+            if (!proxy.getHosts().isEmpty()) {
+                return ConditionOutcome.match("Several proxy hosts are set.");
+            }
+            return ConditionOutcome.noMatch("Segments are fetched by the SegmentClient.");
+        }
     }
 
 }
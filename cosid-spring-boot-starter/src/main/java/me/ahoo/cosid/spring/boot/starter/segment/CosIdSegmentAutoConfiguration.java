@@ -16,6 +16,7 @@ package me.ahoo.cosid.spring.boot.starter.segment;
 import me.ahoo.cosid.provider.IdGeneratorProvider;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
+import me.ahoo.cosid.segment.concurrent.VirtualThreadPrefetchWorkerExecutorService;
 import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
 import me.ahoo.cosid.spring.boot.starter.CosIdProperties;
 
@@ -51,6 +52,9 @@ public class CosIdSegmentAutoConfiguration {
     public PrefetchWorkerExecutorService prefetchWorkerExecutorService() {
         SegmentIdProperties.Chain.PrefetchWorker prefetchWorker = segmentIdProperties.getChain().getPrefetchWorker();
         Preconditions.checkNotNull(prefetchWorker, "cosid.segment.chain.prefetch-worker can not be null!");
+        if (prefetchWorker.isVirtualThread()) {
+            return new VirtualThreadPrefetchWorkerExecutorService(prefetchWorker.getPrefetchPeriod(), prefetchWorker.isShutdownHook());
+        }
         return new PrefetchWorkerExecutorService(prefetchWorker.getPrefetchPeriod(), prefetchWorker.getCorePoolSize(), prefetchWorker.isShutdownHook());
     }
     
@@ -15,15 +15,18 @@ package me.ahoo.cosid.spring.boot.starter.segment;
 
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import me.ahoo.cosid.spring.boot.starter.ConditionalOnCosIdEnabled;
+import me.ahoo.cosid.spring.redis.SpringReactiveRedisIdSegmentDistributorFactory;
 import me.ahoo.cosid.spring.redis.SpringRedisIdSegmentDistributor;
 import me.ahoo.cosid.spring.redis.SpringRedisIdSegmentDistributorFactory;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
@@ -41,7 +44,12 @@ public class CosIdSpringRedisSegmentAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public IdSegmentDistributorFactory idSegmentDistributorFactory(StringRedisTemplate stringRedisTemplate) {
+    public IdSegmentDistributorFactory idSegmentDistributorFactory(StringRedisTemplate stringRedisTemplate,
+                                                                   ObjectProvider<ReactiveStringRedisTemplate> reactiveStringRedisTemplate) {
+        ReactiveStringRedisTemplate reactiveRedisTemplate = reactiveStringRedisTemplate.getIfAvailable();
+        if (reactiveRedisTemplate != null) {
+            return new SpringReactiveRedisIdSegmentDistributorFactory(stringRedisTemplate, reactiveRedisTemplate);
+        }
         return new SpringRedisIdSegmentDistributorFactory(stringRedisTemplate);
     }
 }
@@ -14,10 +14,14 @@
 package me.ahoo.cosid.spring.boot.starter.segment;
 
 import me.ahoo.cosid.provider.IdGeneratorProvider;
+import me.ahoo.cosid.segment.AdaptiveStep;
 import me.ahoo.cosid.segment.DefaultSegmentId;
+import me.ahoo.cosid.segment.DoublingPrefetchPolicy;
+import me.ahoo.cosid.segment.EwmaPrefetchPolicy;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.segment.PrefetchPolicy;
 import me.ahoo.cosid.segment.SegmentChainId;
 import me.ahoo.cosid.segment.SegmentId;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
@@ -115,6 +119,23 @@ public class SegmentIdBeanRegistrar implements InitializingBean {
         return new IdSegmentDistributorDefinition(namespace, name, idDefinition.getOffset(), idDefinition.getStep());
     }
 
+    @Nullable
+    private static AdaptiveStep asAdaptiveStep(SegmentIdProperties.Chain.AdaptiveStep adaptiveStep, long step) {
+        if (!adaptiveStep.isEnabled()) {
+            return null;
+        }
+        long minStep = MoreObjects.firstNonNull(adaptiveStep.getMinStep(), step);
+        long maxStep = MoreObjects.firstNonNull(adaptiveStep.getMaxStep(), Math.multiplyExact(minStep, AdaptiveStep.DEFAULT_MAX_STEP_MULTIPLE));
+        return new AdaptiveStep(minStep, maxStep, adaptiveStep.getRefillInterval());
+    }
+
+    private static PrefetchPolicy asPrefetchPolicy(SegmentIdProperties.Chain chain) {
+        return switch (chain.getPrefetchPolicy()) {
+            case EWMA -> new EwmaPrefetchPolicy(chain.getSafeDistance());
+            case DOUBLING -> new DoublingPrefetchPolicy(chain.getSafeDistance());
+        };
+    }
+
     private static SegmentId createSegment(SegmentIdProperties segmentIdProperties, SegmentIdProperties.IdDefinition idDefinition, IdSegmentDistributor idSegmentDistributor,
                                            PrefetchWorkerExecutorService prefetchWorkerExecutorService) {
         long ttl = MoreObjects.firstNonNull(idDefinition.getTtl(), segmentIdProperties.getTtl());
@@ -125,7 +146,16 @@ public class SegmentIdBeanRegistrar implements InitializingBean {
             segmentId = new DefaultSegmentId(ttl, idSegmentDistributor);
         } else {
             SegmentIdProperties.Chain chain = MoreObjects.firstNonNull(idDefinition.getChain(), segmentIdProperties.getChain());
-            segmentId = new SegmentChainId(ttl, chain.getSafeDistance(), idSegmentDistributor, prefetchWorkerExecutorService);
+            segmentId = SegmentChainId.builder()
+                .idSegmentTtl(ttl)
+                .safeDistance(chain.getSafeDistance())
+                .maxIdDistributor(idSegmentDistributor)
+                .prefetchWorkerExecutorService(prefetchWorkerExecutorService)
+                .leaseSize(chain.getLeaseSize())
+                .prefetchWatermark(chain.getPrefetchWatermark())
+                .adaptiveStep(asAdaptiveStep(chain.getAdaptiveStep(), idDefinition.getStep()))
+                .prefetchPolicy(asPrefetchPolicy(chain))
+                .build();
         }
 
         IdConverterDefinition converterDefinition = idDefinition.getConverter();
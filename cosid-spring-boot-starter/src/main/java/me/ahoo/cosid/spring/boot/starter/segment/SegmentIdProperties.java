@@ -18,6 +18,9 @@ import static me.ahoo.cosid.segment.IdSegment.TIME_TO_LIVE_FOREVER;
 import me.ahoo.cosid.CosId;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentDistributor;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentInitializer;
+import me.ahoo.cosid.jdbc.JdbcSequenceDialect;
+import me.ahoo.cosid.jdbc.JdbcSequenceInitializer;
+import me.ahoo.cosid.jdbc.PinnedConnectionDataSource;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.SegmentChainId;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
@@ -281,6 +284,29 @@ public class SegmentIdProperties {
          */
         private int safeDistance = SegmentChainId.DEFAULT_SAFE_DISTANCE;
 
+        /**
+         * The number of IDs each thread leases from the head segment at a time.
+         * Default is {@link SegmentChainId#DEFAULT_LEASE_SIZE}, which disables leasing.
+         */
+        private int leaseSize = SegmentChainId.DEFAULT_LEASE_SIZE;
+
+        /**
+         * The consumed ratio of the head segment that triggers prefetching.
+         * Default is {@link SegmentChainId#DEFAULT_PREFETCH_WATERMARK}, which disables the trigger.
+         */
+        private double prefetchWatermark = SegmentChainId.DEFAULT_PREFETCH_WATERMARK;
+
+        /**
+         * Configuration for sizing the step by the observed consumption rate.
+         */
+        private AdaptiveStep adaptiveStep;
+
+        /**
+         * The policy deciding how many segments to keep prefetched.
+         * Default is {@link PrefetchPolicyType#EWMA}.
+         */
+        private PrefetchPolicyType prefetchPolicy = PrefetchPolicyType.EWMA;
+
         /**
          * Configuration for the prefetch worker.
          */
@@ -291,6 +317,7 @@ public class SegmentIdProperties {
          */
         public Chain() {
             prefetchWorker = new PrefetchWorker();
+            adaptiveStep = new AdaptiveStep();
         }
 
         /**
@@ -311,6 +338,96 @@ public class SegmentIdProperties {
             this.safeDistance = safeDistance;
         }
 
+        /**
+         * Gets the number of IDs each thread leases from the head segment.
+         *
+         * @return the lease size
+         */
+        public int getLeaseSize() {
+            return leaseSize;
+        }
+
+        /**
+         * Sets the number of IDs each thread leases from the head segment.
+         *
+         * @param leaseSize the lease size to set
+         */
+        public void setLeaseSize(int leaseSize) {
+            this.leaseSize = leaseSize;
+        }
+
+        /**
+         * Gets the consumed ratio of the head segment that triggers prefetching.
+         *
+         * @return the prefetch watermark
+         */
+        public double getPrefetchWatermark() {
+            return prefetchWatermark;
+        }
+
+        /**
+         * Sets the consumed ratio of the head segment that triggers prefetching.
+         *
+         * @param prefetchWatermark the prefetch watermark to set
+         */
+        public void setPrefetchWatermark(double prefetchWatermark) {
+            this.prefetchWatermark = prefetchWatermark;
+        }
+
+        /**
+         * Gets the adaptive step configuration.
+         *
+         * @return the adaptive step configuration
+         */
+        public AdaptiveStep getAdaptiveStep() {
+            return adaptiveStep;
+        }
+
+        /**
+         * Sets the adaptive step configuration.
+         *
+         * @param adaptiveStep the adaptive step configuration to set
+         */
+        public void setAdaptiveStep(AdaptiveStep adaptiveStep) {
+            this.adaptiveStep = adaptiveStep;
+        }
+
+        /**
+         * Gets the prefetch policy.
+         *
+         * @return the prefetch policy
+         */
+        public PrefetchPolicyType getPrefetchPolicy() {
+            return prefetchPolicy;
+        }
+
+        /**
+         * Sets the prefetch policy.
+         *
+         * @param prefetchPolicy the prefetch policy to set
+         */
+        public void setPrefetchPolicy(PrefetchPolicyType prefetchPolicy) {
+            this.prefetchPolicy = prefetchPolicy;
+        }
+
+        /**
+         * Policies deciding how many segments to keep prefetched.
+         */
+        public enum PrefetchPolicyType {
+            /**
+             * Track an exponentially weighted consumption rate and allocation latency.
+             *
+             * @see me.ahoo.cosid.segment.EwmaPrefetchPolicy
+             */
+            EWMA,
+            /**
+             * Double the prefetch distance on hunger and halve it otherwise.
+             *
+             * @see me.ahoo.cosid.segment.DoublingPrefetchPolicy
+             */
+            DOUBLING
+        }
+
         /**
          * Gets the prefetch worker configuration.
          *
@@ -352,6 +469,12 @@ public class SegmentIdProperties {
              */
             private boolean shutdownHook = true;
 
+            /**
+             * Whether to run each prefetch job on its own virtual thread instead of a shared pool of platform threads.
+             * Default is false.
+             */
+            private boolean virtualThread = false;
+
             /**
              * Gets the prefetch period.
              *
@@ -405,6 +528,125 @@ public class SegmentIdProperties {
             public void setShutdownHook(boolean shutdownHook) {
                 this.shutdownHook = shutdownHook;
             }
+
+            /**
+             * Checks if each prefetch job runs on its own virtual thread.
+             *
+             * @return true if virtual thread workers are enabled, false otherwise
+             */
+            public boolean isVirtualThread() {
+                return virtualThread;
+            }
+
+            /**
+             * Sets whether to run each prefetch job on its own virtual thread.
+             *
+             * @param virtualThread true to enable virtual thread workers, false to use the shared worker pool
+             */
+            public void setVirtualThread(boolean virtualThread) {
+                this.virtualThread = virtualThread;
+            }
+        }
+
+        /**
+         * Configuration for sizing the step of each segment by the observed consumption rate.
+         */
+        public static class AdaptiveStep {
+            /**
+             * Whether to size the step adaptively.
+             * Default is false.
+             */
+            private boolean enabled = false;
+
+            /**
+             * The lower bound of the step.
+             * Default is the step of the ID definition.
+             */
+            private Long minStep;
+
+            /**
+             * The upper bound of the step.
+             * Default is {@link me.ahoo.cosid.segment.AdaptiveStep#DEFAULT_MAX_STEP_MULTIPLE} times of the step of the ID definition.
+             */
+            private Long maxStep;
+
+            /**
+             * The duration of demand one segment should cover.
+             * Default is {@link me.ahoo.cosid.segment.AdaptiveStep#DEFAULT_REFILL_INTERVAL}.
+             */
+            private Duration refillInterval = me.ahoo.cosid.segment.AdaptiveStep.DEFAULT_REFILL_INTERVAL;
+
+            /**
+             * Checks if adaptive step sizing is enabled.
+             *
+             * @return true if adaptive step sizing is enabled, false otherwise
+             */
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * Sets whether to size the step adaptively.
+             *
+             * @param enabled true to enable adaptive step sizing, false to disable
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * Gets the lower bound of the step.
+             *
+             * @return the min step, or null to use the step of the ID definition
+             */
+            public Long getMinStep() {
+                return minStep;
+            }
+
+            /**
+             * Sets the lower bound of the step.
+             *
+             * @param minStep the min step to set
+             */
+            public void setMinStep(Long minStep) {
+                this.minStep = minStep;
+            }
+
+            /**
+             * Gets the upper bound of the step.
+             *
+             * @return the max step, or null to use a multiple of the step of the ID definition
+             */
+            public Long getMaxStep() {
+                return maxStep;
+            }
+
+            /**
+             * Sets the upper bound of the step.
+             *
+             * @param maxStep the max step to set
+             */
+            public void setMaxStep(Long maxStep) {
+                this.maxStep = maxStep;
+            }
+
+            /**
+             * Gets the duration of demand one segment should cover.
+             *
+             * @return the refill interval
+             */
+            public Duration getRefillInterval() {
+                return refillInterval;
+            }
+
+            /**
+             * Sets the duration of demand one segment should cover.
+             *
+             * @param refillInterval the refill interval to set
+             */
+            public void setRefillInterval(Duration refillInterval) {
+                this.refillInterval = refillInterval;
+            }
         }
     }
 
@@ -413,11 +655,13 @@ public class SegmentIdProperties {
         private Type type = Type.REDIS;
         private Redis redis;
         private Jdbc jdbc;
+        private JdbcSequence jdbcSequence;
         private Mongo mongo;
 
         public Distributor() {
             this.redis = new Redis();
             this.jdbc = new Jdbc();
+            this.jdbcSequence = new JdbcSequence();
             this.mongo = new Mongo();
         }
 
@@ -445,6 +689,14 @@ public class SegmentIdProperties {
             this.jdbc = jdbc;
         }
 
+        public JdbcSequence getJdbcSequence() {
+            return jdbcSequence;
+        }
+
+        public void setJdbcSequence(JdbcSequence jdbcSequence) {
+            this.jdbcSequence = jdbcSequence;
+        }
+
         public Mongo getMongo() {
             return mongo;
         }
@@ -468,12 +720,27 @@ public class SegmentIdProperties {
 
         public static class Jdbc {
 
+            /**
+             * The SQL dialect used to allocate segments.
+             * {@link #incrementMaxIdSql} and {@link #fetchMaxIdSql} only apply to {@link Dialect#GENERIC}.
+             */
+            private Dialect dialect = Dialect.GENERIC;
             private String incrementMaxIdSql = JdbcIdSegmentDistributor.INCREMENT_MAX_ID_SQL;
             private String fetchMaxIdSql = JdbcIdSegmentDistributor.FETCH_MAX_ID_SQL;
             private boolean enableAutoInitCosidTable = false;
             private String initCosidTableSql = JdbcIdSegmentInitializer.INIT_COSID_TABLE_SQL;
             private boolean enableAutoInitIdSegment = true;
             private String initIdSegmentSql = JdbcIdSegmentInitializer.INIT_ID_SEGMENT_SQL;
+            @NestedConfigurationProperty
+            private PinnedConnection pinnedConnection = new PinnedConnection();
+
+            public Dialect getDialect() {
+                return dialect;
+            }
+
+            public void setDialect(Dialect dialect) {
+                this.dialect = dialect;
+            }
 
             public String getIncrementMaxIdSql() {
                 return incrementMaxIdSql;
@@ -523,6 +790,133 @@ public class SegmentIdProperties {
                 this.initIdSegmentSql = initIdSegmentSql;
             }
 
+            public PinnedConnection getPinnedConnection() {
+                return pinnedConnection;
+            }
+
+            public void setPinnedConnection(PinnedConnection pinnedConnection) {
+                this.pinnedConnection = pinnedConnection;
+            }
+
+            /**
+             * Allocate segments on one dedicated connection with cached prepared statements.
+             *
+             * @see me.ahoo.cosid.jdbc.PinnedConnectionDataSource
+             */
+            public static class PinnedConnection {
+                private boolean enabled = false;
+                private Duration initialBackoff = PinnedConnectionDataSource.DEFAULT_INITIAL_BACKOFF;
+                private Duration maxBackoff = PinnedConnectionDataSource.DEFAULT_MAX_BACKOFF;
+                private Duration acquireTimeout = PinnedConnectionDataSource.DEFAULT_ACQUIRE_TIMEOUT;
+                private Duration validationInterval = PinnedConnectionDataSource.DEFAULT_VALIDATION_INTERVAL;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public Duration getInitialBackoff() {
+                    return initialBackoff;
+                }
+
+                public void setInitialBackoff(Duration initialBackoff) {
+                    this.initialBackoff = initialBackoff;
+                }
+
+                public Duration getMaxBackoff() {
+                    return maxBackoff;
+                }
+
+                public void setMaxBackoff(Duration maxBackoff) {
+                    this.maxBackoff = maxBackoff;
+                }
+
+                public Duration getAcquireTimeout() {
+                    return acquireTimeout;
+                }
+
+                public void setAcquireTimeout(Duration acquireTimeout) {
+                    this.acquireTimeout = acquireTimeout;
+                }
+
+                public Duration getValidationInterval() {
+                    return validationInterval;
+                }
+
+                public void setValidationInterval(Duration validationInterval) {
+                    this.validationInterval = validationInterval;
+                }
+            }
+
+            public enum Dialect {
+                /**
+                 * Increment and then fetch the max ID in one transaction, works on any database.
+                 *
+                 * @see me.ahoo.cosid.jdbc.GenericJdbcIdSegmentDialect
+                 */
+                GENERIC,
+                /**
+                 * Increment with {@code LAST_INSERT_ID(expr)} and read it back from the same update.
+                 *
+                 * @see me.ahoo.cosid.jdbc.MySqlJdbcIdSegmentDialect
+                 */
+                MYSQL,
+                /**
+                 * Increment with {@code UPDATE ... RETURNING}.
+                 *
+                 * @see me.ahoo.cosid.jdbc.PostgreSqlJdbcIdSegmentDialect
+                 */
+                POSTGRESQL
+            }
+
+        }
+
+        /**
+         * Allocate segments from native database sequences instead of the {@code cosid} table.
+         *
+         * @see me.ahoo.cosid.jdbc.JdbcSequenceIdSegmentDistributor
+         */
+        public static class JdbcSequence {
+            private JdbcSequenceDialect dialect = JdbcSequenceDialect.POSTGRESQL;
+            private boolean enableAutoInitSequence = true;
+            private int cache = JdbcSequenceInitializer.DEFAULT_CACHE;
+            @NestedConfigurationProperty
+            private Jdbc.PinnedConnection pinnedConnection = new Jdbc.PinnedConnection();
+
+            public JdbcSequenceDialect getDialect() {
+                return dialect;
+            }
+
+            public void setDialect(JdbcSequenceDialect dialect) {
+                this.dialect = dialect;
+            }
+
+            public boolean isEnableAutoInitSequence() {
+                return enableAutoInitSequence;
+            }
+
+            public void setEnableAutoInitSequence(boolean enableAutoInitSequence) {
+                this.enableAutoInitSequence = enableAutoInitSequence;
+            }
+
+            public int getCache() {
+                return cache;
+            }
+
+            public void setCache(int cache) {
+                this.cache = cache;
+            }
+
+            public Jdbc.PinnedConnection getPinnedConnection() {
+                return pinnedConnection;
+            }
+
+            public void setPinnedConnection(Jdbc.PinnedConnection pinnedConnection) {
+                this.pinnedConnection = pinnedConnection;
+            }
         }
 
         public static class Mongo {
@@ -540,6 +934,7 @@ public class SegmentIdProperties {
         public enum Type {
             REDIS,
             JDBC,
+            JDBC_SEQUENCE,
             MONGO,
             ZOOKEEPER,
             PROXY
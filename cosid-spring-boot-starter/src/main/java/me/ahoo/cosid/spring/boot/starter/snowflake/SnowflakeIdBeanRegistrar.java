@@ -18,13 +18,16 @@ import me.ahoo.cosid.machine.GuardDistribute;
 import me.ahoo.cosid.machine.InstanceId;
 import me.ahoo.cosid.provider.IdGeneratorProvider;
 import me.ahoo.cosid.snowflake.ClockSyncSnowflakeId;
+import me.ahoo.cosid.snowflake.LockFreeSnowflakeId;
 import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
 import me.ahoo.cosid.snowflake.SecondSnowflakeId;
 import me.ahoo.cosid.snowflake.SnowflakeId;
+import me.ahoo.cosid.snowflake.StripedSnowflakeId;
 import me.ahoo.cosid.spring.boot.starter.CosIdProperties;
 import me.ahoo.cosid.spring.boot.starter.IdConverterDefinition;
 import me.ahoo.cosid.spring.boot.starter.Namespaces;
 import me.ahoo.cosid.spring.boot.starter.machine.MachineProperties;
+import me.ahoo.cosid.util.Clock;
 
 import com.google.common.base.MoreObjects;
 import org.jspecify.annotations.Nullable;
@@ -32,6 +35,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
 
 public class SnowflakeIdBeanRegistrar implements InitializingBean {
     private final CosIdProperties cosIdProperties;
@@ -102,12 +106,23 @@ public class SnowflakeIdBeanRegistrar implements InitializingBean {
         String namespace = Namespaces.firstNotBlank(idDefinition.getNamespace(), cosIdProperties.getNamespace());
         int machineId = guardDistribute.distribute(namespace, machineBit, instanceId, machineProperties.getSafeGuardDuration()).getMachineId();
         
+        Clock clock = idDefinition.getClock().asClock();
+        long maxBorrowTime = idDefinition.getMaxBorrowTime();
+        TimeUnit timestampUnit = SnowflakeIdProperties.IdDefinition.TimestampUnit.SECOND.equals(idDefinition.getTimestampUnit()) ? TimeUnit.SECONDS : TimeUnit.MILLISECONDS;
         SnowflakeId snowflakeId;
-        if (SnowflakeIdProperties.IdDefinition.TimestampUnit.SECOND.equals(idDefinition.getTimestampUnit())) {
-            snowflakeId = new SecondSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId, idDefinition.getSequenceResetThreshold());
+        if (idDefinition.getStripes() > 1) {
+            snowflakeId = new StripedSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId, idDefinition.getSequenceResetThreshold(),
+                timestampUnit, idDefinition.getStripes(), clock, maxBorrowTime);
+        } else if (idDefinition.isLockFree()) {
+            snowflakeId = new LockFreeSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId, idDefinition.getSequenceResetThreshold(),
+                timestampUnit, clock, maxBorrowTime);
+        } else if (TimeUnit.SECONDS.equals(timestampUnit)) {
+            snowflakeId = new SecondSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId, idDefinition.getSequenceResetThreshold(), clock,
+                maxBorrowTime);
         } else {
             snowflakeId =
-                new MillisecondSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId, idDefinition.getSequenceResetThreshold());
+                new MillisecondSnowflakeId(epoch, idDefinition.getTimestampBit(), machineBit, idDefinition.getSequenceBit(), machineId, idDefinition.getSequenceResetThreshold(), clock,
+                    maxBorrowTime);
         }
         if (idDefinition.isClockSync()) {
             snowflakeId = new ClockSyncSnowflakeId(snowflakeId, clockBackwardsSynchronizer);
@@ -15,6 +15,7 @@ package me.ahoo.cosid.spring.boot.starter.snowflake;
 
 import me.ahoo.cosid.CosId;
 import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
+import me.ahoo.cosid.spring.boot.starter.ClockType;
 import me.ahoo.cosid.spring.boot.starter.IdConverterDefinition;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -89,6 +90,10 @@ public class SnowflakeIdProperties {
     public static class IdDefinition {
         private String namespace;
         private boolean clockSync = true;
+        private boolean lockFree = false;
+        private int stripes = 1;
+        private ClockType clock = ClockType.SYSTEM;
+        private long maxBorrowTime = 0L;
         private TimestampUnit timestampUnit = TimestampUnit.MILLISECOND;
         private long epoch;
         private Integer machineBit;
@@ -115,6 +120,38 @@ public class SnowflakeIdProperties {
             this.clockSync = clockSync;
         }
         
+        public boolean isLockFree() {
+            return lockFree;
+        }
+        
+        public void setLockFree(boolean lockFree) {
+            this.lockFree = lockFree;
+        }
+        
+        public int getStripes() {
+            return stripes;
+        }
+        
+        public void setStripes(int stripes) {
+            this.stripes = stripes;
+        }
+        
+        public ClockType getClock() {
+            return clock;
+        }
+        
+        public void setClock(ClockType clock) {
+            this.clock = clock;
+        }
+        
+        public long getMaxBorrowTime() {
+            return maxBorrowTime;
+        }
+        
+        public void setMaxBorrowTime(long maxBorrowTime) {
+            this.maxBorrowTime = maxBorrowTime;
+        }
+        
         public TimestampUnit getTimestampUnit() {
             return timestampUnit;
         }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
 
+import java.time.Duration;
 import java.util.Map;
 
 class CosIdPropertiesTest {
@@ -17,6 +18,20 @@ class CosIdPropertiesTest {
         assertThat(properties.isEnabled()).isTrue();
         assertThat(properties.getNamespace()).isEqualTo(CosIdProperties.DEFAULT_NAMESPACE);
         assertThat(properties.getProxy().getHost()).isEqualTo("http://localhost:8688");
+        assertThat(properties.getProxy().getBinary().isEnabled()).isFalse();
+        assertThat(properties.getProxy().getBinary().getPort()).isEqualTo(8689);
+        assertThat(properties.getProxy().getBinary().getWorkerThreads()).isEqualTo(32);
+        assertThat(properties.getProxy().getBinary().getQueueCapacity()).isEqualTo(1024);
+        assertThat(properties.getProxy().getPool().isEnabled()).isFalse();
+        assertThat(properties.getProxy().getPool().getSuperStep()).isEqualTo(100_000);
+        assertThat(properties.getProxy().getGrpc().isEnabled()).isFalse();
+        assertThat(properties.getProxy().getGrpc().getPort()).isEqualTo(8690);
+        assertThat(properties.getProxy().getHosts()).isEmpty();
+        assertThat(properties.getProxy().getTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(properties.getProxy().getHedge().getInitialDelay()).isEqualTo(Duration.ofMillis(100));
+        assertThat(properties.getProxy().getHedge().getMinDelay()).isEqualTo(Duration.ofMillis(5));
+        assertThat(properties.getProxy().getHedge().getFailureThreshold()).isEqualTo(3);
+        assertThat(properties.getProxy().getHedge().getOpenDuration()).isEqualTo(Duration.ofSeconds(10));
     }
 
     @Test
@@ -24,12 +39,46 @@ class CosIdPropertiesTest {
         CosIdProperties properties = bind(Map.of(
             "cosid.enabled", "false",
             "cosid.namespace", "billing",
-            "cosid.proxy.host", "https://proxy.example"
+            "cosid.proxy.host", "https://proxy.example",
+            "cosid.proxy.binary.enabled", "true",
+            "cosid.proxy.binary.port", "9689",
+            "cosid.proxy.binary.worker-threads", "8",
+            "cosid.proxy.binary.queue-capacity", "64",
+            "cosid.proxy.pool.enabled", "true",
+            "cosid.proxy.pool.super-step", "50000",
+            "cosid.proxy.grpc.enabled", "true"
         ));
 
         assertThat(properties.isEnabled()).isFalse();
         assertThat(properties.getNamespace()).isEqualTo("billing");
         assertThat(properties.getProxy().getHost()).isEqualTo("https://proxy.example");
+        assertThat(properties.getProxy().getBinary().isEnabled()).isTrue();
+        assertThat(properties.getProxy().getBinary().getPort()).isEqualTo(9689);
+        assertThat(properties.getProxy().getBinary().getWorkerThreads()).isEqualTo(8);
+        assertThat(properties.getProxy().getBinary().getQueueCapacity()).isEqualTo(64);
+        assertThat(properties.getProxy().getPool().isEnabled()).isTrue();
+        assertThat(properties.getProxy().getPool().getSuperStep()).isEqualTo(50_000);
+        assertThat(properties.getProxy().getGrpc().isEnabled()).isTrue();
+    }
+
+    @Test
+    void binderMapsProxyHostsAndHedgeProperties() {
+        CosIdProperties properties = bind(Map.of(
+            "cosid.proxy.hosts[0]", "http://proxy-0.example:8688",
+            "cosid.proxy.hosts[1]", "http://proxy-1.example:8688",
+            "cosid.proxy.hedge.initial-delay", "50ms",
+            "cosid.proxy.hedge.min-delay", "2ms",
+            "cosid.proxy.hedge.failure-threshold", "5",
+            "cosid.proxy.hedge.open-duration", "30s",
+            "cosid.proxy.timeout", "3s"
+        ));
+
+        assertThat(properties.getProxy().getHosts()).containsExactly("http://proxy-0.example:8688", "http://proxy-1.example:8688");
+        assertThat(properties.getProxy().getHedge().getInitialDelay()).isEqualTo(Duration.ofMillis(50));
+        assertThat(properties.getProxy().getHedge().getMinDelay()).isEqualTo(Duration.ofMillis(2));
+        assertThat(properties.getProxy().getHedge().getFailureThreshold()).isEqualTo(5);
+        assertThat(properties.getProxy().getHedge().getOpenDuration()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(properties.getProxy().getTimeout()).isEqualTo(Duration.ofSeconds(3));
     }
 
     @Test
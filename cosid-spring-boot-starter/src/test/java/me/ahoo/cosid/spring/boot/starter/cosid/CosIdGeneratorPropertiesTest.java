@@ -19,6 +19,8 @@ import static me.ahoo.cosid.cosid.Radix62CosIdGenerator.DEFAULT_TIMESTAMP_BIT;
 import static me.ahoo.cosid.cosid.RadixCosIdGenerator.DEFAULT_MACHINE_BIT;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import me.ahoo.cosid.spring.boot.starter.ClockType;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
@@ -41,6 +43,7 @@ class CosIdGeneratorPropertiesTest {
         assertThat(properties.getSequenceResetThreshold()).isEqualTo(DEFAULT_SEQUENCE_RESET_THRESHOLD);
         assertThat(properties.getZoneId()).isEqualTo(ZoneId.systemDefault());
         assertThat(properties.isPadStart()).isTrue();
+        assertThat(properties.getClock()).isEqualTo(ClockType.SYSTEM);
     }
 
     @Test
@@ -54,7 +57,8 @@ class CosIdGeneratorPropertiesTest {
             "cosid.generator.sequence-bit", "14",
             "cosid.generator.sequence-reset-threshold", "1024",
             "cosid.generator.zone-id", "UTC",
-            "cosid.generator.pad-start", "false"
+            "cosid.generator.pad-start", "false",
+            "cosid.generator.clock", "cache"
         ));
 
         assertThat(properties.isEnabled()).isTrue();
@@ -66,6 +70,7 @@ class CosIdGeneratorPropertiesTest {
         assertThat(properties.getSequenceResetThreshold()).isEqualTo(1024);
         assertThat(properties.getZoneId()).isEqualTo(ZoneId.of("UTC"));
         assertThat(properties.isPadStart()).isFalse();
+        assertThat(properties.getClock()).isEqualTo(ClockType.CACHE);
     }
 
     private static CosIdGeneratorProperties bind(Map<String, String> properties) {
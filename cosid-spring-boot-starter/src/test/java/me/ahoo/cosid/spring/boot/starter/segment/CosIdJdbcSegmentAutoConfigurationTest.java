@@ -3,8 +3,13 @@ package me.ahoo.cosid.spring.boot.starter.segment;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.Mockito.mock;
 
+import me.ahoo.cosid.jdbc.JdbcIdSegmentDistributor;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentInitializer;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentDistributorFactory;
+import me.ahoo.cosid.jdbc.MySqlJdbcIdSegmentDialect;
+import me.ahoo.cosid.jdbc.PinnedConnectionDataSource;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 
 import org.junit.jupiter.api.Test;
@@ -40,6 +45,38 @@ class CosIdJdbcSegmentAutoConfigurationTest {
             });
     }
 
+    @Test
+    void createsJdbcSegmentDistributorWithConfiguredDialect() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=jdbc")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".distributor.jdbc.enable-auto-init-id-segment=false")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".distributor.jdbc.dialect=mysql")
+            .run(context -> {
+                IdSegmentDistributor distributor = context.getBean(IdSegmentDistributorFactory.class)
+                    .create(new IdSegmentDistributorDefinition("jdbc-ns", "dialect", 0, 10));
+                assertThat(distributor).isInstanceOf(JdbcIdSegmentDistributor.class);
+                assertThat(((JdbcIdSegmentDistributor) distributor).getDialect()).isSameAs(MySqlJdbcIdSegmentDialect.INSTANCE);
+            });
+    }
+
+    @Test
+    void createsJdbcSegmentDistributorOnPinnedConnection() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=jdbc")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".distributor.jdbc.enable-auto-init-id-segment=false")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".distributor.jdbc.pinned-connection.enabled=true")
+            .run(context -> {
+                IdSegmentDistributor distributor = context.getBean(IdSegmentDistributorFactory.class)
+                    .create(new IdSegmentDistributorDefinition("jdbc-ns", "pinned", 0, 10));
+                assertThat(distributor).isInstanceOf(JdbcIdSegmentDistributor.class);
+                DataSource dataSource = ((JdbcIdSegmentDistributor) distributor).getDataSource();
+                assertThat(dataSource).isInstanceOf(PinnedConnectionDataSource.class);
+                assertThat(((PinnedConnectionDataSource) dataSource).getTargetDataSource()).isSameAs(context.getBean(DataSource.class));
+            });
+    }
+
     @Test
     void backsOffWhenUserProvidesJdbcSegmentBeans() {
         JdbcIdSegmentInitializer initializer = mock(JdbcIdSegmentInitializer.class);
@@ -0,0 +1,92 @@
+package me.ahoo.cosid.spring.boot.starter.segment;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.mockito.Mockito.mock;
+
+import me.ahoo.cosid.jdbc.JdbcSequenceDialect;
+import me.ahoo.cosid.jdbc.JdbcSequenceIdSegmentDistributor;
+import me.ahoo.cosid.jdbc.JdbcSequenceIdSegmentDistributorFactory;
+import me.ahoo.cosid.jdbc.JdbcSequenceInitializer;
+import me.ahoo.cosid.jdbc.PinnedConnectionDataSource;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
+import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+
+/**
+ * CosIdJdbcSequenceSegmentAutoConfigurationTest .
+ *
+ * @author ahoo wang
+ */
+class CosIdJdbcSequenceSegmentAutoConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(CosIdJdbcSequenceSegmentAutoConfiguration.class))
+        .withBean(DataSource.class, () -> mock(DataSource.class));
+
+    @Test
+    void createsJdbcSequenceSegmentBeansWithoutConnectingToDatabase() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=jdbc_sequence")
+            .run(context -> {
+                assertThat(context)
+                    .hasSingleBean(CosIdJdbcSequenceSegmentAutoConfiguration.class)
+                    .hasSingleBean(SegmentIdProperties.class)
+                    .hasSingleBean(JdbcSequenceInitializer.class)
+                    .hasSingleBean(IdSegmentDistributorFactory.class)
+                ;
+            });
+    }
+
+    @Test
+    void createsJdbcSequenceSegmentDistributorWithConfiguredDialect() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=jdbc_sequence")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".distributor.jdbc-sequence.enable-auto-init-sequence=false")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".distributor.jdbc-sequence.dialect=oracle")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".distributor.jdbc-sequence.cache=100")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".distributor.jdbc-sequence.pinned-connection.enabled=true")
+            .run(context -> {
+                assertThat(context.getBean(JdbcSequenceInitializer.class).getCache()).isEqualTo(100);
+                IdSegmentDistributor distributor = context.getBean(IdSegmentDistributorFactory.class)
+                    .create(new IdSegmentDistributorDefinition("jdbc-ns", "sequence", 0, 10));
+                assertThat(distributor).isInstanceOf(JdbcSequenceIdSegmentDistributor.class);
+                JdbcSequenceIdSegmentDistributor sequenceDistributor = (JdbcSequenceIdSegmentDistributor) distributor;
+                assertThat(sequenceDistributor.getDialect()).isEqualTo(JdbcSequenceDialect.ORACLE);
+                assertThat(sequenceDistributor.getDataSource()).isInstanceOf(PinnedConnectionDataSource.class);
+            });
+    }
+
+    @Test
+    void doesNotCreateJdbcSequenceSegmentBeansWhenTypeIsJdbc() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=jdbc")
+            .run(context -> assertThat(context)
+                .doesNotHaveBean(CosIdJdbcSequenceSegmentAutoConfiguration.class)
+                .doesNotHaveBean(JdbcSequenceInitializer.class)
+                .doesNotHaveBean(IdSegmentDistributorFactory.class));
+    }
+
+    @Test
+    void doesNotCreateJdbcSequenceSegmentBeansWhenClassesAreMissing() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=jdbc_sequence")
+            .withClassLoader(new FilteredClassLoader(
+                JdbcSequenceInitializer.class,
+                JdbcSequenceIdSegmentDistributorFactory.class
+            ))
+            .run(context -> assertThat(context)
+                .doesNotHaveBean(CosIdJdbcSequenceSegmentAutoConfiguration.class)
+                .doesNotHaveBean(JdbcSequenceInitializer.class)
+                .doesNotHaveBean(IdSegmentDistributorFactory.class));
+    }
+}
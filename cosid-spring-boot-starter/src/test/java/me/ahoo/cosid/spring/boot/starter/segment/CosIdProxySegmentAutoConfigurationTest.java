@@ -16,13 +16,20 @@ package me.ahoo.cosid.spring.boot.starter.segment;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.Mockito.mock;
 
+import me.ahoo.cosid.proxy.AsyncSegmentClient;
+import me.ahoo.cosid.proxy.BinarySegmentClient;
+import me.ahoo.cosid.proxy.HedgedSegmentClient;
+import me.ahoo.cosid.proxy.HttpAsyncSegmentClient;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import me.ahoo.cosid.proxy.api.SegmentClient;
+import me.ahoo.cosid.spring.boot.starter.ProxyProperties;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
+import java.time.Duration;
+
 class CosIdProxySegmentAutoConfigurationTest {
     private static final String COAP_PROXY_HOST = "cosid.proxy.host=http://localhost:8688";
 
@@ -44,6 +51,64 @@ class CosIdProxySegmentAutoConfigurationTest {
             });
     }
 
+    @Test
+    void fetchesSegmentsBySegmentClientByDefault() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=proxy")
+            .run(context -> assertThat(context)
+                .doesNotHaveBean(AsyncSegmentClient.class)
+                .hasSingleBean(IdSegmentDistributorFactory.class));
+    }
+
+    @Test
+    void usesUserAsyncSegmentClient() {
+        AsyncSegmentClient userClient = new HttpAsyncSegmentClient("http://localhost:8688");
+
+        this.contextRunner
+            .withBean(AsyncSegmentClient.class, () -> userClient)
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=proxy")
+            .run(context -> assertThat(context)
+                .getBean(AsyncSegmentClient.class)
+                .isSameAs(userClient));
+    }
+
+    @Test
+    void createsHttpAsyncSegmentClientsWithTimeoutWhenHostsAreSet() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=proxy")
+            .withPropertyValues("cosid.proxy.hosts=http://localhost:8688,http://localhost:8788", "cosid.proxy.timeout=3s")
+            .run(context -> assertThat(context)
+                .getBean(AsyncSegmentClient.class)
+                .isInstanceOf(HedgedSegmentClient.class));
+    }
+
+    @Test
+    void createsBinarySegmentClientWhenBinaryIsEnabled() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=proxy")
+            .withPropertyValues(ProxyProperties.Binary.ENABLED_KEY + "=true", "cosid.proxy.timeout=3s")
+            .run(context -> assertThat(context)
+                .getBean(AsyncSegmentClient.class)
+                .isInstanceOfSatisfying(BinarySegmentClient.class,
+                    client -> assertThat(client.getRequestTimeout()).isEqualTo(Duration.ofSeconds(3))));
+    }
+
+    @Test
+    void createsHedgedSegmentClientWhenHostsAreSet() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=proxy")
+            .withPropertyValues("cosid.proxy.hosts[0]=http://localhost:8688", "cosid.proxy.hosts[1]=http://localhost:8788")
+            .withPropertyValues(ProxyProperties.Hedge.PREFIX + ".failure-threshold=5")
+            .run(context -> assertThat(context)
+                .getBean(AsyncSegmentClient.class)
+                .isInstanceOf(HedgedSegmentClient.class));
+    }
+
     @Test
     void backsOffWhenUserProvidesSegmentDistributorFactory() {
         IdSegmentDistributorFactory userFactory = definition -> mock(me.ahoo.cosid.segment.IdSegmentDistributor.class);
@@ -3,9 +3,16 @@ package me.ahoo.cosid.spring.boot.starter.segment;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.Mockito.mock;
 
+import me.ahoo.cosid.IdGeneratorDecorator;
+import me.ahoo.cosid.segment.AdaptiveStep;
+import me.ahoo.cosid.segment.DoublingPrefetchPolicy;
+import me.ahoo.cosid.segment.EwmaPrefetchPolicy;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.segment.SegmentChainId;
+import me.ahoo.cosid.segment.SegmentId;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
+import me.ahoo.cosid.segment.concurrent.VirtualThreadPrefetchWorkerExecutorService;
 import me.ahoo.cosid.spring.boot.starter.CosIdAutoConfiguration;
 
 import org.junit.jupiter.api.Test;
@@ -44,6 +51,50 @@ class CosIdSegmentAutoConfigurationTest {
             });
     }
 
+    @Test
+    void registersVirtualThreadPrefetchWorkerExecutorService() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".chain.prefetch-worker.virtual-thread=true")
+            .run(context -> {
+                assertThat(context)
+                    .hasSingleBean(VirtualThreadPrefetchWorkerExecutorService.class)
+                    .hasBean("__share__SegmentId")
+                ;
+            });
+    }
+
+    @Test
+    void registersAdaptiveStepSegmentChainId() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".chain.adaptive-step.enabled=true")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".chain.adaptive-step.min-step=20")
+            .run(context -> {
+                assertThat(context).hasBean("__share__SegmentId");
+                SegmentId segmentId = context.getBean("__share__SegmentId", SegmentId.class);
+                SegmentChainId segmentChainId = (SegmentChainId) ((IdGeneratorDecorator) segmentId).getActual();
+                AdaptiveStep adaptiveStep = segmentChainId.getAdaptiveStep();
+                assertThat(adaptiveStep).isNotNull();
+                assertThat(adaptiveStep.getMinStep()).isEqualTo(20);
+                assertThat(adaptiveStep.getMaxStep()).isEqualTo(20 * AdaptiveStep.DEFAULT_MAX_STEP_MULTIPLE);
+                assertThat(segmentId.getEffectiveStep()).isEqualTo(20);
+                assertThat(segmentChainId.getPrefetchPolicy()).isInstanceOf(EwmaPrefetchPolicy.class);
+            });
+    }
+
+    @Test
+    void registersDoublingPrefetchPolicySegmentChainId() {
+        this.contextRunner
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.PREFIX + ".chain.prefetch-policy=doubling")
+            .run(context -> {
+                SegmentId segmentId = context.getBean("__share__SegmentId", SegmentId.class);
+                SegmentChainId segmentChainId = (SegmentChainId) ((IdGeneratorDecorator) segmentId).getActual();
+                assertThat(segmentChainId.getPrefetchPolicy()).isInstanceOf(DoublingPrefetchPolicy.class);
+            });
+    }
+
     @Test
     void registersConfiguredSegmentIdAndDisablesShareId() {
         this.contextRunner
@@ -4,12 +4,14 @@ import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.Mockito.mock;
 
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.spring.redis.SpringReactiveRedisIdSegmentDistributorFactory;
 import me.ahoo.cosid.spring.redis.SpringRedisIdSegmentDistributor;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
@@ -37,6 +39,18 @@ class CosIdSpringRedisSegmentAutoConfigurationTest {
             });
     }
 
+    @Test
+    void createsReactiveRedisSegmentFactoryWhenReactiveTemplateIsAvailable() {
+        this.contextRunner
+            .withBean(ReactiveStringRedisTemplate.class, () -> mock(ReactiveStringRedisTemplate.class))
+            .withPropertyValues(ConditionalOnCosIdSegmentEnabled.ENABLED_KEY + "=true")
+            .withPropertyValues(SegmentIdProperties.Distributor.TYPE + "=redis")
+            .run(context -> assertThat(context)
+                .hasSingleBean(IdSegmentDistributorFactory.class)
+                .getBean(IdSegmentDistributorFactory.class)
+                .isInstanceOf(SpringReactiveRedisIdSegmentDistributorFactory.class));
+    }
+
     @Test
     void backsOffWhenUserProvidesDistributorFactory() {
         IdSegmentDistributorFactory factory = definition -> mock(me.ahoo.cosid.segment.IdSegmentDistributor.class);
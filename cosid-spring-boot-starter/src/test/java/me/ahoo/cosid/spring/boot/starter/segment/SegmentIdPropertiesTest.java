@@ -5,6 +5,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import me.ahoo.cosid.jdbc.JdbcIdSegmentDistributor;
 import me.ahoo.cosid.jdbc.JdbcIdSegmentInitializer;
+import me.ahoo.cosid.jdbc.JdbcSequenceDialect;
+import me.ahoo.cosid.jdbc.JdbcSequenceInitializer;
+import me.ahoo.cosid.jdbc.PinnedConnectionDataSource;
+import me.ahoo.cosid.segment.AdaptiveStep;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.SegmentChainId;
 import me.ahoo.cosid.segment.concurrent.PrefetchWorkerExecutorService;
@@ -33,13 +37,35 @@ class SegmentIdPropertiesTest {
         assertThat(properties.getShare().getConverter().getType()).isEqualTo(IdConverterDefinition.Type.RADIX);
         assertThat(properties.getShare().getGroup().getBy()).isEqualTo(SegmentIdProperties.IdDefinition.GroupBy.NEVER);
         assertThat(properties.getChain().getSafeDistance()).isEqualTo(SegmentChainId.DEFAULT_SAFE_DISTANCE);
+        assertThat(properties.getChain().getLeaseSize()).isEqualTo(SegmentChainId.DEFAULT_LEASE_SIZE);
+        assertThat(properties.getChain().getPrefetchWatermark()).isEqualTo(SegmentChainId.DEFAULT_PREFETCH_WATERMARK);
+        assertThat(properties.getChain().getAdaptiveStep().isEnabled()).isFalse();
+        assertThat(properties.getChain().getAdaptiveStep().getMinStep()).isNull();
+        assertThat(properties.getChain().getAdaptiveStep().getMaxStep()).isNull();
+        assertThat(properties.getChain().getAdaptiveStep().getRefillInterval()).isEqualTo(AdaptiveStep.DEFAULT_REFILL_INTERVAL);
+        assertThat(properties.getChain().getPrefetchPolicy()).isEqualTo(SegmentIdProperties.Chain.PrefetchPolicyType.EWMA);
         assertThat(properties.getChain().getPrefetchWorker().getPrefetchPeriod())
             .isEqualTo(PrefetchWorkerExecutorService.DEFAULT_PREFETCH_PERIOD);
         assertThat(properties.getChain().getPrefetchWorker().getCorePoolSize())
             .isEqualTo(Runtime.getRuntime().availableProcessors());
         assertThat(properties.getChain().getPrefetchWorker().isShutdownHook()).isTrue();
+        assertThat(properties.getChain().getPrefetchWorker().isVirtualThread()).isFalse();
         assertThat(properties.getDistributor().getType()).isEqualTo(SegmentIdProperties.Distributor.Type.REDIS);
         assertThat(properties.getDistributor().getRedis().getTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(properties.getDistributor().getJdbc().getDialect()).isEqualTo(SegmentIdProperties.Distributor.Jdbc.Dialect.GENERIC);
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().isEnabled()).isFalse();
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().getInitialBackoff())
+            .isEqualTo(PinnedConnectionDataSource.DEFAULT_INITIAL_BACKOFF);
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().getMaxBackoff())
+            .isEqualTo(PinnedConnectionDataSource.DEFAULT_MAX_BACKOFF);
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().getAcquireTimeout())
+            .isEqualTo(PinnedConnectionDataSource.DEFAULT_ACQUIRE_TIMEOUT);
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().getValidationInterval())
+            .isEqualTo(PinnedConnectionDataSource.DEFAULT_VALIDATION_INTERVAL);
+        assertThat(properties.getDistributor().getJdbcSequence().getDialect()).isEqualTo(JdbcSequenceDialect.POSTGRESQL);
+        assertThat(properties.getDistributor().getJdbcSequence().isEnableAutoInitSequence()).isTrue();
+        assertThat(properties.getDistributor().getJdbcSequence().getCache()).isEqualTo(JdbcSequenceInitializer.DEFAULT_CACHE);
+        assertThat(properties.getDistributor().getJdbcSequence().getPinnedConnection().isEnabled()).isFalse();
         assertThat(properties.getDistributor().getJdbc().getIncrementMaxIdSql())
             .isEqualTo(JdbcIdSegmentDistributor.INCREMENT_MAX_ID_SQL);
         assertThat(properties.getDistributor().getJdbc().getFetchMaxIdSql())
@@ -61,17 +87,35 @@ class SegmentIdPropertiesTest {
             Map.entry("cosid.segment.ttl", "600"),
             Map.entry("cosid.segment.distributor.type", "jdbc"),
             Map.entry("cosid.segment.distributor.redis.timeout", "2s"),
+            Map.entry("cosid.segment.distributor.jdbc.dialect", "postgresql"),
+            Map.entry("cosid.segment.distributor.jdbc.pinned-connection.enabled", "true"),
+            Map.entry("cosid.segment.distributor.jdbc.pinned-connection.initial-backoff", "50ms"),
+            Map.entry("cosid.segment.distributor.jdbc.pinned-connection.max-backoff", "5s"),
+            Map.entry("cosid.segment.distributor.jdbc.pinned-connection.acquire-timeout", "2s"),
+            Map.entry("cosid.segment.distributor.jdbc.pinned-connection.validation-interval", "1m"),
             Map.entry("cosid.segment.distributor.jdbc.increment-max-id-sql", "update cosid set max_id=max_id+?"),
             Map.entry("cosid.segment.distributor.jdbc.fetch-max-id-sql", "select max_id from cosid"),
             Map.entry("cosid.segment.distributor.jdbc.enable-auto-init-cosid-table", "true"),
             Map.entry("cosid.segment.distributor.jdbc.init-cosid-table-sql", "create table cosid"),
             Map.entry("cosid.segment.distributor.jdbc.enable-auto-init-id-segment", "false"),
             Map.entry("cosid.segment.distributor.jdbc.init-id-segment-sql", "insert into cosid"),
+            Map.entry("cosid.segment.distributor.jdbc-sequence.dialect", "mariadb"),
+            Map.entry("cosid.segment.distributor.jdbc-sequence.enable-auto-init-sequence", "false"),
+            Map.entry("cosid.segment.distributor.jdbc-sequence.cache", "20"),
+            Map.entry("cosid.segment.distributor.jdbc-sequence.pinned-connection.enabled", "true"),
             Map.entry("cosid.segment.distributor.mongo.database", "segment_db"),
             Map.entry("cosid.segment.chain.safe-distance", "12"),
+            Map.entry("cosid.segment.chain.lease-size", "32"),
+            Map.entry("cosid.segment.chain.prefetch-watermark", "0.7"),
+            Map.entry("cosid.segment.chain.adaptive-step.enabled", "true"),
+            Map.entry("cosid.segment.chain.adaptive-step.min-step", "100"),
+            Map.entry("cosid.segment.chain.adaptive-step.max-step", "10000"),
+            Map.entry("cosid.segment.chain.adaptive-step.refill-interval", "10s"),
+            Map.entry("cosid.segment.chain.prefetch-policy", "doubling"),
             Map.entry("cosid.segment.chain.prefetch-worker.prefetch-period", "3s"),
             Map.entry("cosid.segment.chain.prefetch-worker.core-pool-size", "2"),
             Map.entry("cosid.segment.chain.prefetch-worker.shutdown-hook", "false"),
+            Map.entry("cosid.segment.chain.prefetch-worker.virtual-thread", "true"),
             Map.entry("cosid.segment.share.enabled", "false"),
             Map.entry("cosid.segment.provider.order.namespace", "orders"),
             Map.entry("cosid.segment.provider.order.mode", "chain"),
@@ -90,6 +134,16 @@ class SegmentIdPropertiesTest {
         assertThat(properties.getTtl()).isEqualTo(600);
         assertThat(properties.getDistributor().getType()).isEqualTo(SegmentIdProperties.Distributor.Type.JDBC);
         assertThat(properties.getDistributor().getRedis().getTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(properties.getDistributor().getJdbc().getDialect()).isEqualTo(SegmentIdProperties.Distributor.Jdbc.Dialect.POSTGRESQL);
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().isEnabled()).isTrue();
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().getInitialBackoff()).isEqualTo(Duration.ofMillis(50));
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().getMaxBackoff()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().getAcquireTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(properties.getDistributor().getJdbc().getPinnedConnection().getValidationInterval()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(properties.getDistributor().getJdbcSequence().getDialect()).isEqualTo(JdbcSequenceDialect.MARIADB);
+        assertThat(properties.getDistributor().getJdbcSequence().isEnableAutoInitSequence()).isFalse();
+        assertThat(properties.getDistributor().getJdbcSequence().getCache()).isEqualTo(20);
+        assertThat(properties.getDistributor().getJdbcSequence().getPinnedConnection().isEnabled()).isTrue();
         assertThat(properties.getDistributor().getJdbc().getIncrementMaxIdSql()).isEqualTo("update cosid set max_id=max_id+?");
         assertThat(properties.getDistributor().getJdbc().getFetchMaxIdSql()).isEqualTo("select max_id from cosid");
         assertThat(properties.getDistributor().getJdbc().isEnableAutoInitCosidTable()).isTrue();
@@ -98,9 +152,17 @@ class SegmentIdPropertiesTest {
         assertThat(properties.getDistributor().getJdbc().getInitIdSegmentSql()).isEqualTo("insert into cosid");
         assertThat(properties.getDistributor().getMongo().getDatabase()).isEqualTo("segment_db");
         assertThat(properties.getChain().getSafeDistance()).isEqualTo(12);
+        assertThat(properties.getChain().getLeaseSize()).isEqualTo(32);
+        assertThat(properties.getChain().getPrefetchWatermark()).isEqualTo(0.7);
+        assertThat(properties.getChain().getAdaptiveStep().isEnabled()).isTrue();
+        assertThat(properties.getChain().getAdaptiveStep().getMinStep()).isEqualTo(100L);
+        assertThat(properties.getChain().getAdaptiveStep().getMaxStep()).isEqualTo(10000L);
+        assertThat(properties.getChain().getAdaptiveStep().getRefillInterval()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(properties.getChain().getPrefetchPolicy()).isEqualTo(SegmentIdProperties.Chain.PrefetchPolicyType.DOUBLING);
         assertThat(properties.getChain().getPrefetchWorker().getPrefetchPeriod()).isEqualTo(Duration.ofSeconds(3));
         assertThat(properties.getChain().getPrefetchWorker().getCorePoolSize()).isEqualTo(2);
         assertThat(properties.getChain().getPrefetchWorker().isShutdownHook()).isFalse();
+        assertThat(properties.getChain().getPrefetchWorker().isVirtualThread()).isTrue();
         assertThat(properties.getShare().isEnabled()).isFalse();
 
         SegmentIdProperties.IdDefinition order = properties.getProvider().get("order");
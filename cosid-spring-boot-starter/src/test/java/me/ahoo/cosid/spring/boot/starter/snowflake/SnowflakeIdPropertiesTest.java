@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import me.ahoo.cosid.CosId;
 import me.ahoo.cosid.snowflake.MillisecondSnowflakeId;
+import me.ahoo.cosid.spring.boot.starter.ClockType;
 import me.ahoo.cosid.spring.boot.starter.IdConverterDefinition;
 
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,10 @@ class SnowflakeIdPropertiesTest {
         assertThat(properties.getProvider()).isEmpty();
         assertThat(properties.getShare().isEnabled()).isTrue();
         assertThat(properties.getShare().isClockSync()).isTrue();
+        assertThat(properties.getShare().isLockFree()).isFalse();
+        assertThat(properties.getShare().getStripes()).isEqualTo(1);
+        assertThat(properties.getShare().getClock()).isEqualTo(ClockType.SYSTEM);
+        assertThat(properties.getShare().getMaxBorrowTime()).isZero();
         assertThat(properties.getShare().getTimestampUnit())
             .isEqualTo(SnowflakeIdProperties.IdDefinition.TimestampUnit.MILLISECOND);
         assertThat(properties.getShare().getTimestampBit()).isEqualTo(MillisecondSnowflakeId.DEFAULT_TIMESTAMP_BIT);
@@ -43,6 +48,10 @@ class SnowflakeIdPropertiesTest {
             Map.entry("cosid.snowflake.share.enabled", "false"),
             Map.entry("cosid.snowflake.provider.order.namespace", "orders"),
             Map.entry("cosid.snowflake.provider.order.clock-sync", "false"),
+            Map.entry("cosid.snowflake.provider.order.lock-free", "true"),
+            Map.entry("cosid.snowflake.provider.order.stripes", "4"),
+            Map.entry("cosid.snowflake.provider.order.clock", "monotonic"),
+            Map.entry("cosid.snowflake.provider.order.max-borrow-time", "50"),
             Map.entry("cosid.snowflake.provider.order.timestamp-unit", "second"),
             Map.entry("cosid.snowflake.provider.order.epoch", "1000"),
             Map.entry("cosid.snowflake.provider.order.machine-bit", "9"),
@@ -61,6 +70,10 @@ class SnowflakeIdPropertiesTest {
         SnowflakeIdProperties.IdDefinition order = properties.getProvider().get("order");
         assertThat(order.getNamespace()).isEqualTo("orders");
         assertThat(order.isClockSync()).isFalse();
+        assertThat(order.isLockFree()).isTrue();
+        assertThat(order.getStripes()).isEqualTo(4);
+        assertThat(order.getClock()).isEqualTo(ClockType.MONOTONIC);
+        assertThat(order.getMaxBorrowTime()).isEqualTo(50);
         assertThat(order.getTimestampUnit()).isEqualTo(SnowflakeIdProperties.IdDefinition.TimestampUnit.SECOND);
         assertThat(order.getEpoch()).isEqualTo(1000);
         assertThat(order.getMachineBit()).isEqualTo(9);
@@ -14,6 +14,7 @@
 dependencies {
     api(project(":cosid-core"))
     api("org.springframework.data:spring-data-redis")
+    compileOnly("io.projectreactor:reactor-core")
     testImplementation(project(":cosid-test"))
     testImplementation("io.lettuce:lettuce-core")
 }
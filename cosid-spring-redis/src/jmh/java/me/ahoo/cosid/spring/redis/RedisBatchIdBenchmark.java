@@ -0,0 +1,72 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.redis;
+
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares allocating the segments of several keys one round trip each with one pipelined batch.
+ *
+ * <p>Runs against the Redis of {@link RedisIdFactory}, {@code localhost:6379} by default, so a local
+ * {@code redis-server} or any stub speaking the protocol is enough.
+ *
+ * @author ahoo wang
+ */
+@State(Scope.Benchmark)
+public class RedisBatchIdBenchmark {
+
+    @Param({"1", "8", "32"})
+    private int keys;
+
+    List<SpringRedisIdSegmentDistributor> distributors;
+    BatchIdSegmentDistributor batchDistributor;
+    long[] steps;
+
+    @Setup
+    public void setup() {
+        distributors = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            SpringRedisIdSegmentDistributor distributor = RedisIdFactory.INSTANCE.createDistributor(100);
+            distributor.ensureOffset();
+            distributors.add(distributor);
+        }
+        batchDistributor = distributors.get(0).getBatchDistributor();
+        steps = new long[keys];
+        Arrays.fill(steps, 100);
+    }
+
+    @Benchmark
+    public long nextMaxIdEach() {
+        long maxId = 0;
+        for (SpringRedisIdSegmentDistributor distributor : distributors) {
+            maxId = distributor.nextMaxId();
+        }
+        return maxId;
+    }
+
+    @Benchmark
+    public long[] nextMaxIdsPipelined() {
+        return batchDistributor.nextMaxIds(distributors, steps);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.spring.redis;
+
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Spring Redis IdSegmentDistributor that prefetches through a {@link ReactiveStringRedisTemplate}.
+ *
+ * <p>With Lettuce the {@code INCRBY} of {@link #nextMaxIdAsync(long)} is sent on the shared non-blocking connection,
+ * so prefetching never parks a thread on Redis. The {@link StringRedisTemplate} still serves {@link #nextMaxId(long)}
+ * and the batched allocations.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class SpringReactiveRedisIdSegmentDistributor extends SpringRedisIdSegmentDistributor implements AsyncIdSegmentDistributor {
+    
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    
+    public SpringReactiveRedisIdSegmentDistributor(String namespace,
+                                                   String name,
+                                                   long offset,
+                                                   long step,
+                                                   StringRedisTemplate redisTemplate,
+                                                   ReactiveStringRedisTemplate reactiveRedisTemplate) {
+        super(namespace, name, offset, step, redisTemplate);
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+    }
+    
+    @Override
+    public CompletionStage<Long> nextMaxIdAsync(long step) {
+        IdSegmentDistributor.ensureStep(step);
+        if (log.isDebugEnabled()) {
+            log.debug("Next MaxId Async [{}] step:[{}].", getAdderKey(), step);
+        }
+        
+        final long nextMinMaxId = nextMinMaxId(step);
+        return reactiveRedisTemplate.execute((ReactiveRedisCallback<Long>) connection -> connection.numberCommands().incrBy(ByteBuffer.wrap(getRawAdderKey()), step))
+            .next()
+            .map(nextMaxId -> acceptMaxId(step, nextMinMaxId, nextMaxId))
+            .toFuture();
+    }
+}
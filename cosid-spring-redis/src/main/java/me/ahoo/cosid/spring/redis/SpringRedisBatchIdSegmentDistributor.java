@@ -0,0 +1,94 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package me.ahoo.cosid.spring.redis;
+
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+/**
+ * Spring Redis Batch IdSegmentDistributor.
+ *
+ * <p>Sends the {@code INCRBY} of every adder key in one pipeline on one connection callback, without going through
+ * {@code ValueOperations} per key. Each command stays atomic on its own key, so adder keys hashed to different
+ * cluster slots can share a batch.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class SpringRedisBatchIdSegmentDistributor implements BatchIdSegmentDistributor {
+    private final StringRedisTemplate redisTemplate;
+
+    public SpringRedisBatchIdSegmentDistributor(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long[] nextMaxIds(List<? extends IdSegmentDistributor> distributors, long[] steps) {
+        Preconditions.checkArgument(distributors.size() == steps.length, "distributors size:[%s] must be equal to steps length:[%s]!", distributors.size(), steps.length);
+        for (int i = 0; i < steps.length; i++) {
+            IdSegmentDistributor.ensureStep(steps[i]);
+            Preconditions.checkArgument(distributors.get(i) instanceof SpringRedisIdSegmentDistributor,
+                "distributor:[%s] must be a SpringRedisIdSegmentDistributor!", distributors.get(i).getNamespacedName());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Next MaxIds - size:[{}].", steps.length);
+        }
+        long[] nextMinMaxIds = new long[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            nextMinMaxIds[i] = ((SpringRedisIdSegmentDistributor) distributors.get(i)).nextMinMaxId(steps[i]);
+        }
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < steps.length; i++) {
+                SpringRedisIdSegmentDistributor distributor = (SpringRedisIdSegmentDistributor) distributors.get(i);
+                connection.stringCommands().incrBy(distributor.getRawAdderKey(), steps[i]);
+            }
+            return null;
+        });
+        Preconditions.checkState(results.size() == steps.length, "results size:[%s] must be equal to steps length:[%s]!", results.size(), steps.length);
+
+        long[] nextMaxIds = new long[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            SpringRedisIdSegmentDistributor distributor = (SpringRedisIdSegmentDistributor) distributors.get(i);
+            Long nextMaxId = (Long) results.get(i);
+            Preconditions.checkNotNull(nextMaxId, "nextMaxId can not be null!");
+            nextMaxIds[i] = distributor.acceptMaxId(steps[i], nextMinMaxIds[i], nextMaxId);
+        }
+        return nextMaxIds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SpringRedisBatchIdSegmentDistributor that)) {
+            return false;
+        }
+        return redisTemplate.equals(that.redisTemplate);
+    }
+
+    @Override
+    public int hashCode() {
+        return redisTemplate.hashCode();
+    }
+}
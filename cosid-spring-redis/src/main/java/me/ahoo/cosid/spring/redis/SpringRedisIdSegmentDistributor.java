@@ -16,17 +16,23 @@ package me.ahoo.cosid.spring.redis;
 import static me.ahoo.cosid.spring.redis.SpringRedisMachineIdDistributor.hashTag;
 
 import me.ahoo.cosid.CosId;
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
  * Spring Redis IdSegmentDistributor.
  *
+ * <p>The adder key is initialized to the offset once on creation, each allocation is then a single {@code INCRBY}
+ * on the adder key serialized up front.
+ *
  * @author ahoo wang
  */
 @Slf4j
@@ -39,9 +45,11 @@ public class SpringRedisIdSegmentDistributor implements IdSegmentDistributor {
      * cosid:{namespace.name}:adder
      */
     private final String adderKey;
+    private final byte[] rawAdderKey;
     private final long offset;
     private final long step;
     private final StringRedisTemplate redisTemplate;
+    private final SpringRedisBatchIdSegmentDistributor batchDistributor;
     private volatile long lastMaxId;
     
     public SpringRedisIdSegmentDistributor(String namespace,
@@ -65,7 +73,15 @@ public class SpringRedisIdSegmentDistributor implements IdSegmentDistributor {
         this.offset = offset;
         this.step = step;
         this.redisTemplate = redisTemplate;
+        this.batchDistributor = new SpringRedisBatchIdSegmentDistributor(redisTemplate);
         this.adderKey = CosId.COSID + ":" + hashTag(getNamespacedName()) + ".adder";
+        this.rawAdderKey = rawKey(redisTemplate, adderKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] rawKey(StringRedisTemplate redisTemplate, String key) {
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        return keySerializer.serialize(key);
     }
     
     void ensureOffset() {
@@ -81,6 +97,10 @@ public class SpringRedisIdSegmentDistributor implements IdSegmentDistributor {
     public String getAdderKey() {
         return adderKey;
     }
+
+    byte[] getRawAdderKey() {
+        return rawAdderKey;
+    }
     
     @Override
     public @NonNull String getNamespace() {
@@ -101,6 +121,11 @@ public class SpringRedisIdSegmentDistributor implements IdSegmentDistributor {
         return step;
     }
     
+    @Override
+    public BatchIdSegmentDistributor getBatchDistributor() {
+        return batchDistributor;
+    }
+    
     @Override
     public long nextMaxId(long step) {
         IdSegmentDistributor.ensureStep(step);
@@ -108,11 +133,22 @@ public class SpringRedisIdSegmentDistributor implements IdSegmentDistributor {
             log.debug("Next MaxId [{}] step:[{}].", adderKey, step);
         }
         
-        final long nextMinMaxId = lastMaxId + step;
-        Long nextMaxId = redisTemplate.opsForValue().increment(adderKey, step);
+        final long nextMinMaxId = nextMinMaxId(step);
+        Long nextMaxId = redisTemplate.execute((RedisCallback<Long>) connection -> connection.stringCommands().incrBy(rawAdderKey, step));
         
         assert nextMaxId != null;
         Preconditions.checkNotNull(nextMaxId, "nextMaxId can not be null!");
+        return acceptMaxId(step, nextMinMaxId, nextMaxId);
+    }
+    
+    long nextMinMaxId(long step) {
+        return lastMaxId + step;
+    }
+    
+    /**
+     * Accept the max ID returned by the adder, which must not go back.
+     */
+    long acceptMaxId(long step, long nextMinMaxId, long nextMaxId) {
         if (log.isDebugEnabled()) {
             log.debug("Next MaxId [{}] step:[{}] - nextMaxId:[{}].", adderKey, step, nextMaxId);
         }
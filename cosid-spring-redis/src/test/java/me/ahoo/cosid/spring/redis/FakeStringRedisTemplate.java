@@ -13,13 +13,25 @@
 
 package me.ahoo.cosid.spring.redis;
 
+import org.springframework.data.redis.connection.ReactiveNumberCommands;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -31,11 +43,14 @@ import java.util.Queue;
 final class FakeStringRedisTemplate extends StringRedisTemplate {
     private final Map<String, Long> values = new LinkedHashMap<>();
     private final ValueOperations<String, String> valueOperations = valueOperations();
+    private final RedisConnection connection = connection();
     private final Queue<Object> scriptResults = new ArrayDeque<>();
     private final List<SetIfAbsentCall> setIfAbsentCalls = new ArrayList<>();
     private final List<SetCall> setCalls = new ArrayList<>();
     private final List<IncrementCall> incrementCalls = new ArrayList<>();
     private final List<ScriptCall<?>> scriptCalls = new ArrayList<>();
+    private List<Object> pipelinedResults;
+    private int pipelineCalls;
 
     @Override
     public ValueOperations<String, String> opsForValue() {
@@ -50,6 +65,57 @@ final class FakeStringRedisTemplate extends StringRedisTemplate {
         return result;
     }
 
+    @Override
+    public <T> T execute(RedisCallback<T> action) {
+        return action.doInRedis(connection);
+    }
+
+    @Override
+    public List<Object> executePipelined(RedisCallback<?> action) {
+        pipelineCalls++;
+        List<Object> results = new ArrayList<>();
+        pipelinedResults = results;
+        try {
+            action.doInRedis(connection);
+        } finally {
+            pipelinedResults = null;
+        }
+        return results;
+    }
+
+    ReactiveStringRedisTemplate reactive() {
+        ReactiveNumberCommands numberCommands = proxy(ReactiveNumberCommands.class, (proxy, method, args) -> {
+            if (method.getDeclaringClass().equals(Object.class)) {
+                return invokeObjectMethod(method.getName());
+            }
+            if ("incrBy".equals(method.getName()) && args.length == 2 && args[1] instanceof Long delta) {
+                return Mono.fromSupplier(() -> increment(StandardCharsets.UTF_8.decode(((ByteBuffer) args[0]).duplicate()).toString(), delta));
+            }
+            throw new UnsupportedOperationException("Unsupported ReactiveNumberCommands method: " + method.getName());
+        });
+        ReactiveRedisConnection reactiveConnection = proxy(ReactiveRedisConnection.class, (proxy, method, args) -> {
+            if (method.getDeclaringClass().equals(Object.class)) {
+                return invokeObjectMethod(method.getName());
+            }
+            if ("numberCommands".equals(method.getName())) {
+                return numberCommands;
+            }
+            throw new UnsupportedOperationException("Unsupported ReactiveRedisConnection method: " + method.getName());
+        });
+        ReactiveRedisConnectionFactory connectionFactory = proxy(ReactiveRedisConnectionFactory.class, (proxy, method, args) -> {
+            if (method.getDeclaringClass().equals(Object.class)) {
+                return invokeObjectMethod(method.getName());
+            }
+            throw new UnsupportedOperationException("Unsupported ReactiveRedisConnectionFactory method: " + method.getName());
+        });
+        return new ReactiveStringRedisTemplate(connectionFactory) {
+            @Override
+            public <T> Flux<T> execute(ReactiveRedisCallback<T> action) {
+                return Flux.from(action.doInRedis(reactiveConnection));
+            }
+        };
+    }
+
     void setValue(String key, long value) {
         values.put(key, value);
     }
@@ -74,6 +140,10 @@ final class FakeStringRedisTemplate extends StringRedisTemplate {
         return Collections.unmodifiableList(incrementCalls);
     }
 
+    int getPipelineCalls() {
+        return pipelineCalls;
+    }
+
     List<ScriptCall<?>> getScriptCalls() {
         return Collections.unmodifiableList(scriptCalls);
     }
@@ -90,6 +160,32 @@ final class FakeStringRedisTemplate extends StringRedisTemplate {
         return typedProxy;
     }
 
+    private RedisConnection connection() {
+        RedisStringCommands stringCommands = proxy(RedisStringCommands.class, (proxy, method, args) -> {
+            if (method.getDeclaringClass().equals(Object.class)) {
+                return invokeObjectMethod(method.getName());
+            }
+            if ("incrBy".equals(method.getName()) && args.length == 2 && args[1] instanceof Long delta) {
+                return increment(new String((byte[]) args[0], StandardCharsets.UTF_8), delta);
+            }
+            throw new UnsupportedOperationException("Unsupported RedisStringCommands method: " + method.getName());
+        });
+        return proxy(RedisConnection.class, (proxy, method, args) -> {
+            if (method.getDeclaringClass().equals(Object.class)) {
+                return invokeObjectMethod(method.getName());
+            }
+            if ("stringCommands".equals(method.getName())) {
+                return stringCommands;
+            }
+            throw new UnsupportedOperationException("Unsupported RedisConnection method: " + method.getName());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
     private Object invokeValueOperation(Object proxy, Method method, Object[] args) {
         String methodName = method.getName();
         if (method.getDeclaringClass().equals(Object.class)) {
@@ -144,6 +240,10 @@ final class FakeStringRedisTemplate extends StringRedisTemplate {
         incrementCalls.add(new IncrementCall(key, delta));
         long next = values.getOrDefault(key, 0L) + delta;
         values.put(key, next);
+        if (pipelinedResults != null) {
+            pipelinedResults.add(next);
+            return null;
+        }
         return next;
     }
 
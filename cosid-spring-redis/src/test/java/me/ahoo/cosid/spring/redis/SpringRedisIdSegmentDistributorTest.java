@@ -17,12 +17,16 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 
+import me.ahoo.cosid.segment.BatchIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 class SpringRedisIdSegmentDistributorTest {
 
     @Test
@@ -39,6 +43,7 @@ class SpringRedisIdSegmentDistributorTest {
         assertThat(distributor.getName(), equalTo("orders"));
         assertThat(distributor.getNamespacedName(), equalTo("segment-ns.orders"));
         assertThat(distributor.getAdderKey(), equalTo("cosid:{segment-ns.orders}.adder"));
+        assertThat(distributor.getRawAdderKey(), equalTo("cosid:{segment-ns.orders}.adder".getBytes(StandardCharsets.UTF_8)));
         assertThat(distributor.getOffset(), equalTo(7L));
         assertThat(distributor.getStep(), equalTo(50L));
     }
@@ -86,6 +91,29 @@ class SpringRedisIdSegmentDistributorTest {
         assertThat(redisTemplate.getValue(distributor.getAdderKey()), equalTo(30L));
     }
 
+    @Test
+    void nextMaxIdAsyncShouldIncrementAdderThroughReactiveTemplate() {
+        FakeStringRedisTemplate redisTemplate = new FakeStringRedisTemplate();
+        SpringReactiveRedisIdSegmentDistributor distributor = new SpringReactiveRedisIdSegmentDistributor(
+            "segment-ns",
+            "refund",
+            5,
+            100,
+            redisTemplate,
+            redisTemplate.reactive()
+        );
+        distributor.ensureOffset();
+
+        long nextMaxId = distributor.nextMaxIdAsync(25).toCompletableFuture().join();
+
+        assertThat(nextMaxId, equalTo(30L));
+        assertThat(distributor.nextMaxId(), equalTo(130L));
+        assertThat(redisTemplate.getIncrementCalls().size(), equalTo(2));
+        FakeStringRedisTemplate.IncrementCall incrementCall = redisTemplate.getIncrementCalls().get(0);
+        assertThat(incrementCall.getKey(), equalTo("cosid:{segment-ns.refund}.adder"));
+        assertThat(incrementCall.getDelta(), equalTo(25L));
+    }
+
     @Test
     void nextMaxIdShouldRejectRedisRollback() {
         FakeStringRedisTemplate redisTemplate = new FakeStringRedisTemplate();
@@ -104,6 +132,24 @@ class SpringRedisIdSegmentDistributorTest {
         assertThat(exception.getMessage(), equalTo("nextMaxId:[150] must be greater than nextMinMaxId:[200]!"));
     }
 
+    @Test
+    void nextMaxIdsShouldIncrementAllAdderKeysInOnePipeline() {
+        FakeStringRedisTemplate redisTemplate = new FakeStringRedisTemplate();
+        SpringRedisIdSegmentDistributor first = new SpringRedisIdSegmentDistributor("segment-ns", "batchFirst", 0, 10, redisTemplate);
+        SpringRedisIdSegmentDistributor second = new SpringRedisIdSegmentDistributor("segment-ns", "batchSecond", 100, 10, redisTemplate);
+        first.ensureOffset();
+        second.ensureOffset();
+        BatchIdSegmentDistributor batchDistributor = first.getBatchDistributor();
+        assertThat(batchDistributor, equalTo(second.getBatchDistributor()));
+
+        long[] nextMaxIds = batchDistributor.nextMaxIds(List.of(first, second, first), new long[]{10, 20, 5});
+
+        assertThat(nextMaxIds, equalTo(new long[]{10, 120, 15}));
+        assertThat(redisTemplate.getPipelineCalls(), equalTo(1));
+        assertThat(redisTemplate.getIncrementCalls().size(), equalTo(3));
+        assertThat(first.nextMaxId(), equalTo(25L));
+    }
+
     @Test
     void factoryCreateShouldEnsureOffset() {
         FakeStringRedisTemplate redisTemplate = new FakeStringRedisTemplate();
@@ -0,0 +1,169 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.api;
+
+import com.google.common.base.Preconditions;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Frame of the binary segment protocol, the compact alternative to {@link SegmentApi#nextMaxId(String, String, long)}.
+ *
+ * <p>Every frame is length-prefixed so many requests can be multiplexed on one persistent connection,
+ * responses carry the request ID and may arrive out of order:
+ * <pre>
+ * frame       = length:int32 type:int8 requestId:int32 body
+ * NEXT_MAX_ID = step:int64 namespace:string name:string
+ * MAX_ID      = maxId:int64
+ * ERROR       = message:string
+ * string      = length:uint16 utf8
+ * </pre>
+ * The {@code length} counts the bytes after itself.
+ *
+ * @author ahoo wang
+ */
+public final class SegmentFrame {
+    public static final byte NEXT_MAX_ID = 1;
+    public static final byte MAX_ID = 2;
+    public static final byte ERROR = 3;
+    public static final int LENGTH_FIELD_LENGTH = Integer.BYTES;
+    public static final int MAX_FRAME_LENGTH = 64 * 1024;
+    private static final int HEADER_LENGTH = Byte.BYTES + Integer.BYTES;
+    private static final int MAX_STRING_LENGTH = 0xFFFF;
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+    private final byte type;
+    private final int requestId;
+    private final @Nullable String namespace;
+    private final @Nullable String name;
+    private final long value;
+    private final @Nullable String message;
+
+    private SegmentFrame(byte type, int requestId, @Nullable String namespace, @Nullable String name, long value, @Nullable String message) {
+        this.type = type;
+        this.requestId = requestId;
+        this.namespace = namespace;
+        this.name = name;
+        this.value = value;
+        this.message = message;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public int getRequestId() {
+        return requestId;
+    }
+
+    public @Nullable String getNamespace() {
+        return namespace;
+    }
+
+    public @Nullable String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the step of a {@link #NEXT_MAX_ID} frame.
+     */
+    public long getStep() {
+        return value;
+    }
+
+    /**
+     * Gets the max ID of a {@link #MAX_ID} frame.
+     */
+    public long getMaxId() {
+        return value;
+    }
+
+    public @Nullable String getMessage() {
+        return message;
+    }
+
+    public static ByteBuffer encodeNextMaxId(int requestId, String namespace, String name, long step) {
+        byte[] namespaceBytes = utf8(namespace);
+        byte[] nameBytes = utf8(name);
+        ByteBuffer buffer = allocate(NEXT_MAX_ID, requestId, Long.BYTES + Short.BYTES * 2 + namespaceBytes.length + nameBytes.length);
+        buffer.putLong(step);
+        putString(buffer, namespaceBytes);
+        putString(buffer, nameBytes);
+        return buffer.flip();
+    }
+
+    public static ByteBuffer encodeMaxId(int requestId, long maxId) {
+        return allocate(MAX_ID, requestId, Long.BYTES).putLong(maxId).flip();
+    }
+
+    public static ByteBuffer encodeError(int requestId, @Nullable String message) {
+        String errorMessage = String.valueOf(message);
+        if (errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH) {
+            errorMessage = errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+        }
+        byte[] messageBytes = utf8(errorMessage);
+        ByteBuffer buffer = allocate(ERROR, requestId, Short.BYTES + messageBytes.length);
+        putString(buffer, messageBytes);
+        return buffer.flip();
+    }
+
+    /**
+     * Decode a frame whose length prefix has already been consumed.
+     *
+     * @param frame the bytes after the length prefix
+     * @return the decoded frame
+     */
+    public static SegmentFrame decode(ByteBuffer frame) {
+        byte type = frame.get();
+        int requestId = frame.getInt();
+        return switch (type) {
+            case NEXT_MAX_ID -> {
+                long step = frame.getLong();
+                String namespace = getString(frame);
+                String name = getString(frame);
+                yield new SegmentFrame(type, requestId, namespace, name, step, null);
+            }
+            case MAX_ID -> new SegmentFrame(type, requestId, null, null, frame.getLong(), null);
+            case ERROR -> new SegmentFrame(type, requestId, null, null, 0, getString(frame));
+            default -> throw new IllegalArgumentException("Unknown segment frame type:[" + type + "].");
+        };
+    }
+
+    private static ByteBuffer allocate(byte type, int requestId, int bodyLength) {
+        int length = HEADER_LENGTH + bodyLength;
+        Preconditions.checkArgument(length <= MAX_FRAME_LENGTH, "frame length:[%s] must be less than or equal to %s!", length, MAX_FRAME_LENGTH);
+        return ByteBuffer.allocate(LENGTH_FIELD_LENGTH + length)
+            .putInt(length)
+            .put(type)
+            .putInt(requestId);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        Preconditions.checkArgument(value.length <= MAX_STRING_LENGTH, "string length:[%s] must be less than or equal to %s!", value.length, MAX_STRING_LENGTH);
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] value = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+plugins {
+    alias(libs.plugins.protobuf)
+}
+
+dependencies {
+    api(project(":cosid-core"))
+    api(project(":cosid-proxy"))
+    api("io.grpc:grpc-protobuf")
+    api("io.grpc:grpc-stub")
+    api("com.google.protobuf:protobuf-java")
+    testImplementation("io.grpc:grpc-inprocess")
+    testImplementation("io.grpc:grpc-netty-shaded")
+}
+
+protobuf {
+    protoc {
+        artifact = "com.google.protobuf:protoc:${libs.versions.protobuf.get()}"
+    }
+    plugins {
+        create("grpc") {
+            artifact = "io.grpc:protoc-gen-grpc-java:${libs.versions.grpc.get()}"
+        }
+    }
+    generateProtoTasks {
+        all().forEach {
+            it.plugins {
+                create("grpc") {
+                    option("@generated=omit")
+                }
+            }
+        }
+    }
+}
+
+tasks.withType<Checkstyle>().configureEach {
+    exclude("me/ahoo/cosid/proxy/grpc/v1/**")
+}
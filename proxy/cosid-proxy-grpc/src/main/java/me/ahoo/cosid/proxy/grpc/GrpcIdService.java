@@ -0,0 +1,187 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import me.ahoo.cosid.IdGenerator;
+import me.ahoo.cosid.provider.IdGeneratorProvider;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateAsStringBatchResponse;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateAsStringResponse;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateBatchRequest;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateBatchResponse;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateRequest;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateResponse;
+import me.ahoo.cosid.proxy.grpc.v1.IdServiceGrpc;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Arrays;
+
+/**
+ * gRPC ID service, the counterpart of {@code IdController}.
+ *
+ * @author ahoo wang
+ */
+public class GrpcIdService extends IdServiceGrpc.IdServiceImplBase {
+    /**
+     * The max count of {@link #generateStream(GenerateBatchRequest, StreamObserver)}.
+     */
+    public static final int MAX_BATCH_COUNT = 1_000_000;
+    /**
+     * The max count of {@link #generateBatch(GenerateBatchRequest, StreamObserver)}, at most about 1 MiB of varints,
+     * well below the default 4 MiB max inbound message size of gRPC clients.
+     */
+    public static final int MAX_UNARY_BATCH_COUNT = 100_000;
+    /**
+     * The max count of {@link #generateAsStringBatch(GenerateBatchRequest, StreamObserver)}, leaving about 80 bytes per ID
+     * within the default 4 MiB max inbound message size of gRPC clients.
+     */
+    public static final int MAX_UNARY_STRING_BATCH_COUNT = 50_000;
+    /**
+     * The number of IDs generated and sent at once by {@link #generateStream(GenerateBatchRequest, StreamObserver)}.
+     */
+    public static final int CHUNK_SIZE = 1024;
+    private final IdGeneratorProvider provider;
+
+    public GrpcIdService(IdGeneratorProvider provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public void generate(GenerateRequest request, StreamObserver<GenerateResponse> responseObserver) {
+        try {
+            long id = getIdGenerator(request.getName()).generate();
+            responseObserver.onNext(GenerateResponse.newBuilder().setId(id).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    @Override
+    public void generateBatch(GenerateBatchRequest request, StreamObserver<GenerateBatchResponse> responseObserver) {
+        try {
+            checkUnaryBatchCount(request.getCount(), MAX_UNARY_BATCH_COUNT);
+            long[] ids = generateChunk(getIdGenerator(request.getName()), request.getCount());
+            responseObserver.onNext(GenerateBatchResponse.newBuilder().addAllIds(Longs.asList(ids)).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    /**
+     * Streams the IDs in chunks of {@link #CHUNK_SIZE}, generating the next chunk only while the call is ready,
+     * so a slow client holds back generation instead of piling IDs up in the server buffers.
+     */
+    @Override
+    public void generateStream(GenerateBatchRequest request, StreamObserver<GenerateBatchResponse> responseObserver) {
+        try {
+            checkBatchCount(request.getCount());
+            IdGenerator idGenerator = getIdGenerator(request.getName());
+            ServerCallStreamObserver<GenerateBatchResponse> serverCallStreamObserver = (ServerCallStreamObserver<GenerateBatchResponse>) responseObserver;
+            serverCallStreamObserver.setOnReadyHandler(new ChunkSender(serverCallStreamObserver, idGenerator, request.getCount()));
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    @Override
+    public void generateAsString(GenerateRequest request, StreamObserver<GenerateAsStringResponse> responseObserver) {
+        try {
+            String id = getIdGenerator(request.getName()).generateAsString();
+            responseObserver.onNext(GenerateAsStringResponse.newBuilder().setId(id).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    @Override
+    public void generateAsStringBatch(GenerateBatchRequest request, StreamObserver<GenerateAsStringBatchResponse> responseObserver) {
+        try {
+            checkUnaryBatchCount(request.getCount(), MAX_UNARY_STRING_BATCH_COUNT);
+            String[] ids = new String[request.getCount()];
+            getIdGenerator(request.getName()).generateAsString(ids, 0, ids.length);
+            responseObserver.onNext(GenerateAsStringBatchResponse.newBuilder().addAllIds(Arrays.asList(ids)).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    private IdGenerator getIdGenerator(String name) {
+        if (name.isEmpty()) {
+            return provider.getShare();
+        }
+        return provider.getRequired(name);
+    }
+
+    private static void checkBatchCount(int count) {
+        Preconditions.checkArgument(count > 0 && count <= MAX_BATCH_COUNT, "count:[%s] must be in (0, %s]!", count, MAX_BATCH_COUNT);
+    }
+
+    private static void checkUnaryBatchCount(int count, int maxCount) {
+        Preconditions.checkArgument(count > 0 && count <= maxCount, "count:[%s] must be in (0, %s], use GenerateStream for more IDs!", count, maxCount);
+    }
+
+    private static long[] generateChunk(IdGenerator idGenerator, int chunkSize) {
+        long[] ids = new long[chunkSize];
+        idGenerator.generate(ids, 0, chunkSize);
+        return ids;
+    }
+
+    /**
+     * On-ready handler of {@link #generateStream}, gRPC runs it serially whenever the call turns ready.
+     */
+    private static final class ChunkSender implements Runnable {
+        private final ServerCallStreamObserver<GenerateBatchResponse> responseObserver;
+        private final IdGenerator idGenerator;
+        private int remaining;
+        private boolean done;
+
+        ChunkSender(ServerCallStreamObserver<GenerateBatchResponse> responseObserver, IdGenerator idGenerator, int count) {
+            this.responseObserver = responseObserver;
+            this.idGenerator = idGenerator;
+            this.remaining = count;
+        }
+
+        @Override
+        public void run() {
+            if (done) {
+                return;
+            }
+            try {
+                while (remaining > 0 && responseObserver.isReady()) {
+                    if (responseObserver.isCancelled()) {
+                        done = true;
+                        return;
+                    }
+                    int chunkSize = Math.min(CHUNK_SIZE, remaining);
+                    responseObserver.onNext(GenerateBatchResponse.newBuilder().addAllIds(Longs.asList(generateChunk(idGenerator, chunkSize))).build());
+                    remaining -= chunkSize;
+                }
+                if (remaining == 0) {
+                    done = true;
+                    responseObserver.onCompleted();
+                }
+            } catch (RuntimeException runtimeException) {
+                done = true;
+                responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+            }
+        }
+    }
+}
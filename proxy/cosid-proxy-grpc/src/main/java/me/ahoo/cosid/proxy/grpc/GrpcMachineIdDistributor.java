@@ -0,0 +1,126 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import me.ahoo.cosid.machine.AbstractMachineIdDistributor;
+import me.ahoo.cosid.machine.ClockBackwardsSynchronizer;
+import me.ahoo.cosid.machine.InstanceId;
+import me.ahoo.cosid.machine.MachineIdLostException;
+import me.ahoo.cosid.machine.MachineIdOverflowException;
+import me.ahoo.cosid.machine.MachineState;
+import me.ahoo.cosid.machine.MachineStateStorage;
+import me.ahoo.cosid.machine.NotFoundMachineStateException;
+import me.ahoo.cosid.proxy.grpc.v1.DistributeRequest;
+import me.ahoo.cosid.proxy.grpc.v1.GuardRequest;
+import me.ahoo.cosid.proxy.grpc.v1.MachineServiceGrpc;
+import me.ahoo.cosid.proxy.grpc.v1.MachineStateResponse;
+import me.ahoo.cosid.proxy.grpc.v1.RevertRequest;
+
+import com.google.common.base.Preconditions;
+import io.grpc.Channel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Machine ID distributor over the gRPC {@code MachineService} of the proxy server, the counterpart of {@code ProxyMachineIdDistributor}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class GrpcMachineIdDistributor extends AbstractMachineIdDistributor {
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(10);
+    private final MachineServiceGrpc.MachineServiceBlockingStub blockingStub;
+    private final Duration deadline;
+
+    public GrpcMachineIdDistributor(Channel channel, MachineStateStorage machineStateStorage, ClockBackwardsSynchronizer clockBackwardsSynchronizer) {
+        this(channel, DEFAULT_DEADLINE, machineStateStorage, clockBackwardsSynchronizer);
+    }
+
+    public GrpcMachineIdDistributor(Channel channel, Duration deadline, MachineStateStorage machineStateStorage, ClockBackwardsSynchronizer clockBackwardsSynchronizer) {
+        super(machineStateStorage, clockBackwardsSynchronizer);
+        Preconditions.checkArgument(deadline.toNanos() > 0, "deadline:[%s] must be greater than 0!", deadline);
+        this.blockingStub = MachineServiceGrpc.newBlockingStub(channel);
+        this.deadline = deadline;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * The deadline of a stub applies from the moment it is set, so each call takes a fresh one.
+     */
+    private MachineServiceGrpc.MachineServiceBlockingStub blockingStub() {
+        return blockingStub.withDeadlineAfter(deadline.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    protected MachineState distributeRemote(String namespace, int machineBit, InstanceId instanceId, Duration safeGuardDuration) {
+        if (log.isInfoEnabled()) {
+            log.info("Distribute Remote instanceId:[{}] - machineBit:[{}] @ namespace:[{}].", instanceId, machineBit, namespace);
+        }
+        try {
+            MachineStateResponse response = blockingStub().distribute(DistributeRequest.newBuilder()
+                .setNamespace(namespace)
+                .setMachineBit(machineBit)
+                .setInstanceId(instanceId.getInstanceId())
+                .setStable(instanceId.isStable())
+                .setSafeGuardDuration(safeGuardDuration.toString())
+                .build());
+            return MachineState.of(response.getMachineId(), response.getLastTimeStamp());
+        } catch (StatusRuntimeException statusRuntimeException) {
+            if (statusRuntimeException.getStatus().getCode() == Status.Code.RESOURCE_EXHAUSTED) {
+                throw new MachineIdOverflowException(machineBit, instanceId);
+            }
+            throw statusRuntimeException;
+        }
+    }
+
+    @Override
+    protected void revertRemote(String namespace, InstanceId instanceId, MachineState machineState) {
+        if (log.isInfoEnabled()) {
+            log.info("Revert Remote [{}] instanceId:[{}] @ namespace:[{}].", machineState, instanceId, namespace);
+        }
+        blockingStub().revert(RevertRequest.newBuilder()
+            .setNamespace(namespace)
+            .setInstanceId(instanceId.getInstanceId())
+            .setStable(instanceId.isStable())
+            .build());
+    }
+
+    @Override
+    protected void guardRemote(String namespace, InstanceId instanceId, MachineState machineState, Duration safeGuardDuration) {
+        if (log.isInfoEnabled()) {
+            log.info("Guard Remote [{}] instanceId:[{}] @ namespace:[{}].", machineState, instanceId, namespace);
+        }
+        try {
+            blockingStub().guard(GuardRequest.newBuilder()
+                .setNamespace(namespace)
+                .setInstanceId(instanceId.getInstanceId())
+                .setStable(instanceId.isStable())
+                .setSafeGuardDuration(safeGuardDuration.toString())
+                .build());
+        } catch (StatusRuntimeException statusRuntimeException) {
+            switch (statusRuntimeException.getStatus().getCode()) {
+                case NOT_FOUND -> throw new NotFoundMachineStateException(namespace, instanceId);
+                case FAILED_PRECONDITION -> throw new MachineIdLostException(namespace, instanceId, machineState);
+                default -> throw statusRuntimeException;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import me.ahoo.cosid.machine.InstanceId;
+import me.ahoo.cosid.machine.MachineIdDistributor;
+import me.ahoo.cosid.machine.MachineState;
+import me.ahoo.cosid.proxy.grpc.v1.DistributeRequest;
+import me.ahoo.cosid.proxy.grpc.v1.GuardRequest;
+import me.ahoo.cosid.proxy.grpc.v1.MachineServiceGrpc;
+import me.ahoo.cosid.proxy.grpc.v1.MachineStateResponse;
+import me.ahoo.cosid.proxy.grpc.v1.RevertRequest;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.protobuf.Empty;
+import io.grpc.stub.StreamObserver;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+
+/**
+ * gRPC machine service, the counterpart of {@code MachineController}.
+ *
+ * @author ahoo wang
+ */
+public class GrpcMachineService extends MachineServiceGrpc.MachineServiceImplBase {
+    private final MachineIdDistributor distributor;
+
+    public GrpcMachineService(MachineIdDistributor distributor) {
+        this.distributor = distributor;
+    }
+
+    @Override
+    public void distribute(DistributeRequest request, StreamObserver<MachineStateResponse> responseObserver) {
+        try {
+            MachineState machineState = distributor.distribute(request.getNamespace(), request.getMachineBit(),
+                new InstanceId(request.getInstanceId(), request.getStable()), parseSafeGuardDuration(request.getSafeGuardDuration()));
+            responseObserver.onNext(MachineStateResponse.newBuilder()
+                .setMachineId(machineState.getMachineId())
+                .setLastTimeStamp(machineState.getLastTimeStamp())
+                .build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    @Override
+    public void revert(RevertRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            distributor.revert(request.getNamespace(), new InstanceId(request.getInstanceId(), request.getStable()));
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    @Override
+    public void guard(GuardRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            distributor.guard(request.getNamespace(), new InstanceId(request.getInstanceId(), request.getStable()),
+                parseSafeGuardDuration(request.getSafeGuardDuration()));
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    /**
+     * Parse the ISO-8601 {@code safe_guard_duration}, rejecting empty or malformed values as {@code INVALID_ARGUMENT}.
+     */
+    private static Duration parseSafeGuardDuration(String safeGuardDuration) {
+        Preconditions.checkArgument(!safeGuardDuration.isEmpty(), "safe_guard_duration can not be empty!");
+        try {
+            return Duration.parse(safeGuardDuration);
+        } catch (DateTimeParseException parseException) {
+            throw new IllegalArgumentException(Strings.lenientFormat("safe_guard_duration:[%s] is not an ISO-8601 duration!", safeGuardDuration), parseException);
+        }
+    }
+}
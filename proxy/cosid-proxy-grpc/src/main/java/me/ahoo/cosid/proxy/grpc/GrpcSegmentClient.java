@@ -0,0 +1,117 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import me.ahoo.cosid.proxy.AsyncSegmentClient;
+import me.ahoo.cosid.proxy.ProxyIdSegmentDistributorFactory;
+import me.ahoo.cosid.proxy.api.SegmentClient;
+import me.ahoo.cosid.proxy.grpc.v1.CreateDistributorRequest;
+import me.ahoo.cosid.proxy.grpc.v1.NextMaxIdRequest;
+import me.ahoo.cosid.proxy.grpc.v1.NextMaxIdResponse;
+import me.ahoo.cosid.proxy.grpc.v1.SegmentServiceGrpc;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Channel;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Segment client over the gRPC {@code SegmentService} of the proxy server.
+ *
+ * <p>Pass it and its {@link #async()} view to {@link ProxyIdSegmentDistributorFactory} to get
+ * {@code IdSegmentDistributor}s that fetch their segments over gRPC. Every call fails with {@code DEADLINE_EXCEEDED}
+ * once the deadline passes, so a hung proxy does not block the segment chain.
+ *
+ * @author ahoo wang
+ */
+public class GrpcSegmentClient implements SegmentClient {
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(10);
+    private final SegmentServiceGrpc.SegmentServiceBlockingStub blockingStub;
+    private final SegmentServiceGrpc.SegmentServiceFutureStub futureStub;
+    private final Duration deadline;
+
+    public GrpcSegmentClient(Channel channel) {
+        this(channel, DEFAULT_DEADLINE);
+    }
+
+    public GrpcSegmentClient(Channel channel, Duration deadline) {
+        Preconditions.checkArgument(deadline.toNanos() > 0, "deadline:[%s] must be greater than 0!", deadline);
+        this.blockingStub = SegmentServiceGrpc.newBlockingStub(channel);
+        this.futureStub = SegmentServiceGrpc.newFutureStub(channel);
+        this.deadline = deadline;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public void createDistributor(String namespace, String name, long offset, long step) {
+        blockingStub().createDistributor(CreateDistributorRequest.newBuilder()
+            .setNamespace(namespace)
+            .setName(name)
+            .setOffset(offset)
+            .setStep(step)
+            .build());
+    }
+
+    @Override
+    public long nextMaxId(String namespace, String name, long step) {
+        return blockingStub().nextMaxId(nextMaxIdRequest(namespace, name, step)).getMaxId();
+    }
+
+    /**
+     * Gets the non-blocking view of this client, backed by the future stub.
+     */
+    public AsyncSegmentClient async() {
+        return this::nextMaxIdAsync;
+    }
+
+    private CompletionStage<Long> nextMaxIdAsync(String namespace, String name, long step) {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        Futures.addCallback(futureStub.withDeadlineAfter(deadline.toNanos(), TimeUnit.NANOSECONDS).nextMaxId(nextMaxIdRequest(namespace, name, step)), new FutureCallback<>() {
+            @Override
+            public void onSuccess(NextMaxIdResponse response) {
+                result.complete(response.getMaxId());
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    /**
+     * The deadline of a stub applies from the moment it is set, so each call takes a fresh one.
+     */
+    private SegmentServiceGrpc.SegmentServiceBlockingStub blockingStub() {
+        return blockingStub.withDeadlineAfter(deadline.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static NextMaxIdRequest nextMaxIdRequest(String namespace, String name, long step) {
+        return NextMaxIdRequest.newBuilder()
+            .setNamespace(namespace)
+            .setName(name)
+            .setStep(step)
+            .build();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import me.ahoo.cosid.proxy.api.SegmentApi;
+import me.ahoo.cosid.proxy.grpc.v1.CreateDistributorRequest;
+import me.ahoo.cosid.proxy.grpc.v1.NextMaxIdRequest;
+import me.ahoo.cosid.proxy.grpc.v1.NextMaxIdResponse;
+import me.ahoo.cosid.proxy.grpc.v1.SegmentServiceGrpc;
+
+import com.google.protobuf.Empty;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * gRPC segment service, delegates to the {@link SegmentApi} of the proxy server so that it shares
+ * the distributors of the HTTP endpoint.
+ *
+ * @author ahoo wang
+ */
+public class GrpcSegmentService extends SegmentServiceGrpc.SegmentServiceImplBase {
+    private final SegmentApi segmentApi;
+
+    public GrpcSegmentService(SegmentApi segmentApi) {
+        this.segmentApi = segmentApi;
+    }
+
+    @Override
+    public void createDistributor(CreateDistributorRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            segmentApi.createDistributor(request.getNamespace(), request.getName(), request.getOffset(), request.getStep());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+
+    @Override
+    public void nextMaxId(NextMaxIdRequest request, StreamObserver<NextMaxIdResponse> responseObserver) {
+        try {
+            long maxId = segmentApi.nextMaxId(request.getNamespace(), request.getName(), request.getStep());
+            responseObserver.onNext(NextMaxIdResponse.newBuilder().setMaxId(maxId).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException runtimeException) {
+            responseObserver.onError(GrpcStatuses.toStatusException(runtimeException));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import me.ahoo.cosid.machine.MachineIdLostException;
+import me.ahoo.cosid.machine.MachineIdOverflowException;
+import me.ahoo.cosid.machine.NotFoundMachineStateException;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps the exceptions of the proxy server to gRPC statuses, the counterpart of {@code GlobalRestExceptionHandler}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public final class GrpcStatuses {
+    private GrpcStatuses() {
+    }
+
+    public static StatusRuntimeException toStatusException(Throwable throwable) {
+        return toStatus(throwable).withDescription(throwable.getMessage()).withCause(throwable).asRuntimeException();
+    }
+
+    private static Status toStatus(Throwable throwable) {
+        if (throwable instanceof MachineIdOverflowException) {
+            return Status.RESOURCE_EXHAUSTED;
+        }
+        if (throwable instanceof MachineIdLostException) {
+            return Status.FAILED_PRECONDITION;
+        }
+        if (throwable instanceof NotFoundMachineStateException) {
+            return Status.NOT_FOUND;
+        }
+        if (throwable instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT;
+        }
+        if (log.isErrorEnabled()) {
+            log.error(throwable.getMessage(), throwable);
+        }
+        return Status.INTERNAL;
+    }
+}
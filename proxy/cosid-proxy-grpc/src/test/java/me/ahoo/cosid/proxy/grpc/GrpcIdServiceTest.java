@@ -0,0 +1,169 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.ahoo.cosid.jvm.AtomicLongGenerator;
+import me.ahoo.cosid.provider.DefaultIdGeneratorProvider;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateAsStringBatchResponse;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateBatchRequest;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateBatchResponse;
+import me.ahoo.cosid.proxy.grpc.v1.GenerateRequest;
+import me.ahoo.cosid.proxy.grpc.v1.IdServiceGrpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+class GrpcIdServiceTest {
+    private InProcessProxyServer server;
+    private IdServiceGrpc.IdServiceBlockingStub idService;
+
+    @BeforeEach
+    void setup() {
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        provider.setShare(new AtomicLongGenerator());
+        provider.set("order", new AtomicLongGenerator());
+        server = new InProcessProxyServer(provider, new InProcessProxyServer.InMemorySegmentApi(), new StubMachineIdDistributor());
+        idService = IdServiceGrpc.newBlockingStub(server.getChannel());
+    }
+
+    @AfterEach
+    void destroy() {
+        server.close();
+    }
+
+    @Test
+    void generate() {
+        assertEquals(1, idService.generate(GenerateRequest.newBuilder().setName("order").build()).getId());
+        assertEquals(2, idService.generate(GenerateRequest.newBuilder().setName("order").build()).getId());
+    }
+
+    @Test
+    void generateShouldUseShareWhenNameIsEmpty() {
+        idService.generate(GenerateRequest.newBuilder().setName("order").build());
+        assertEquals(1, idService.generate(GenerateRequest.getDefaultInstance()).getId());
+    }
+
+    @Test
+    void generateBatch() {
+        GenerateBatchResponse response = idService.generateBatch(batchRequest("order", 3));
+        assertEquals(List.of(1L, 2L, 3L), response.getIdsList());
+    }
+
+    @Test
+    void generateStreamShouldSendChunks() {
+        Iterator<GenerateBatchResponse> responses = idService.generateStream(batchRequest("order", 2050));
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        responses.forEachRemaining(response -> {
+            chunkSizes.add(response.getIdsCount());
+            ids.addAll(response.getIdsList());
+        });
+
+        assertEquals(List.of(GrpcIdService.CHUNK_SIZE, GrpcIdService.CHUNK_SIZE, 2), chunkSizes);
+        assertEquals(2050, ids.size());
+        assertEquals(1L, ids.get(0));
+        assertEquals(2050L, ids.get(2049));
+    }
+
+    @Test
+    void generateStreamShouldOnlyGenerateWhatTheClientReads() {
+        final int count = 64 * GrpcIdService.CHUNK_SIZE;
+        Iterator<GenerateBatchResponse> responses = idService.generateStream(batchRequest("order", count));
+        int received = responses.next().getIdsCount();
+
+        // The next ID tells how many IDs the stream has generated so far.
+        long nextId = idService.generate(GenerateRequest.newBuilder().setName("order").build()).getId();
+        assertTrue(nextId <= 4L * GrpcIdService.CHUNK_SIZE);
+
+        while (responses.hasNext()) {
+            received += responses.next().getIdsCount();
+        }
+        assertEquals(count, received);
+    }
+
+    @Test
+    void generateAsStringBatch() {
+        GenerateAsStringBatchResponse response = idService.generateAsStringBatch(batchRequest("order", 2));
+        assertEquals(List.of("00000000001", "00000000002"), response.getIdsList());
+    }
+
+    @Test
+    void generateBatchShouldRejectCountOutOfRange() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+            () -> idService.generateBatch(batchRequest("order", GrpcIdService.MAX_UNARY_BATCH_COUNT + 1)));
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertTrue(exception.getStatus().getDescription().contains("GenerateStream"));
+        exception = assertThrows(StatusRuntimeException.class,
+            () -> idService.generateAsStringBatch(batchRequest("order", GrpcIdService.MAX_UNARY_STRING_BATCH_COUNT + 1)));
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+    }
+
+    @Test
+    void generateStreamShouldRejectCountOutOfRange() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+            () -> idService.generateStream(batchRequest("order", GrpcIdService.MAX_BATCH_COUNT + 1)).hasNext());
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+    }
+
+    @Test
+    void generateMaxBatchShouldFitDefaultMessageSize() throws IOException {
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        // The largest positive IDs take the longest varints.
+        provider.setShare(() -> Long.MAX_VALUE);
+        Server networkServer = Grpc.newServerBuilderForPort(0, InsecureServerCredentials.create())
+            .addService(new GrpcIdService(provider))
+            .build()
+            .start();
+        ManagedChannel channel = Grpc.newChannelBuilderForAddress("localhost", networkServer.getPort(), InsecureChannelCredentials.create()).build();
+        try {
+            IdServiceGrpc.IdServiceBlockingStub networkIdService = IdServiceGrpc.newBlockingStub(channel);
+
+            assertEquals(GrpcIdService.MAX_UNARY_BATCH_COUNT,
+                networkIdService.generateBatch(batchRequest("", GrpcIdService.MAX_UNARY_BATCH_COUNT)).getIdsCount());
+            assertEquals(GrpcIdService.MAX_UNARY_STRING_BATCH_COUNT,
+                networkIdService.generateAsStringBatch(batchRequest("", GrpcIdService.MAX_UNARY_STRING_BATCH_COUNT)).getIdsCount());
+        } finally {
+            channel.shutdownNow();
+            networkServer.shutdownNow();
+        }
+    }
+
+    @Test
+    void generateShouldRejectUnknownName() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+            () -> idService.generate(GenerateRequest.newBuilder().setName("unknown").build()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+    }
+
+    private static GenerateBatchRequest batchRequest(String name, int count) {
+        return GenerateBatchRequest.newBuilder().setName(name).setCount(count).build();
+    }
+}
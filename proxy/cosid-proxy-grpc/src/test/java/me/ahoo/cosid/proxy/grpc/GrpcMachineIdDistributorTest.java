@@ -0,0 +1,135 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import me.ahoo.cosid.machine.ClockBackwardsSynchronizer;
+import me.ahoo.cosid.machine.InMemoryMachineStateStorage;
+import me.ahoo.cosid.machine.InstanceId;
+import me.ahoo.cosid.machine.MachineIdDistributor;
+import me.ahoo.cosid.machine.MachineIdLostException;
+import me.ahoo.cosid.machine.MachineIdOverflowException;
+import me.ahoo.cosid.machine.MachineState;
+import me.ahoo.cosid.machine.MachineStateStorage;
+import me.ahoo.cosid.machine.NotFoundMachineStateException;
+import me.ahoo.cosid.provider.DefaultIdGeneratorProvider;
+import me.ahoo.cosid.proxy.grpc.v1.DistributeRequest;
+import me.ahoo.cosid.proxy.grpc.v1.GuardRequest;
+import me.ahoo.cosid.proxy.grpc.v1.MachineServiceGrpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class GrpcMachineIdDistributorTest {
+    private final StubMachineIdDistributor backend = new StubMachineIdDistributor();
+    private final MachineStateStorage machineStateStorage = new InMemoryMachineStateStorage();
+    private InProcessProxyServer server;
+    private MachineIdDistributor distributor;
+
+    @BeforeEach
+    void setup() {
+        server = new InProcessProxyServer(new DefaultIdGeneratorProvider(), new InProcessProxyServer.InMemorySegmentApi(), backend);
+        distributor = new GrpcMachineIdDistributor(server.getChannel(), machineStateStorage, ClockBackwardsSynchronizer.DEFAULT);
+    }
+
+    @AfterEach
+    void destroy() {
+        server.close();
+    }
+
+    @Test
+    void distributeShouldStoreReturnedState() {
+        InstanceId instanceId = InstanceId.of("127.0.0.1", 8080, false);
+
+        MachineState machineState = distributor.distribute("test_namespace", 8, instanceId, Duration.ofSeconds(30));
+
+        assertEquals(StubMachineIdDistributor.MACHINE_STATE.getMachineId(), machineState.getMachineId());
+        assertEquals("test_namespace", backend.lastNamespace);
+        assertEquals(8, backend.lastMachineBit);
+        assertEquals(instanceId.getInstanceId(), backend.lastInstanceId.getInstanceId());
+        assertFalse(backend.lastInstanceId.isStable());
+        assertEquals(Duration.ofSeconds(30), backend.lastSafeGuardDuration);
+        assertEquals(machineState.getMachineId(), machineStateStorage.get("test_namespace", instanceId).getMachineId());
+    }
+
+    @Test
+    void distributeShouldMapResourceExhaustedToOverflow() {
+        InstanceId instanceId = InstanceId.of("instance", false);
+
+        assertThrows(MachineIdOverflowException.class,
+            () -> distributor.distribute("overflow", 1, instanceId, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void guardShouldMapFailedPreconditionToLost() {
+        InstanceId instanceId = InstanceId.of("instance", false);
+        machineStateStorage.set("lost", 10, instanceId);
+
+        assertThrows(MachineIdLostException.class,
+            () -> distributor.guard("lost", instanceId, MachineIdDistributor.FOREVER_SAFE_GUARD_DURATION));
+    }
+
+    @Test
+    void guardShouldMapNotFoundToNotFoundMachineState() {
+        InstanceId instanceId = InstanceId.of("instance", false);
+        machineStateStorage.set("not_found", 10, instanceId);
+
+        assertThrows(NotFoundMachineStateException.class,
+            () -> distributor.guard("not_found", instanceId, MachineIdDistributor.FOREVER_SAFE_GUARD_DURATION));
+    }
+
+    @Test
+    void distributeShouldFailWhenDeadlineExceeded() {
+        try (InProcessProxyServer silentServer = InProcessProxyServer.silent()) {
+            MachineIdDistributor silentDistributor = new GrpcMachineIdDistributor(silentServer.getChannel(), Duration.ofMillis(50), machineStateStorage,
+                ClockBackwardsSynchronizer.DEFAULT);
+
+            StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> silentDistributor.distribute("test_namespace", 8, InstanceId.of("instance", false), Duration.ofSeconds(30)));
+            assertEquals(Status.Code.DEADLINE_EXCEEDED, exception.getStatus().getCode());
+        }
+    }
+
+    @Test
+    void distributeShouldRejectInvalidSafeGuardDuration() {
+        MachineServiceGrpc.MachineServiceBlockingStub machineService = MachineServiceGrpc.newBlockingStub(server.getChannel());
+        DistributeRequest.Builder request = DistributeRequest.newBuilder().setNamespace("test_namespace").setMachineBit(8).setInstanceId("instance");
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> machineService.distribute(request.build()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        exception = assertThrows(StatusRuntimeException.class, () -> machineService.distribute(request.setSafeGuardDuration("30s").build()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        exception = assertThrows(StatusRuntimeException.class,
+            () -> machineService.guard(GuardRequest.newBuilder().setNamespace("test_namespace").setInstanceId("instance").build()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+    }
+
+    @Test
+    void revertShouldDelegateWhenLocalStateExists() {
+        InstanceId instanceId = InstanceId.of("instance", true);
+        machineStateStorage.set("test_namespace", 3, instanceId);
+
+        distributor.revert("test_namespace", instanceId);
+
+        assertEquals(instanceId, backend.revertedInstanceId);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import me.ahoo.cosid.provider.DefaultIdGeneratorProvider;
+import me.ahoo.cosid.proxy.ProxyIdSegmentDistributorFactory;
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
+import me.ahoo.cosid.segment.DefaultSegmentId;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+class GrpcSegmentClientTest {
+    private InProcessProxyServer server;
+    private GrpcSegmentClient segmentClient;
+
+    @BeforeEach
+    void setup() {
+        server = new InProcessProxyServer(new DefaultIdGeneratorProvider(), new InProcessProxyServer.InMemorySegmentApi(), new StubMachineIdDistributor());
+        segmentClient = new GrpcSegmentClient(server.getChannel());
+    }
+
+    @AfterEach
+    void destroy() {
+        server.close();
+    }
+
+    @Test
+    void nextMaxIdShouldStartFromCreatedOffset() {
+        segmentClient.createDistributor("test_namespace", "order", 100, 10);
+
+        assertEquals(110, segmentClient.nextMaxId("test_namespace", "order", 10));
+        assertEquals(115, segmentClient.async().nextMaxId("test_namespace", "order", 5).toCompletableFuture().join());
+    }
+
+    @Test
+    void distributorShouldFetchSegmentsOverGrpc() {
+        ProxyIdSegmentDistributorFactory distributorFactory = new ProxyIdSegmentDistributorFactory(segmentClient, segmentClient.async());
+        IdSegmentDistributor distributor = distributorFactory.create(new IdSegmentDistributorDefinition("test_namespace", "order", 100, 10));
+
+        DefaultSegmentId segmentId = new DefaultSegmentId(distributor);
+        assertEquals(101, segmentId.generate());
+        assertEquals(120, ((AsyncIdSegmentDistributor) distributor).nextMaxIdAsync().toCompletableFuture().join());
+    }
+
+    @Test
+    void nextMaxIdShouldFailWhenDeadlineExceeded() {
+        try (InProcessProxyServer silentServer = InProcessProxyServer.silent()) {
+            GrpcSegmentClient client = new GrpcSegmentClient(silentServer.getChannel(), Duration.ofMillis(50));
+
+            StatusRuntimeException blocking = assertThrows(StatusRuntimeException.class, () -> client.nextMaxId("test_namespace", "order", 10));
+            assertEquals(Status.Code.DEADLINE_EXCEEDED, blocking.getStatus().getCode());
+
+            CompletionException async = assertThrows(CompletionException.class,
+                () -> client.async().nextMaxId("test_namespace", "order", 10).toCompletableFuture().join());
+            assertEquals(Status.Code.DEADLINE_EXCEEDED, assertInstanceOf(StatusRuntimeException.class, async.getCause()).getStatus().getCode());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import me.ahoo.cosid.machine.MachineIdDistributor;
+import me.ahoo.cosid.provider.IdGeneratorProvider;
+import me.ahoo.cosid.proxy.api.SegmentApi;
+import me.ahoo.cosid.proxy.grpc.v1.DistributeRequest;
+import me.ahoo.cosid.proxy.grpc.v1.MachineServiceGrpc;
+import me.ahoo.cosid.proxy.grpc.v1.MachineStateResponse;
+import me.ahoo.cosid.proxy.grpc.v1.NextMaxIdRequest;
+import me.ahoo.cosid.proxy.grpc.v1.NextMaxIdResponse;
+import me.ahoo.cosid.proxy.grpc.v1.SegmentServiceGrpc;
+
+import io.grpc.BindableService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import lombok.SneakyThrows;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process test harness serving the gRPC services of the proxy server, without any network.
+ *
+ * @author ahoo wang
+ */
+class InProcessProxyServer implements AutoCloseable {
+    private final Server server;
+    private final ManagedChannel channel;
+
+    InProcessProxyServer(IdGeneratorProvider idGeneratorProvider, SegmentApi segmentApi, MachineIdDistributor machineIdDistributor) {
+        this(new GrpcIdService(idGeneratorProvider), new GrpcSegmentService(segmentApi), new GrpcMachineService(machineIdDistributor));
+    }
+
+    @SneakyThrows
+    private InProcessProxyServer(BindableService... services) {
+        String serverName = InProcessServerBuilder.generateName();
+        InProcessServerBuilder serverBuilder = InProcessServerBuilder.forName(serverName).directExecutor();
+        for (BindableService service : services) {
+            serverBuilder.addService(service);
+        }
+        this.server = serverBuilder.build().start();
+        this.channel = InProcessChannelBuilder.forName(serverName)
+            .directExecutor()
+            .build();
+    }
+
+    /**
+     * Serves segment and machine services that accept calls but never answer them, like a hung proxy server.
+     */
+    static InProcessProxyServer silent() {
+        return new InProcessProxyServer(new SegmentServiceGrpc.SegmentServiceImplBase() {
+            @Override
+            public void nextMaxId(NextMaxIdRequest request, StreamObserver<NextMaxIdResponse> responseObserver) {
+            }
+        }, new MachineServiceGrpc.MachineServiceImplBase() {
+            @Override
+            public void distribute(DistributeRequest request, StreamObserver<MachineStateResponse> responseObserver) {
+            }
+        });
+    }
+
+    ManagedChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void close() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    /**
+     * In-memory {@link SegmentApi}, each distributor starts from the offset it is created with.
+     */
+    static class InMemorySegmentApi implements SegmentApi {
+        private final ConcurrentHashMap<String, AtomicLong> maxIds = new ConcurrentHashMap<>();
+
+        @Override
+        public void createDistributor(String namespace, String name, long offset, long step) {
+            maxIds.computeIfAbsent(namespace + "." + name, key -> new AtomicLong(offset));
+        }
+
+        @Override
+        public long nextMaxId(String namespace, String name, long step) {
+            return maxIds.computeIfAbsent(namespace + "." + name, key -> new AtomicLong()).addAndGet(step);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.grpc;
+
+import me.ahoo.cosid.machine.InstanceId;
+import me.ahoo.cosid.machine.MachineIdDistributor;
+import me.ahoo.cosid.machine.MachineIdLostException;
+import me.ahoo.cosid.machine.MachineIdOverflowException;
+import me.ahoo.cosid.machine.MachineState;
+import me.ahoo.cosid.machine.NotFoundMachineStateException;
+
+import java.time.Duration;
+
+/**
+ * Records the last call and fails on the namespaces {@code overflow}, {@code lost} and {@code not_found}.
+ */
+class StubMachineIdDistributor implements MachineIdDistributor {
+    static final MachineState MACHINE_STATE = MachineState.of(6, 123456);
+    String lastNamespace;
+    int lastMachineBit;
+    InstanceId lastInstanceId;
+    Duration lastSafeGuardDuration;
+    InstanceId revertedInstanceId;
+
+    @Override
+    public MachineState distribute(String namespace, int machineBit, InstanceId instanceId, Duration safeGuardDuration) {
+        this.lastNamespace = namespace;
+        this.lastMachineBit = machineBit;
+        this.lastInstanceId = instanceId;
+        this.lastSafeGuardDuration = safeGuardDuration;
+        if ("overflow".equals(namespace)) {
+            throw new MachineIdOverflowException(machineBit, instanceId);
+        }
+        return MACHINE_STATE;
+    }
+
+    @Override
+    public void revert(String namespace, InstanceId instanceId) {
+        this.revertedInstanceId = instanceId;
+    }
+
+    @Override
+    public void guard(String namespace, InstanceId instanceId, Duration safeGuardDuration) {
+        if ("lost".equals(namespace)) {
+            throw new MachineIdLostException(namespace, instanceId, MACHINE_STATE);
+        }
+        if ("not_found".equals(namespace)) {
+            throw new NotFoundMachineStateException(namespace, instanceId);
+        }
+    }
+}
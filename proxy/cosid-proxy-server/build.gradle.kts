@@ -61,6 +61,8 @@ dependencies {
     implementation(platform(project(":cosid-dependencies")))
     annotationProcessor(platform(project(":cosid-dependencies")))
     implementation(project(":cosid-proxy-api"))
+    implementation(project(":cosid-proxy-grpc"))
+    runtimeOnly("io.grpc:grpc-netty-shaded")
     implementation(project(":cosid-spring-boot-starter"))
     implementation(project(":cosid-jackson"))
 
@@ -89,6 +91,7 @@ dependencies {
     annotationProcessor("org.projectlombok:lombok")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
     annotationProcessor("org.springframework.boot:spring-boot-autoconfigure-processor")
+    testImplementation(project(":cosid-proxy"))
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("io.projectreactor:reactor-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
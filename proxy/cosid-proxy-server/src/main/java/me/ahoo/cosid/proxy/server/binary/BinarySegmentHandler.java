@@ -0,0 +1,93 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.binary;
+
+import me.ahoo.cosid.proxy.api.SegmentApi;
+import me.ahoo.cosid.proxy.api.SegmentFrame;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Serves the {@link SegmentFrame#NEXT_MAX_ID} frames of a connection.
+ *
+ * <p>The backing distributor may block, so each request runs on the given executor and its response
+ * is written back as soon as it completes, regardless of the order the requests arrived in. A request the executor
+ * rejects, because its queue is full, is answered with an {@link SegmentFrame#ERROR} frame.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+@ChannelHandler.Sharable
+class BinarySegmentHandler extends SimpleChannelInboundHandler<ByteBuf> {
+    private final SegmentApi segmentApi;
+    private final Executor executor;
+
+    BinarySegmentHandler(SegmentApi segmentApi, Executor executor) {
+        this.segmentApi = segmentApi;
+        this.executor = executor;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
+        SegmentFrame request = SegmentFrame.decode(msg.nioBuffer());
+        if (request.getType() != SegmentFrame.NEXT_MAX_ID) {
+            write(ctx, SegmentFrame.encodeError(request.getRequestId(), "Unsupported frame type:[" + request.getType() + "]."));
+            return;
+        }
+        CompletableFuture<Long> nextMaxId;
+        try {
+            nextMaxId = CompletableFuture.supplyAsync(() -> segmentApi.nextMaxId(request.getNamespace(), request.getName(), request.getStep()), executor);
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            if (log.isWarnEnabled()) {
+                log.warn("Next MaxId [{}.{}] rejected, the worker queue is full.", request.getNamespace(), request.getName());
+            }
+            write(ctx, SegmentFrame.encodeError(request.getRequestId(), "Proxy server is busy, the worker queue is full."));
+            return;
+        }
+        nextMaxId.whenComplete((maxId, throwable) -> {
+            if (throwable == null) {
+                write(ctx, SegmentFrame.encodeMaxId(request.getRequestId(), maxId));
+                return;
+            }
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (log.isWarnEnabled()) {
+                log.warn("Next MaxId [{}.{}] failed.", request.getNamespace(), request.getName(), cause);
+            }
+            write(ctx, SegmentFrame.encodeError(request.getRequestId(), cause.getMessage()));
+        });
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        if (log.isWarnEnabled()) {
+            log.warn("Close connection [{}].", ctx.channel().remoteAddress(), cause);
+        }
+        ctx.close();
+    }
+
+    private static void write(ChannelHandlerContext ctx, ByteBuffer frame) {
+        ctx.writeAndFlush(Unpooled.wrappedBuffer(frame));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.binary;
+
+import me.ahoo.cosid.proxy.api.SegmentApi;
+import me.ahoo.cosid.proxy.api.SegmentFrame;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TCP server of the binary segment protocol, see {@link SegmentFrame}.
+ *
+ * <p>Requests wait for a worker thread in a queue of {@code queueCapacity}, a request arriving when it is full is
+ * answered with an {@link SegmentFrame#ERROR} frame instead of piling up in memory.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class BinarySegmentServer implements SmartLifecycle {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final int port;
+    private final SegmentApi segmentApi;
+    private final int workerThreads;
+    private final int queueCapacity;
+    private @Nullable EventLoopGroup bossGroup;
+    private @Nullable EventLoopGroup workerGroup;
+    private @Nullable ExecutorService executor;
+    private volatile @Nullable Channel channel;
+
+    public BinarySegmentServer(int port, int workerThreads, SegmentApi segmentApi) {
+        this(port, workerThreads, DEFAULT_QUEUE_CAPACITY, segmentApi);
+    }
+
+    public BinarySegmentServer(int port, int workerThreads, int queueCapacity, SegmentApi segmentApi) {
+        Preconditions.checkArgument(workerThreads > 0, "workerThreads:[%s] must be greater than 0.", workerThreads);
+        Preconditions.checkArgument(queueCapacity > 0, "queueCapacity:[%s] must be greater than 0.", queueCapacity);
+        this.port = port;
+        this.workerThreads = workerThreads;
+        this.queueCapacity = queueCapacity;
+        this.segmentApi = segmentApi;
+    }
+
+    /**
+     * Gets the bound port, which differs from the configured one when that is {@code 0}.
+     */
+    public int getPort() {
+        Channel current = channel;
+        if (current == null) {
+            return port;
+        }
+        return ((InetSocketAddress) current.localAddress()).getPort();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (isRunning()) {
+            return;
+        }
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            new ThreadFactoryBuilder().setNameFormat("cosid-binary-segment-%d").setDaemon(true).build());
+        BinarySegmentHandler handler = new BinarySegmentHandler(segmentApi, executor);
+        bossGroup = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        workerGroup = new MultiThreadIoEventLoopGroup(NioIoHandler.newFactory());
+        channel = new ServerBootstrap()
+            .group(bossGroup, workerGroup)
+            .channel(NioServerSocketChannel.class)
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    ch.pipeline()
+                        .addLast(new LengthFieldBasedFrameDecoder(SegmentFrame.MAX_FRAME_LENGTH + SegmentFrame.LENGTH_FIELD_LENGTH,
+                            0, SegmentFrame.LENGTH_FIELD_LENGTH, 0, SegmentFrame.LENGTH_FIELD_LENGTH))
+                        .addLast(handler);
+                }
+            })
+            .bind(port)
+            .syncUninterruptibly()
+            .channel();
+        if (log.isInfoEnabled()) {
+            log.info("Binary segment server started on port [{}].", getPort());
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        Channel current = channel;
+        if (current == null) {
+            return;
+        }
+        current.close().syncUninterruptibly();
+        channel = null;
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully();
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully();
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return channel != null;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.configuration;
+
+import me.ahoo.cosid.proxy.server.binary.BinarySegmentServer;
+import me.ahoo.cosid.proxy.server.controller.SegmentController;
+import me.ahoo.cosid.spring.boot.starter.CosIdProperties;
+import me.ahoo.cosid.spring.boot.starter.ProxyProperties;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(value = ProxyProperties.Binary.ENABLED_KEY, havingValue = "true")
+public class BinarySegmentServerConfiguration {
+
+    @Bean
+    public BinarySegmentServer binarySegmentServer(CosIdProperties cosIdProperties, SegmentController segmentController) {
+        ProxyProperties.Binary binary = cosIdProperties.getProxy().getBinary();
+        return new BinarySegmentServer(binary.getPort(), binary.getWorkerThreads(), binary.getQueueCapacity(), segmentController);
+    }
+}
@@ -13,13 +13,25 @@
 
 package me.ahoo.cosid.proxy.server.controller;
 
+import me.ahoo.cosid.IdGenerator;
 import me.ahoo.cosid.provider.IdGeneratorProvider;
 
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
 import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * ID resource controller .
@@ -27,6 +39,14 @@ import org.springframework.web.bind.annotation.RestController;
  * <p>
  * Important: Due to network IO performance problems caused by high request frequency,
  * it is not recommended to use this method to obtain IDs.
+ * Clients that need many IDs at once should use the batch endpoints, which return a JSON array
+ * ({@code /batch}), or stream the IDs in chunks as NDJSON ({@code /batch/stream}) or as packed
+ * big-endian {@code int64} values ({@code /batch/packed}).
+ * </p>
+ *
+ * <p>
+ * Batches are generated on {@link Schedulers#boundedElastic()}, generation may wait on sequence exhaustion or
+ * a segment fetch and must not stall the other connections of the event loop.
  * </p>
  *
  * @author ahoo wang
@@ -34,6 +54,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("ids")
 public class IdController {
+    public static final int MAX_BATCH_COUNT = 1_000_000;
+    /**
+     * The number of IDs generated at once when streaming a batch.
+     */
+    static final int CHUNK_SIZE = 1024;
     private final IdGeneratorProvider provider;
     
     public IdController(IdGeneratorProvider provider) {
@@ -71,4 +96,81 @@ public class IdController {
             .getRequired(name)
             .generateAsString();
     }
+    
+    @Operation(summary = "Generate a batch of IDs by id name.")
+    @GetMapping(value = "{name}/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<long[]> generateBatch(@PathVariable String name, @RequestParam int count) {
+        checkBatchCount(count);
+        IdGenerator idGenerator = provider.getRequired(name);
+        return Mono.fromCallable(() -> generateChunk(idGenerator, count))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @Operation(summary = "Stream a batch of IDs by id name as NDJSON.")
+    @GetMapping(value = "{name}/batch/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Long> streamBatch(@PathVariable String name, @RequestParam int count) {
+        checkBatchCount(count);
+        IdGenerator idGenerator = provider.getRequired(name);
+        return chunks(count)
+            .concatMapIterable(chunkSize -> Longs.asList(generateChunk(idGenerator, chunkSize)))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @Operation(summary = "Stream a batch of IDs by id name as packed big-endian int64 values.")
+    @GetMapping(value = "{name}/batch/packed", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Flux<byte[]> streamPackedBatch(@PathVariable String name, @RequestParam int count) {
+        checkBatchCount(count);
+        IdGenerator idGenerator = provider.getRequired(name);
+        return chunks(count)
+            .map(chunkSize -> {
+                ByteBuffer buffer = ByteBuffer.allocate(chunkSize * Long.BYTES);
+                buffer.asLongBuffer().put(generateChunk(idGenerator, chunkSize));
+                return buffer.array();
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @Operation(summary = "Generate a batch of IDs as String by id name.")
+    @GetMapping(value = "/as-string/{name}/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<String>> generateAsStringBatch(@PathVariable String name, @RequestParam int count) {
+        checkBatchCount(count);
+        IdGenerator idGenerator = provider.getRequired(name);
+        return Mono.fromCallable(() -> generateAsStringChunk(idGenerator, count))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @Operation(summary = "Stream a batch of IDs as String by id name as NDJSON.")
+    @GetMapping(value = "/as-string/{name}/batch/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> streamAsStringBatch(@PathVariable String name, @RequestParam int count) {
+        checkBatchCount(count);
+        IdGenerator idGenerator = provider.getRequired(name);
+        return chunks(count)
+            .concatMapIterable(chunkSize -> generateAsStringChunk(idGenerator, chunkSize))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    private static void checkBatchCount(int count) {
+        Preconditions.checkArgument(count > 0 && count <= MAX_BATCH_COUNT, "count:[%s] must be in (0, %s]!", count, MAX_BATCH_COUNT);
+    }
+    
+    /**
+     * Split {@code count} into chunks of at most {@link #CHUNK_SIZE}, each chunk is generated only once it is requested.
+     */
+    private static Flux<Integer> chunks(int count) {
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return Flux.range(0, chunks)
+            .map(chunk -> Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE));
+    }
+    
+    private static long[] generateChunk(IdGenerator idGenerator, int chunkSize) {
+        long[] ids = new long[chunkSize];
+        idGenerator.generate(ids, 0, chunkSize);
+        return ids;
+    }
+    
+    private static List<String> generateAsStringChunk(IdGenerator idGenerator, int chunkSize) {
+        String[] ids = new String[chunkSize];
+        idGenerator.generateAsString(ids, 0, chunkSize);
+        return Arrays.asList(ids);
+    }
 }
@@ -14,11 +14,15 @@
 package me.ahoo.cosid.proxy.server.controller;
 
 import me.ahoo.cosid.proxy.api.SegmentApi;
+import me.ahoo.cosid.proxy.server.segment.PooledIdSegmentDistributorFactory;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
+import me.ahoo.cosid.spring.boot.starter.CosIdProperties;
+import me.ahoo.cosid.spring.boot.starter.ProxyProperties;
 
 import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -39,6 +43,21 @@ public class SegmentController implements SegmentApi {
         this.distributors = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Pools the segments in super-segments held by the proxy when {@link ProxyProperties.Pool#isEnabled()}.
+     */
+    @Autowired
+    public SegmentController(IdSegmentDistributorFactory distributorFactory, CosIdProperties cosIdProperties) {
+        this(pooled(distributorFactory, cosIdProperties.getProxy().getPool()));
+    }
+
+    private static IdSegmentDistributorFactory pooled(IdSegmentDistributorFactory distributorFactory, ProxyProperties.Pool pool) {
+        if (!pool.isEnabled()) {
+            return distributorFactory;
+        }
+        return new PooledIdSegmentDistributorFactory(distributorFactory, pool.getSuperStep());
+    }
+
     /**
      * Create an ID segment dispatcher, the operation is idempotent.
      */
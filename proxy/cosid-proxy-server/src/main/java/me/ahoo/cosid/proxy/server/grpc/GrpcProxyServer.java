@@ -0,0 +1,86 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC server of the ID, segment and machine services, see {@code cosid_proxy.proto}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class GrpcProxyServer implements SmartLifecycle {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    private final int port;
+    private final List<BindableService> services;
+    private volatile @Nullable Server server;
+
+    public GrpcProxyServer(int port, List<BindableService> services) {
+        this.port = port;
+        this.services = services;
+    }
+
+    /**
+     * Gets the bound port, which differs from the configured one when that is {@code 0}.
+     */
+    public int getPort() {
+        Server current = server;
+        if (current == null) {
+            return port;
+        }
+        return current.getPort();
+    }
+
+    @SneakyThrows
+    @Override
+    public synchronized void start() {
+        if (isRunning()) {
+            return;
+        }
+        ServerBuilder<?> serverBuilder = ServerBuilder.forPort(port);
+        services.forEach(serverBuilder::addService);
+        server = serverBuilder.build().start();
+        if (log.isInfoEnabled()) {
+            log.info("gRPC proxy server started on port [{}].", getPort());
+        }
+    }
+
+    @SneakyThrows
+    @Override
+    public synchronized void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        server = null;
+        if (!current.shutdown().awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            current.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.segment;
+
+import me.ahoo.cosid.segment.IdSegment;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Carves the segments requested by the clients out of large super-segments held in memory.
+ *
+ * <p>Each super-segment of {@code superStep} IDs is fetched from the backing distributor with a single write,
+ * so that the backing store is written once per {@code superStep / step} client fetches.
+ * A client step larger than the super step is forwarded to the backing distributor as is.
+ *
+ * <p>The rest of the current super-segment is lost when the proxy restarts or when it is too small for the
+ * requested step and the next super-segment is not contiguous with it, IDs stay unique but may have gaps.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class PooledIdSegmentDistributor implements IdSegmentDistributor {
+    private final IdSegmentDistributor actual;
+    private final long superStep;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * The last ID of the current super-segment.
+     */
+    private long superMaxId = IdSegment.SEQUENCE_OVERFLOW;
+    /**
+     * The last ID handed out from the current super-segment.
+     */
+    private long cursor = IdSegment.SEQUENCE_OVERFLOW;
+
+    public PooledIdSegmentDistributor(IdSegmentDistributor actual, long superStep) {
+        Preconditions.checkArgument(superStep > 0, "superStep:[%s] must be greater than 0!", superStep);
+        this.actual = actual;
+        this.superStep = superStep;
+    }
+
+    public IdSegmentDistributor getActual() {
+        return actual;
+    }
+
+    public long getSuperStep() {
+        return superStep;
+    }
+
+    @Override
+    public String getNamespace() {
+        return actual.getNamespace();
+    }
+
+    @Override
+    public String getName() {
+        return actual.getName();
+    }
+
+    @Override
+    public long getStep() {
+        return actual.getStep();
+    }
+
+    @Override
+    public boolean allowReset() {
+        return actual.allowReset();
+    }
+
+    @Override
+    public long nextMaxId(long step) {
+        Preconditions.checkArgument(step > 0, "step:[%s] must be greater than 0!", step);
+        if (step > superStep) {
+            return actual.nextMaxId(step);
+        }
+        lock.lock();
+        try {
+            if (superMaxId - cursor < step) {
+                refill();
+            }
+            cursor += step;
+            return cursor;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long nextSuperMaxId = actual.nextMaxId(superStep);
+        long nextSuperOffset = nextSuperMaxId - superStep;
+        if (log.isDebugEnabled()) {
+            log.debug("Refill [{}] - superSegment:[{}, {}] - remaining:[{}].", getNamespacedName(), nextSuperOffset, nextSuperMaxId, superMaxId - cursor);
+        }
+        if (nextSuperOffset != superMaxId) {
+            cursor = nextSuperOffset;
+        }
+        superMaxId = nextSuperMaxId;
+    }
+}
@@ -15,12 +15,15 @@ package me.ahoo.cosid.proxy.server;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import me.ahoo.cosid.jvm.AtomicLongGenerator;
 import me.ahoo.cosid.machine.InstanceId;
 import me.ahoo.cosid.machine.MachineIdDistributor;
 import me.ahoo.cosid.machine.MachineIdLostException;
 import me.ahoo.cosid.machine.MachineIdOverflowException;
 import me.ahoo.cosid.machine.MachineState;
 import me.ahoo.cosid.proxy.api.ErrorResponse;
+import me.ahoo.cosid.provider.DefaultIdGeneratorProvider;
+import me.ahoo.cosid.proxy.server.controller.IdController;
 import me.ahoo.cosid.proxy.server.controller.MachineController;
 import me.ahoo.cosid.proxy.server.controller.SegmentController;
 import me.ahoo.cosid.proxy.server.error.GlobalRestExceptionHandler;
@@ -30,9 +33,14 @@ import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import me.ahoo.cosid.segment.grouped.GroupedKey;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -132,6 +140,132 @@ class ProxyServerTest {
             .isEqualTo(10L);
     }
 
+    @Test
+    void idBatchEndpointReturnsJsonArray() {
+        idWebTestClient()
+            .get()
+            .uri("/ids/order/batch?count=3")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(long[].class)
+            .isEqualTo(new long[] {1, 2, 3});
+    }
+
+    @Test
+    void idBatchStreamEndpointWritesOneIdPerLine() {
+        String body = idWebTestClient()
+            .get()
+            .uri("/ids/order/batch/stream?count=2050")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(body).isNotNull();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2050);
+        assertThat(lines[0]).isEqualTo("1");
+        assertThat(lines[2049]).isEqualTo("2050");
+    }
+
+    @Test
+    void idBatchPackedEndpointWritesBigEndianLongs() {
+        byte[] body = idWebTestClient()
+            .get()
+            .uri("/ids/order/batch/packed?count=2050")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(body).hasSize(2050 * Long.BYTES);
+        LongBuffer ids = ByteBuffer.wrap(body).asLongBuffer();
+        for (int i = 0; i < 2050; i++) {
+            assertThat(ids.get(i)).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    void idAsStringBatchEndpointsReturnConvertedIds() {
+        WebTestClient idWebTestClient = idWebTestClient();
+        idWebTestClient
+            .get()
+            .uri("/ids/as-string/order/batch?count=2")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(String.class)
+            .isEqualTo(List.of("00000000001", "00000000002"));
+
+        String body = idWebTestClient
+            .get()
+            .uri("/ids/as-string/order/batch/stream?count=2")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(body).isNotNull();
+        assertThat(body.split("\n")).containsExactly("\"00000000003\"", "\"00000000004\"");
+    }
+
+    @Test
+    void idBatchEndpointRejectsCountOutOfRange() {
+        idWebTestClient()
+            .get()
+            .uri("/ids/order/batch?count=0")
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        idWebTestClient()
+            .get()
+            .uri("/ids/order/batch/stream?count=" + (IdController.MAX_BATCH_COUNT + 1))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void idBatchEndpointsGenerateOffTheCallingThread() {
+        Set<String> generatingThreads = ConcurrentHashMap.newKeySet();
+        AtomicLong idGen = new AtomicLong();
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        provider.set("order", () -> {
+            generatingThreads.add(Thread.currentThread().getName());
+            return idGen.incrementAndGet();
+        });
+        WebTestClient idWebTestClient = WebTestClient
+            .bindToController(new IdController(provider))
+            .controllerAdvice(new GlobalRestExceptionHandler())
+            .build();
+
+        for (String uri : List.of("/ids/order/batch?count=3", "/ids/order/batch/stream?count=3", "/ids/order/batch/packed?count=3",
+            "/ids/as-string/order/batch?count=3", "/ids/as-string/order/batch/stream?count=3")) {
+            idWebTestClient
+                .get()
+                .uri(uri)
+                .exchange()
+                .expectStatus().isOk();
+        }
+
+        assertThat(idGen.get()).isEqualTo(15);
+        assertThat(generatingThreads).isNotEmpty().allMatch(thread -> thread.startsWith("boundedElastic"));
+    }
+
+    private static WebTestClient idWebTestClient() {
+        DefaultIdGeneratorProvider provider = new DefaultIdGeneratorProvider();
+        provider.set("order", new AtomicLongGenerator());
+        return WebTestClient
+            .bindToController(new IdController(provider))
+            .controllerAdvice(new GlobalRestExceptionHandler())
+            .build();
+    }
+
     @Test
     void machineDistributeEndpointMapsQueryParametersAndResponseBody() {
         webTestClient
@@ -0,0 +1,101 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.proxy.BinarySegmentClient;
+import me.ahoo.cosid.proxy.server.controller.SegmentController;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+class BinarySegmentServerTest {
+
+    @Test
+    void nextMaxIdIsServedOverBinaryProtocol() {
+        BinarySegmentServer server = new BinarySegmentServer(0, 2,
+            new SegmentController(definition -> new IdSegmentDistributor.Atomic(definition.getStep())));
+        server.start();
+        try (BinarySegmentClient client = new BinarySegmentClient("localhost", server.getPort())) {
+            assertThat(client.nextMaxId("test_namespace", "order", 10).toCompletableFuture().join()).isEqualTo(10L);
+            assertThat(client.nextMaxId("test_namespace", "order", 5).toCompletableFuture().join()).isEqualTo(15L);
+        } finally {
+            server.stop();
+        }
+        assertThat(server.isRunning()).isFalse();
+    }
+
+    @Test
+    void nextMaxIdFailureIsAnsweredWithErrorFrame() {
+        BinarySegmentServer server = new BinarySegmentServer(0, 2, new SegmentController(definition -> {
+            throw new IllegalStateException("unavailable");
+        }));
+        server.start();
+        try (BinarySegmentClient client = new BinarySegmentClient("localhost", server.getPort())) {
+            assertThatThrownBy(() -> client.nextMaxId("test_namespace", "order", 10).toCompletableFuture().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(CosIdException.class)
+                .hasRootCauseMessage("unavailable");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void requestBeyondQueueCapacityIsAnsweredWithErrorFrame() {
+        CountDownLatch release = new CountDownLatch(1);
+        BinarySegmentServer server = new BinarySegmentServer(0, 1, 1, new SegmentController(definition -> new IdSegmentDistributor.Atomic(definition.getStep()) {
+            @Override
+            public long nextMaxId(long step) {
+                try {
+                    release.await();
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.nextMaxId(step);
+            }
+        }));
+        server.start();
+        try (BinarySegmentClient client = new BinarySegmentClient("localhost", server.getPort())) {
+            CompletableFuture<Long> running = client.nextMaxId("test_namespace", "order", 10).toCompletableFuture();
+            CompletableFuture<Long> queued = client.nextMaxId("test_namespace", "order", 10).toCompletableFuture();
+            CompletableFuture<Long> rejected = client.nextMaxId("test_namespace", "order", 10).toCompletableFuture();
+
+            assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(CosIdException.class)
+                .hasRootCauseMessage("Proxy server is busy, the worker queue is full.");
+            release.countDown();
+            assertThat(running.join()).isEqualTo(10L);
+            assertThat(queued.join()).isEqualTo(20L);
+        } finally {
+            release.countDown();
+            server.stop();
+        }
+    }
+
+    @Test
+    void constructorRejectsInvalidQueueCapacity() {
+        SegmentController segmentController = new SegmentController(definition -> new IdSegmentDistributor.Atomic(definition.getStep()));
+
+        assertThatThrownBy(() -> new BinarySegmentServer(0, 1, 0, segmentController)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import me.ahoo.cosid.proxy.grpc.GrpcSegmentClient;
+import me.ahoo.cosid.proxy.grpc.GrpcSegmentService;
+import me.ahoo.cosid.proxy.server.controller.SegmentController;
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class GrpcProxyServerTest {
+
+    @Test
+    void nextMaxIdIsServedOverGrpc() {
+        GrpcProxyServer server = new GrpcProxyServer(0, List.of(
+            new GrpcSegmentService(new SegmentController(definition -> new IdSegmentDistributor.Atomic(definition.getStep())))));
+        server.start();
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+        try {
+            GrpcSegmentClient client = new GrpcSegmentClient(channel);
+            assertThat(client.nextMaxId("test_namespace", "order", 10)).isEqualTo(10L);
+            assertThat(client.async().nextMaxId("test_namespace", "order", 5).toCompletableFuture().join()).isEqualTo(15L);
+        } finally {
+            channel.shutdownNow();
+            server.stop();
+        }
+        assertThat(server.isRunning()).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy.server.segment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PooledIdSegmentDistributorTest {
+
+    @Test
+    void nextMaxIdShouldCarveStepsOutOfOneSuperSegment() {
+        CountingDistributor actual = new CountingDistributor();
+        PooledIdSegmentDistributor distributor = new PooledIdSegmentDistributor(actual, 100);
+
+        assertThat(distributor.nextMaxId(10)).isEqualTo(10);
+        assertThat(distributor.nextMaxId(10)).isEqualTo(20);
+        assertThat(distributor.nextMaxId(30)).isEqualTo(50);
+        assertThat(distributor.nextMaxId(50)).isEqualTo(100);
+        assertThat(actual.writes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void nextMaxIdShouldKeepRemainderWhenNextSuperSegmentIsContiguous() {
+        CountingDistributor actual = new CountingDistributor();
+        PooledIdSegmentDistributor distributor = new PooledIdSegmentDistributor(actual, 100);
+
+        assertThat(distributor.nextMaxId(60)).isEqualTo(60);
+        assertThat(distributor.nextMaxId(60)).isEqualTo(120);
+        assertThat(actual.writes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void nextMaxIdShouldSkipRemainderWhenNextSuperSegmentIsNotContiguous() {
+        CountingDistributor actual = new CountingDistributor();
+        PooledIdSegmentDistributor distributor = new PooledIdSegmentDistributor(actual, 100);
+
+        assertThat(distributor.nextMaxId(60)).isEqualTo(60);
+        actual.actual.nextMaxId(100);
+        assertThat(distributor.nextMaxId(60)).isEqualTo(260);
+    }
+
+    @Test
+    void nextMaxIdShouldForwardStepLargerThanSuperStep() {
+        CountingDistributor actual = new CountingDistributor();
+        PooledIdSegmentDistributor distributor = new PooledIdSegmentDistributor(actual, 100);
+
+        assertThat(distributor.nextMaxId(10)).isEqualTo(10);
+        assertThat(distributor.nextMaxId(500)).isEqualTo(600);
+        assertThat(actual.writes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void nextMaxIdShouldRejectNonPositiveStep() {
+        PooledIdSegmentDistributor distributor = new PooledIdSegmentDistributor(new CountingDistributor(), 100);
+
+        assertThatThrownBy(() -> distributor.nextMaxId(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nextMaxIdShouldHandOutDisjointSegmentsConcurrently() throws InterruptedException {
+        CountingDistributor actual = new CountingDistributor();
+        PooledIdSegmentDistributor distributor = new PooledIdSegmentDistributor(actual, 1000);
+        int threads = 8;
+        int fetchesPerThread = 1000;
+        List<Long> maxIds = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < fetchesPerThread; j++) {
+                    maxIds.add(distributor.nextMaxId(10));
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(maxIds).doesNotHaveDuplicates().hasSize(threads * fetchesPerThread);
+        assertThat(maxIds).allMatch(maxId -> maxId % 10 == 0);
+        assertThat(actual.writes.get()).isEqualTo(threads * fetchesPerThread * 10 / 1000);
+    }
+
+    static class CountingDistributor implements IdSegmentDistributor {
+        private final IdSegmentDistributor actual = new IdSegmentDistributor.Atomic();
+        private final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public String getNamespace() {
+            return actual.getNamespace();
+        }
+
+        @Override
+        public String getName() {
+            return actual.getName();
+        }
+
+        @Override
+        public long getStep() {
+            return actual.getStep();
+        }
+
+        @Override
+        public long nextMaxId(long step) {
+            writes.incrementAndGet();
+            return actual.nextMaxId(step);
+        }
+    }
+}
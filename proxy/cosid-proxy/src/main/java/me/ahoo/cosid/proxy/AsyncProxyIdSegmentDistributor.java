@@ -0,0 +1,74 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy;
+
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
+
+import lombok.SneakyThrows;
+import org.jspecify.annotations.NonNull;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Proxy segment distributor fetching segments through an {@link AsyncSegmentClient}, such as the {@link BinarySegmentClient}
+ * or the {@link HedgedSegmentClient} that spreads the fetches over several proxy instances.
+ *
+ * <p>The prefetch worker only starts the fetch, {@link #nextMaxId(long)} waits for it.
+ *
+ * @author ahoo wang
+ */
+public class AsyncProxyIdSegmentDistributor implements AsyncIdSegmentDistributor {
+    private final AsyncSegmentClient asyncSegmentClient;
+    private final String namespace;
+    private final String name;
+    private final long step;
+    
+    public AsyncProxyIdSegmentDistributor(AsyncSegmentClient asyncSegmentClient, String namespace, String name, long step) {
+        this.asyncSegmentClient = asyncSegmentClient;
+        this.namespace = namespace;
+        this.name = name;
+        this.step = step;
+    }
+    
+    @Override
+    public @NonNull String getNamespace() {
+        return namespace;
+    }
+    
+    @Override
+    public @NonNull String getName() {
+        return name;
+    }
+    
+    @Override
+    public long getStep() {
+        return step;
+    }
+    
+    @SneakyThrows
+    @Override
+    public long nextMaxId(long step) {
+        try {
+            return nextMaxIdAsync(step).toCompletableFuture().join();
+        } catch (CompletionException completionException) {
+            throw completionException.getCause();
+        }
+    }
+    
+    @Override
+    public CompletionStage<Long> nextMaxIdAsync(long step) {
+        return asyncSegmentClient.nextMaxId(getNamespace(), getName(), step);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.proxy.api.SegmentFrame;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link AsyncSegmentClient} speaking the binary segment protocol of {@link SegmentFrame}.
+ *
+ * <p>All requests are multiplexed on one persistent TCP connection: the caller writes its frame and returns,
+ * a reader thread matches each response to its pending request by request ID and completes it on the completion executor,
+ * so dependent stages never hold up the reader.
+ * A broken connection fails its pending requests and is re-established by the next request.
+ * A write still blocked, e.g. by a proxy that stopped reading, when its request times out breaks the connection.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class BinarySegmentClient implements AsyncSegmentClient, AutoCloseable {
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(3);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String host;
+    private final int port;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final Executor completionExecutor;
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private final ReentrantLock connectLock = new ReentrantLock();
+    private volatile @Nullable Connection connection;
+    private volatile boolean closed;
+
+    public BinarySegmentClient(String host, int port) {
+        this(host, port, DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    public BinarySegmentClient(String host, int port, Duration connectTimeout, Duration requestTimeout) {
+        this(host, port, connectTimeout, requestTimeout, ForkJoinPool.commonPool());
+    }
+
+    public BinarySegmentClient(String host, int port, Duration connectTimeout, Duration requestTimeout, Executor completionExecutor) {
+        Preconditions.checkArgument(port > 0, "port:[%s] must be greater than 0!", port);
+        Preconditions.checkArgument(requestTimeout.toNanos() > 0, "requestTimeout:[%s] must be greater than 0!", requestTimeout);
+        this.host = host;
+        this.port = port;
+        this.connectTimeout = connectTimeout;
+        this.requestTimeout = requestTimeout;
+        this.completionExecutor = Preconditions.checkNotNull(completionExecutor, "completionExecutor can not be null!");
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    @Override
+    public CompletionStage<Long> nextMaxId(String namespace, String name, long step) {
+        int requestId = requestIds.incrementAndGet();
+        try {
+            ByteBuffer frame = SegmentFrame.encodeNextMaxId(requestId, namespace, name, step);
+            return connection().send(requestId, frame);
+        } catch (IOException | RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    private Connection connection() throws IOException {
+        Connection current = connection;
+        if (current != null && !current.broken) {
+            return current;
+        }
+        connectLock.lock();
+        try {
+            current = connection;
+            if (current != null && !current.broken) {
+                return current;
+            }
+            Preconditions.checkState(!closed, "BinarySegmentClient[%s:%s] is closed!", host, port);
+            Socket socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.connect(new InetSocketAddress(host, port), (int) connectTimeout.toMillis());
+                current = new Connection(socket);
+            } catch (IOException ioException) {
+                socket.close();
+                throw ioException;
+            }
+            if (log.isInfoEnabled()) {
+                log.info("Connected to [{}:{}].", host, port);
+            }
+            Thread reader = new Thread(current, "cosid-binary-segment-reader-" + host + ":" + port);
+            reader.setDaemon(true);
+            reader.start();
+            connection = current;
+            return current;
+        } finally {
+            connectLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection current = connection;
+        if (current != null) {
+            current.broken(new IOException("BinarySegmentClient is closed."));
+        }
+    }
+
+    private final class Connection implements Runnable {
+        private final Socket socket;
+        private final DataInputStream input;
+        private final OutputStream output;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final Map<Integer, CompletableFuture<Long>> pending = new ConcurrentHashMap<>();
+        private volatile boolean broken;
+        /**
+         * The response of the frame being written, a write still in progress when its request times out is stuck.
+         */
+        private volatile @Nullable CompletableFuture<Long> writing;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.input = new DataInputStream(socket.getInputStream());
+            this.output = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        CompletableFuture<Long> send(int requestId, ByteBuffer frame) {
+            CompletableFuture<Long> response = new CompletableFuture<>();
+            pending.put(requestId, response);
+            CompletableFuture<Long> result = response
+                .orTimeout(requestTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((maxId, throwable) -> {
+                    pending.remove(requestId);
+                    if (throwable instanceof TimeoutException && writing == response) {
+                        broken(new SocketTimeoutException("Write to [" + host + ":" + port + "] timed out."));
+                    }
+                });
+            if (broken) {
+                fail(requestId, new CosIdException("Connection to [" + host + ":" + port + "] is broken."));
+                return result;
+            }
+            write(response, frame);
+            return result;
+        }
+
+        private void write(CompletableFuture<Long> response, ByteBuffer frame) {
+            try {
+                // The writer holding the lock for a whole request timeout is stuck, its own timeout breaks the connection.
+                if (!writeLock.tryLock(requestTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                response.completeExceptionally(interruptedException);
+                return;
+            }
+            try {
+                writing = response;
+                output.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                output.flush();
+            } catch (IOException ioException) {
+                broken(ioException);
+            } finally {
+                writing = null;
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!broken) {
+                    int length = input.readInt();
+                    if (length <= 0 || length > SegmentFrame.MAX_FRAME_LENGTH) {
+                        throw new IOException("Illegal frame length:[" + length + "].");
+                    }
+                    byte[] frameBytes = new byte[length];
+                    input.readFully(frameBytes);
+                    SegmentFrame frame = SegmentFrame.decode(ByteBuffer.wrap(frameBytes));
+                    CompletableFuture<Long> response = pending.remove(frame.getRequestId());
+                    if (response != null) {
+                        completeAsync(response, frame);
+                    }
+                }
+            } catch (IOException | RuntimeException exception) {
+                broken(exception);
+            }
+        }
+
+        private void completeAsync(CompletableFuture<Long> response, SegmentFrame frame) {
+            try {
+                completionExecutor.execute(() -> complete(response, frame));
+            } catch (RejectedExecutionException rejectedExecutionException) {
+                complete(response, frame);
+            }
+        }
+
+        private void complete(CompletableFuture<Long> response, SegmentFrame frame) {
+            if (frame.getType() == SegmentFrame.MAX_ID) {
+                response.complete(frame.getMaxId());
+            } else {
+                response.completeExceptionally(new CosIdException(String.valueOf(frame.getMessage())));
+            }
+        }
+
+        void broken(Throwable cause) {
+            if (!broken && !closed && log.isWarnEnabled()) {
+                log.warn("Connection to [{}:{}] is broken.", host, port, cause);
+            }
+            broken = true;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // The connection is being discarded anyway.
+            }
+            CosIdException brokenException = new CosIdException("Connection to [" + host + ":" + port + "] is broken.", cause);
+            for (Integer requestId : pending.keySet()) {
+                fail(requestId, brokenException);
+            }
+        }
+
+        private void fail(int requestId, Throwable cause) {
+            CompletableFuture<Long> response = pending.remove(requestId);
+            if (response != null) {
+                response.completeExceptionally(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy;
+
+import me.ahoo.cosid.segment.IdSegmentDistributor;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link AsyncSegmentClient} over several proxy endpoints, so that one slow or broken proxy instance does not stall
+ * the segment fetches of the node.
+ *
+ * <ul>
+ *     <li>Each request goes to the faster of two randomly picked endpoints, by the moving average of their latency.</li>
+ *     <li>When the request is not answered within the hedge delay, the 99th percentile of the recent latencies,
+ *     it is sent to another endpoint as well and the first answer wins.</li>
+ *     <li>A failed request is retried on the endpoints not tried yet.</li>
+ *     <li>An endpoint failing {@code failureThreshold} times in a row is skipped for {@code openDuration},
+ *     then the next request tries it again.</li>
+ * </ul>
+ *
+ * <p>Segments are disjoint ranges, so the answer that loses the race is kept as a spare segment instead of being wasted,
+ * and handed out by a later request of the same segment whose step fits in it. A spare is only handed out when it is
+ * above the last max ID handed out for the segment, so the max IDs keep increasing, and dropped otherwise. At most
+ * {@link #MAX_SPARES} spares are kept per segment.
+ *
+ * <p>Closing it closes the endpoint clients that are {@link AutoCloseable}.
+ *
+ * @author ahoo wang
+ */
+@Slf4j
+public class HedgedSegmentClient implements AsyncSegmentClient, AutoCloseable {
+    public static final Duration DEFAULT_INITIAL_HEDGE_DELAY = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MIN_HEDGE_DELAY = Duration.ofMillis(5);
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(10);
+    /**
+     * The number of recent latencies the hedge delay is computed from.
+     */
+    static final int LATENCY_WINDOW = 256;
+    /**
+     * The hedge delay stays at {@code initialHedgeDelay} until this many latencies are recorded.
+     */
+    static final int MIN_LATENCY_SAMPLES = 32;
+    /**
+     * The number of spare segments kept per segment.
+     */
+    public static final int MAX_SPARES = 8;
+    private static final double LATENCY_PERCENTILE = 0.99;
+    private final List<Endpoint> endpoints;
+    private final long initialHedgeDelayNanos;
+    private final long minHedgeDelayNanos;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final ConcurrentHashMap<String, Spares> spares = new ConcurrentHashMap<>();
+    /**
+     * Ring of the recent latencies, guarded by itself.
+     */
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyIndex;
+    private int latencyCount;
+
+    public HedgedSegmentClient(List<? extends AsyncSegmentClient> clients) {
+        this(clients, DEFAULT_INITIAL_HEDGE_DELAY, DEFAULT_MIN_HEDGE_DELAY, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION);
+    }
+
+    public HedgedSegmentClient(List<? extends AsyncSegmentClient> clients,
+                               Duration initialHedgeDelay,
+                               Duration minHedgeDelay,
+                               int failureThreshold,
+                               Duration openDuration) {
+        Preconditions.checkArgument(!clients.isEmpty(), "clients can not be empty!");
+        Preconditions.checkArgument(failureThreshold > 0, "failureThreshold:[%s] must be greater than 0!", failureThreshold);
+        List<Endpoint> endpoints = new ArrayList<>(clients.size());
+        for (int i = 0; i < clients.size(); i++) {
+            endpoints.add(new Endpoint(i, clients.get(i)));
+        }
+        this.endpoints = endpoints;
+        this.initialHedgeDelayNanos = initialHedgeDelay.toNanos();
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    @Override
+    public CompletionStage<Long> nextMaxId(String namespace, String name, long step) {
+        Spares segmentSpares = spares.computeIfAbsent(IdSegmentDistributor.getNamespacedName(namespace, name), key -> new Spares());
+        Long spareMaxId = segmentSpares.poll(step);
+        if (spareMaxId != null) {
+            return CompletableFuture.completedFuture(spareMaxId);
+        }
+        Request request = new Request(namespace, name, step, segmentSpares);
+        request.sendNext();
+        if (endpoints.size() > 1 && !request.result.isDone()) {
+            CompletableFuture.delayedExecutor(getHedgeDelayNanos(), TimeUnit.NANOSECONDS).execute(request::hedge);
+        }
+        return request.result;
+    }
+
+    /**
+     * Gets the current hedge delay, the 99th percentile of the recent latencies.
+     */
+    public Duration getHedgeDelay() {
+        return Duration.ofNanos(getHedgeDelayNanos());
+    }
+
+    private long getHedgeDelayNanos() {
+        long[] sorted;
+        synchronized (latencies) {
+            if (latencyCount < MIN_LATENCY_SAMPLES) {
+                return initialHedgeDelayNanos;
+            }
+            sorted = Arrays.copyOf(latencies, latencyCount);
+        }
+        Arrays.sort(sorted);
+        long percentile = sorted[(int) Math.ceil(sorted.length * LATENCY_PERCENTILE) - 1];
+        return Math.max(minHedgeDelayNanos, percentile);
+    }
+
+    void recordLatency(long latencyNanos) {
+        synchronized (latencies) {
+            latencies[latencyIndex] = latencyNanos;
+            latencyIndex = (latencyIndex + 1) % LATENCY_WINDOW;
+            latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.client instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception exception) {
+                    log.warn("Close endpoint [{}] failed.", endpoint.index, exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Select the endpoint of the next attempt.
+     *
+     * <p>When every endpoint is open the first attempt still goes to one of them rather than failing without a try.
+     *
+     * @param tried the endpoints already tried by the request
+     * @return the selected endpoint, {@code null} when no endpoint is left
+     */
+    private @Nullable Endpoint select(List<Endpoint> tried) {
+        long nowNanos = System.nanoTime();
+        List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (!tried.contains(endpoint) && endpoint.isAvailable(nowNanos)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty() && tried.isEmpty()) {
+            candidates.addAll(endpoints);
+        }
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint firstEndpoint = candidates.get(first);
+        Endpoint secondEndpoint = candidates.get(second);
+        return firstEndpoint.latencyNanos <= secondEndpoint.latencyNanos ? firstEndpoint : secondEndpoint;
+    }
+
+    /**
+     * The attempts of one {@link #nextMaxId(String, String, long)}.
+     */
+    private final class Request {
+        private final String namespace;
+        private final String name;
+        private final long step;
+        private final Spares spares;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+        private final List<Endpoint> tried = new ArrayList<>(2);
+        private int inFlight;
+        private @Nullable Throwable lastFailure;
+
+        Request(String namespace, String name, long step, Spares spares) {
+            this.namespace = namespace;
+            this.name = name;
+            this.step = step;
+            this.spares = spares;
+        }
+
+        void hedge() {
+            if (result.isDone()) {
+                return;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Hedge [{}.{}] - step:[{}].", namespace, name, step);
+            }
+            sendNext();
+        }
+
+        void sendNext() {
+            Endpoint endpoint;
+            Throwable failure = null;
+            synchronized (this) {
+                endpoint = select(tried);
+                if (endpoint == null) {
+                    if (inFlight == 0) {
+                        failure = lastFailure;
+                    }
+                } else {
+                    tried.add(endpoint);
+                    inFlight++;
+                }
+            }
+            if (endpoint != null) {
+                send(endpoint);
+            } else if (failure != null) {
+                result.completeExceptionally(failure);
+            }
+        }
+
+        private void send(Endpoint endpoint) {
+            long startNanos = System.nanoTime();
+            CompletionStage<Long> attempt;
+            try {
+                attempt = endpoint.client.nextMaxId(namespace, name, step);
+            } catch (RuntimeException runtimeException) {
+                attempt = CompletableFuture.failedFuture(runtimeException);
+            }
+            attempt.whenComplete((maxId, throwable) -> onComplete(endpoint, System.nanoTime() - startNanos, maxId, throwable));
+        }
+
+        private void onComplete(Endpoint endpoint, long latencyNanos, @Nullable Long maxId, @Nullable Throwable throwable) {
+            if (throwable == null) {
+                endpoint.onSuccess(latencyNanos);
+                recordLatency(latencyNanos);
+                synchronized (this) {
+                    inFlight--;
+                }
+                if (result.complete(maxId)) {
+                    spares.handedOut(maxId);
+                } else if (!spares.offer(maxId, step) && log.isDebugEnabled()) {
+                    log.debug("Drop spare segment [{}.{}] - maxId:[{}] - step:[{}].", namespace, name, maxId, step);
+                }
+                return;
+            }
+            Throwable failure = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            endpoint.onFailure(System.nanoTime(), failureThreshold, openDurationNanos);
+            if (log.isWarnEnabled()) {
+                log.warn("Next MaxId [{}.{}] failed on endpoint [{}].", namespace, name, endpoint.index, failure);
+            }
+            synchronized (this) {
+                inFlight--;
+                lastFailure = failure;
+            }
+            if (!result.isDone()) {
+                sendNext();
+            }
+        }
+    }
+
+    /**
+     * The spare segments of one segment, by max ID, and the last max ID handed out for it.
+     */
+    static final class Spares {
+        private final TreeMap<Long, Long> stepOfMaxId = new TreeMap<>();
+        private long lastMaxId = Long.MIN_VALUE;
+
+        /**
+         * Record a max ID handed out, so that no spare below it is handed out afterwards.
+         */
+        synchronized void handedOut(long maxId) {
+            lastMaxId = Math.max(lastMaxId, maxId);
+            stepOfMaxId.headMap(lastMaxId, true).clear();
+        }
+
+        /**
+         * Keep a spare segment {@code (maxId - step, maxId]}.
+         *
+         * @return {@code false} when it is dropped, as it is not above the last max ID handed out
+         */
+        synchronized boolean offer(long maxId, long step) {
+            if (maxId - step < lastMaxId) {
+                return false;
+            }
+            stepOfMaxId.put(maxId, step);
+            if (stepOfMaxId.size() > MAX_SPARES) {
+                stepOfMaxId.pollLastEntry();
+            }
+            return true;
+        }
+
+        /**
+         * Take the lowest spare segment above the last max ID handed out that has room for {@code step}.
+         *
+         * @return the max ID of the spare segment, {@code null} when there is none
+         */
+        synchronized @Nullable Long poll(long step) {
+            for (Map.Entry<Long, Long> spare : stepOfMaxId.entrySet()) {
+                long maxId = spare.getKey();
+                if (maxId - spare.getValue() >= lastMaxId && step <= spare.getValue()) {
+                    handedOut(maxId);
+                    return maxId;
+                }
+            }
+            return null;
+        }
+
+        synchronized int size() {
+            return stepOfMaxId.size();
+        }
+    }
+
+    /**
+     * One proxy endpoint with its latency and circuit state.
+     */
+    static final class Endpoint {
+        private static final double LATENCY_WEIGHT = 0.3;
+        private final int index;
+        private final AsyncSegmentClient client;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        /**
+         * Moving average of the latency, {@code 0} until the first answer so that new endpoints get tried.
+         */
+        private volatile long latencyNanos;
+        private volatile boolean open;
+        private volatile long openUntilNanos;
+
+        Endpoint(int index, AsyncSegmentClient client) {
+            this.index = index;
+            this.client = client;
+        }
+
+        boolean isAvailable(long nowNanos) {
+            return !open || nowNanos - openUntilNanos >= 0;
+        }
+
+        long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        void onSuccess(long latency) {
+            long current = latencyNanos;
+            latencyNanos = current == 0 ? latency : (long) (current * (1 - LATENCY_WEIGHT) + latency * LATENCY_WEIGHT);
+            consecutiveFailures.set(0);
+            open = false;
+        }
+
+        void onFailure(long nowNanos, int failureThreshold, long openDurationNanos) {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                openUntilNanos = nowNanos + openDurationNanos;
+                open = true;
+            }
+        }
+    }
+}
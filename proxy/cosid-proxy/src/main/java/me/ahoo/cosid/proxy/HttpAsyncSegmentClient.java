@@ -0,0 +1,96 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy;
+
+import me.ahoo.cosid.CosIdException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AsyncSegmentClient} on the JDK {@link HttpClient}, speaking the same {@code PATCH /segments/{namespace}/{name}?step=}
+ * contract as {@link me.ahoo.cosid.proxy.api.SegmentClient}.
+ *
+ * <p>A fetch not answered within the timeout completes exceptionally with a {@link java.net.http.HttpTimeoutException}
+ * or a {@link java.util.concurrent.TimeoutException}, so a hung proxy never blocks a caller waiting on it.
+ *
+ * @author ahoo wang
+ */
+public class HttpAsyncSegmentClient implements AsyncSegmentClient {
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    public HttpAsyncSegmentClient(String baseUrl) {
+        this(baseUrl, DEFAULT_TIMEOUT);
+    }
+
+    public HttpAsyncSegmentClient(String baseUrl, Duration timeout) {
+        this(baseUrl, HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(timeout).build(), timeout);
+    }
+
+    /**
+     * Create a client on the given {@link HttpClient}, whose connect timeout is left as configured.
+     *
+     * @param baseUrl    the base URL of the proxy server
+     * @param httpClient the HTTP client
+     * @param timeout    the timeout of each fetch
+     */
+    public HttpAsyncSegmentClient(String baseUrl, HttpClient httpClient, Duration timeout) {
+        Preconditions.checkArgument(!timeout.isNegative() && !timeout.isZero(), "timeout:[%s] must be greater than 0!", timeout);
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = httpClient;
+        this.timeout = timeout;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public CompletionStage<Long> nextMaxId(String namespace, String name, long step) {
+        HttpRequest request = HttpRequest.newBuilder(nextMaxIdUri(namespace, name, step))
+            .method("PATCH", HttpRequest.BodyPublishers.noBody())
+            .timeout(timeout)
+            .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .thenApply(response -> {
+                if (response.statusCode() / 100 != 2) {
+                    throw new CosIdException(Strings.lenientFormat("Next MaxId [%s.%s] failed - status:[%s] - body:[%s].",
+                        namespace, name, response.statusCode(), response.body()));
+                }
+                return Long.parseLong(response.body().trim());
+            })
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private URI nextMaxIdUri(String namespace, String name, long step) {
+        return URI.create(baseUrl + "/segments/" + encode(namespace) + "/" + encode(name) + "?step=" + step);
+    }
+
+    private static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -16,7 +16,6 @@ package me.ahoo.cosid.proxy;
 import me.ahoo.cosid.proxy.api.SegmentClient;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
 
@@ -25,6 +24,9 @@ import org.jspecify.annotations.NonNull;
  *
  * <p><img src="doc-files/CosId-Proxy.png" alt="CosId-Proxy"></p>
  *
+ * <p>Segments are fetched by the blocking {@link SegmentClient}. With an {@link AsyncSegmentClient}, use the
+ * {@link AsyncProxyIdSegmentDistributor} instead.
+ *
  * @author ahoo wang
  */
 @Slf4j
@@ -56,7 +58,6 @@ public class ProxyIdSegmentDistributor implements IdSegmentDistributor {
         return step;
     }
     
-    @SneakyThrows
     @Override
     public long nextMaxId(long step) {
         return segmentClient.nextMaxId(getNamespace(), getName(), step);
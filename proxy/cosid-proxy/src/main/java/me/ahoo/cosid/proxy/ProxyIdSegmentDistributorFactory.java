@@ -21,6 +21,7 @@ import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 /**
  * ProxyIdSegmentDistributorFactory .
@@ -31,10 +32,16 @@ import org.jspecify.annotations.NonNull;
 public class ProxyIdSegmentDistributorFactory implements IdSegmentDistributorFactory {
 
     private final SegmentClient segmentClient;
+    private final @Nullable AsyncSegmentClient asyncSegmentClient;
 
 
     public ProxyIdSegmentDistributorFactory(SegmentClient segmentClient) {
+        this(segmentClient, null);
+    }
+
+    public ProxyIdSegmentDistributorFactory(SegmentClient segmentClient, @Nullable AsyncSegmentClient asyncSegmentClient) {
         this.segmentClient = segmentClient;
+        this.asyncSegmentClient = asyncSegmentClient;
     }
 
     @SneakyThrows
@@ -45,6 +52,9 @@ public class ProxyIdSegmentDistributorFactory implements IdSegmentDistributorFac
         }
         segmentClient.createDistributor(definition.getNamespace(), definition.getName(), definition.getOffset(), definition.getStep());
 
+        if (asyncSegmentClient != null) {
+            return new AsyncProxyIdSegmentDistributor(asyncSegmentClient, definition.getNamespace(), definition.getName(), definition.getStep());
+        }
         return new ProxyIdSegmentDistributor(segmentClient, definition.getNamespace(), definition.getName(), definition.getStep());
     }
 }
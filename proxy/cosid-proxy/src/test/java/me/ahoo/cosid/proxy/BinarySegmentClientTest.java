@@ -0,0 +1,197 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.ahoo.cosid.CosIdException;
+import me.ahoo.cosid.proxy.api.SegmentFrame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class BinarySegmentClientTest {
+
+    @Test
+    void nextMaxIdMultiplexesRequestsOnOneConnection() throws IOException {
+        try (FrameServer server = new FrameServer(2, false);
+             BinarySegmentClient client = new BinarySegmentClient("localhost", server.getPort())) {
+            CompletableFuture<Long> order = client.nextMaxId("test_namespace", "order", 10).toCompletableFuture();
+            CompletableFuture<Long> invoice = client.nextMaxId("test_namespace", "invoice", 20).toCompletableFuture();
+
+            assertEquals(110, order.join());
+            assertEquals(120, invoice.join());
+            assertEquals(1, server.connections.get());
+        }
+    }
+
+    @Test
+    void nextMaxIdCompletesExceptionallyOnErrorFrame() throws IOException {
+        try (FrameServer server = new FrameServer(1, false);
+             BinarySegmentClient client = new BinarySegmentClient("localhost", server.getPort())) {
+            CompletionException completionException = assertThrows(CompletionException.class,
+                () -> client.nextMaxId("test_namespace", "error", 10).toCompletableFuture().join());
+
+            assertInstanceOf(CosIdException.class, completionException.getCause());
+            assertEquals("unavailable", completionException.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void nextMaxIdReconnectsAfterConnectionIsBroken() throws IOException {
+        try (FrameServer server = new FrameServer(1, true);
+             BinarySegmentClient client = new BinarySegmentClient("localhost", server.getPort())) {
+            assertThrows(CompletionException.class, () -> client.nextMaxId("test_namespace", "order", 10).toCompletableFuture().join());
+
+            assertThrows(CompletionException.class, () -> client.nextMaxId("test_namespace", "order", 10).toCompletableFuture().join());
+            assertEquals(2, server.connections.get());
+        }
+    }
+
+    @Test
+    void nextMaxIdCompletesOnCompletionExecutor() throws IOException {
+        ExecutorService completionExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "binary-completion"));
+        try (FrameServer server = new FrameServer(2, false);
+             BinarySegmentClient client = new BinarySegmentClient("localhost", server.getPort(), BinarySegmentClient.DEFAULT_CONNECT_TIMEOUT,
+                 BinarySegmentClient.DEFAULT_REQUEST_TIMEOUT, completionExecutor)) {
+            // The server only answers once both requests arrived, so the dependent stage is registered before completion.
+            CompletableFuture<String> completingThread = client.nextMaxId("test_namespace", "order", 10).toCompletableFuture()
+                .thenApply(maxId -> Thread.currentThread().getName());
+            client.nextMaxId("test_namespace", "invoice", 20).toCompletableFuture().join();
+
+            assertEquals("binary-completion", completingThread.join());
+        } finally {
+            completionExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void nextMaxIdBreaksConnectionWhenWriteIsStuck() throws IOException {
+        // The server never accepts nor reads, so the socket buffers fill up and a write blocks.
+        try (ServerSocket stalledServer = new ServerSocket(0);
+             BinarySegmentClient client = new BinarySegmentClient("localhost", stalledServer.getLocalPort(), BinarySegmentClient.DEFAULT_CONNECT_TIMEOUT,
+                 Duration.ofMillis(200))) {
+            String name = "n".repeat(60_000);
+            CompletableFuture<Long> stuck = null;
+            for (int i = 0; i < 10_000 && stuck == null; i++) {
+                CompletableFuture<Long> response = client.nextMaxId("test_namespace", name, 10).toCompletableFuture();
+                // Only the stuck write returns after its request already timed out.
+                if (response.isDone()) {
+                    stuck = response;
+                }
+            }
+
+            assertTrue(stuck != null);
+            CompletionException completionException = assertThrows(CompletionException.class, stuck::join);
+            assertInstanceOf(TimeoutException.class, completionException.getCause());
+        }
+    }
+
+    @Test
+    void segmentFrameRoundTrips() {
+        ByteBuffer request = SegmentFrame.encodeNextMaxId(7, "test_namespace", "订单", 100);
+
+        assertEquals(request.remaining() - SegmentFrame.LENGTH_FIELD_LENGTH, request.getInt());
+        SegmentFrame frame = SegmentFrame.decode(request);
+        assertEquals(SegmentFrame.NEXT_MAX_ID, frame.getType());
+        assertEquals(7, frame.getRequestId());
+        assertEquals("test_namespace", frame.getNamespace());
+        assertEquals("订单", frame.getName());
+        assertEquals(100, frame.getStep());
+    }
+
+    /**
+     * Answers each batch of requests in reverse order with {@code 100 + step}, or an error frame for the name {@code error}.
+     */
+    private static final class FrameServer implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final int batch;
+        private final boolean closeAfterBatch;
+
+        FrameServer(int batch, boolean closeAfterBatch) throws IOException {
+            this.serverSocket = new ServerSocket(0);
+            this.batch = batch;
+            this.closeAfterBatch = closeAfterBatch;
+            Thread acceptor = new Thread(this::accept);
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    connections.incrementAndGet();
+                    serve(socket);
+                } catch (IOException ignored) {
+                    // The client closed the connection or the server is closed.
+                }
+            }
+        }
+
+        private void serve(Socket socket) throws IOException {
+            DataInputStream input = new DataInputStream(socket.getInputStream());
+            OutputStream output = socket.getOutputStream();
+            List<SegmentFrame> requests = new ArrayList<>();
+            while (true) {
+                byte[] frame = new byte[input.readInt()];
+                input.readFully(frame);
+                requests.add(SegmentFrame.decode(ByteBuffer.wrap(frame)));
+                if (requests.size() < batch) {
+                    continue;
+                }
+                if (closeAfterBatch) {
+                    return;
+                }
+                Collections.reverse(requests);
+                for (SegmentFrame request : requests) {
+                    ByteBuffer response = "error".equals(request.getName())
+                        ? SegmentFrame.encodeError(request.getRequestId(), "unavailable")
+                        : SegmentFrame.encodeMaxId(request.getRequestId(), 100 + request.getStep());
+                    output.write(response.array(), 0, response.remaining());
+                }
+                output.flush();
+                requests.clear();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
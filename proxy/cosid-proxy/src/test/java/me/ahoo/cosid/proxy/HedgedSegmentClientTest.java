@@ -0,0 +1,253 @@
+/*
+ * Copyright [2021-present] [ahoo wang <ahoowang@qq.com> (https://github.com/Ahoo-Wang)].
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.ahoo.cosid.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import me.ahoo.cosid.CosIdException;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class HedgedSegmentClientTest {
+    private static final String NAMESPACE = "test";
+    private static final String NAME = "order";
+    private static final long STEP = 100;
+
+    @Test
+    void nextMaxIdWhenSingleEndpoint() {
+        CountingClient client = CountingClient.answering();
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(client));
+        assertEquals(100L, join(hedgedClient.nextMaxId(NAMESPACE, NAME, STEP)));
+        assertEquals(200L, join(hedgedClient.nextMaxId(NAMESPACE, NAME, STEP)));
+        assertEquals(2, client.calls.get());
+    }
+
+    @Test
+    void nextMaxIdFailover() {
+        CountingClient broken = CountingClient.failing();
+        CountingClient healthy = CountingClient.answering();
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(broken, healthy),
+            Duration.ofSeconds(10), Duration.ofMillis(5), 100, Duration.ofSeconds(10));
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i * 100L, join(hedgedClient.nextMaxId(NAMESPACE, NAME, STEP)));
+        }
+        assertEquals(10, healthy.calls.get());
+    }
+
+    @Test
+    void nextMaxIdWhenAllFailed() {
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(CountingClient.failing(), CountingClient.failing()));
+        CompletionException completionException = assertThrows(CompletionException.class,
+            () -> hedgedClient.nextMaxId(NAMESPACE, NAME, STEP).toCompletableFuture().join());
+        assertInstanceOf(CosIdException.class, completionException.getCause());
+    }
+
+    @Test
+    void nextMaxIdWhenClientThrows() {
+        AsyncSegmentClient throwing = (namespace, name, step) -> {
+            throw new CosIdException("Connection refused.");
+        };
+        CountingClient healthy = CountingClient.answering();
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(throwing, healthy));
+        assertEquals(100L, join(hedgedClient.nextMaxId(NAMESPACE, NAME, STEP)));
+    }
+
+    @Test
+    void nextMaxIdSkipsOpenEndpoint() {
+        CountingClient broken = CountingClient.failing();
+        CountingClient healthy = CountingClient.answering();
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(broken, healthy),
+            Duration.ofSeconds(10), Duration.ofMillis(5), 1, Duration.ofMinutes(1));
+        for (int i = 0; i < 20; i++) {
+            join(hedgedClient.nextMaxId(NAMESPACE, NAME, STEP));
+        }
+        assertTrue(broken.calls.get() <= 1);
+        assertEquals(20, healthy.calls.get());
+    }
+
+    @Test
+    void nextMaxIdHedgesSlowEndpoint() {
+        PendingClient stalled = new PendingClient();
+        CountingClient healthy = CountingClient.answering();
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(stalled, healthy),
+            Duration.ofMillis(10), Duration.ofMillis(5), 3, Duration.ofSeconds(10));
+        assertEquals(100L, join(hedgedClient.nextMaxId(NAMESPACE, NAME, STEP)));
+        assertEquals(1, healthy.calls.get());
+    }
+
+    @Test
+    void nextMaxIdKeepsLateAnswerAsSpare() throws InterruptedException {
+        PendingClient first = new PendingClient();
+        PendingClient second = new PendingClient();
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(first, second),
+            Duration.ofMillis(1), Duration.ofMillis(1), 3, Duration.ofSeconds(10));
+        CompletableFuture<Long> result = hedgedClient.nextMaxId(NAMESPACE, NAME, STEP).toCompletableFuture();
+        awaitCalls(first);
+        awaitCalls(second);
+
+        first.pending.get(0).complete(100L);
+        assertEquals(100L, join(result));
+        second.pending.get(0).complete(200L);
+
+        assertEquals(200L, join(hedgedClient.nextMaxId(NAMESPACE, NAME, STEP)));
+        assertEquals(1, first.pending.size());
+        assertEquals(1, second.pending.size());
+        CompletableFuture<Long> otherStep = hedgedClient.nextMaxId(NAMESPACE, NAME, STEP * 2).toCompletableFuture();
+        assertFalse(otherStep.isDone());
+    }
+
+    @Test
+    void nextMaxIdDropsLateAnswerBelowWinner() throws InterruptedException {
+        PendingClient first = new PendingClient();
+        PendingClient second = new PendingClient();
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(first, second),
+            Duration.ofMillis(1), Duration.ofMillis(1), 3, Duration.ofSeconds(10));
+        CompletableFuture<Long> result = hedgedClient.nextMaxId(NAMESPACE, NAME, STEP).toCompletableFuture();
+        awaitCalls(first);
+        awaitCalls(second);
+
+        first.pending.get(0).complete(200L);
+        assertEquals(200L, join(result));
+        second.pending.get(0).complete(100L);
+
+        CompletableFuture<Long> next = hedgedClient.nextMaxId(NAMESPACE, NAME, STEP).toCompletableFuture();
+        assertFalse(next.isDone());
+    }
+
+    @Test
+    void sparesHandOutAboveLastMaxIdOnly() {
+        HedgedSegmentClient.Spares spares = new HedgedSegmentClient.Spares();
+        spares.handedOut(100);
+        assertFalse(spares.offer(150, 100));
+        assertTrue(spares.offer(300, 100));
+        assertTrue(spares.offer(200, 100));
+
+        assertNull(spares.poll(200));
+        assertEquals(200L, spares.poll(100));
+        spares.handedOut(350);
+        assertNull(spares.poll(100));
+        assertEquals(0, spares.size());
+    }
+
+    @Test
+    void sparesAreBounded() {
+        HedgedSegmentClient.Spares spares = new HedgedSegmentClient.Spares();
+        for (int i = 1; i <= HedgedSegmentClient.MAX_SPARES * 2; i++) {
+            spares.offer(i * STEP, STEP);
+        }
+        assertEquals(HedgedSegmentClient.MAX_SPARES, spares.size());
+        assertEquals(STEP, spares.poll(STEP));
+    }
+
+    @Test
+    void getHedgeDelay() {
+        HedgedSegmentClient hedgedClient = new HedgedSegmentClient(List.of(CountingClient.answering()),
+            Duration.ofMillis(100), Duration.ofMillis(5), 3, Duration.ofSeconds(10));
+        assertEquals(Duration.ofMillis(100), hedgedClient.getHedgeDelay());
+        for (int i = 1; i <= HedgedSegmentClient.LATENCY_WINDOW; i++) {
+            hedgedClient.recordLatency(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(Duration.ofMillis(254), hedgedClient.getHedgeDelay());
+        for (int i = 0; i < HedgedSegmentClient.LATENCY_WINDOW; i++) {
+            hedgedClient.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(Duration.ofMillis(5), hedgedClient.getHedgeDelay());
+    }
+
+    @Test
+    void endpointCircuit() {
+        HedgedSegmentClient.Endpoint endpoint = new HedgedSegmentClient.Endpoint(0, CountingClient.answering());
+        long now = System.nanoTime();
+        endpoint.onFailure(now, 2, 1000);
+        assertTrue(endpoint.isAvailable(now));
+        endpoint.onFailure(now, 2, 1000);
+        assertFalse(endpoint.isAvailable(now + 999));
+        assertTrue(endpoint.isAvailable(now + 1000));
+        endpoint.onSuccess(10);
+        assertTrue(endpoint.isAvailable(now));
+        assertEquals(10, endpoint.getLatencyNanos());
+        endpoint.onSuccess(20);
+        assertEquals(13, endpoint.getLatencyNanos());
+    }
+
+    @Test
+    void ctorWhenNoClient() {
+        assertThrows(IllegalArgumentException.class, () -> new HedgedSegmentClient(List.of()));
+    }
+
+    private static long join(CompletionStage<Long> stage) {
+        return stage.toCompletableFuture().orTimeout(10, TimeUnit.SECONDS).join();
+    }
+
+    private static void awaitCalls(PendingClient client) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((client.pending.isEmpty() || client.pending.get(0).getNumberOfDependents() == 0) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertEquals(1, client.pending.size());
+    }
+
+    static final class CountingClient implements AsyncSegmentClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicLong maxId = new AtomicLong();
+        private final boolean failing;
+
+        private CountingClient(boolean failing) {
+            this.failing = failing;
+        }
+
+        static CountingClient answering() {
+            return new CountingClient(false);
+        }
+
+        static CountingClient failing() {
+            return new CountingClient(true);
+        }
+
+        @Override
+        public CompletionStage<Long> nextMaxId(String namespace, String name, long step) {
+            calls.incrementAndGet();
+            if (failing) {
+                return CompletableFuture.failedFuture(new CosIdException("Proxy unavailable."));
+            }
+            return CompletableFuture.completedFuture(maxId.addAndGet(step));
+        }
+    }
+
+    static final class PendingClient implements AsyncSegmentClient {
+        private final List<CompletableFuture<Long>> pending = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletionStage<Long> nextMaxId(String namespace, String name, long step) {
+            CompletableFuture<Long> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        }
+    }
+}
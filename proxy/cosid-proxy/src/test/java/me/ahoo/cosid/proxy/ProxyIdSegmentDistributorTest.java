@@ -14,14 +14,21 @@
 package me.ahoo.cosid.proxy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import me.ahoo.cosid.proxy.api.SegmentClient;
+import me.ahoo.cosid.segment.AsyncIdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributor;
 import me.ahoo.cosid.segment.IdSegmentDistributorFactory;
 import me.ahoo.cosid.segment.IdSegmentDistributorDefinition;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+
 class ProxyIdSegmentDistributorTest {
 
     @Test
@@ -53,6 +60,51 @@ class ProxyIdSegmentDistributorTest {
         assertEquals(5, segmentClient.nextStep);
     }
 
+    @Test
+    void factoryCreatesBlockingDistributorWithoutAsyncSegmentClient() {
+        IdSegmentDistributorFactory factory = new ProxyIdSegmentDistributorFactory(new RecordingSegmentClient(), null);
+
+        IdSegmentDistributor distributor = factory.create(new IdSegmentDistributorDefinition("test_namespace", "order", 100, 20));
+
+        assertInstanceOf(ProxyIdSegmentDistributor.class, distributor);
+        assertFalse(distributor instanceof AsyncIdSegmentDistributor);
+    }
+
+    @Test
+    void factoryCreatesAsyncDistributorWithAsyncSegmentClient() {
+        RecordingSegmentClient segmentClient = new RecordingSegmentClient();
+        AsyncSegmentClient asyncSegmentClient = (namespace, name, step) -> CompletableFuture.completedFuture(300 + step);
+        IdSegmentDistributorFactory factory = new ProxyIdSegmentDistributorFactory(segmentClient, asyncSegmentClient);
+
+        IdSegmentDistributor distributor = factory.create(new IdSegmentDistributorDefinition("test_namespace", "order", 100, 20));
+
+        assertInstanceOf(AsyncProxyIdSegmentDistributor.class, distributor);
+        assertEquals("test_namespace", segmentClient.createdNamespace);
+        assertEquals(305, distributor.nextMaxId(5));
+        assertNull(segmentClient.nextNamespace);
+    }
+
+    @Test
+    void nextMaxIdAsyncDelegatesToAsyncSegmentClient() {
+        AsyncSegmentClient asyncSegmentClient = (namespace, name, step) -> CompletableFuture.completedFuture(300 + step);
+        AsyncProxyIdSegmentDistributor distributor = new AsyncProxyIdSegmentDistributor(asyncSegmentClient, "test_namespace", "order", 20);
+
+        long nextMaxId = distributor.nextMaxIdAsync(5).toCompletableFuture().join();
+
+        assertEquals(305, nextMaxId);
+    }
+
+    @Test
+    void nextMaxIdRethrowsCauseOfFailedFetch() {
+        IllegalStateException failure = new IllegalStateException("proxy unavailable");
+        AsyncSegmentClient asyncSegmentClient = (namespace, name, step) -> CompletableFuture.failedFuture(failure);
+        AsyncProxyIdSegmentDistributor distributor = new AsyncProxyIdSegmentDistributor(asyncSegmentClient, "test_namespace", "order", 20);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> distributor.nextMaxId(5));
+
+        assertEquals(failure, thrown);
+    }
+
     private static class RecordingSegmentClient implements SegmentClient {
         private String createdNamespace;
         private String createdName;
@@ -14,8 +14,11 @@
 package me.ahoo.cosid.proxy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import me.ahoo.cosid.CosIdException;
 import me.ahoo.cosid.proxy.api.SegmentClient;
 
 import com.sun.net.httpserver.HttpServer;
@@ -23,9 +26,14 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -61,6 +69,58 @@ public class SegmentClientTest {
         server.stop();
     }
 
+    @Test
+    public void asyncNextMaxIdUsesPatchPathAndReturnsResponseBody() throws IOException {
+        CapturingHttpServer server = new CapturingHttpServer(200, "41", "application/json");
+        AsyncSegmentClient segmentClient = new HttpAsyncSegmentClient(server.baseUrl() + "/");
+
+        long nextMaxId = segmentClient.nextMaxId("SegmentClientTest", "test", 10).toCompletableFuture().join();
+
+        assertEquals(41, nextMaxId);
+        assertEquals("PATCH", server.requestMethod());
+        assertEquals("/segments/SegmentClientTest/test", server.requestPath());
+        assertEquals("10", server.queryParameters().get("step"));
+
+        server.stop();
+    }
+
+    @Test
+    public void asyncNextMaxIdCompletesExceptionallyOnErrorStatus() throws IOException {
+        CapturingHttpServer server = new CapturingHttpServer(500, "unavailable");
+        AsyncSegmentClient segmentClient = new HttpAsyncSegmentClient(server.baseUrl());
+
+        CompletionException completionException = assertThrows(CompletionException.class,
+            () -> segmentClient.nextMaxId("SegmentClientTest", "test", 10).toCompletableFuture().join());
+
+        assertInstanceOf(CosIdException.class, completionException.getCause());
+
+        server.stop();
+    }
+
+    @Test
+    public void asyncNextMaxIdTimesOutWhenProxyHangs() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        CountDownLatch release = new CountDownLatch(1);
+        server.createContext("/", exchange -> {
+            try {
+                release.await();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+        AsyncSegmentClient segmentClient = new HttpAsyncSegmentClient("http://localhost:" + server.getAddress().getPort(), Duration.ofMillis(200));
+
+        CompletionException completionException = assertThrows(CompletionException.class,
+            () -> segmentClient.nextMaxId("SegmentClientTest", "test", 10).toCompletableFuture().join());
+
+        Throwable cause = completionException.getCause();
+        assertTrue(cause instanceof TimeoutException || cause instanceof HttpTimeoutException, String.valueOf(cause));
+        release.countDown();
+        server.stop(0);
+    }
+
     private static class CapturingHttpServer {
         private final HttpServer server;
         private final AtomicReference<String> requestMethod = new AtomicReference<>();
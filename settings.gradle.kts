@@ -30,6 +30,8 @@ include(":cosid-proxy")
 project(":cosid-proxy").projectDir = file("proxy/cosid-proxy")
 include(":cosid-proxy-server")
 project(":cosid-proxy-server").projectDir = file("proxy/cosid-proxy-server")
+include(":cosid-proxy-grpc")
+project(":cosid-proxy-grpc").projectDir = file("proxy/cosid-proxy-grpc")
 
 include(":cosid-axon")
 include(":cosid-flowable")